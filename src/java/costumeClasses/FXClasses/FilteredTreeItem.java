@@ -1,44 +1,81 @@
 package costumeClasses.FXClasses;
 
-import javafx.beans.binding.Bindings;
-import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.collections.transformation.FilteredList;
-import javafx.concurrent.Task;
 import javafx.scene.control.TreeItem;
 import logic.products.Product;
 import logic.products.position.Position;
 import org.jetbrains.annotations.NotNull;
 
-import java.sql.Time;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 /**
  * A TreeItem class, that likewise works as wrapper and binds the values of an {@link ObservableMap}
  * to an {@link ObservableList}.
- * The items in the list will match the values in the map.
+ * The items in the list will match the values in the map and are ordered by their keys. The
+ * children are kept in a {@link SortedTreeList}, so the child of a key is added, found and
+ * removed in O(log n).
+ * Changes of the map between {@link #beginBatch()} and {@link #endBatch()} are collected and
+ * notified as one single change, which contains the ranges of the added and removed children.
  * This class is not synchronized.
  *
  * @param <K> the type used for keys of the ObservableMap
  * @author xthe_white_lionx
  */
-public class FilteredTreeItem<K> extends TreeItem<Product>
+public class FilteredTreeItem<K extends Comparable<? super K>> extends TreeItem<Product>
         implements MapChangeListener<K, Position> {
 
+    /**
+     * A PositionTreeItem which is ordered by the key of its position in the map
+     *
+     * @param <K> the type of the key
+     */
+    private static final class KeyedTreeItem<K extends Comparable<? super K>>
+            extends PositionTreeItem implements Comparable<KeyedTreeItem<K>> {
+
+        /**
+         * The key of the position of this treeItem
+         */
+        private final K key;
+
+        /**
+         * Creates a new KeyedTreeItem
+         *
+         * @param key      the key of the position
+         * @param position the position of the treeItem
+         */
+        private KeyedTreeItem(@NotNull K key, @NotNull Position position) {
+            super(position);
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(@NotNull KeyedTreeItem<K> other) {
+            return this.key.compareTo(other.key);
+        }
+    }
+
     /**
      * ObservableList of the direct children of this TreeItem, which are bound to the values of the ObservableMap
      */
-    private final ObservableList<TreeItem<Product>> children;
+    private final SortedTreeList<KeyedTreeItem<K>> children;
+
+    /**
+     * The children mapped to their keys
+     */
+    private final Map<K, KeyedTreeItem<K>> keyToChild;
 
     /**
      * The FilteredList of the children of this TreeItem
      */
-    private final FilteredList<TreeItem<Product>> filteredList;
+    private final FilteredList<KeyedTreeItem<K>> filteredList;
 
     /**
      * Creates a new FilteredTreeItem
@@ -47,14 +84,18 @@ public class FilteredTreeItem<K> extends TreeItem<Product>
      */
     public FilteredTreeItem(@NotNull ObservableMap<K, Position> map) {
         super();
-        this.children = FXCollections.observableArrayList();
-        Collection<Position> values = map.values();
+        this.keyToChild = new HashMap<>(map.size() * 2);
+        List<KeyedTreeItem<K>> initialChildren = new ArrayList<>(map.size());
+        for (Map.Entry<K, Position> entry : map.entrySet()) {
+            KeyedTreeItem<K> child = new KeyedTreeItem<>(entry.getKey(), entry.getValue());
+            this.keyToChild.put(entry.getKey(), child);
+            initialChildren.add(child);
+        }
+        this.children = new SortedTreeList<>(initialChildren);
 
         this.filteredList = new FilteredList<>(this.children);
-        Bindings.bindContent(this.getChildren(), this.filteredList);
-        for (Position position : values) {
-            this.children.add(new PositionTreeItem(position));
-        }
+        this.filteredList.addListener(this::filteredListChanged);
+        this.getChildren().setAll(this.filteredList);
 
         map.addListener(this);
     }
@@ -81,21 +122,42 @@ public class FilteredTreeItem<K> extends TreeItem<Product>
         this.filteredList.setPredicate(item -> false);
     }
 
+    /**
+     * Begins a batch. Until the matching call of {@link #endBatch()} the changes of the map are
+     * not applied to the children of this FilteredTreeItem. Batches can be nested.
+     */
+    public void beginBatch() {
+        this.children.beginBatch();
+    }
+
+    /**
+     * Ends the current batch. If it was the outermost batch, all changes of the map since
+     * {@link #beginBatch()} are notified as one single change.
+     *
+     * @throws IllegalStateException if there is no current batch
+     */
+    public void endBatch() {
+        this.children.endBatch();
+    }
+
     @Override
     public void onChanged(Change<? extends K, ? extends Position> change) {
-        if (change.wasRemoved()) {
-            boolean found = false;
-            for (int i = 0; i < this.children.size() && !found; i++) {
-                TreeItem<Product> productTreeItem = this.children.get(i);
-                if (productTreeItem.getValue().equals(change.getValueRemoved())) {
-                    this.children.remove(i);
-                    found = true;
+        K key = change.getKey();
+        this.children.beginBatch();
+        try {
+            if (change.wasRemoved()) {
+                KeyedTreeItem<K> removedChild = this.keyToChild.remove(key);
+                if (removedChild != null) {
+                    this.children.remove(removedChild);
                 }
             }
-        }
-        if (change.wasAdded()) {
-            Position valueAdded = change.getValueAdded();
-            this.children.add(new PositionTreeItem(valueAdded));
+            if (change.wasAdded()) {
+                KeyedTreeItem<K> addedChild = new KeyedTreeItem<>(key, change.getValueAdded());
+                this.keyToChild.put(key, addedChild);
+                this.children.add(addedChild);
+            }
+        } finally {
+            this.children.endBatch();
         }
     }
 
@@ -112,4 +174,45 @@ public class FilteredTreeItem<K> extends TreeItem<Product>
     public void expandAll() {
         this.filteredList.forEach(productTreeItem -> productTreeItem.setExpanded(true));
     }
+
+    /**
+     * Applies the specified change of the filtered list to the children of this TreeItem. A
+     * change of a single range is applied to this range only. The change of a batch, which
+     * consists of several ranges, is applied by replacing all children at once, because the
+     * treeView recounts its items after each change of the children, so the children are
+     * changed only once.
+     *
+     * @param change the change of the filtered list
+     */
+    private void filteredListChanged(
+            @NotNull ListChangeListener.Change<? extends TreeItem<Product>> change) {
+        ObservableList<TreeItem<Product>> treeChildren = this.getChildren();
+        int ranges = 0;
+        while (change.next()) {
+            ranges++;
+        }
+        if (ranges > 1) {
+            treeChildren.setAll(this.filteredList);
+            return;
+        }
+
+        change.reset();
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                treeChildren.subList(from, change.getTo()).clear();
+                treeChildren.addAll(from, this.filteredList.subList(from, change.getTo()));
+            } else if (change.wasReplaced() && change.getRemovedSize() == 1
+                    && change.getAddedSize() == 1) {
+                treeChildren.set(from, change.getAddedSubList().get(0));
+            } else {
+                if (change.wasRemoved()) {
+                    treeChildren.subList(from, from + change.getRemovedSize()).clear();
+                }
+                if (change.wasAdded()) {
+                    treeChildren.addAll(from, change.getAddedSubList());
+                }
+            }
+        }
+    }
 }
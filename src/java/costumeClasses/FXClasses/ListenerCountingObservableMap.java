@@ -0,0 +1,155 @@
+package costumeClasses.FXClasses;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@link ObservableMap} which delegates to another observableMap and counts the listeners
+ * which are attached to it, so leaked listeners can be detected. A weak listener whose
+ * referent was garbage collected is not counted. This class is not synchronized.
+ *
+ * @param <K> the type of the keys of the map
+ * @param <V> the type of the values of the map
+ * @author xthe_white_lionx
+ */
+public class ListenerCountingObservableMap<K, V> implements ObservableMap<K, V> {
+
+    /**
+     * The map to which this map delegates
+     */
+    private final ObservableMap<K, V> delegate;
+
+    /**
+     * The listeners which are attached to this map
+     */
+    private final List<Object> listeners;
+
+    /**
+     * Creates a new listenerCountingObservableMap which delegates to the specified map
+     *
+     * @param delegate the map to which the new map delegates
+     */
+    public ListenerCountingObservableMap(@NotNull ObservableMap<K, V> delegate) {
+        this.delegate = delegate;
+        this.listeners = new ArrayList<>();
+    }
+
+    /**
+     * Returns the number of the listeners which are attached to this map
+     *
+     * @return the number of the listeners which are attached to this map
+     */
+    public int getListenerCount() {
+        this.listeners.removeIf(listener -> listener instanceof WeakListener weakListener
+                && weakListener.wasGarbageCollected());
+        return this.listeners.size();
+    }
+
+    @Override
+    public void addListener(MapChangeListener<? super K, ? super V> listener) {
+        this.delegate.addListener(listener);
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(MapChangeListener<? super K, ? super V> listener) {
+        this.delegate.removeListener(listener);
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        this.delegate.addListener(listener);
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        this.delegate.removeListener(listener);
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public int size() {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.delegate.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.delegate.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return this.delegate.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return this.delegate.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.delegate.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return this.delegate.remove(key);
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends K, ? extends V> map) {
+        this.delegate.putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        this.delegate.clear();
+    }
+
+    @Override
+    public @NotNull Set<K> keySet() {
+        return this.delegate.keySet();
+    }
+
+    @Override
+    public @NotNull Collection<V> values() {
+        return this.delegate.values();
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return this.delegate.entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || this.delegate.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.delegate.toString();
+    }
+}
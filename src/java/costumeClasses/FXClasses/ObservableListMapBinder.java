@@ -4,17 +4,21 @@ import javafx.collections.FXCollections;
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
+import javafx.collections.WeakMapChangeListener;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
-import utils.ListUtils;
-
-import java.util.Collections;
 
 /**
  * A wrapper class that binds the keys and values of an {@link ObservableMap} to an
  * {@link ObservableList}. The keys of the map will match the items of the
  * {@link #observableKeyList}. The values of the map will match the items
  * of the {@link #observableValueList}. This class is not synchronized.
+ * <p>
+ * The lists are {@link SortedTreeList SortedTreeLists}, so a change of the map is applied in
+ * O(log n). The changes of the map between {@link #beginBatch()} and {@link #endBatch()} are
+ * notified by each list as one change. The map only holds a weak listener of this binder, so a
+ * binder which is not referenced anymore does not leak and its listener is removed from the map
+ * by the next change of the map.
  *
  * @param <K> the type used for keys of the ObservableMap
  * @param <V> the type used for values of the ObservableMap
@@ -24,15 +28,35 @@ import java.util.Collections;
 public class ObservableListMapBinder<K extends Comparable<K>, V extends Comparable<V>> implements
         MapChangeListener<K, V> {
 
+    /**
+     * The bound map
+     */
+    private final ObservableMap<K, V> map;
+
+    /**
+     * The weak listener of this binder, which is registered at the map
+     */
+    private final WeakMapChangeListener<K, V> weakListener;
+
     /**
      * ObservableList bound to the keys of the ObservableMap
      */
-    private final ObservableList<K> observableKeyList;
+    private final SortedTreeList<K> observableKeyList;
 
     /**
      * ObservableList bound to the values of the ObservableMap
      */
-    private final ObservableList<V> observableValueList;
+    private final SortedTreeList<V> observableValueList;
+
+    /**
+     * Unmodifiable view of the observableKeyList
+     */
+    private final ObservableList<K> keyListView;
+
+    /**
+     * Unmodifiable view of the observableValueList
+     */
+    private final ObservableList<V> valueListView;
 
     /**
      * Creates an observableListMapBinder bound to the keys and values of the specified map
@@ -40,14 +64,16 @@ public class ObservableListMapBinder<K extends Comparable<K>, V extends Comparab
      * @param map from which the keys and values will be bound
      */
     public ObservableListMapBinder(@NotNull ObservableMap<K, V> map) {
+        this.map = map;
         // initialise the list
-        this.observableKeyList = FXCollections.observableArrayList(map.keySet());
-        this.observableValueList = FXCollections.observableArrayList(map.values());
-        Collections.sort(this.observableKeyList);
-        Collections.sort(this.observableValueList);
+        this.observableKeyList = new SortedTreeList<>(map.keySet());
+        this.observableValueList = new SortedTreeList<>(map.values());
+        this.keyListView = FXCollections.unmodifiableObservableList(this.observableKeyList);
+        this.valueListView = FXCollections.unmodifiableObservableList(this.observableValueList);
 
         // listen for changes
-        map.addListener(this);
+        this.weakListener = new WeakMapChangeListener<>(this);
+        map.addListener(this.weakListener);
     }
 
     /**
@@ -57,34 +83,61 @@ public class ObservableListMapBinder<K extends Comparable<K>, V extends Comparab
      */
     @UnmodifiableView
     public @NotNull ObservableList<K> getObservableKeyList() {
-        return FXCollections.unmodifiableObservableList(this.observableKeyList);
+        return this.keyListView;
     }
 
     /**
-     * Returns an unmodifiable view of the ObservableKeyList.
+     * Returns an unmodifiable view of the ObservableValueList.
      *
-     * @return unmodifiable ObservableKeyList
+     * @return unmodifiable ObservableValueList
      */
     @UnmodifiableView
     public @NotNull ObservableList<V> getObservableValuesList() {
-        return FXCollections.unmodifiableObservableList(this.observableValueList);
+        return this.valueListView;
+    }
+
+    /**
+     * Begins a batch. Until the matching call of {@link #endBatch()} the changes of the map are
+     * collected by the lists and notified as one change. Batches can be nested.
+     */
+    public void beginBatch() {
+        this.observableKeyList.beginBatch();
+        this.observableValueList.beginBatch();
+    }
+
+    /**
+     * Ends the current batch. If it was the outermost batch, each list notifies the changes of
+     * the map since {@link #beginBatch()} as one change.
+     *
+     * @throws IllegalStateException if there is no current batch
+     */
+    public void endBatch() {
+        this.observableKeyList.endBatch();
+        this.observableValueList.endBatch();
+    }
+
+    /**
+     * Unbinds this binder from the map, the lists are not updated anymore
+     */
+    public void dispose() {
+        this.map.removeListener(this.weakListener);
     }
 
     @Override
     public void onChanged(Change<? extends K, ? extends V> change) {
         if (change.wasRemoved()) {
-            ListUtils.sortedRemove(this.observableKeyList, change.getKey());
+            this.observableKeyList.remove(change.getKey());
             V removedValue = change.getValueRemoved();
             if (removedValue != null) {
-                ListUtils.sortedRemove(this.observableValueList, removedValue);
+                this.observableValueList.remove(removedValue);
             }
         }
 
         if (change.wasAdded()) {
-            ListUtils.sortedAdd(this.observableKeyList, change.getKey());
+            this.observableKeyList.add(change.getKey());
             V valueAdded = change.getValueAdded();
             if (valueAdded != null) {
-                ListUtils.sortedAdd(this.observableValueList, valueAdded);
+                this.observableValueList.add(valueAdded);
             }
         }
     }
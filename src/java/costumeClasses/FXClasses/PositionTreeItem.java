@@ -20,23 +20,47 @@ import java.util.Set;
 public class PositionTreeItem extends TreeItem<Product> implements ListChangeListener<Item> {
 
     /**
-     * ObservableList of the direct children of this PositionTreeItem
+     * The position of this PositionTreeItem
      */
-    private ObservableList<TreeItem<Product>> children;
+    private final Position position;
 
     /**
-     * Creates a new PositionTreeItem with the specified position
+     * Whether the children of this PositionTreeItem are already created
+     */
+    private boolean childrenCreated;
+
+    /**
+     * Creates a new PositionTreeItem with the specified position. The children for the items
+     * of the position are created by the first access to them, which is normally the first
+     * expansion, so the items of the position are not materialized before.
      *
      * @param position value of this PositionTreeItem
      */
     public PositionTreeItem(Position position) {
         super(position);
-        this.children = this.getChildren();
-        ObservableList<Item> itemObservableList = position.getItemObservableList();
-        for (Item item : itemObservableList) {
-            this.children.add(new TreeItem<>(item));
+        this.position = position;
+    }
+
+    @Override
+    public ObservableList<TreeItem<Product>> getChildren() {
+        ObservableList<TreeItem<Product>> children = super.getChildren();
+        if (!this.childrenCreated) {
+            this.childrenCreated = true;
+            ObservableList<Item> itemObservableList = this.position.getItemObservableList();
+            for (Item item : itemObservableList) {
+                children.add(new TreeItem<>(item));
+            }
+            itemObservableList.addListener(this);
+        }
+        return children;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        if (this.childrenCreated) {
+            return super.getChildren().isEmpty();
         }
-        itemObservableList.addListener(this);
+        return this.position.itemCount() == 0;
     }
 
     @Override
@@ -45,7 +69,7 @@ public class PositionTreeItem extends TreeItem<Product> implements ListChangeLis
             if (change.wasAdded()) {
                 List<? extends Item> addedSubList = change.getAddedSubList();
                 for (Item item : addedSubList) {
-                    this.children.add(new TreeItem<>(item));
+                    this.getChildren().add(new TreeItem<>(item));
                 }
             }
 
@@ -56,7 +80,7 @@ public class PositionTreeItem extends TreeItem<Product> implements ListChangeLis
                 for (Item item : removed) {
                     ids.add(item.getId());
                 }
-                this.children.removeIf(
+                this.getChildren().removeIf(
                         productTreeItem -> ids.contains(productTreeItem.getValue().getId()));
             }
         }
@@ -0,0 +1,590 @@
+package costumeClasses.FXClasses;
+
+import javafx.collections.ObservableListBase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link javafx.collections.ObservableList} which keeps its elements sorted by their natural
+ * ordering. The elements are stored in an AVL tree whose nodes know the size of their subtree,
+ * so an element is added, removed or accessed by its index in O(log n). Equal elements are
+ * kept in the order in which they were added.
+ * <p>
+ * The position of an element is determined by its order, so elements can only be added by
+ * {@link #add(Comparable)}, {@link #addAll(Collection)} and {@link #setAll(Collection)}. An
+ * addAll inserts all elements as one change, the changes between {@link #beginBatch()} and
+ * {@link #endBatch()} are notified as one change as well. The order of an element must not
+ * change while it is contained in the list. This class is not synchronized.
+ *
+ * @param <E> the type of the elements
+ * @author xthe_white_lionx
+ */
+public class SortedTreeList<E extends Comparable<? super E>> extends ObservableListBase<E> {
+
+    /**
+     * A node of the tree
+     *
+     * @param <E> the type of the element of the node
+     */
+    private static final class Node<E> {
+
+        /**
+         * The element of this node
+         */
+        private E element;
+
+        /**
+         * The left child of this node, which contains the smaller elements
+         */
+        private Node<E> left;
+
+        /**
+         * The right child of this node, which contains the greater or equal elements
+         */
+        private Node<E> right;
+
+        /**
+         * The height of the subtree of this node
+         */
+        private int height;
+
+        /**
+         * The number of elements in the subtree of this node
+         */
+        private int size;
+
+        /**
+         * Creates a new leaf with the specified element
+         *
+         * @param element the element of the node
+         */
+        private Node(E element) {
+            this.element = element;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * The root of the tree or null if this list is empty
+     */
+    private Node<E> root;
+
+    /**
+     * The number of batches which are begun but not ended yet
+     */
+    private int batchDepth;
+
+    /**
+     * Creates an empty sortedTreeList
+     */
+    public SortedTreeList() {
+    }
+
+    /**
+     * Creates a sortedTreeList which contains the specified elements
+     *
+     * @param elements the elements of the list
+     */
+    public SortedTreeList(@NotNull Collection<? extends E> elements) {
+        List<E> sorted = new ArrayList<>(elements);
+        sorted.sort(null);
+        this.root = build(sorted, 0, sorted.size());
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, this.size());
+        Node<E> node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.element;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Adds the specified element behind the elements which are less than or equal to it
+     *
+     * @param element the element which should be added
+     * @return true
+     */
+    @Override
+    public boolean add(@NotNull E element) {
+        int index = this.upperBound(element);
+        this.beginChange();
+        try {
+            this.root = insert(this.root, index, element);
+            this.modCount++;
+            this.nextAdd(index, index + 1);
+        } finally {
+            this.endChange();
+        }
+        return true;
+    }
+
+    /**
+     * Not supported, because the position of an element is determined by its order
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException("the index of an element is given by its order");
+    }
+
+    /**
+     * Not supported, because the position of an element is determined by its order
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException("the index of an element is given by its order");
+    }
+
+    /**
+     * Adds the specified elements as one change. If the number of the elements is small
+     * compared to this list, they are inserted one by one in O(k log n), otherwise the tree is
+     * rebuilt from the merged elements in O(n + k).
+     *
+     * @param elements the elements which should be added
+     * @return true if this list was changed
+     */
+    @Override
+    public boolean addAll(@NotNull Collection<? extends E> elements) {
+        if (elements.isEmpty()) {
+            return false;
+        }
+
+        List<E> added = new ArrayList<>(elements);
+        added.sort(null);
+        int size = this.size();
+        this.beginChange();
+        try {
+            if ((long) added.size() * (32 - Integer.numberOfLeadingZeros(size)) < size) {
+                for (E element : added) {
+                    int index = this.upperBound(element);
+                    this.root = insert(this.root, index, element);
+                    this.nextAdd(index, index + 1);
+                }
+            } else {
+                List<E> old = this.toList();
+                List<E> merged = new ArrayList<>(size + added.size());
+                int i = 0;
+                for (E element : added) {
+                    while (i < size && old.get(i).compareTo(element) <= 0) {
+                        merged.add(old.get(i++));
+                    }
+                    merged.add(element);
+                    this.nextAdd(merged.size() - 1, merged.size());
+                }
+                merged.addAll(old.subList(i, size));
+                this.root = build(merged, 0, merged.size());
+            }
+            this.modCount++;
+        } finally {
+            this.endChange();
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the elements of this list by the specified elements as one change
+     *
+     * @param elements the new elements of this list
+     * @return true if this list was changed
+     */
+    @Override
+    public boolean setAll(@NotNull Collection<? extends E> elements) {
+        if (elements.isEmpty() && this.isEmpty()) {
+            return false;
+        }
+
+        List<E> removed = this.toList();
+        List<E> sorted = new ArrayList<>(elements);
+        sorted.sort(null);
+        this.beginChange();
+        try {
+            this.root = build(sorted, 0, sorted.size());
+            this.modCount++;
+            if (removed.isEmpty()) {
+                this.nextAdd(0, sorted.size());
+            } else {
+                this.nextReplace(0, sorted.size(), removed);
+            }
+        } finally {
+            this.endChange();
+        }
+        return true;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = this.get(index);
+        this.beginChange();
+        try {
+            this.root = delete(this.root, index);
+            this.modCount++;
+            this.nextRemove(index, removed);
+        } finally {
+            this.endChange();
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = this.indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        this.remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Collection<?> elements) {
+        boolean changed = false;
+        this.beginChange();
+        try {
+            for (Object element : elements) {
+                while (this.remove(element)) {
+                    changed = true;
+                }
+            }
+        } finally {
+            this.endChange();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(@NotNull Collection<?> elements) {
+        this.beginChange();
+        try {
+            return super.retainAll(elements);
+        } finally {
+            this.endChange();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (this.isEmpty()) {
+            return;
+        }
+
+        List<E> removed = this.toList();
+        this.beginChange();
+        try {
+            this.root = null;
+            this.modCount++;
+            this.nextRemove(0, removed);
+        } finally {
+            this.endChange();
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element. The element is
+     * searched by its order in O(log n) and compared by equals only with the elements of the
+     * same order. An element whose order has changed since it was added is not found.
+     *
+     * @param o the element which should be searched
+     * @return the index of the element or -1 if this list does not contain the element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int indexOf(Object o) {
+        if (o == null || this.root == null) {
+            return -1;
+        }
+
+        try {
+            E element = (E) o;
+            for (int i = this.lowerBound(element), to = this.upperBound(element); i < to; i++) {
+                if (this.get(i).equals(o)) {
+                    return i;
+                }
+            }
+        } catch (ClassCastException ignored) {
+            // an element of another type is not contained in this list
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.indexOf(o) >= 0;
+    }
+
+    /**
+     * Begins a batch. Until the matching call of {@link #endBatch()} the changes of this list
+     * are collected and notified as one change. Batches can be nested.
+     */
+    public void beginBatch() {
+        this.batchDepth++;
+        this.beginChange();
+    }
+
+    /**
+     * Ends the current batch. If it was the outermost batch, the collected changes are
+     * notified as one change.
+     *
+     * @throws IllegalStateException if there is no current batch
+     */
+    public void endBatch() {
+        if (this.batchDepth == 0) {
+            throw new IllegalStateException("there is no batch to end");
+        }
+        this.batchDepth--;
+        this.endChange();
+    }
+
+    /**
+     * Returns the number of elements which are less than the specified element
+     *
+     * @param element the element
+     * @return the index of the first element which is not less than the specified element
+     */
+    private int lowerBound(@NotNull E element) {
+        int index = 0;
+        Node<E> node = this.root;
+        while (node != null) {
+            if (node.element.compareTo(element) < 0) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of elements which are less than or equal to the specified element
+     *
+     * @param element the element
+     * @return the index of the first element which is greater than the specified element
+     */
+    private int upperBound(@NotNull E element) {
+        int index = 0;
+        Node<E> node = this.root;
+        while (node != null) {
+            if (element.compareTo(node.element) < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the elements of this list in order in O(n)
+     *
+     * @return the elements of this list in order
+     */
+    private @NotNull List<E> toList() {
+        List<E> elements = new ArrayList<>(this.size());
+        collect(this.root, elements);
+        return elements;
+    }
+
+    /**
+     * Adds the elements of the subtree of the specified node in order to the specified list
+     *
+     * @param node     the root of the subtree
+     * @param elements the list to which the elements are added
+     * @param <E>      the type of the elements
+     */
+    private static <E> void collect(Node<E> node, @NotNull List<E> elements) {
+        if (node != null) {
+            collect(node.left, elements);
+            elements.add(node.element);
+            collect(node.right, elements);
+        }
+    }
+
+    /**
+     * Builds a balanced tree of the specified range of the specified sorted elements
+     *
+     * @param sorted the sorted elements
+     * @param from   the index of the first element, inclusive
+     * @param to     the index of the last element, exclusive
+     * @param <E>    the type of the elements
+     * @return the root of the built tree or null if the range is empty
+     */
+    private static <E> Node<E> build(@NotNull List<E> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node<E> node = new Node<>(sorted.get(middle));
+        node.left = build(sorted, from, middle);
+        node.right = build(sorted, middle + 1, to);
+        update(node);
+        return node;
+    }
+
+    /**
+     * Inserts the specified element at the specified index into the subtree of the specified
+     * node
+     *
+     * @param node    the root of the subtree
+     * @param index   the index of the element in the subtree
+     * @param element the element which should be inserted
+     * @param <E>     the type of the elements
+     * @return the new root of the subtree
+     */
+    private static <E> @NotNull Node<E> insert(Node<E> node, int index, E element) {
+        if (node == null) {
+            return new Node<>(element);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, element);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, element);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Deletes the element at the specified index from the subtree of the specified node
+     *
+     * @param node  the root of the subtree
+     * @param index the index of the element in the subtree
+     * @param <E>   the type of the elements
+     * @return the new root of the subtree
+     */
+    private static <E> Node<E> delete(@NotNull Node<E> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.element = successor.element;
+            node.right = delete(node.right, 0);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Restores the balance of the specified node, whose subtrees are balanced
+     *
+     * @param node the node which should be balanced
+     * @param <E>  the type of the elements
+     * @return the new root of the subtree of the node
+     */
+    private static <E> @NotNull Node<E> balance(@NotNull Node<E> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the subtree of the specified node to the left
+     *
+     * @param node the root of the subtree
+     * @param <E>  the type of the elements
+     * @return the new root of the subtree
+     */
+    private static <E> @NotNull Node<E> rotateLeft(@NotNull Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Rotates the subtree of the specified node to the right
+     *
+     * @param node the root of the subtree
+     * @param <E>  the type of the elements
+     * @return the new root of the subtree
+     */
+    private static <E> @NotNull Node<E> rotateRight(@NotNull Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    /**
+     * Updates the height and the size of the specified node from its children
+     *
+     * @param node the node which should be updated
+     * @param <E>  the type of the elements
+     */
+    private static <E> void update(@NotNull Node<E> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    /**
+     * Returns the height of the subtree of the specified node
+     *
+     * @param node the root of the subtree or null
+     * @param <E>  the type of the elements
+     * @return the height of the subtree or 0 if the node is null
+     */
+    private static <E> int height(Node<E> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Returns the number of elements in the subtree of the specified node
+     *
+     * @param node the root of the subtree or null
+     * @param <E>  the type of the elements
+     * @return the number of elements in the subtree or 0 if the node is null
+     */
+    private static <E> int size(Node<E> node) {
+        return node == null ? 0 : node.size;
+    }
+}
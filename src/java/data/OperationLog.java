@@ -0,0 +1,628 @@
+package data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import logic.Asset;
+import logic.Supplier;
+import logic.manager.OrdersManager;
+import logic.manager.PositionsManager;
+import logic.manager.SparePartsManager;
+import logic.manager.SuppliersManager;
+import logic.order.Order;
+import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import logic.products.item.ItemData;
+import logic.products.position.Position;
+import logic.products.position.PositionData;
+import logic.products.position.ShippingCompany;
+import logic.saleBook.ChangeJournal;
+import logic.saleBook.SaleBook;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * This class persists the changes of a saleBook as an append-only log next to its JSON-File.
+ * Each line of the log is one operation of a manager in JSON, numbered by an increasing
+ * sequence. The JSON-File is the snapshot of the saleBook and stores the sequence of the last
+ * operation it contains as {@code logSequence}, so the saleBook is restored by loading the
+ * snapshot and replaying the operations of the log behind this sequence.
+ * <p>
+ * The changes are taken from the {@link ChangeJournal} of the saleBook and kept pending until
+ * they are drained by a save, so a save only has to append the pending operations instead of
+ * rewriting the whole saleBook. If the log becomes too long, it should be compacted by writing a
+ * new snapshot and deleting the log. Besides, a log whose operations are all written can be
+ * compacted in the background at any time, see {@link #isCompactable()}.
+ * <p>
+ * The recording, draining and replaying have to be done on the JavaFX application thread, the
+ * static methods to read and write the log file can be called on any thread.
+ *
+ * @author xthe_white_lionx
+ */
+public class OperationLog {
+
+    /**
+     * The suffix which is added to the name of the JSON-File to get the name of its log
+     */
+    public static final String LOG_SUFFIX = ".log";
+
+    /**
+     * The number of logged operations from which on the log should be compacted
+     */
+    public static final int COMPACTION_THRESHOLD = 1000;
+
+    /**
+     * Type of the map from a spare part to its quantity
+     */
+    private static final Type SPARE_PARTS_TO_QUANTITY =
+            new TypeToken<Map<SparePart, Integer>>() {}.getType();
+
+    /**
+     * The saleBook whose changes are logged
+     */
+    private final SaleBook saleBook;
+
+    /**
+     * The operations which are read from the log file but not replayed yet
+     */
+    private final List<JsonObject> tail;
+
+    /**
+     * The encoded operations which are recorded but not written into the log file yet
+     */
+    private final List<String> pending = new ArrayList<>();
+
+    /**
+     * The sequence of the last recorded operation
+     */
+    private long sequence;
+
+    /**
+     * The number of operations in the log file, which are not contained by the snapshot
+     */
+    private int loggedCount;
+
+    /**
+     * Whether the log file may miss operations, so a new snapshot is required
+     */
+    private boolean compactionRequired;
+
+    /**
+     * The listener which records the changes of the saleBook
+     */
+    private final Consumer<ChangeJournal.Change> changeListener;
+
+    /**
+     * Constructor
+     *
+     * @param saleBook the saleBook whose changes are logged
+     * @param sequence the sequence of the last operation of the saleBook
+     * @param tail     the operations which are read from the log file but not replayed yet
+     */
+    private OperationLog(@NotNull SaleBook saleBook, long sequence,
+                         @NotNull List<JsonObject> tail) {
+        this.saleBook = saleBook;
+        this.sequence = sequence;
+        this.tail = tail;
+        this.loggedCount = tail.size();
+        this.changeListener = this::record;
+        this.saleBook.getChangeJournal().addListener(this.changeListener);
+    }
+
+    /**
+     * Creates a new operationLog for the specified saleBook, which is saved in a new snapshot
+     * with the specified sequence.
+     *
+     * @param saleBook the saleBook whose changes should be logged
+     * @param sequence the logSequence of the snapshot
+     * @return the new operationLog
+     */
+    public static @NotNull OperationLog create(@NotNull SaleBook saleBook, long sequence) {
+        return new OperationLog(saleBook, sequence, new ArrayList<>());
+    }
+
+    /**
+     * Opens the log of the specified file for the specified saleBook, which was loaded from the
+     * snapshot with the specified logSequence. The operations behind the logSequence are read,
+     * they have to be replayed by {@link #replayTail()}.
+     *
+     * @param file        the JSON-File of the saleBook
+     * @param saleBook    the saleBook which was loaded from the file
+     * @param logSequence the logSequence of the snapshot
+     * @return the operationLog of the saleBook
+     * @throws IOException if an I/0 error occurs at the reading or the log is corrupted
+     */
+    public static @NotNull OperationLog open(@NotNull File file, @NotNull SaleBook saleBook,
+                                             long logSequence) throws IOException {
+        List<JsonObject> tail = read(file, logSequence);
+        long sequence = tail.isEmpty()
+                ? logSequence : tail.get(tail.size() - 1).get("sequence").getAsLong();
+        OperationLog operationLog = new OperationLog(saleBook, sequence, tail);
+        if (!endsWithLineBreak(getLogFile(file))) {
+            //an incomplete operation must not be continued by appended operations
+            operationLog.requireCompaction();
+        }
+        return operationLog;
+    }
+
+    /**
+     * Returns the log file of the specified JSON-File
+     *
+     * @param file the JSON-File of a saleBook
+     * @return the log file of the specified JSON-File
+     */
+    public static @NotNull File getLogFile(@NotNull File file) {
+        return new File(file.getAbsolutePath() + LOG_SUFFIX);
+    }
+
+    /**
+     * Appends the specified encoded operations to the log of the specified file and forces them
+     * to the storage device
+     *
+     * @param file       the JSON-File of the saleBook
+     * @param operations the operations which were returned by {@link #drainPending()}
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    public static void append(@NotNull File file, byte @NotNull [] operations)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(getLogFile(file).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(operations);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Deletes the log of the specified file. This shall be only done after a snapshot which
+     * contains all logged operations was written.
+     *
+     * @param file the JSON-File of the saleBook
+     * @throws IOException if an I/0 error occurs at the deleting
+     */
+    public static void delete(@NotNull File file) throws IOException {
+        Files.deleteIfExists(getLogFile(file).toPath());
+    }
+
+    /**
+     * Returns the saleBook whose changes are logged
+     *
+     * @return the saleBook whose changes are logged
+     */
+    public @NotNull SaleBook getSaleBook() {
+        return this.saleBook;
+    }
+
+    /**
+     * Returns the sequence of the last recorded operation
+     *
+     * @return the sequence of the last recorded operation
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Returns true if there are recorded operations which are not drained yet
+     *
+     * @return true if there are recorded operations which are not drained yet
+     */
+    public boolean hasPending() {
+        return !this.pending.isEmpty();
+    }
+
+    /**
+     * Returns true if the log contains so many operations, that it should be compacted
+     *
+     * @return true if the log should be compacted
+     */
+    public boolean needsCompaction() {
+        return this.compactionRequired
+                || this.loggedCount + this.pending.size() >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Returns true if the log file contains operations behind the snapshot and all recorded
+     * operations are written into it. A new snapshot then only folds the log file and does not
+     * save any further changes, so it can be written in the background.
+     *
+     * @return true if the log can be compacted without saving further changes
+     */
+    public boolean isCompactable() {
+        return this.loggedCount > 0 && this.pending.isEmpty() && !this.compactionRequired;
+    }
+
+    /**
+     * Requires a compaction by the next save, because drained operations could not be written
+     * into the log file
+     */
+    public void requireCompaction() {
+        this.compactionRequired = true;
+    }
+
+    /**
+     * Returns the pending operations as lines in UTF-8 and clears them
+     *
+     * @return the pending operations
+     */
+    public byte @NotNull [] drainPending() {
+        StringBuilder builder = new StringBuilder();
+        for (String operation : this.pending) {
+            builder.append(operation).append('\n');
+        }
+        this.loggedCount += this.pending.size();
+        this.pending.clear();
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Marks the log as compacted, the pending operations are contained by the new snapshot
+     */
+    public void compacted() {
+        this.pending.clear();
+        this.loggedCount = 0;
+        this.compactionRequired = false;
+    }
+
+    /**
+     * Stops the recording of the changes of the saleBook. The pending operations are kept, but
+     * no further operations are recorded, so the log has to be compacted by the next save.
+     */
+    public void close() {
+        this.saleBook.getChangeJournal().removeListener(this.changeListener);
+        this.requireCompaction();
+    }
+
+    /**
+     * Replays the operations which were read from the log file on the saleBook. The replayed
+     * operations are not recorded again. Afterwards the saleBook is displayed.
+     *
+     * @throws IllegalStateException if an operation is unknown
+     */
+    public void replayTail() {
+        if (this.tail.isEmpty()) {
+            return;
+        }
+        this.saleBook.getChangeJournal().nested(() -> {
+            for (JsonObject operation : this.tail) {
+                this.replay(operation);
+            }
+        });
+        this.tail.clear();
+        this.saleBook.displaySaleBook();
+    }
+
+    /**
+     * Applies the specified operation, which has the format of a logged operation without
+     * sequence, on the saleBook. Unlike a replayed operation the applied operation is recorded
+     * like an operation of the gui.
+     *
+     * @param operation the operation which should be applied
+     * @throws IllegalArgumentException if the operation has no source, name or arguments
+     * @throws IllegalStateException    if the operation is unknown
+     * @throws JsonParseException       if an argument cannot be converted
+     */
+    public void apply(@NotNull JsonObject operation) {
+        if (!operation.has("source") || !operation.has("operation")
+                || !operation.has("arguments") || !operation.get("arguments").isJsonArray()) {
+            throw new IllegalArgumentException("incomplete operation " + operation);
+        }
+        this.replay(operation);
+    }
+
+    /**
+     * Reads the operations of the log of the specified file behind the specified sequence.
+     * An incomplete last line, which was left by a crash while appending, is ignored.
+     *
+     * @param file     the JSON-File of the saleBook
+     * @param sequence the sequence of the last operation which should be skipped
+     * @return the operations behind the sequence
+     * @throws IOException if an I/0 error occurs at the reading or the log is corrupted
+     */
+    private static @NotNull List<JsonObject> read(@NotNull File file, long sequence)
+            throws IOException {
+        List<JsonObject> operations = new ArrayList<>();
+        File logFile = getLogFile(file);
+        if (!logFile.exists()) {
+            return operations;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(),
+                StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            int lineNumber = 1;
+            while (line != null) {
+                String nextLine = reader.readLine();
+                try {
+                    JsonObject operation = JsonParser.parseString(line).getAsJsonObject();
+                    if (operation.get("sequence").getAsLong() > sequence) {
+                        operations.add(operation);
+                    }
+                } catch (JsonParseException | IllegalStateException e) {
+                    if (nextLine != null) {
+                        throw new IOException("corrupted operation in line %d of %s"
+                                .formatted(lineNumber, logFile.getName()), e);
+                    }
+                }
+                line = nextLine;
+                lineNumber++;
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Returns true if the specified log file is empty, does not exist or ends with a line break
+     *
+     * @param logFile the log file which should be checked
+     * @return true if the log file ends with a complete operation
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private static boolean endsWithLineBreak(@NotNull File logFile) throws IOException {
+        if (!logFile.exists() || logFile.length() == 0) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, channel.size() - 1);
+            return buffer.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Records the specified change as pending operation
+     *
+     * @param change the change of the saleBook
+     */
+    private void record(@NotNull ChangeJournal.Change change) {
+        Set<ItemColor> itemColors = new LinkedHashSet<>();
+        JsonArray arguments = new JsonArray();
+        for (Object argument : change.getArguments()) {
+            arguments.add(toJsonTree(argument, itemColors));
+        }
+
+        JsonObject operation = new JsonObject();
+        operation.addProperty("sequence", ++this.sequence);
+        operation.addProperty("source", change.getSource());
+        operation.addProperty("operation", change.getOperation());
+        operation.add("arguments", arguments);
+        if (!itemColors.isEmpty()) {
+            operation.add("itemColors", SaleBookData.WRITING_GSON.toJsonTree(itemColors));
+        }
+        this.pending.add(operation.toString());
+    }
+
+    /**
+     * Returns the specified argument of an operation as JSON. Positions and items are written
+     * in the format of their data, their itemColors are added to the specified itemColors.
+     *
+     * @param argument   the argument which should be converted
+     * @param itemColors the itemColors which are used by the argument
+     * @return the argument as JSON
+     */
+    private static @NotNull JsonElement toJsonTree(Object argument,
+                                                   @NotNull Set<ItemColor> itemColors) {
+        if (argument instanceof Position position) {
+            //the data is used, so lazy items are not materialized by the logging
+            PositionData positionData = position.toData();
+            Map<String, ItemColor> nameToItemColor = ItemColor.getItemColorMap();
+            for (ItemData itemData : positionData.getItemData()) {
+                ItemColor itemColor = nameToItemColor.get(itemData.getItemColorName());
+                if (itemColor != null) {
+                    itemColors.add(itemColor);
+                }
+            }
+            return SaleBookData.WRITING_GSON.toJsonTree(positionData);
+        }
+        if (argument instanceof Item item) {
+            itemColors.add(item.getItemColor());
+            return SaleBookData.WRITING_GSON.toJsonTree(item.toData());
+        }
+        return SaleBookData.WRITING_GSON.toJsonTree(argument);
+    }
+
+    /**
+     * Replays the specified operation on the saleBook
+     *
+     * @param operation the operation which should be replayed
+     * @throws IllegalStateException if the operation is unknown
+     */
+    private void replay(@NotNull JsonObject operation) {
+        if (operation.has("itemColors")) {
+            for (JsonElement element : operation.getAsJsonArray("itemColors")) {
+                ItemColor itemColor = SaleBookData.READING_GSON.fromJson(element,
+                        ItemColor.class);
+                ItemColor.getItemColor(itemColor.getName(), itemColor.getColor());
+            }
+        }
+        JsonArray arguments = operation.getAsJsonArray("arguments");
+        PositionsManager positionsManager = this.saleBook.getPositionsManager();
+        SparePartsManager sparePartsManager = this.saleBook.getSparePartsManager();
+        OrdersManager ordersManager = this.saleBook.getOrdersManager();
+        SuppliersManager suppliersManager = this.saleBook.getSuppliersManager();
+        String name = operation.get("source").getAsString() + "."
+                + operation.get("operation").getAsString();
+        switch (name) {
+            case "PositionsManager.addPosition":
+                positionsManager.addPosition(toPosition(arguments.get(0)));
+                break;
+            case "PositionsManager.addItemToPosition":
+                positionsManager.addItemToPosition(arg(arguments, 0, int.class),
+                        toItem(arguments.get(1)));
+                break;
+            case "PositionsManager.removePosition":
+                positionsManager.removePosition(arg(arguments, 0, int.class));
+                break;
+            case "PositionsManager.removeItem":
+                positionsManager.removeItem(arg(arguments, 0, int.class),
+                        arg(arguments, 1, int.class));
+                break;
+            case "PositionsManager.setReceived":
+                positionsManager.setReceived(arg(arguments, 0, int.class),
+                        arg(arguments, 1, LocalDate.class));
+                break;
+            case "PositionsManager.addCostToPosition":
+                positionsManager.addCostToPosition(arg(arguments, 0, int.class),
+                        arg(arguments, 1, BigDecimal.class));
+                break;
+            case "PositionsManager.repairPosition":
+                positionsManager.repairPosition(arg(arguments, 0, int.class),
+                        arg(arguments, 1, SPARE_PARTS_TO_QUANTITY));
+                break;
+            case "PositionsManager.sale":
+                positionsManager.sale(arg(arguments, 0, int.class),
+                        arg(arguments, 1, LocalDate.class),
+                        arg(arguments, 2, BigDecimal.class));
+                break;
+            case "PositionsManager.shipped":
+                positionsManager.shipped(arg(arguments, 0, int.class),
+                        arg(arguments, 1, ShippingCompany.class),
+                        arg(arguments, 2, String.class),
+                        arg(arguments, 3, BigDecimal.class));
+                break;
+            case "PositionsManager.dividePosition":
+                positionsManager.dividePosition(arg(arguments, 0, int.class));
+                break;
+            case "PositionsManager.combinePositions":
+                positionsManager.combinePositions(arg(arguments, 0, int.class),
+                        arg(arguments, 1, int[].class));
+                break;
+            case "PositionsManager.positionEdited":
+                positionsManager.replacePosition(toPosition(arguments.get(1)));
+                break;
+            case "SparePartsManager.addSparePart":
+                sparePartsManager.addSparePart(arg(arguments, 0, SparePart.class),
+                        arg(arguments, 1, int.class));
+                break;
+            case "SparePartsManager.addSpareParts":
+                sparePartsManager.addSpareParts(arg(arguments, 0, SPARE_PARTS_TO_QUANTITY));
+                break;
+            case "SparePartsManager.useSparParts":
+                if (arguments.size() == 1) {
+                    sparePartsManager.useSparParts(
+                            arg(arguments, 0, SPARE_PARTS_TO_QUANTITY));
+                } else {
+                    sparePartsManager.useSparParts(arg(arguments, 0, SparePart.class),
+                            arg(arguments, 1, int.class));
+                }
+                break;
+            case "SparePartsManager.removeSparePart":
+                sparePartsManager.removeSparePart(arg(arguments, 0, SparePart.class));
+                break;
+            case "OrdersManager.addOrder":
+                ordersManager.addOrder(arg(arguments, 0, Order.class));
+                break;
+            case "OrdersManager.orderReceived":
+                ordersManager.orderReceived(arg(arguments, 0, int.class));
+                break;
+            case "OrdersManager.sparePartReceived":
+                ordersManager.sparePartReceived(arg(arguments, 0, int.class),
+                        arg(arguments, 1, SparePart.class));
+                break;
+            case "OrdersManager.cancelOrder":
+                ordersManager.cancelOrder(arg(arguments, 0, int.class));
+                break;
+            case "AssetsManager.addAsset":
+                this.saleBook.getAssetsManager().addAsset(arg(arguments, 0, Asset.class));
+                break;
+            case "AssetsManager.removeAsset":
+                this.saleBook.getAssetsManager().removeAsset(arg(arguments, 0, int.class));
+                break;
+            case "SuppliersManager.addSupplier":
+                suppliersManager.addSupplier(arg(arguments, 0, Supplier.class));
+                break;
+            case "SuppliersManager.removeSupplier":
+                suppliersManager.removeSupplier(arg(arguments, 0, String.class));
+                break;
+            case "SuppliersManager.supplierEdited":
+                String oldName = arg(arguments, 0, String.class);
+                Supplier editedSupplier = arg(arguments, 1, Supplier.class);
+                Supplier supplier = suppliersManager.getSupplier(oldName);
+                if (supplier == null) {
+                    throw new IllegalStateException("no supplier for name " + oldName);
+                }
+                supplier.setName(editedSupplier.getName());
+                supplier.setOrderWebpage(editedSupplier.getOrderWebpage());
+                suppliersManager.supplierEdited(oldName);
+                break;
+            case "SaleBook.addRepairServiceSale":
+                this.saleBook.addRepairServiceSale(arg(arguments, 0, BigDecimal.class));
+                break;
+            case "SaleBook.addExtraordinaryIncome":
+                this.saleBook.addExtraordinaryIncome(arg(arguments, 0, BigDecimal.class));
+                break;
+            case "SaleBook.addPayment":
+                this.saleBook.addPayment(arg(arguments, 0, BigDecimal.class));
+                break;
+            case "SaleBook.addFixedCost":
+                this.saleBook.addFixedCost(arg(arguments, 0, double.class));
+                break;
+            case "SaleBook.recalculateTenthPartPage":
+                this.saleBook.recalculateTenthPartPage(arg(arguments, 0, BigDecimal.class),
+                        arg(arguments, 1, BigDecimal.class),
+                        arg(arguments, 2, BigDecimal.class));
+                break;
+            default:
+                throw new IllegalStateException("unknown operation " + name);
+        }
+    }
+
+    /**
+     * Returns the argument at the specified index converted to the specified type
+     *
+     * @param arguments the arguments of an operation
+     * @param index     the index of the argument
+     * @param type      the type of the argument
+     * @param <T>       the type of the argument
+     * @return the converted argument
+     */
+    private static <T> T arg(@NotNull JsonArray arguments, int index, @NotNull Type type) {
+        return SaleBookData.READING_GSON.fromJson(arguments.get(index), type);
+    }
+
+    /**
+     * Returns the specified positionData as position
+     *
+     * @param positionData the positionData as JSON
+     * @return the position of the positionData
+     */
+    private static @NotNull Position toPosition(@NotNull JsonElement positionData) {
+        return new Position(SaleBookData.READING_GSON.fromJson(positionData, PositionData.class),
+                ItemColor.getItemColorMap());
+    }
+
+    /**
+     * Returns the specified itemData as item
+     *
+     * @param itemData the itemData as JSON
+     * @return the item of the itemData
+     */
+    private static @NotNull Item toItem(@NotNull JsonElement itemData) {
+        ItemData data = SaleBookData.READING_GSON.fromJson(itemData, ItemData.class);
+        return new Item(data, ItemColor.getItemColorMap().get(data.getItemColorName()));
+    }
+}
@@ -0,0 +1,180 @@
+package data;
+
+import data.tools.HeadlessGui;
+import logic.products.item.ItemColor;
+import logic.saleBook.SaleBook;
+import org.jetbrains.annotations.NotNull;
+import utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This class describes the binary file format of a saleBook and converts saleBooks between the
+ * JSON format of {@link SaleBookData} and the binary format.
+ * <p>
+ * A binary file starts with a header, which contains the {@link #MAGIC} number, the
+ * {@link #VERSION} of the format and the sequence of the last operation of the
+ * {@link OperationLog} which is contained by the file. The header is followed by the string
+ * table, which contains each string of the saleBook once, for example the categories, the names
+ * of the suppliers and the units of the spare parts. Everywhere else a string is stored as its
+ * index in the string table. The string table is followed by the sections of the saleBook. Each
+ * section starts with its tag and its length, so unknown sections can be skipped. The records of
+ * a section, for example the positions, are prefixed by their length as well, so fields which
+ * are appended to a record by a later version are skipped by older readers.
+ * <p>
+ * All numbers are stored big-endian. Money is stored as scaled long, which is the unscaled
+ * value and the scale of the BigDecimal. A date is stored as epoch day and a color as rgba int.
+ *
+ * @author xthe_white_lionx
+ * @see SaleBookBinaryWriter
+ * @see SaleBookBinaryReader
+ */
+public final class SaleBookBinaryFormat {
+
+    /**
+     * The extension of the binary files
+     */
+    public static final String EXTENSION = "sbk";
+
+    /**
+     * The magic number at the beginning of each binary file, the ASCII characters "SBKB"
+     */
+    static final int MAGIC = 0x53424B42;
+
+    /**
+     * The version of the format which is written
+     */
+    static final short VERSION = 1;
+
+    /**
+     * The tag of the section of the itemColors
+     */
+    static final byte ITEM_COLORS = 1;
+
+    /**
+     * The tag of the section of the spare parts
+     */
+    static final byte SPARE_PARTS = 2;
+
+    /**
+     * The tag of the section of the positions
+     */
+    static final byte POSITIONS = 3;
+
+    /**
+     * The tag of the section of the suppliers
+     */
+    static final byte SUPPLIERS = 4;
+
+    /**
+     * The tag of the section of the assets
+     */
+    static final byte ASSETS = 5;
+
+    /**
+     * The tag of the section of the orders
+     */
+    static final byte ORDERS = 6;
+
+    /**
+     * The tag of the section of the balances
+     */
+    static final byte BALANCES = 7;
+
+    /**
+     * The index of a string which is null
+     */
+    static final int NULL_STRING = -1;
+
+    /**
+     * The epoch day of a date which is null
+     */
+    static final long NULL_DATE = Long.MIN_VALUE;
+
+    /**
+     * The kind of money which is null
+     */
+    static final byte NULL_MONEY = 0;
+
+    /**
+     * The kind of money which is stored as scale and unscaled long
+     */
+    static final byte SCALED_MONEY = 1;
+
+    /**
+     * The kind of money which does not fit into a scaled long and is stored as string
+     */
+    static final byte STRING_MONEY = 2;
+
+    /**
+     * Suppresses default constructor, ensuring non-instantiability.
+     */
+    private SaleBookBinaryFormat() {
+    }
+
+    /**
+     * Converts the specified JSON file into the specified binary file. The operations of the
+     * {@link OperationLog} of the JSON file are contained by the binary file.
+     *
+     * @param jsonFile   the JSON file which should be converted
+     * @param binaryFile the binary file which should be written
+     * @param backups    the number of backups of the old content of the binary file which
+     *                   should be kept
+     * @throws IOException              if an I/0 error occurs at the reading or writing
+     * @throws IllegalArgumentException if the files have not the expected extensions
+     */
+    public static void jsonToBinary(@NotNull File jsonFile, @NotNull File binaryFile, int backups)
+            throws IOException {
+        SaleBookReader saleBookReader = new SaleBookReader(jsonFile, totalBytes -> {
+        });
+        SaleBook saleBook = new SaleBook(new HeadlessGui(), saleBookReader);
+        ItemColor.setItemColors(saleBookReader.getItemColors());
+        OperationLog.open(jsonFile, saleBook, saleBookReader.getLogSequence()).replayTail();
+        new SaleBookBinaryWriter(saleBook).toFile(binaryFile, backups);
+    }
+
+    /**
+     * Converts the specified binary file into the specified JSON file
+     *
+     * @param binaryFile the binary file which should be converted
+     * @param jsonFile   the JSON file which should be written
+     * @param backups    the number of backups of the old content of the JSON file which
+     *                   should be kept
+     * @throws IOException              if an I/0 error occurs at the reading or writing
+     * @throws IllegalArgumentException if the files have not the expected extensions
+     */
+    public static void binaryToJson(@NotNull File binaryFile, @NotNull File jsonFile, int backups)
+            throws IOException {
+        SaleBookBinaryReader saleBookReader = new SaleBookBinaryReader(binaryFile, totalBytes -> {
+        });
+        SaleBook saleBook = new SaleBook(new HeadlessGui(), saleBookReader);
+        ItemColor.setItemColors(saleBookReader.getItemColors());
+        new SaleBookWriter(saleBook, true).toJson(jsonFile, totalBytes -> {
+        }, backups);
+        OperationLog.delete(jsonFile);
+    }
+
+    /**
+     * Converts the file of the first argument into the file of the second argument. The
+     * direction of the conversion is determined by the extension of the first file.
+     *
+     * @param args the file which should be converted and the file which should be written
+     * @throws IOException if an I/0 error occurs at the reading or writing
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: SaleBookBinaryFormat <source.json|source.%s> <target>"
+                    .formatted(EXTENSION));
+            System.exit(2);
+        }
+
+        File source = new File(args[0]);
+        File target = new File(args[1]);
+        if (FileUtils.getExtension(source).equals(EXTENSION)) {
+            binaryToJson(source, target, 0);
+        } else {
+            jsonToBinary(source, target, 0);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package data;
+
+import com.google.gson.JsonObject;
+import javafx.scene.paint.Color;
+import logic.Asset;
+import logic.Condition;
+import logic.GUIConnector;
+import logic.ProgressListener;
+import logic.Supplier;
+import logic.Variant;
+import logic.order.Order;
+import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import logic.products.position.Position;
+import logic.products.position.ShippingCompany;
+import logic.products.position.State;
+import logic.saleBook.SaleBook;
+import logic.saleBook.SaleBookLoader;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class reads a saleBook from a file in the binary format of {@link SaleBookBinaryFormat}.
+ * The file is mapped into memory by a {@link MappedByteBuffer}, so it is not copied into a heap
+ * buffer and no text has to be parsed. Only the string table is decoded in advance, afterwards
+ * each position, spare part, order, asset and supplier is directly added to the managers of the
+ * saleBook.
+ * <p>
+ * Like the {@link SaleBookReader} the read itemColors are not set as the known itemColors, the
+ * caller has to call {@code ItemColor.setItemColors(reader.getItemColors())} after the loading
+ * on the thread which owns the itemColors.
+ *
+ * @author xthe_white_lionx
+ * @see SaleBookBinaryWriter
+ */
+public class SaleBookBinaryReader implements SaleBookLoader {
+
+    /**
+     * The file which should be read
+     */
+    private final File file;
+
+    /**
+     * The listener which will be updated after each read section
+     */
+    private final ProgressListener progressListener;
+
+    /**
+     * The decoded string table of the read file
+     */
+    private String[] strings;
+
+    /**
+     * The sequence of the last operation of the {@link OperationLog} which is contained by the
+     * read file
+     */
+    private long logSequence;
+
+    /**
+     * The read itemColors mapped to their names, the items of the read positions use these
+     * itemColors
+     */
+    private final Map<String, ItemColor> nameToItemColor;
+
+    /**
+     * The read itemColors or null if the itemColors are not read yet
+     */
+    private ItemColor[] itemColors;
+
+    /**
+     * Constructor
+     *
+     * @param file             the file to get the data from to
+     * @param progressListener the listener which will be updated by reading the file
+     * @throws IllegalArgumentException if the file is not a binary saleBook file
+     */
+    public SaleBookBinaryReader(@NotNull File file, @NotNull ProgressListener progressListener) {
+        if (!FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION)) {
+            throw new IllegalArgumentException("the file must be an %s file"
+                    .formatted(SaleBookBinaryFormat.EXTENSION));
+        }
+
+        this.file = file;
+        this.progressListener = progressListener;
+        this.nameToItemColor = new HashMap<>();
+    }
+
+    /**
+     * Reads a saleBook from the data of the specified file. The returned saleBook is not
+     * displayed yet, so this methode can be called outside the JavaFX application thread.
+     *
+     * @param file             the file to get the data from to
+     * @param progressListener the listener which will be updated by reading the file
+     * @param gui              connection to the gui of the new saleBook
+     * @return a new saleBook or null if the file is empty
+     * @throws IOException              if an I/0 error occurs at the reading or the file is
+     *                                  corrupt
+     * @throws IllegalArgumentException if the file is not a binary saleBook file
+     */
+    public static @Nullable SaleBook read(@NotNull File file,
+                                          @NotNull ProgressListener progressListener,
+                                          @NotNull GUIConnector gui) throws IOException {
+        SaleBookBinaryReader saleBookReader = new SaleBookBinaryReader(file, progressListener);
+        if (file.length() == 0) {
+            return null;
+        }
+        return new SaleBook(gui, saleBookReader);
+    }
+
+    /**
+     * Returns the sequence of the last operation of the {@link OperationLog} which is contained
+     * by the read file, or 0 if the file was not written with an operationLog
+     *
+     * @return the logSequence of the read file
+     */
+    public long getLogSequence() {
+        return this.logSequence;
+    }
+
+    /**
+     * Returns the itemColors of the read file or an empty array if the file contains no
+     * itemColors or was not read yet
+     *
+     * @return the itemColors of the read file
+     */
+    public @NotNull ItemColor[] getItemColors() {
+        return this.itemColors != null ? this.itemColors.clone() : new ItemColor[0];
+    }
+
+    @Override
+    public void load(@NotNull SaleBook saleBook) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            this.load(buffer, saleBook);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException
+                 | IllegalArgumentException e) {
+            throw new IOException("%s is corrupt".formatted(this.file.getName()), e);
+        } finally {
+            this.strings = null;
+        }
+    }
+
+    /**
+     * Loads the data of the specified buffer into the specified empty saleBook
+     *
+     * @param buffer   the buffer which contains the file
+     * @param saleBook the saleBook which should be filled
+     * @throws IOException if the buffer does not contain a supported binary saleBook
+     */
+    private void load(@NotNull ByteBuffer buffer, @NotNull SaleBook saleBook)
+            throws IOException {
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != SaleBookBinaryFormat.MAGIC) {
+            throw new IOException("%s is no binary saleBook".formatted(this.file.getName()));
+        }
+        short version = buffer.getShort();
+        if (version > SaleBookBinaryFormat.VERSION) {
+            throw new IOException("version %d of %s is not supported"
+                    .formatted(version, this.file.getName()));
+        }
+        this.logSequence = buffer.getLong();
+        this.readStrings(buffer);
+        this.progressListener.updateProgress(buffer.position());
+
+        while (buffer.hasRemaining()) {
+            byte tag = buffer.get();
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            switch (tag) {
+                case SaleBookBinaryFormat.ITEM_COLORS:
+                    this.readItemColors(buffer);
+                    break;
+                case SaleBookBinaryFormat.SPARE_PARTS:
+                    this.readSpareParts(buffer, saleBook);
+                    break;
+                case SaleBookBinaryFormat.POSITIONS:
+                    this.readPositions(buffer, saleBook);
+                    break;
+                case SaleBookBinaryFormat.SUPPLIERS:
+                    this.readSuppliers(buffer, saleBook);
+                    break;
+                case SaleBookBinaryFormat.ASSETS:
+                    this.readAssets(buffer, saleBook);
+                    break;
+                case SaleBookBinaryFormat.ORDERS:
+                    this.readOrders(buffer, saleBook);
+                    break;
+                case SaleBookBinaryFormat.BALANCES:
+                    saleBook.loadBalances(this.readMoney(buffer), this.readMoney(buffer),
+                            this.readMoney(buffer), this.readMoney(buffer));
+                    break;
+                default:
+                    //unknown sections of later versions are skipped
+            }
+            buffer.position(end);
+            this.progressListener.updateProgress(end);
+        }
+    }
+
+    /**
+     * Reads the string table
+     *
+     * @param buffer the buffer which is positioned at the string table
+     */
+    private void readStrings(@NotNull ByteBuffer buffer) {
+        this.strings = new String[buffer.getInt()];
+        for (int i = 0; i < this.strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads the itemColors and adds them to the nameToItemColor map
+     *
+     * @param buffer the buffer which is positioned at the section of the itemColors
+     */
+    private void readItemColors(@NotNull ByteBuffer buffer) {
+        int count = buffer.getInt();
+        this.itemColors = new ItemColor[count];
+        for (int i = 0; i < count; i++) {
+            int end = buffer.getInt() + buffer.position();
+            String name = this.readString(buffer);
+            int rgba = buffer.getInt();
+            Color color = Color.rgb(rgba >>> 24, rgba >>> 16 & 0xFF, rgba >>> 8 & 0xFF,
+                    (rgba & 0xFF) / 255D);
+            JsonObject itemColor = new JsonObject();
+            itemColor.addProperty("name", name);
+            itemColor.addProperty("color", color.toString());
+            //the itemColor is created like by the SaleBookReader, so the known itemColors
+            //are not changed
+            this.itemColors[i] = SaleBookData.READING_GSON.fromJson(itemColor, ItemColor.class);
+            this.nameToItemColor.put(name, this.itemColors[i]);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads the spare parts and adds them to the sparePartsManager of the specified saleBook
+     *
+     * @param buffer   the buffer which is positioned at the section of the spare parts
+     * @param saleBook the saleBook to which the spare parts should be added
+     */
+    private void readSpareParts(@NotNull ByteBuffer buffer, @NotNull SaleBook saleBook) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int end = buffer.getInt() + buffer.position();
+            SparePart sparePart = this.readSparePart(buffer);
+            saleBook.getSparePartsManager().loadSparePart(sparePart, buffer.getInt());
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads the positions and adds them to the specified saleBook
+     *
+     * @param buffer   the buffer which is positioned at the section of the positions
+     * @param saleBook the saleBook to which the positions should be added
+     */
+    private void readPositions(@NotNull ByteBuffer buffer, @NotNull SaleBook saleBook) {
+        saleBook.getPositionsManager().loadNextPosId(buffer.getInt());
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int end = buffer.getInt() + buffer.position();
+            saleBook.loadPosition(this.readPosition(buffer));
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads a position with its items
+     *
+     * @param buffer the buffer which is positioned at the position
+     * @return the read position
+     */
+    private @NotNull Position readPosition(@NotNull ByteBuffer buffer) {
+        int id = buffer.getInt();
+        String category = this.readString(buffer);
+        State state = State.valueOf(this.readString(buffer));
+        BigDecimal purchasingPrice = this.readMoney(buffer);
+        LocalDate orderDate = readDate(buffer);
+        BigDecimal cost = this.readMoney(buffer);
+        LocalDate receivedDate = readDate(buffer);
+        LocalDate sellingDate = readDate(buffer);
+        BigDecimal sellingPrice = this.readMoney(buffer);
+        String shippingCompany = this.readString(buffer);
+        String trackingNumber = this.readString(buffer);
+        int nextItemId = buffer.getInt();
+
+        int itemCount = buffer.getInt();
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(buffer.getInt(), Condition.valueOf(this.readString(buffer)),
+                    Variant.valueOf(this.readString(buffer)),
+                    this.nameToItemColor.get(this.readString(buffer)),
+                    this.readString(buffer)));
+        }
+
+        return new Position(id, category, orderDate, purchasingPrice, state, cost, receivedDate,
+                sellingDate, sellingPrice,
+                shippingCompany != null ? ShippingCompany.valueOf(shippingCompany) : null,
+                trackingNumber, items, nextItemId);
+    }
+
+    /**
+     * Reads the suppliers and adds them to the suppliersManager of the specified saleBook
+     *
+     * @param buffer   the buffer which is positioned at the section of the suppliers
+     * @param saleBook the saleBook to which the suppliers should be added
+     */
+    private void readSuppliers(@NotNull ByteBuffer buffer, @NotNull SaleBook saleBook) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int end = buffer.getInt() + buffer.position();
+            saleBook.getSuppliersManager().loadSupplier(this.readSupplier(buffer));
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads the assets and adds them to the assetsManager of the specified saleBook
+     *
+     * @param buffer   the buffer which is positioned at the section of the assets
+     * @param saleBook the saleBook to which the assets should be added
+     */
+    private void readAssets(@NotNull ByteBuffer buffer, @NotNull SaleBook saleBook) {
+        saleBook.getAssetsManager().loadNextAssetId(buffer.getInt());
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int end = buffer.getInt() + buffer.position();
+            int id = buffer.getInt();
+            String name = this.readString(buffer);
+            Supplier supplier = this.readSupplier(buffer);
+            LocalDate purchasingDate = readDate(buffer);
+            LocalDate arrivalDate = readDate(buffer);
+            Asset asset = new Asset(id, name, supplier, purchasingDate, buffer.getDouble());
+            if (arrivalDate != null) {
+                asset.setArrivalDate(arrivalDate);
+            }
+            saleBook.getAssetsManager().loadAsset(asset);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads the orders and adds them to the ordersManager of the specified saleBook. The state
+     * of each order is restored by receiving or cancelling the created order.
+     *
+     * @param buffer   the buffer which is positioned at the section of the orders
+     * @param saleBook the saleBook to which the orders should be added
+     */
+    private void readOrders(@NotNull ByteBuffer buffer, @NotNull SaleBook saleBook) {
+        saleBook.getOrdersManager().loadNextOrderId(buffer.getInt());
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int end = buffer.getInt() + buffer.position();
+            int id = buffer.getInt();
+            Order.OrderState orderState = Order.OrderState.valueOf(this.readString(buffer));
+            LocalDate orderDate = readDate(buffer);
+            Supplier supplier = this.readSupplier(buffer);
+            double value = buffer.getDouble();
+            int sparePartCount = buffer.getInt();
+            Map<SparePart, Integer> sparePartToOrderQuantity = new HashMap<>();
+            List<SparePart> receivedSpareParts = new ArrayList<>();
+            for (int j = 0; j < sparePartCount; j++) {
+                SparePart sparePart = this.readSparePart(buffer);
+                sparePartToOrderQuantity.put(sparePart, buffer.getInt());
+                if (buffer.get() == 0) {
+                    receivedSpareParts.add(sparePart);
+                }
+            }
+
+            Order order = new Order(id, orderDate, supplier, sparePartToOrderQuantity, value);
+            switch (orderState) {
+                case RECEIVED:
+                    order.received();
+                    break;
+                case CANCELLED:
+                    order.cancel();
+                    break;
+                default:
+                    receivedSpareParts.forEach(order::sparePartReceived);
+            }
+            saleBook.getOrdersManager().loadOrder(order);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads a spare part without its quantity
+     *
+     * @param buffer the buffer which is positioned at the spare part
+     * @return the read spare part
+     */
+    private @NotNull SparePart readSparePart(@NotNull ByteBuffer buffer) {
+        String name = this.readString(buffer);
+        Condition condition = Condition.valueOf(this.readString(buffer));
+        String unit = this.readString(buffer);
+        String category = this.readString(buffer);
+        return new SparePart(name, condition, unit, category, buffer.getInt());
+    }
+
+    /**
+     * Reads a supplier
+     *
+     * @param buffer the buffer which is positioned at the supplier
+     * @return the read supplier
+     */
+    private @NotNull Supplier readSupplier(@NotNull ByteBuffer buffer) {
+        String name = this.readString(buffer);
+        return new Supplier(name, URI.create(this.readString(buffer)));
+    }
+
+    /**
+     * Reads a string as its index in the string table
+     *
+     * @param buffer the buffer which is positioned at the string
+     * @return the read string or null
+     */
+    private @Nullable String readString(@NotNull ByteBuffer buffer) {
+        int index = buffer.getInt();
+        return index == SaleBookBinaryFormat.NULL_STRING ? null : this.strings[index];
+    }
+
+    /**
+     * Reads money, which is stored as scaled long or as string
+     *
+     * @param buffer the buffer which is positioned at the money
+     * @return the read money or null
+     */
+    private @Nullable BigDecimal readMoney(@NotNull ByteBuffer buffer) {
+        byte kind = buffer.get();
+        switch (kind) {
+            case SaleBookBinaryFormat.NULL_MONEY:
+                return null;
+            case SaleBookBinaryFormat.SCALED_MONEY:
+                int scale = buffer.get();
+                return BigDecimal.valueOf(buffer.getLong(), scale);
+            case SaleBookBinaryFormat.STRING_MONEY:
+                return new BigDecimal(this.readString(buffer));
+            default:
+                throw new IllegalArgumentException("unknown kind of money " + kind);
+        }
+    }
+
+    /**
+     * Reads a date, which is stored as epoch day
+     *
+     * @param buffer the buffer which is positioned at the date
+     * @return the read date or null
+     */
+    private static @Nullable LocalDate readDate(@NotNull ByteBuffer buffer) {
+        long epochDay = buffer.getLong();
+        return epochDay == SaleBookBinaryFormat.NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,561 @@
+package data;
+
+import javafx.scene.paint.Color;
+import logic.Asset;
+import logic.AtomicFileOutputStream;
+import logic.Supplier;
+import logic.order.Order;
+import logic.products.item.ItemColor;
+import logic.products.item.ItemData;
+import logic.products.position.Position;
+import logic.products.position.PositionData;
+import logic.saleBook.CopyOnWriteSnapshot;
+import logic.saleBook.SaleBook;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.FileUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class writes a saleBook in the binary format of {@link SaleBookBinaryFormat}.
+ * The sections are written first into memory, while the string table is collected, because the
+ * string table is stored in front of the sections.
+ * <p>
+ * Like {@link SaleBookWriter} the writer takes a snapshot of the saleBook when it is created.
+ * The positions are only referenced copy-on-write, the spare parts are copied into their data
+ * and the small sections of the suppliers, assets, orders and balances are encoded directly.
+ * So the snapshot can be written on another thread, while the saleBook is modified.
+ *
+ * @author xthe_white_lionx
+ * @see SaleBookBinaryReader
+ */
+public class SaleBookBinaryWriter {
+
+    /**
+     * The sequence of the last operation of the {@link OperationLog} which is contained by the
+     * written saleBook
+     */
+    private final long logSequence;
+
+    /**
+     * The strings of the string table
+     */
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Mapping from each string of the string table to its index
+     */
+    private final Map<String, Integer> stringToIndex = new HashMap<>();
+
+    /**
+     * The buffer of the section which is currently written
+     */
+    private final ByteArrayOutputStream sectionBuffer = new ByteArrayOutputStream();
+
+    /**
+     * The buffer of the record which is currently written
+     */
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+
+    /**
+     * The snapshot of the known itemColors
+     */
+    private final ItemColor[] itemColors;
+
+    /**
+     * The snapshot of the spare parts with their quantities
+     */
+    private final SparePartData[] spareParts;
+
+    /**
+     * The snapshot of the next id of the positionsManager
+     */
+    private final int nextPosId;
+
+    /**
+     * The snapshot of the positions
+     */
+    private final CopyOnWriteSnapshot<Position, PositionData> positions;
+
+    /**
+     * The encoded section of the suppliers
+     */
+    private final byte[] suppliersSection;
+
+    /**
+     * The encoded section of the assets
+     */
+    private final byte[] assetsSection;
+
+    /**
+     * The encoded section of the orders
+     */
+    private final byte[] ordersSection;
+
+    /**
+     * The encoded section of the balances
+     */
+    private final byte[] balancesSection;
+
+    /**
+     * The number of the strings of the string table, which are used by the encoded sections
+     */
+    private final int encodedStringCount;
+
+    /**
+     * Constructor
+     *
+     * @param saleBook the saleBook which should be written
+     */
+    public SaleBookBinaryWriter(@NotNull SaleBook saleBook) {
+        this(saleBook, 0L);
+    }
+
+    /**
+     * Constructor for a writer of a snapshot of an {@link OperationLog}
+     *
+     * @param saleBook    the saleBook which should be written
+     * @param logSequence the sequence of the last operation which is contained by the saleBook
+     */
+    public SaleBookBinaryWriter(@NotNull SaleBook saleBook, long logSequence) {
+        this.logSequence = logSequence;
+        this.itemColors = ItemColor.getItemColors().toArray(new ItemColor[0]);
+        Map<SparePart, Integer> sparePartsToQuantity =
+                saleBook.getSparePartsManager().getSparePartsToQuantityView();
+        this.spareParts = new SparePartData[sparePartsToQuantity.size()];
+        int i = 0;
+        for (Map.Entry<SparePart, Integer> entry : sparePartsToQuantity.entrySet()) {
+            this.spareParts[i++] = new SparePartData(entry.getKey(), entry.getValue());
+        }
+        this.nextPosId = saleBook.getPositionsManager().getNextPosId();
+        this.positions = saleBook.getPositionsManager().snapshotPositions();
+        this.suppliersSection = this.encode(out -> this.writeSuppliers(out, saleBook));
+        this.assetsSection = this.encode(out -> this.writeAssets(out, saleBook));
+        this.ordersSection = this.encode(out -> this.writeOrders(out, saleBook));
+        this.balancesSection = this.encode(out -> this.writeBalances(out, saleBook));
+        this.encodedStringCount = this.strings.size();
+    }
+
+    /**
+     * Writes the saleBook into the specified file. The file is replaced atomically, so it is
+     * never left half written.
+     *
+     * @param file    the file in which should be written
+     * @param backups the number of backups of the old content of the file which should be kept
+     * @throws IOException              if an I/0 error occurs at the writing
+     * @throws IllegalArgumentException if the file is not a binary saleBook file or backups is
+     *                                  negative
+     * @see AtomicFileOutputStream
+     */
+    public void toFile(@NotNull File file, int backups) throws IOException {
+        if (!FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION)) {
+            throw new IllegalArgumentException("the file must be an %s file"
+                    .formatted(SaleBookBinaryFormat.EXTENSION));
+        }
+
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file, backups)) {
+            this.write(outputStream);
+            outputStream.commit();
+        }
+    }
+
+    /**
+     * Returns the saleBook written in the binary format
+     *
+     * @return the bytes of the written saleBook
+     */
+    public byte @NotNull [] toByteArray() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            this.write(outputStream);
+        } catch (IOException e) {
+            //a ByteArrayOutputStream never throws an IOException
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes the saleBook into the specified outputStream. The outputStream is flushed but not
+     * closed.
+     *
+     * @param outputStream the outputStream in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    public void write(@NotNull OutputStream outputStream) throws IOException {
+        //only the strings of the encoded sections are kept from a previous writing
+        List<String> writtenStrings = this.strings.subList(this.encodedStringCount,
+                this.strings.size());
+        for (String string : writtenStrings) {
+            this.stringToIndex.remove(string);
+        }
+        writtenStrings.clear();
+        ByteArrayOutputStream sections = new ByteArrayOutputStream();
+        DataOutputStream sectionsOut = new DataOutputStream(sections);
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.ITEM_COLORS, this::writeItemColors);
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.SPARE_PARTS, this::writeSpareParts);
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.POSITIONS, this::writePositions);
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.SUPPLIERS,
+                out -> out.write(this.suppliersSection));
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.ASSETS,
+                out -> out.write(this.assetsSection));
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.ORDERS,
+                out -> out.write(this.ordersSection));
+        this.writeSection(sectionsOut, SaleBookBinaryFormat.BALANCES,
+                out -> out.write(this.balancesSection));
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(SaleBookBinaryFormat.MAGIC);
+        out.writeShort(SaleBookBinaryFormat.VERSION);
+        out.writeLong(this.logSequence);
+        out.writeInt(this.strings.size());
+        for (String string : this.strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        sections.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Returns the specified content encoded into a byte array
+     *
+     * @param content the content which should be encoded
+     * @return the encoded content
+     */
+    private byte @NotNull [] encode(@NotNull Content content) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            content.write(new DataOutputStream(outputStream));
+        } catch (IOException e) {
+            //a ByteArrayOutputStream never throws an IOException
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes a section with the specified tag, the content of the section is prefixed by its
+     * length
+     *
+     * @param out     the output in which should be written
+     * @param tag     the tag of the section
+     * @param content the content of the section
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeSection(@NotNull DataOutputStream out, byte tag,
+                              @NotNull Content content) throws IOException {
+        this.sectionBuffer.reset();
+        content.write(new DataOutputStream(this.sectionBuffer));
+        out.writeByte(tag);
+        out.writeInt(this.sectionBuffer.size());
+        this.sectionBuffer.writeTo(out);
+    }
+
+    /**
+     * Writes a record, the content of the record is prefixed by its length
+     *
+     * @param out     the output in which should be written
+     * @param content the content of the record
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeRecord(@NotNull DataOutputStream out, @NotNull Content content)
+            throws IOException {
+        this.recordBuffer.reset();
+        content.write(new DataOutputStream(this.recordBuffer));
+        out.writeInt(this.recordBuffer.size());
+        this.recordBuffer.writeTo(out);
+    }
+
+    /**
+     * Writes the known itemColors
+     *
+     * @param out the output in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeItemColors(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(this.itemColors.length);
+        for (ItemColor itemColor : this.itemColors) {
+            this.writeRecord(out, record -> {
+                this.writeString(record, itemColor.getName());
+                record.writeInt(toRgba(itemColor.getColor()));
+            });
+        }
+    }
+
+    /**
+     * Writes the spare parts and their quantities
+     *
+     * @param out the output in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeSpareParts(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(this.spareParts.length);
+        for (SparePartData sparePart : this.spareParts) {
+            this.writeRecord(out, record -> {
+                this.writeSparePart(record, sparePart);
+                record.writeInt(sparePart.getQuantity());
+            });
+        }
+    }
+
+    /**
+     * Writes the positions with their items
+     *
+     * @param out the output in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writePositions(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(this.nextPosId);
+        out.writeInt(this.positions.size());
+        for (int i = 0; i < this.positions.size(); i++) {
+            PositionData position = this.positions.get(i);
+            this.writeRecord(out, record -> this.writePosition(record, position));
+        }
+    }
+
+    /**
+     * Writes the specified position with its items
+     *
+     * @param out      the output in which should be written
+     * @param position the data of the position which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writePosition(@NotNull DataOutputStream out, @NotNull PositionData position)
+            throws IOException {
+        out.writeInt(position.getId());
+        this.writeString(out, position.getCategory());
+        this.writeString(out, position.getState().name());
+        this.writeMoney(out, position.getPurchasingPrice());
+        writeDate(out, position.getOrderDate());
+        this.writeMoney(out, position.getCost());
+        writeDate(out, position.getReceivedDate());
+        writeDate(out, position.getSellingDate());
+        this.writeMoney(out, position.getSellingPrice());
+        this.writeString(out, position.getShippingCompany() != null ?
+                position.getShippingCompany().name() : null);
+        this.writeString(out, position.getTrackingNumber());
+        out.writeInt(position.getNextItemId());
+        ItemData[] itemData = position.getItemData();
+        out.writeInt(itemData.length);
+        for (ItemData itemDatum : itemData) {
+            out.writeInt(itemDatum.getId());
+            this.writeString(out, itemDatum.getCondition().name());
+            this.writeString(out, itemDatum.getVariant().name());
+            this.writeString(out, itemDatum.getItemColorName());
+            this.writeString(out, itemDatum.getErrorDescription());
+        }
+    }
+
+    /**
+     * Writes the suppliers of the specified saleBook
+     *
+     * @param out      the output in which should be written
+     * @param saleBook the saleBook whose suppliers should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeSuppliers(@NotNull DataOutputStream out, @NotNull SaleBook saleBook)
+            throws IOException {
+        out.writeInt(saleBook.getSuppliersManager().getSuppliers().size());
+        for (Supplier supplier : saleBook.getSuppliersManager().getSuppliers()) {
+            this.writeRecord(out, record -> this.writeSupplier(record, supplier));
+        }
+    }
+
+    /**
+     * Writes the assets of the specified saleBook
+     *
+     * @param out      the output in which should be written
+     * @param saleBook the saleBook whose assets should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeAssets(@NotNull DataOutputStream out, @NotNull SaleBook saleBook)
+            throws IOException {
+        out.writeInt(saleBook.getAssetsManager().getNextAssetId());
+        out.writeInt(saleBook.getAssetsManager().getAssets().size());
+        for (Asset asset : saleBook.getAssetsManager().getAssets()) {
+            this.writeRecord(out, record -> {
+                record.writeInt(asset.getId());
+                this.writeString(record, asset.getName());
+                this.writeSupplier(record, asset.getSupplier());
+                writeDate(record, asset.getPurchasingDate());
+                writeDate(record, asset.getArrivalDate());
+                record.writeDouble(asset.getValue());
+            });
+        }
+    }
+
+    /**
+     * Writes the orders of the specified saleBook with their spare parts
+     *
+     * @param out      the output in which should be written
+     * @param saleBook the saleBook whose orders should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeOrders(@NotNull DataOutputStream out, @NotNull SaleBook saleBook)
+            throws IOException {
+        out.writeInt(saleBook.getOrdersManager().getNextOrderId());
+        out.writeInt(saleBook.getOrdersManager().getOrders().size());
+        for (Order order : saleBook.getOrdersManager().getOrders()) {
+            this.writeRecord(out, record -> {
+                record.writeInt(order.getId());
+                this.writeString(record, order.getState().name());
+                writeDate(record, order.getOrderDate());
+                this.writeSupplier(record, order.getSupplier());
+                record.writeDouble(order.getValue());
+                record.writeInt(order.getSpareParts().size());
+                for (SparePart sparePart : order.getSpareParts()) {
+                    this.writeSparePart(record, sparePart);
+                    record.writeInt(order.getOrderQuantity(sparePart));
+                    record.writeBoolean(order.isReceivable(sparePart));
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the balances of the specified saleBook
+     *
+     * @param out      the output in which should be written
+     * @param saleBook the saleBook whose balances should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeBalances(@NotNull DataOutputStream out, @NotNull SaleBook saleBook)
+            throws IOException {
+        this.writeMoney(out, saleBook.getRepairServiceSales());
+        this.writeMoney(out, saleBook.getExtraordinaryIncome());
+        this.writeMoney(out, saleBook.getPaid());
+        this.writeMoney(out, saleBook.getFixedCosts());
+    }
+
+    /**
+     * Writes the specified spare part without its quantity
+     *
+     * @param out       the output in which should be written
+     * @param sparePart the spare part which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeSparePart(@NotNull DataOutputStream out, @NotNull SparePart sparePart)
+            throws IOException {
+        this.writeString(out, sparePart.getName());
+        this.writeString(out, sparePart.getCondition().name());
+        this.writeString(out, sparePart.getUnit());
+        this.writeString(out, sparePart.getCategory());
+        out.writeInt(sparePart.getMinimumStock());
+    }
+
+    /**
+     * Writes the specified supplier
+     *
+     * @param out      the output in which should be written
+     * @param supplier the supplier which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeSupplier(@NotNull DataOutputStream out, @NotNull Supplier supplier)
+            throws IOException {
+        this.writeString(out, supplier.getName());
+        this.writeString(out, supplier.getOrderWebpage().toString());
+    }
+
+    /**
+     * Writes the index of the specified string in the string table. If the string is not in the
+     * string table yet, it is added.
+     *
+     * @param out    the output in which should be written
+     * @param string the string which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeString(@NotNull DataOutputStream out, @Nullable String string)
+            throws IOException {
+        if (string == null) {
+            out.writeInt(SaleBookBinaryFormat.NULL_STRING);
+            return;
+        }
+
+        Integer index = this.stringToIndex.get(string);
+        if (index == null) {
+            index = this.strings.size();
+            this.strings.add(string);
+            this.stringToIndex.put(string, index);
+        }
+        out.writeInt(index);
+    }
+
+    /**
+     * Writes the specified money as scaled long. If the money does not fit into a scaled long,
+     * it is written as string.
+     *
+     * @param out   the output in which should be written
+     * @param money the money which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeMoney(@NotNull DataOutputStream out, @Nullable BigDecimal money)
+            throws IOException {
+        if (money == null) {
+            out.writeByte(SaleBookBinaryFormat.NULL_MONEY);
+        } else if (money.unscaledValue().bitLength() < Long.SIZE
+                && money.scale() >= Byte.MIN_VALUE && money.scale() <= Byte.MAX_VALUE) {
+            out.writeByte(SaleBookBinaryFormat.SCALED_MONEY);
+            out.writeByte(money.scale());
+            out.writeLong(money.unscaledValue().longValue());
+        } else {
+            out.writeByte(SaleBookBinaryFormat.STRING_MONEY);
+            this.writeString(out, money.toString());
+        }
+    }
+
+    /**
+     * Writes the specified date as epoch day
+     *
+     * @param out  the output in which should be written
+     * @param date the date which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private static void writeDate(@NotNull DataOutputStream out, @Nullable LocalDate date)
+            throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : SaleBookBinaryFormat.NULL_DATE);
+    }
+
+    /**
+     * Returns the specified color as rgba int, each component is rounded like by
+     * {@link Color#toString()}
+     *
+     * @param color the color which should be converted
+     * @return the rgba int of the color
+     */
+    private static int toRgba(@NotNull Color color) {
+        return (int) (Math.round(color.getRed() * 255) << 24
+                | Math.round(color.getGreen() * 255) << 16
+                | Math.round(color.getBlue() * 255) << 8
+                | Math.round(color.getOpacity() * 255));
+    }
+
+    /**
+     * This is an interface for the content of a section or record
+     */
+    @FunctionalInterface
+    private interface Content {
+
+        /**
+         * Writes the content into the specified output
+         *
+         * @param out the output in which should be written
+         * @throws IOException if an I/0 error occurs at the writing
+         */
+        void write(@NotNull DataOutputStream out) throws IOException;
+    }
+}
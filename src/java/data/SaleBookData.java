@@ -7,10 +7,13 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializer;
 import javafx.scene.paint.Color;
 import logic.products.item.ItemColor;
+import logic.AtomicFileOutputStream;
 import logic.ProgressListener;
-import logic.ProgressReader;
-import logic.ProgressWriter;
+import logic.ProgressInputStream;
+import logic.ProgressOutputStream;
 import logic.Supplier;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
 import logic.saleBook.AbstractSaleBook;
 import logic.saleBook.SaleBook;
 import org.jetbrains.annotations.NotNull;
@@ -20,8 +23,10 @@ import utils.FileUtils;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
@@ -40,6 +45,47 @@ import java.util.*;
  */
 public class SaleBookData extends AbstractSaleBook {
 
+    /**
+     * The latencies of the readings of saleBookData from json files
+     */
+    private static final LatencyHistogram FROM_JSON_LATENCY =
+            Metrics.histogram("SaleBookData.fromJson");
+
+    /**
+     * The latencies of the writings of saleBookData into json files
+     */
+    private static final LatencyHistogram TO_JSON_LATENCY =
+            Metrics.histogram("SaleBookData.toJson");
+
+    /**
+     * Gson to read the data of a saleBook, the instance is thread safe and therefore shared
+     */
+    static final Gson READING_GSON = new GsonBuilder()
+            //Deserializer to parse the dates as LocalDates
+            .registerTypeAdapter(LocalDate.class, (JsonDeserializer<LocalDate>)
+                    (json, type, jsonDeserializationContext) -> json == null ? null :
+                            LocalDate.ofEpochDay(json.getAsLong()))
+            //Deserializer to parse the dates as Color
+            .registerTypeAdapter(Color.class, (JsonDeserializer<Color>)
+                    (json, type, jsonDeserializationContext) -> json == null ? null :
+                            Color.valueOf(json.getAsString()))
+            .create();
+
+    /**
+     * Gson to write the data of a saleBook, the instance is thread safe and therefore shared
+     */
+    static final Gson WRITING_GSON = new GsonBuilder().enableComplexMapKeySerialization()
+            .setPrettyPrinting()
+            //serializer to parse the LocalDates
+            .registerTypeAdapter(LocalDate.class,
+                    (JsonSerializer<LocalDate>) (src, type, jsonSerializationContext) ->
+                            src == null ? null : new JsonPrimitive(src.toEpochDay()))
+            //serializer to parse the Color
+            .registerTypeAdapter(Color.class,
+                    (JsonSerializer<Color>) (src, type, jsonSerializationContext) ->
+                            src == null ? null : new JsonPrimitive(src.toString()))
+            .create();
+
     /**
      * Spare parts of this saleBookData
      */
@@ -100,25 +146,22 @@ public class SaleBookData extends AbstractSaleBook {
     public static @Nullable SaleBookData fromJson(@NotNull File file,
                                                   @NotNull ProgressListener progressListener)
             throws FileNotFoundException, IOException {
+        return FROM_JSON_LATENCY.timeChecked(() -> doFromJson(file, progressListener));
+    }
+
+    /** Performs {@link #fromJson(File, ProgressListener)} without recording its latency */
+    private static @Nullable SaleBookData doFromJson(@NotNull File file,
+                                                     @NotNull ProgressListener progressListener)
+            throws FileNotFoundException, IOException {
         if (!FileUtils.getExtension(file).equals("json")) {
             throw new IllegalArgumentException("the file must be an json file");
         }
 
-        Gson gson = new GsonBuilder()
-                //Deserializer to parse the dates as LocalDates
-                .registerTypeAdapter(LocalDate.class, (JsonDeserializer<LocalDate>)
-                        (json, type, jsonDeserializationContext) -> json == null ? null :
-                                LocalDate.ofEpochDay(json.getAsLong()))
-                //Deserializer to parse the dates as Color
-                .registerTypeAdapter(Color.class, (JsonDeserializer<Color>)
-                        (json, type, jsonDeserializationContext) -> json == null ? null :
-                                Color.valueOf(json.getAsString()))
-                .create();
-
         try (FileInputStream fileInputStream = new FileInputStream(file.getAbsoluteFile());
-             ProgressReader progressReader = new ProgressReader(fileInputStream, progressListener)) {
-            if (progressReader.ready()) {
-                return gson.fromJson(progressReader, SaleBookData.class);
+             InputStreamReader reader = new InputStreamReader(
+                     new ProgressInputStream(fileInputStream, progressListener))) {
+            if (reader.ready()) {
+                return READING_GSON.fromJson(reader, SaleBookData.class);
             }
         }
         return null;
@@ -179,7 +222,8 @@ public class SaleBookData extends AbstractSaleBook {
     }
 
     /**
-     * Writes in to the specified json file the data of this saleBookData
+     * Writes in to the specified json file the data of this saleBookData. The file is replaced
+     * atomically, no backup of the old content is kept.
      *
      * @param file the file which should be written with the data
      * @param progressListener the listener which will be updated by writing the file
@@ -188,26 +232,40 @@ public class SaleBookData extends AbstractSaleBook {
      */
     public void toJson(@NotNull File file, @NotNull ProgressListener progressListener)
             throws IOException, IllegalArgumentException {
+        this.toJson(file, progressListener, 0);
+    }
+
+    /**
+     * Writes in to the specified json file the data of this saleBookData. The data is written
+     * into a temporary file first, which replaces the file only if the writing succeeded,
+     * so the file is never left half written.
+     *
+     * @param file the file which should be written with the data
+     * @param progressListener the listener which will be updated by writing the file
+     * @param backups the number of backups of the old content of the file which should be kept
+     * @throws IOException if the file cannot be found or the (writing) access were denied
+     * @throws IllegalArgumentException if the file is not a json file or backups is negative
+     * @see AtomicFileOutputStream
+     */
+    public void toJson(@NotNull File file, @NotNull ProgressListener progressListener,
+                       int backups) throws IOException, IllegalArgumentException {
+        TO_JSON_LATENCY.timeChecked(() -> this.doToJson(file, progressListener, backups));
+    }
+
+    /** Performs {@link #toJson(File, ProgressListener, int)} without recording its latency */
+    private void doToJson(@NotNull File file, @NotNull ProgressListener progressListener,
+                          int backups) throws IOException, IllegalArgumentException {
         String extension = FileUtils.getExtension(file);
         if (!"json".equals(extension)) {
             throw new IllegalArgumentException("the file must be an json file");
         }
 
-        Gson gson = new GsonBuilder().enableComplexMapKeySerialization().setPrettyPrinting()
-                //serializer to parse the LocalDates
-                .registerTypeAdapter(LocalDate.class,
-                        (JsonSerializer<LocalDate>) (src, type, jsonSerializationContext) ->
-                                src == null ? null : new JsonPrimitive(src.toEpochDay()))
-                //serializer to parse the Color
-                .registerTypeAdapter(Color.class,
-                        (JsonSerializer<Color>) (src, type, jsonSerializationContext) ->
-                                src == null ? null : new JsonPrimitive(src.toString()))
-                .create();
-
-        try (FileOutputStream fileOutputStream = new FileOutputStream(file.getAbsoluteFile());
-             ProgressWriter progressWriter = new ProgressWriter(fileOutputStream,
-                     progressListener)) {
-            gson.toJson(this, progressWriter);
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file, backups)) {
+            Writer writer = new OutputStreamWriter(new ProgressOutputStream(outputStream,
+                    progressListener));
+            WRITING_GSON.toJson(this, writer);
+            writer.flush();
+            outputStream.commit();
         }
     }
 
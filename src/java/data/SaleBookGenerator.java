@@ -0,0 +1,507 @@
+package data;
+
+import javafx.scene.paint.Color;
+import logic.Asset;
+import logic.Condition;
+import logic.GUIConnector;
+import logic.Supplier;
+import logic.Variant;
+import logic.order.Order;
+import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import logic.products.position.Position;
+import logic.products.position.ShippingCompany;
+import logic.products.position.State;
+import logic.saleBook.SaleBook;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class generates synthetic saleBooks, for example to measure the performance of large
+ * saleBooks. The saleBooks are filled by the managers, so they are as consistent as saleBooks
+ * which are filled by the gui. The same seed and the same settings generate the same saleBook.
+ * <p>
+ * The states of the positions are drawn by their weights in the {@link Settings}. The
+ * categories are drawn by a Zipf distribution, so a few categories contain most of the
+ * positions like in a real saleBook.
+ *
+ * @author xthe_white_lionx
+ * @see SaleBookLoadTool
+ */
+public class SaleBookGenerator {
+
+    /**
+     * The names of the first categories, further categories are numbered
+     */
+    private static final String[] CATEGORY_NAMES = {"Phone", "Tablet", "Laptop", "Console",
+            "Watch", "Camera", "Headphones", "Monitor"};
+
+    /**
+     * The first order date of the generated positions, orders and assets
+     */
+    private static final LocalDate FIRST_ORDER_DATE = LocalDate.of(2023, 1, 1);
+
+    /**
+     * The number of days over which the order dates are spread
+     */
+    private static final int ORDER_DAYS = 730;
+
+    /**
+     * The numbers and distributions of a generated saleBook
+     */
+    public static final class Settings {
+
+        /**
+         * The number of positions
+         */
+        private int positionCount = 1000;
+
+        /**
+         * The minimal number of items of a position
+         */
+        private int minItems = 1;
+
+        /**
+         * The maximal number of items of a position
+         */
+        private int maxItems = 3;
+
+        /**
+         * The weights of the states of the positions
+         */
+        private final Map<State, Integer> stateWeights = new EnumMap<>(State.class);
+
+        /**
+         * The number of categories
+         */
+        private int categoryCount = CATEGORY_NAMES.length;
+
+        /**
+         * The exponent of the Zipf distribution of the categories
+         */
+        private double categorySkew = 1D;
+
+        /**
+         * The number of spare parts
+         */
+        private int sparePartCount = 200;
+
+        /**
+         * The maximal minimum stock of a spare part
+         */
+        private int maxMinimumStock = 10;
+
+        /**
+         * The number of suppliers
+         */
+        private int supplierCount = 8;
+
+        /**
+         * The number of orders of each supplier
+         */
+        private int ordersPerSupplier = 20;
+
+        /**
+         * The number of assets
+         */
+        private int assetCount = 50;
+
+        /**
+         * Creates new settings with the default numbers and distributions
+         */
+        public Settings() {
+            this.stateWeights.put(State.ORDERED, 1);
+            this.stateWeights.put(State.RECEIVED, 2);
+            this.stateWeights.put(State.REPAIRED, 1);
+            this.stateWeights.put(State.SOLD, 5);
+            this.stateWeights.put(State.SHIPPED, 1);
+        }
+
+        /**
+         * Returns the number of positions of these settings
+         *
+         * @return the number of positions of these settings
+         */
+        public int getPositionCount() {
+            return this.positionCount;
+        }
+
+        /**
+         * Sets the number of positions
+         *
+         * @param positionCount the number of positions
+         * @throws IllegalArgumentException if the number is negative
+         */
+        public void setPositionCount(int positionCount) {
+            this.positionCount = requireNotNegative("positionCount", positionCount);
+        }
+
+        /**
+         * Sets the range of the number of items of a position. The number of items of each
+         * position is drawn uniformly from this range.
+         *
+         * @param minItems the minimal number of items of a position
+         * @param maxItems the maximal number of items of a position
+         * @throws IllegalArgumentException if minItems is negative or greater than maxItems
+         */
+        public void setItemsPerPosition(int minItems, int maxItems) {
+            if (minItems > maxItems) {
+                throw new IllegalArgumentException("minItems %d is greater than maxItems %d"
+                        .formatted(minItems, maxItems));
+            }
+            this.minItems = requireNotNegative("minItems", minItems);
+            this.maxItems = maxItems;
+        }
+
+        /**
+         * Sets the weight of the specified state. A position has the state with the
+         * probability of its weight divided by the sum of all weights.
+         *
+         * @param state  the state
+         * @param weight the weight of the state, 0 if no position should have the state
+         * @throws IllegalArgumentException if the weight is negative
+         */
+        public void setStateWeight(@NotNull State state, int weight) {
+            this.stateWeights.put(state, requireNotNegative("weight", weight));
+        }
+
+        /**
+         * Sets the number of categories and the skew of their distribution. The category with
+         * the rank k is drawn with a probability proportional to 1 / k<sup>skew</sup>, so the
+         * skew 0 draws the categories uniformly.
+         *
+         * @param categoryCount the number of categories
+         * @param categorySkew  the exponent of the Zipf distribution
+         * @throws IllegalArgumentException if the number is not positive or the skew is negative
+         */
+        public void setCategories(int categoryCount, double categorySkew) {
+            if (categoryCount < 1 || !(categorySkew >= 0D)) {
+                throw new IllegalArgumentException("invalid categories %d with skew %s"
+                        .formatted(categoryCount, categorySkew));
+            }
+            this.categoryCount = categoryCount;
+            this.categorySkew = categorySkew;
+        }
+
+        /**
+         * Sets the number of spare parts and the maximal minimum stock of a spare part
+         *
+         * @param sparePartCount  the number of spare parts
+         * @param maxMinimumStock the maximal minimum stock of a spare part
+         * @throws IllegalArgumentException if a number is negative
+         */
+        public void setSpareParts(int sparePartCount, int maxMinimumStock) {
+            this.sparePartCount = requireNotNegative("sparePartCount", sparePartCount);
+            this.maxMinimumStock = requireNotNegative("maxMinimumStock", maxMinimumStock);
+        }
+
+        /**
+         * Sets the number of suppliers and the number of orders of each supplier
+         *
+         * @param supplierCount     the number of suppliers
+         * @param ordersPerSupplier the number of orders of each supplier
+         * @throws IllegalArgumentException if a number is negative
+         */
+        public void setSuppliers(int supplierCount, int ordersPerSupplier) {
+            this.supplierCount = requireNotNegative("supplierCount", supplierCount);
+            this.ordersPerSupplier = requireNotNegative("ordersPerSupplier", ordersPerSupplier);
+        }
+
+        /**
+         * Sets the number of assets. The assets are distributed evenly over the suppliers.
+         *
+         * @param assetCount the number of assets
+         * @throws IllegalArgumentException if the number is negative
+         */
+        public void setAssetCount(int assetCount) {
+            this.assetCount = requireNotNegative("assetCount", assetCount);
+        }
+
+        /**
+         * Checks that the specified number is not negative
+         *
+         * @param name   the name of the number
+         * @param number the number which should be checked
+         * @return the checked number
+         * @throws IllegalArgumentException if the number is negative
+         */
+        private static int requireNotNegative(@NotNull String name, int number) {
+            if (number < 0) {
+                throw new IllegalArgumentException("%s must not be negative but is %d"
+                        .formatted(name, number));
+            }
+            return number;
+        }
+
+        @Override
+        public String toString() {
+            return "Settings{" +
+                    "positionCount=" + this.positionCount +
+                    ", items=" + this.minItems + ".." + this.maxItems +
+                    ", stateWeights=" + this.stateWeights +
+                    ", categoryCount=" + this.categoryCount +
+                    ", categorySkew=" + this.categorySkew +
+                    ", sparePartCount=" + this.sparePartCount +
+                    ", maxMinimumStock=" + this.maxMinimumStock +
+                    ", supplierCount=" + this.supplierCount +
+                    ", ordersPerSupplier=" + this.ordersPerSupplier +
+                    ", assetCount=" + this.assetCount +
+                    '}';
+        }
+    }
+
+    /**
+     * The generator of the random values
+     */
+    private final Random random;
+
+    /**
+     * Creates a new SaleBookGenerator
+     *
+     * @param seed the seed of the random values
+     */
+    public SaleBookGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a new saleBook with the specified number of positions, spare parts and orders,
+     * the default distributions and without assets
+     *
+     * @param gui              the connection to the gui of the saleBook
+     * @param positionCount    the number of positions
+     * @param itemsPerPosition the number of items of each position
+     * @param sparePartCount   the number of spare parts
+     * @param orderCount       the number of orders
+     * @return the generated saleBook
+     * @throws IllegalArgumentException if a number is negative or if orders should be generated
+     *                                  without spare parts
+     */
+    public @NotNull SaleBook generate(@NotNull GUIConnector gui, int positionCount,
+                                      int itemsPerPosition, int sparePartCount, int orderCount) {
+        Settings settings = new Settings();
+        settings.setPositionCount(positionCount);
+        settings.setItemsPerPosition(itemsPerPosition, itemsPerPosition);
+        settings.setSpareParts(sparePartCount, settings.maxMinimumStock);
+        settings.setSuppliers(1, orderCount);
+        settings.setAssetCount(0);
+        return this.generate(gui, settings);
+    }
+
+    /**
+     * Generates a new saleBook with the specified settings
+     *
+     * @param gui      the connection to the gui of the saleBook
+     * @param settings the numbers and distributions of the saleBook
+     * @return the generated saleBook
+     * @throws IllegalArgumentException if positions should be generated but all state weights
+     *                                  are 0 or if orders should be generated without spare parts
+     */
+    public @NotNull SaleBook generate(@NotNull GUIConnector gui, @NotNull Settings settings) {
+        State[] states = settings.stateWeights.keySet().toArray(new State[0]);
+        double[] stateWeights = new double[states.length];
+        for (int i = 0; i < states.length; i++) {
+            stateWeights[i] = settings.stateWeights.get(states[i]);
+        }
+        double[] cumulativeStateWeights = cumulate(stateWeights);
+        if (settings.positionCount > 0 && (states.length == 0
+                || cumulativeStateWeights[states.length - 1] == 0D)) {
+            throw new IllegalArgumentException("all state weights are 0");
+        }
+        if (settings.supplierCount > 0 && settings.ordersPerSupplier > 0
+                && settings.sparePartCount == 0) {
+            throw new IllegalArgumentException("orders need at least one spare part");
+        }
+
+        String[] categories = new String[settings.categoryCount];
+        double[] categoryWeights = new double[categories.length];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = i < CATEGORY_NAMES.length ? CATEGORY_NAMES[i] : "Category " + (i + 1);
+            categoryWeights[i] = 1D / Math.pow(i + 1, settings.categorySkew);
+        }
+        double[] cumulativeCategoryWeights = cumulate(categoryWeights);
+
+        SaleBook saleBook = new SaleBook(gui);
+        ItemColor[] itemColors = {ItemColor.getItemColor("black", Color.valueOf("0x000000ff")),
+                ItemColor.getItemColor("white", Color.valueOf("0xffffffff")),
+                ItemColor.getItemColor("blue", Color.valueOf("0x0000ffff"))};
+        for (int id = 1; id <= settings.positionCount; id++) {
+            int itemCount = settings.minItems
+                    + this.random.nextInt(settings.maxItems - settings.minItems + 1);
+            saleBook.getPositionsManager().addPosition(this.createPosition(id,
+                    states[this.draw(cumulativeStateWeights)],
+                    categories[this.draw(cumulativeCategoryWeights)], itemCount, itemColors));
+        }
+
+        List<SparePart> spareParts = new ArrayList<>(settings.sparePartCount);
+        for (int i = 1; i <= settings.sparePartCount; i++) {
+            SparePart sparePart = new SparePart("spare part " + i, this.pick(Condition.values()),
+                    "piece", categories[this.draw(cumulativeCategoryWeights)],
+                    this.random.nextInt(settings.maxMinimumStock + 1));
+            saleBook.getSparePartsManager().addSparePart(sparePart, this.random.nextInt(50));
+            spareParts.add(sparePart);
+        }
+
+        int orderId = 1;
+        int assetId = 1;
+        for (int i = 1; i <= settings.supplierCount; i++) {
+            Supplier supplier = new Supplier("supplier " + i,
+                    URI.create("https://supplier%d.example".formatted(i)));
+            saleBook.getSuppliersManager().addSupplier(supplier);
+            for (int j = 0; j < settings.ordersPerSupplier; j++) {
+                saleBook.getOrdersManager().addOrder(this.createOrder(orderId++, supplier,
+                        spareParts));
+            }
+            int assetsOfSupplier = settings.assetCount / settings.supplierCount
+                    + (i <= settings.assetCount % settings.supplierCount ? 1 : 0);
+            for (int j = 0; j < assetsOfSupplier; j++) {
+                saleBook.getAssetsManager().addAsset(new Asset(assetId, "asset " + assetId,
+                        supplier, this.randomOrderDate(),
+                        (1_000 + this.random.nextInt(200_000)) / 100D));
+                assetId++;
+            }
+        }
+        return saleBook;
+    }
+
+    /**
+     * Creates a position with the specified id, state, category and number of items
+     *
+     * @param id         the id of the position
+     * @param state      the state of the position
+     * @param category   the category of the position
+     * @param itemCount  the number of items of the position
+     * @param itemColors the colors of the items
+     * @return the created position
+     */
+    private @NotNull Position createPosition(int id, @NotNull State state,
+                                             @NotNull String category, int itemCount,
+                                             @NotNull ItemColor[] itemColors) {
+        LocalDate orderDate = this.randomOrderDate();
+        BigDecimal purchasingPrice = this.randomMoney(1_000, 50_000);
+        BigDecimal cost = this.randomMoney(0, 2_000);
+        LocalDate receivedDate = null;
+        LocalDate sellingDate = null;
+        BigDecimal sellingPrice = null;
+        ShippingCompany shippingCompany = null;
+        String trackingNumber = "";
+        if (state != State.ORDERED && state != State.LOST) {
+            receivedDate = orderDate.plusDays(1 + this.random.nextInt(14));
+        }
+        if (state == State.SOLD || state == State.SHIPPED) {
+            sellingDate = receivedDate.plusDays(1 + this.random.nextInt(60));
+            sellingPrice = purchasingPrice.add(this.randomMoney(-1_000, 10_000))
+                    .max(BigDecimal.ZERO);
+        }
+        if (state == State.SHIPPED) {
+            shippingCompany = this.pick(ShippingCompany.values());
+            trackingNumber = String.valueOf(100_000_000L + this.random.nextInt(900_000_000));
+        }
+
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int itemId = 1; itemId <= itemCount; itemId++) {
+            items.add(new Item(itemId, this.pick(Condition.values()), this.pick(Variant.values()),
+                    this.pick(itemColors), null));
+        }
+        return new Position(id, category, orderDate, purchasingPrice, state, cost, receivedDate,
+                sellingDate, sellingPrice, shippingCompany, trackingNumber, items, itemCount + 1);
+    }
+
+    /**
+     * Creates an order of the specified supplier with up to three of the specified spare parts
+     *
+     * @param id         the id of the order
+     * @param supplier   the supplier of the order
+     * @param spareParts the spare parts which can be ordered
+     * @return the created order
+     */
+    private @NotNull Order createOrder(int id, @NotNull Supplier supplier,
+                                       @NotNull List<SparePart> spareParts) {
+        Map<SparePart, Integer> sparePartToOrderQuantity = new HashMap<>();
+        int sparePartsOfOrder = 1 + this.random.nextInt(Math.min(3, spareParts.size()));
+        while (sparePartToOrderQuantity.size() < sparePartsOfOrder) {
+            SparePart sparePart = spareParts.get(this.random.nextInt(spareParts.size()));
+            sparePartToOrderQuantity.put(sparePart, 1 + this.random.nextInt(20));
+        }
+        return new Order(id, this.randomOrderDate(), supplier, sparePartToOrderQuantity,
+                (100 + this.random.nextInt(20_000)) / 100D);
+    }
+
+    /**
+     * Returns a random order date
+     *
+     * @return a random order date
+     */
+    private @NotNull LocalDate randomOrderDate() {
+        return FIRST_ORDER_DATE.plusDays(this.random.nextInt(ORDER_DAYS));
+    }
+
+    /**
+     * Returns a random amount of money between the specified bounds in cents
+     *
+     * @param minCents the inclusive lower bound in cents
+     * @param maxCents the exclusive upper bound in cents
+     * @return a random amount of money
+     */
+    private @NotNull BigDecimal randomMoney(int minCents, int maxCents) {
+        return BigDecimal.valueOf(minCents + this.random.nextInt(maxCents - minCents), 2);
+    }
+
+    /**
+     * Returns a random element of the specified array
+     *
+     * @param values the array
+     * @param <T>    the type of the elements
+     * @return a random element of the specified array
+     */
+    private <T> @NotNull T pick(@NotNull T[] values) {
+        return values[this.random.nextInt(values.length)];
+    }
+
+    /**
+     * Returns a random index, which is drawn with the probability of its weight
+     *
+     * @param cumulativeWeights the cumulative weights of the indices
+     * @return the drawn index
+     */
+    private int draw(double @NotNull [] cumulativeWeights) {
+        double value = this.random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > value) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the cumulative sums of the specified weights
+     *
+     * @param weights the weights
+     * @return the cumulative sums of the specified weights
+     */
+    private static double @NotNull [] cumulate(double @NotNull [] weights) {
+        double[] cumulativeWeights = new double[weights.length];
+        double sum = 0D;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulativeWeights[i] = sum;
+        }
+        return cumulativeWeights;
+    }
+}
@@ -0,0 +1,370 @@
+package data;
+
+import data.tools.HeadlessGui;
+import logic.ProgressListener;
+import logic.products.item.ItemColor;
+import logic.manager.PositionsManager;
+import logic.products.position.Position;
+import logic.products.position.State;
+import logic.saleBook.Reconciler;
+import logic.saleBook.SaleBook;
+import org.jetbrains.annotations.NotNull;
+import utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A command line tool which generates large saleBook files and loads, mutates and saves them
+ * while it reports the timings and the heap usage, so the performance of releases can be
+ * compared on the same files. The format of a file is determined by its extension, files with
+ * the extension {@value SaleBookBinaryFormat#EXTENSION} are binary, all other files are JSON.
+ * <pre>
+ * SaleBookLoadTool generate book.json --positions 100000 --states ORDERED=1,SOLD=5
+ * SaleBookLoadTool run book.json --mutations 10000 --output mutated.sbk
+ * </pre>
+ *
+ * @author xthe_white_lionx
+ * @see SaleBookGenerator
+ */
+public final class SaleBookLoadTool {
+
+    /**
+     * The listener of the progress of the reading and writing, which ignores the progress
+     */
+    private static final ProgressListener NO_PROGRESS = totalBytes -> {
+    };
+
+    /**
+     * The number of nanoseconds of a millisecond
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    /**
+     * The number of bytes of a mebibyte
+     */
+    private static final double BYTES_PER_MEBIBYTE = 1024D * 1024D;
+
+    /**
+     * The usage of this tool
+     */
+    private static final String USAGE = """
+            usage: SaleBookLoadTool generate <file> [--seed n] [--positions n] [--min-items n]
+                                    [--max-items n] [--states STATE=weight,...] [--categories n]
+                                    [--category-skew d] [--spare-parts n] [--max-minimum-stock n]
+                                    [--suppliers n] [--orders-per-supplier n] [--assets n]
+                   SaleBookLoadTool run <file> [--seed n] [--mutations n] [--output file]""";
+
+    /**
+     * The kinds of mutations which are applied to a loaded saleBook
+     */
+    private enum Mutation {
+        ADD_POSITION, ADD_COST, SALE, REMOVE_POSITION
+    }
+
+    /**
+     * Suppresses default constructor, ensuring non-instantiability.
+     */
+    private SaleBookLoadTool() {
+    }
+
+    /**
+     * Runs the command of the specified arguments
+     *
+     * @param args the command, the file and the options of the command
+     * @throws IOException if an I/O error occurs at the reading or writing
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        File file = new File(args[1]);
+        Map<String, String> options;
+        try {
+            options = parseOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        switch (args[0]) {
+            case "generate":
+                generate(file, seed, toSettings(options));
+                break;
+            case "run":
+                run(file, seed, Integer.parseInt(options.getOrDefault("mutations", "1000")),
+                        new File(options.getOrDefault("output", args[1])));
+                break;
+            default:
+                System.err.println(USAGE);
+                System.exit(2);
+        }
+    }
+
+    /**
+     * Generates a saleBook with the specified seed and settings and saves it to the specified
+     * file
+     *
+     * @param file     the file to which the saleBook should be saved
+     * @param seed     the seed of the random values
+     * @param settings the numbers and distributions of the saleBook
+     * @throws IOException if an I/O error occurs at the writing
+     */
+    public static void generate(@NotNull File file, long seed,
+                                @NotNull SaleBookGenerator.Settings settings) throws IOException {
+        System.out.println(settings);
+        long start = System.nanoTime();
+        SaleBook saleBook = new SaleBookGenerator(seed).generate(new HeadlessGui(), settings);
+        report("generate", System.nanoTime() - start);
+        reportHeap();
+
+        start = System.nanoTime();
+        save(saleBook, file);
+        report("save " + file.getName(), System.nanoTime() - start);
+        System.out.printf(Locale.ROOT, "file size %.1f MiB%n", file.length() / BYTES_PER_MEBIBYTE);
+    }
+
+    /**
+     * Loads the saleBook of the specified file, applies the specified number of random
+     * mutations, reconciles the saleBook and saves it to the specified output file
+     *
+     * @param file      the file of the saleBook
+     * @param seed      the seed of the random mutations
+     * @param mutations the number of mutations
+     * @param output    the file to which the mutated saleBook should be saved
+     * @throws IOException if an I/O error occurs at the reading or writing
+     */
+    public static void run(@NotNull File file, long seed, int mutations, @NotNull File output)
+            throws IOException {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        SaleBook saleBook = load(file);
+        report("load " + file.getName(), System.nanoTime() - start);
+        System.out.printf(Locale.ROOT, "%d positions, heap of saleBook %.1f MiB%n",
+                saleBook.getPositionsManager().getPositionsView().size(),
+                (usedHeap() - heapBefore) / BYTES_PER_MEBIBYTE);
+
+        mutate(saleBook, new Random(seed), mutations);
+
+        start = System.nanoTime();
+        Reconciler.Report reconcileReport = saleBook.getReconciler().reconcile(false);
+        report("reconcile", System.nanoTime() - start);
+        if (!reconcileReport.isConsistent()) {
+            System.out.println("inconsistent totals " + reconcileReport.getDiscrepancies());
+        }
+
+        start = System.nanoTime();
+        save(saleBook, output);
+        report("save " + output.getName(), System.nanoTime() - start);
+        reportHeap();
+    }
+
+    /**
+     * Applies the specified number of random mutations to the specified saleBook and reports
+     * the number and the mean time of each kind of mutation
+     *
+     * @param saleBook  the saleBook which should be mutated
+     * @param random    the generator of the random mutations
+     * @param mutations the number of mutations
+     */
+    private static void mutate(@NotNull SaleBook saleBook, @NotNull Random random,
+                               int mutations) {
+        PositionsManager positionsManager = saleBook.getPositionsManager();
+        List<Integer> ids = new ArrayList<>(positionsManager.getPositionsView().size());
+        for (Position position : positionsManager.getPositionsView()) {
+            ids.add(position.getId());
+        }
+
+        Mutation[] kinds = Mutation.values();
+        int[] counts = new int[kinds.length];
+        long[] nanos = new long[kinds.length];
+        for (int i = 0; i < mutations; i++) {
+            Mutation mutation = ids.isEmpty() ? Mutation.ADD_POSITION
+                    : kinds[random.nextInt(kinds.length)];
+            int index = ids.isEmpty() ? -1 : random.nextInt(ids.size());
+            long start = System.nanoTime();
+            switch (mutation) {
+                case ADD_POSITION:
+                    Position position = new Position(positionsManager.getNextPosId(), "Phone",
+                            LocalDate.of(2024, 1, 1), BigDecimal.valueOf(100 + random.nextInt(400)),
+                            BigDecimal.ZERO);
+                    positionsManager.addPosition(position);
+                    ids.add(position.getId());
+                    break;
+                case ADD_COST:
+                    positionsManager.addCostToPosition(ids.get(index),
+                            BigDecimal.valueOf(random.nextInt(5_000), 2));
+                    break;
+                case SALE:
+                    sale(positionsManager, ids.get(index), random);
+                    break;
+                case REMOVE_POSITION:
+                    positionsManager.removePosition(ids.get(index));
+                    ids.set(index, ids.get(ids.size() - 1));
+                    ids.remove(ids.size() - 1);
+                    break;
+            }
+            nanos[mutation.ordinal()] += System.nanoTime() - start;
+            counts[mutation.ordinal()]++;
+        }
+
+        for (Mutation mutation : kinds) {
+            int count = counts[mutation.ordinal()];
+            System.out.printf(Locale.ROOT, "%-20s %10d mutations %12.4f ms mean%n",
+                    mutation.name().toLowerCase(Locale.ROOT), count,
+                    count == 0 ? 0D : nanos[mutation.ordinal()] / NANOS_PER_MILLI / count);
+        }
+    }
+
+    /**
+     * Sales the position with the specified id, a position which was not received yet is set
+     * to received before
+     *
+     * @param positionsManager the positionsManager of the position
+     * @param id               the id of the position
+     * @param random           the generator of the selling price
+     */
+    private static void sale(@NotNull PositionsManager positionsManager, int id,
+                             @NotNull Random random) {
+        Position position = positionsManager.getPosition(id);
+        LocalDate receivedDate = position.getReceivedDate();
+        if (receivedDate == null) {
+            receivedDate = position.getOrderDate().plusDays(1);
+            positionsManager.setReceived(id, receivedDate);
+        }
+        positionsManager.sale(id, receivedDate.plusDays(1 + random.nextInt(30)),
+                BigDecimal.valueOf(random.nextInt(100_000), 2));
+    }
+
+    /**
+     * Creates the settings of a generated saleBook from the specified options
+     *
+     * @param options the values of the options mapped to their name
+     * @return the settings of a generated saleBook
+     * @throws IllegalArgumentException if an option has an invalid value
+     */
+    private static @NotNull SaleBookGenerator.Settings toSettings(
+            @NotNull Map<String, String> options) {
+        SaleBookGenerator.Settings settings = new SaleBookGenerator.Settings();
+        settings.setPositionCount(Integer.parseInt(options.getOrDefault("positions", "10000")));
+        settings.setItemsPerPosition(Integer.parseInt(options.getOrDefault("min-items", "1")),
+                Integer.parseInt(options.getOrDefault("max-items", "3")));
+        settings.setCategories(Integer.parseInt(options.getOrDefault("categories", "8")),
+                Double.parseDouble(options.getOrDefault("category-skew", "1")));
+        settings.setSpareParts(Integer.parseInt(options.getOrDefault("spare-parts", "200")),
+                Integer.parseInt(options.getOrDefault("max-minimum-stock", "10")));
+        settings.setSuppliers(Integer.parseInt(options.getOrDefault("suppliers", "8")),
+                Integer.parseInt(options.getOrDefault("orders-per-supplier", "20")));
+        settings.setAssetCount(Integer.parseInt(options.getOrDefault("assets", "50")));
+        String states = options.get("states");
+        if (states != null) {
+            for (State state : State.values()) {
+                settings.setStateWeight(state, 0);
+            }
+            for (String stateWeight : states.split(",")) {
+                String[] parts = stateWeight.split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("invalid state weight " + stateWeight);
+                }
+                settings.setStateWeight(State.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                        Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Loads the saleBook of the specified file
+     *
+     * @param file the file of the saleBook
+     * @return the loaded saleBook
+     * @throws IOException if an I/O error occurs at the reading
+     */
+    private static @NotNull SaleBook load(@NotNull File file) throws IOException {
+        if (FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION)) {
+            SaleBookBinaryReader reader = new SaleBookBinaryReader(file, NO_PROGRESS);
+            SaleBook saleBook = new SaleBook(new HeadlessGui(), reader);
+            ItemColor.setItemColors(reader.getItemColors());
+            return saleBook;
+        }
+        SaleBookReader reader = new SaleBookReader(file, NO_PROGRESS);
+        SaleBook saleBook = new SaleBook(new HeadlessGui(), reader);
+        ItemColor.setItemColors(reader.getItemColors());
+        return saleBook;
+    }
+
+    /**
+     * Saves the specified saleBook to the specified file without backups
+     *
+     * @param saleBook the saleBook which should be saved
+     * @param file     the file to which the saleBook should be saved
+     * @throws IOException if an I/O error occurs at the writing
+     */
+    private static void save(@NotNull SaleBook saleBook, @NotNull File file) throws IOException {
+        if (FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION)) {
+            new SaleBookBinaryWriter(saleBook).toFile(file, 0);
+        } else {
+            new SaleBookWriter(saleBook, false).toJson(file, NO_PROGRESS, 0);
+        }
+    }
+
+    /**
+     * Prints the specified time of the specified step
+     *
+     * @param step  the name of the step
+     * @param nanos the time of the step in nanoseconds
+     */
+    private static void report(@NotNull String step, long nanos) {
+        System.out.printf(Locale.ROOT, "%-32s %12.1f ms%n", step, nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Prints the used heap after a garbage collection
+     */
+    private static void reportHeap() {
+        System.out.printf(Locale.ROOT, "%-32s %12.1f MiB%n", "used heap",
+                usedHeap() / BYTES_PER_MEBIBYTE);
+    }
+
+    /**
+     * Returns the number of bytes of the used heap after a garbage collection
+     *
+     * @return the number of bytes of the used heap
+     */
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Parses the options of the form {@code --name value}, which follow the command and the
+     * file of the specified arguments
+     *
+     * @param args the arguments
+     * @return the values of the options mapped to their name
+     * @throws IllegalArgumentException if an argument is not an option or has no value
+     */
+    private static @NotNull Map<String, String> parseOptions(String @NotNull [] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 2; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("invalid option " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,379 @@
+package data;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import logic.Asset;
+import logic.GUIConnector;
+import logic.ProgressListener;
+import logic.ProgressInputStream;
+import logic.Supplier;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
+import logic.manager.AssetsManager;
+import logic.manager.OrdersManager;
+import logic.manager.SparePartsManager;
+import logic.manager.SuppliersManager;
+import logic.order.Order;
+import logic.products.item.ItemColor;
+import logic.products.position.Position;
+import logic.products.position.PositionData;
+import logic.saleBook.SaleBook;
+import logic.saleBook.SaleBookLoader;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.FileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class reads a saleBook from a JSON-File in the format of {@link SaleBookData}.
+ * In contrast to {@link SaleBookData#fromJson(File, ProgressListener)} the file is read as stream
+ * and each position, spare part, order, asset and supplier is directly added to the managers
+ * of the saleBook. So at most one data object is resident at once, instead of the data of the
+ * whole saleBook. The file is read in a single pass as UTF-8.
+ * <p>
+ * The itemColors which are read are not set as the known itemColors, because the reading may
+ * take place outside the JavaFX application thread. They have to be set by
+ * {@code ItemColor.setItemColors(reader.getItemColors())} after the loading on the thread which
+ * uses the saleBook.
+ *
+ * @see SaleBookData
+ * @author xthe_white_lionx
+ */
+public class SaleBookReader implements SaleBookLoader {
+
+    /**
+     * The latencies of the loadings of saleBooks from json files
+     */
+    private static final LatencyHistogram LOAD_LATENCY =
+            Metrics.histogram("SaleBookReader.load");
+
+    /**
+     * The file which should be read
+     */
+    private final File file;
+
+    /**
+     * The listener which will be updated by reading the file
+     */
+    private final ProgressListener progressListener;
+
+    /**
+     * Mapping from the name of a read itemColor to the itemColor. The loaded positions
+     * materialize their items with this map on the first access, so the itemColors may be read
+     * after the positions.
+     */
+    private final Map<String, ItemColor> nameToItemColor;
+
+    /**
+     * The read itemColors or null if the itemColors are not read yet
+     */
+    private ItemColor[] itemColors;
+
+    /**
+     * The sequence of the last operation of the {@link OperationLog} which is contained by the
+     * read file
+     */
+    private long logSequence;
+
+    /**
+     * Constructor
+     *
+     * @param file             the file to get the data from to
+     * @param progressListener the listener which will be updated by reading the file
+     * @throws IllegalArgumentException if the file is not a json file
+     */
+    public SaleBookReader(@NotNull File file, @NotNull ProgressListener progressListener) {
+        if (!FileUtils.getExtension(file).equals("json")) {
+            throw new IllegalArgumentException("the file must be an json file");
+        }
+
+        this.file = file;
+        this.progressListener = progressListener;
+        this.nameToItemColor = new HashMap<>();
+    }
+
+    /**
+     * Reads a saleBook from the data of the specified file. The returned saleBook is not
+     * displayed yet, so this methode can be called outside the JavaFX application thread.
+     * The itemColors of the file are not set as the known itemColors.
+     *
+     * @param file             the file to get the data from to
+     * @param progressListener the listener which will be updated by reading the file
+     * @param gui              connection to the gui of the new saleBook
+     * @return a new saleBook or null if the file is empty
+     * @throws FileNotFoundException    if the file cannot be found or opened
+     * @throws IOException              if an I/0 error occurs at the reading
+     * @throws IllegalArgumentException if the file is not a json file
+     */
+    public static @Nullable SaleBook read(@NotNull File file,
+                                          @NotNull ProgressListener progressListener,
+                                          @NotNull GUIConnector gui) throws IOException {
+        SaleBookReader saleBookReader = new SaleBookReader(file, progressListener);
+        if (file.length() == 0) {
+            return null;
+        }
+        return new SaleBook(gui, saleBookReader);
+    }
+
+    /**
+     * Returns the sequence of the last operation of the {@link OperationLog} which is contained
+     * by the read file, or 0 if the file was not written with an operationLog
+     *
+     * @return the logSequence of the read file
+     */
+    public long getLogSequence() {
+        return this.logSequence;
+    }
+
+    /**
+     * Returns the itemColors of the read file or an empty array if the file contains no
+     * itemColors or was not read yet
+     *
+     * @return the itemColors of the read file
+     */
+    public @NotNull ItemColor[] getItemColors() {
+        return this.itemColors != null ? this.itemColors.clone() : new ItemColor[0];
+    }
+
+    @Override
+    public void load(@NotNull SaleBook saleBook) throws IOException {
+        LOAD_LATENCY.timeChecked(() -> this.doLoad(saleBook));
+    }
+
+    /** Performs {@link #load(SaleBook)} without recording its latency */
+    private void doLoad(@NotNull SaleBook saleBook) throws IOException {
+        BigDecimal repairServiceSales = BigDecimal.ZERO;
+        BigDecimal extraordinaryIncome = BigDecimal.ZERO;
+        BigDecimal paid = BigDecimal.ZERO;
+        BigDecimal fixedCosts = BigDecimal.ZERO;
+
+        try (FileInputStream fileInputStream = new FileInputStream(this.file.getAbsoluteFile());
+             JsonReader reader = new JsonReader(new InputStreamReader(
+                     new ProgressInputStream(fileInputStream, this.progressListener),
+                     StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "sparePartsManagerData":
+                        this.readSpareParts(reader, saleBook.getSparePartsManager());
+                        break;
+                    case "positionsManagerData":
+                        this.readPositions(reader, saleBook);
+                        break;
+                    case "itemColors":
+                        this.readItemColors(reader);
+                        break;
+                    case "suppliers":
+                        this.readSuppliers(reader, saleBook.getSuppliersManager());
+                        break;
+                    case "assetsManagerData":
+                        this.readAssets(reader, saleBook.getAssetsManager());
+                        break;
+                    case "ordersManagerData":
+                        this.readOrders(reader, saleBook.getOrdersManager());
+                        break;
+                    case "repairServiceSales":
+                        repairServiceSales = readBigDecimal(reader, repairServiceSales);
+                        break;
+                    case "extraordinaryIncome":
+                        extraordinaryIncome = readBigDecimal(reader, extraordinaryIncome);
+                        break;
+                    case "paid":
+                        paid = readBigDecimal(reader, paid);
+                        break;
+                    case "fixedCosts":
+                        fixedCosts = readBigDecimal(reader, fixedCosts);
+                        break;
+                    case "logSequence":
+                        this.logSequence = reader.nextLong();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        saleBook.loadBalances(repairServiceSales, extraordinaryIncome, paid, fixedCosts);
+    }
+
+    /**
+     * Reads the spare parts of the sparePartsManagerData and adds them to the specified
+     * sparePartsManager
+     *
+     * @param reader            the reader which is positioned at the sparePartsManagerData
+     * @param sparePartsManager the sparePartsManager to which the spare parts should be added
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private void readSpareParts(@NotNull JsonReader reader,
+                                @NotNull SparePartsManager sparePartsManager) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("sparePartData")) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    SparePartData sparePartData = SaleBookData.READING_GSON.fromJson(reader,
+                            SparePartData.class);
+                    sparePartsManager.loadSparePart(new SparePart(sparePartData),
+                            sparePartData.getQuantity());
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads the positions of the positionsManagerData and adds them to the specified saleBook.
+     * The items of the positions are materialized on the first access by the nameToItemColor
+     * map, which is filled as soon as the itemColors are read.
+     *
+     * @param reader   the reader which is positioned at the positionsManagerData
+     * @param saleBook the saleBook to which the positions should be added
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private void readPositions(@NotNull JsonReader reader, @NotNull SaleBook saleBook)
+            throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "positionsData":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        PositionData positionData = SaleBookData.READING_GSON.fromJson(reader,
+                                PositionData.class);
+                        saleBook.loadPosition(new Position(positionData, this.nameToItemColor));
+                    }
+                    reader.endArray();
+                    break;
+                case "nextPosId":
+                    saleBook.getPositionsManager().loadNextPosId(reader.nextInt());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads the itemColors and adds them to the nameToItemColor map
+     *
+     * @param reader the reader which is positioned at the itemColors
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private void readItemColors(@NotNull JsonReader reader) throws IOException {
+        ItemColor[] readItemColors = SaleBookData.READING_GSON.fromJson(reader,
+                ItemColor[].class);
+        this.itemColors = readItemColors != null ? readItemColors : new ItemColor[0];
+        for (ItemColor itemColor : this.itemColors) {
+            this.nameToItemColor.put(itemColor.getName(), itemColor);
+        }
+    }
+
+    /**
+     * Reads the suppliers and adds them to the specified suppliersManager
+     *
+     * @param reader           the reader which is positioned at the suppliers
+     * @param suppliersManager the suppliersManager to which the suppliers should be added
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private void readSuppliers(@NotNull JsonReader reader,
+                               @NotNull SuppliersManager suppliersManager) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            suppliersManager.loadSupplier(SaleBookData.READING_GSON.fromJson(reader,
+                    Supplier.class));
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Reads the assets of the assetsManagerData and adds them to the specified assetsManager
+     *
+     * @param reader        the reader which is positioned at the assetsManagerData
+     * @param assetsManager the assetsManager to which the assets should be added
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private void readAssets(@NotNull JsonReader reader, @NotNull AssetsManager assetsManager)
+            throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "assets":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        assetsManager.loadAsset(SaleBookData.READING_GSON.fromJson(reader,
+                                Asset.class));
+                    }
+                    reader.endArray();
+                    break;
+                case "nextAssetId":
+                    assetsManager.loadNextAssetId(reader.nextInt());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads the orders of the ordersManagerData and adds them to the specified ordersManager
+     *
+     * @param reader        the reader which is positioned at the ordersManagerData
+     * @param ordersManager the ordersManager to which the orders should be added
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private void readOrders(@NotNull JsonReader reader, @NotNull OrdersManager ordersManager)
+            throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "orders":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        ordersManager.loadOrder(SaleBookData.READING_GSON.fromJson(reader,
+                                Order.class));
+                    }
+                    reader.endArray();
+                    break;
+                case "nextOrderId":
+                    ordersManager.loadNextOrderId(reader.nextInt());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads a BigDecimal or returns the specified defaultValue if the value is null
+     *
+     * @param reader       the reader which is positioned at the BigDecimal
+     * @param defaultValue the value which is returned for null
+     * @return the read BigDecimal or the defaultValue
+     * @throws IOException if an I/0 error occurs at the reading
+     */
+    private static @NotNull BigDecimal readBigDecimal(@NotNull JsonReader reader,
+                                                      @NotNull BigDecimal defaultValue)
+            throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return defaultValue;
+        }
+        return new BigDecimal(reader.nextString());
+    }
+}
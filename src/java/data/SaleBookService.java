@@ -0,0 +1,461 @@
+package data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import data.tools.HeadlessGui;
+import logic.ProgressListener;
+import logic.products.item.ItemColor;
+import logic.products.position.Position;
+import logic.saleBook.SaleBook;
+import org.jetbrains.annotations.NotNull;
+import utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A long-lived service which runs a saleBook without gui and exposes it by a local HTTP API
+ * with JSON bodies. The service is bound to the loopback address, so only scripts and tools on
+ * the same machine can use it.
+ * <ul>
+ *     <li>{@code GET /positions}, {@code /spare-parts}, {@code /orders} and {@code /assets}
+ *     return the data of the managers in the format of the file of the saleBook</li>
+ *     <li>{@code GET /positions/<id>} returns the data of a position</li>
+ *     <li>{@code GET /totals} returns the totals of the saleBook</li>
+ *     <li>{@code POST /operations} applies an operation or an array of operations in the
+ *     format of the {@link OperationLog} without sequence, for example
+ *     {@code {"source":"PositionsManager","operation":"sale","arguments":[12,19800,"99.00"]}},
+ *     where dates are epoch days</li>
+ *     <li>{@code POST /save} writes a new snapshot of the saleBook</li>
+ * </ul>
+ * The operations of a request are applied in their order in one transaction of the saleBook and
+ * are appended to the operation log of the file before the response is sent, so a whole batch
+ * of sales costs one write instead of one write per sale. If an operation fails, the whole batch
+ * is rolled back and the response 400 names the failed operation. If the applied operations
+ * cannot be written, they stay applied, the response 500 contains the number of applied
+ * operations and their sequence and the next write of the service is a new snapshot.
+ * <p>
+ * The requests are handled by virtual threads if the runtime supports them. The saleBook itself
+ * is not thread safe, so every access to it is serialized by a lock, which takes the role of the
+ * JavaFX application thread of the gui.
+ *
+ * @author xthe_white_lionx
+ */
+public class SaleBookService {
+
+    /**
+     * The default port of the service
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * The listener of the progress of the reading and writing, which ignores the progress
+     */
+    private static final ProgressListener NO_PROGRESS = totalBytes -> {
+    };
+
+    /**
+     * The number of backups which are kept by a snapshot
+     */
+    private static final int BACKUPS = 1;
+
+    /**
+     * The file of the saleBook
+     */
+    private final File file;
+
+    /**
+     * The served saleBook
+     */
+    private final SaleBook saleBook;
+
+    /**
+     * The log of the operations of the saleBook
+     */
+    private final OperationLog operationLog;
+
+    /**
+     * The lock which serializes the access to the saleBook
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * The executor of the requests
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The server of the HTTP API
+     */
+    private final HttpServer server;
+
+    /**
+     * Creates a new service for the saleBook of the specified file. The saleBook is loaded and
+     * the operations of its log are replayed. The service has to be started by
+     * {@link #start()}.
+     *
+     * @param file the JSON or binary file of the saleBook
+     * @param port the local port of the service, 0 for any free port
+     * @throws IOException if an I/O error occurs at the reading or the port cannot be bound
+     */
+    public SaleBookService(@NotNull File file, int port) throws IOException {
+        this.file = file;
+        long logSequence;
+        if (isBinary(file)) {
+            SaleBookBinaryReader reader = new SaleBookBinaryReader(file, NO_PROGRESS);
+            this.saleBook = new SaleBook(new HeadlessGui(), reader);
+            ItemColor.setItemColors(reader.getItemColors());
+            logSequence = reader.getLogSequence();
+        } else {
+            SaleBookReader reader = new SaleBookReader(file, NO_PROGRESS);
+            this.saleBook = new SaleBook(new HeadlessGui(), reader);
+            ItemColor.setItemColors(reader.getItemColors());
+            logSequence = reader.getLogSequence();
+        }
+        this.operationLog = OperationLog.open(file, this.saleBook, logSequence);
+        this.operationLog.replayTail();
+        this.lock = new ReentrantLock();
+        this.executor = newExecutor();
+        this.server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/positions", this::handlePositions);
+        this.server.createContext("/spare-parts", exchange -> this.handleGet(exchange, () ->
+                this.saleBook.getSparePartsManager().toData()));
+        this.server.createContext("/orders", exchange -> this.handleGet(exchange, () ->
+                this.saleBook.getOrdersManager().toData()));
+        this.server.createContext("/assets", exchange -> this.handleGet(exchange, () ->
+                this.saleBook.getAssetsManager().toData()));
+        this.server.createContext("/totals", exchange -> this.handleGet(exchange,
+                this::totals));
+        this.server.createContext("/operations", this::handleOperations);
+        this.server.createContext("/save", this::handleSave);
+    }
+
+    /**
+     * Starts this service
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops this service. The running requests are finished and a new snapshot of the saleBook
+     * is written.
+     *
+     * @throws IOException if an I/O error occurs at the writing of the snapshot
+     */
+    public void stop() throws IOException {
+        this.server.stop(1);
+        this.executor.shutdown();
+        this.lock.lock();
+        try {
+            this.snapshot();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the port of this service
+     *
+     * @return the port of this service
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Handles the requests of the positions
+     *
+     * @param exchange the exchange of the request
+     * @throws IOException if an I/O error occurs at the responding
+     */
+    private void handlePositions(@NotNull HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/positions") || path.equals("/positions/")) {
+            this.handleGet(exchange, () -> this.saleBook.getPositionsManager().toData());
+            return;
+        }
+
+        int id;
+        try {
+            id = Integer.parseInt(path.substring("/positions/".length()));
+        } catch (NumberFormatException e) {
+            respond(exchange, 404, error("unknown path " + path));
+            return;
+        }
+        this.handleGet(exchange, () -> {
+            Position position = this.saleBook.getPositionsManager().getPosition(id);
+            return position == null ? null : position.toData();
+        });
+    }
+
+    /**
+     * Handles a request which reads the specified data of the saleBook
+     *
+     * @param exchange the exchange of the request
+     * @param data     returns the data which should be responded or null if there is no data
+     * @throws IOException if an I/O error occurs at the responding
+     */
+    private void handleGet(@NotNull HttpExchange exchange, @NotNull Supplier<Object> data)
+            throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            respond(exchange, 405, error("method not allowed"));
+            return;
+        }
+
+        String json;
+        this.lock.lock();
+        try {
+            Object value = data.get();
+            json = value == null ? null : SaleBookData.WRITING_GSON.toJson(value);
+        } finally {
+            this.lock.unlock();
+        }
+        if (json == null) {
+            respond(exchange, 404, error("not found"));
+        } else {
+            respond(exchange, 200, json);
+        }
+    }
+
+    /**
+     * Handles a request which applies operations on the saleBook
+     *
+     * @param exchange the exchange of the request
+     * @throws IOException if an I/O error occurs at the reading or responding
+     */
+    private void handleOperations(@NotNull HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 405, error("method not allowed"));
+            return;
+        }
+
+        JsonArray operations;
+        try {
+            JsonElement body = JsonParser.parseString(new String(
+                    exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            if (body.isJsonArray()) {
+                operations = body.getAsJsonArray();
+            } else {
+                operations = new JsonArray();
+                operations.add(body.getAsJsonObject());
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            respond(exchange, 400, error("invalid body: " + e.getMessage()));
+            return;
+        }
+
+        JsonObject result = new JsonObject();
+        int[] applied = {0};
+        int status = 200;
+        this.lock.lock();
+        try {
+            try {
+                this.saleBook.inTransaction(() -> {
+                    for (JsonElement operation : operations) {
+                        this.operationLog.apply(operation.getAsJsonObject());
+                        applied[0]++;
+                    }
+                });
+            } catch (RuntimeException e) {
+                result.addProperty("error", "operation %d failed, the batch was rolled back: %s"
+                        .formatted(applied[0], e.getMessage()));
+                applied[0] = 0;
+                status = 400;
+            }
+            try {
+                this.persist();
+            } catch (IOException e) {
+                result.addProperty("error", "the applied operations were not saved: "
+                        + e.getMessage());
+                status = 500;
+            }
+            result.addProperty("sequence", this.operationLog.getSequence());
+        } finally {
+            this.lock.unlock();
+        }
+        result.addProperty("applied", applied[0]);
+        respond(exchange, status, result.toString());
+    }
+
+    /**
+     * Handles a request which writes a new snapshot of the saleBook
+     *
+     * @param exchange the exchange of the request
+     * @throws IOException if an I/O error occurs at the responding
+     */
+    private void handleSave(@NotNull HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 405, error("method not allowed"));
+            return;
+        }
+
+        this.lock.lock();
+        try {
+            this.snapshot();
+        } catch (IOException e) {
+            respond(exchange, 500, error("the snapshot was not saved: " + e.getMessage()));
+            return;
+        } finally {
+            this.lock.unlock();
+        }
+        respond(exchange, 200, "{}");
+    }
+
+    /**
+     * Returns the totals of the saleBook
+     *
+     * @return the totals of the saleBook
+     */
+    private @NotNull JsonObject totals() {
+        JsonObject totals = new JsonObject();
+        totals.addProperty("positions",
+                this.saleBook.getPositionsManager().getPositionsView().size());
+        totals.addProperty("salesVolume", this.saleBook.getSalesVolume());
+        totals.addProperty("variableCosts", this.saleBook.getVariableCosts());
+        totals.addProperty("fixedCosts", this.saleBook.getFixedCosts());
+        totals.addProperty("sumOfAssets", this.saleBook.getAssetsManager().getSumValue());
+        totals.addProperty("sequence", this.operationLog.getSequence());
+        return totals;
+    }
+
+    /**
+     * Appends the pending operations to the operation log of the file or writes a new snapshot
+     * if the log should be compacted. The lock has to be held by the caller.
+     *
+     * @throws IOException if an I/O error occurs at the writing
+     */
+    private void persist() throws IOException {
+        if (this.operationLog.needsCompaction()) {
+            this.snapshot();
+        } else if (this.operationLog.hasPending()) {
+            try {
+                OperationLog.append(this.file, this.operationLog.drainPending());
+            } catch (IOException e) {
+                this.operationLog.requireCompaction();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes a new snapshot of the saleBook into the file and deletes its operation log. The
+     * lock has to be held by the caller.
+     *
+     * @throws IOException if an I/O error occurs at the writing
+     */
+    private void snapshot() throws IOException {
+        long sequence = this.operationLog.getSequence();
+        if (isBinary(this.file)) {
+            new SaleBookBinaryWriter(this.saleBook, sequence).toFile(this.file, BACKUPS);
+        } else {
+            new SaleBookWriter(this.saleBook, false, sequence).toJson(this.file, NO_PROGRESS,
+                    BACKUPS);
+        }
+        OperationLog.delete(this.file);
+        this.operationLog.compacted();
+        this.saleBook.getChangeJournal().markSaved();
+    }
+
+    /**
+     * Sends the specified JSON with the specified status as response of the specified exchange
+     *
+     * @param exchange the exchange of the request
+     * @param status   the HTTP status of the response
+     * @param json     the body of the response
+     * @throws IOException if an I/O error occurs at the sending
+     */
+    private static void respond(@NotNull HttpExchange exchange, int status, @NotNull String json)
+            throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    /**
+     * Returns the specified message as JSON error
+     *
+     * @param message the message of the error
+     * @return the JSON error
+     */
+    private static @NotNull String error(@NotNull String message) {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        return error.toString();
+    }
+
+    /**
+     * Returns true if the specified file is a binary file
+     *
+     * @param file the file of a saleBook
+     * @return true if the specified file is a binary file, otherwise false
+     */
+    private static boolean isBinary(@NotNull File file) {
+        return FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION);
+    }
+
+    /**
+     * Returns an executor which runs each request in a new virtual thread. The source level of
+     * this project does not contain virtual threads yet, so they are looked up at runtime and
+     * a pool of daemon threads is used on runtimes without virtual threads.
+     *
+     * @return the executor of the requests
+     */
+    private static @NotNull ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "saleBook-service");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Serves the saleBook of the file of the first argument until the process is terminated.
+     * The optional second argument is the port of the service.
+     *
+     * @param args the file of the saleBook and the optional port
+     * @throws IOException if an I/O error occurs at the reading or the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: SaleBookService <file.json|file.%s> [port]"
+                    .formatted(SaleBookBinaryFormat.EXTENSION));
+            System.exit(2);
+        }
+
+        int port = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        SaleBookService service = new SaleBookService(new File(args[0]), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                service.stop();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+        service.start();
+        System.out.printf("serving %s on http://localhost:%d%n", args[0], service.getPort());
+    }
+}
@@ -0,0 +1,425 @@
+package data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import logic.Asset;
+import logic.AtomicFileOutputStream;
+import logic.ProgressListener;
+import logic.ProgressOutputStream;
+import logic.Supplier;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
+import logic.order.Order;
+import logic.products.item.ItemColor;
+import logic.products.item.ItemData;
+import logic.products.position.Position;
+import logic.products.position.PositionData;
+import logic.saleBook.CopyOnWriteSnapshot;
+import logic.saleBook.SaleBook;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.FileUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This class writes a saleBook into a JSON-File in the format of {@link SaleBookData}.
+ * In contrast to {@link SaleBookData#toJson(File, ProgressListener)} the saleBook is written
+ * directly as stream, so the JSON of the whole saleBook is never resident at once. The
+ * itemColors are written first, so the itemColors of the positions are known as soon as the
+ * positions are read by {@link SaleBookReader}. The JSON is written as UTF-8.
+ * <p>
+ * The constructor takes a snapshot of the saleBook, so the writer can write on another thread
+ * while the saleBook is modified. The positions are only referenced by a
+ * {@link CopyOnWriteSnapshot}, the positionsManager copies the data of a position only if it is
+ * changed while the writer is referenced. So taking the snapshot allocates one reference per
+ * position and neither materializes items nor serializes anything. The spare parts are captured
+ * as their data and the few suppliers, assets and orders as JSON trees, because they are edited
+ * in place by the dialogs of the gui without the managers noticing it beforehand.
+ *
+ * @see SaleBookData
+ * @author xthe_white_lionx
+ */
+public class SaleBookWriter {
+
+    /**
+     * The latencies of the writings of saleBooks into json files
+     */
+    private static final LatencyHistogram TO_JSON_LATENCY =
+            Metrics.histogram("SaleBookWriter.toJson");
+
+    /**
+     * The indent of each level of pretty printed JSON
+     */
+    private static final String INDENT = "  ";
+
+    /**
+     * The itemColors of the snapshot
+     */
+    private final ItemColor[] itemColors;
+
+    /**
+     * The spare parts and their quantities of the snapshot
+     */
+    private final SparePartData[] spareParts;
+
+    /**
+     * The positions of the snapshot
+     */
+    private final CopyOnWriteSnapshot<Position, PositionData> positions;
+
+    /**
+     * The id for the next creation of a position of the snapshot
+     */
+    private final int nextPosId;
+
+    /**
+     * The suppliers of the snapshot as JSON trees
+     */
+    private final JsonElement[] suppliers;
+
+    /**
+     * The assets of the snapshot as JSON trees
+     */
+    private final JsonElement[] assets;
+
+    /**
+     * The id of the next asset of the snapshot
+     */
+    private final int nextAssetId;
+
+    /**
+     * The orders of the snapshot as JSON trees
+     */
+    private final JsonElement[] orders;
+
+    /**
+     * The id of the next order of the snapshot
+     */
+    private final int nextOrderId;
+
+    /**
+     * The sales of the repair services of the snapshot
+     */
+    private final BigDecimal repairServiceSales;
+
+    /**
+     * The extraordinary income of the snapshot
+     */
+    private final BigDecimal extraordinaryIncome;
+
+    /**
+     * The paid taxes of the snapshot
+     */
+    private final BigDecimal paid;
+
+    /**
+     * The fixed costs of the snapshot
+     */
+    private final BigDecimal fixedCosts;
+
+    /**
+     * Whether the JSON should be pretty printed or compact
+     */
+    private final boolean prettyPrinting;
+
+    /**
+     * The sequence of the last operation of the {@link OperationLog} which is contained by the
+     * written saleBook
+     */
+    private final long logSequence;
+
+    /**
+     * Constructor, which takes a snapshot of the specified saleBook
+     *
+     * @param saleBook       the saleBook which should be written
+     * @param prettyPrinting true if the JSON should be pretty printed, false if it should be
+     *                       written compact without whitespaces
+     */
+    public SaleBookWriter(@NotNull SaleBook saleBook, boolean prettyPrinting) {
+        this(saleBook, prettyPrinting, 0L);
+    }
+
+    /**
+     * Constructor for a writer of a snapshot of an {@link OperationLog}, which takes a snapshot
+     * of the specified saleBook. The snapshot has to be taken on the thread which modifies the
+     * saleBook.
+     *
+     * @param saleBook       the saleBook which should be written
+     * @param prettyPrinting true if the JSON should be pretty printed, false if it should be
+     *                       written compact without whitespaces
+     * @param logSequence    the sequence of the last operation which is contained by the
+     *                       saleBook
+     */
+    public SaleBookWriter(@NotNull SaleBook saleBook, boolean prettyPrinting, long logSequence) {
+        this.itemColors = ItemColor.getItemColors().toArray(new ItemColor[0]);
+        Map<SparePart, Integer> sparePartsToQuantity =
+                saleBook.getSparePartsManager().getSparePartsToQuantityView();
+        this.spareParts = new SparePartData[sparePartsToQuantity.size()];
+        int i = 0;
+        for (Map.Entry<SparePart, Integer> entry : sparePartsToQuantity.entrySet()) {
+            this.spareParts[i++] = new SparePartData(entry.getKey(), entry.getValue());
+        }
+        this.positions = saleBook.getPositionsManager().snapshotPositions();
+        this.nextPosId = saleBook.getPositionsManager().getNextPosId();
+        this.suppliers = toJsonTrees(saleBook.getSuppliersManager().getSuppliers(),
+                Supplier.class);
+        this.assets = toJsonTrees(saleBook.getAssetsManager().getAssets(), Asset.class);
+        this.nextAssetId = saleBook.getAssetsManager().getNextAssetId();
+        this.orders = toJsonTrees(saleBook.getOrdersManager().getOrders(), Order.class);
+        this.nextOrderId = saleBook.getOrdersManager().getNextOrderId();
+        this.repairServiceSales = saleBook.getRepairServiceSales();
+        this.extraordinaryIncome = saleBook.getExtraordinaryIncome();
+        this.paid = saleBook.getPaid();
+        this.fixedCosts = saleBook.getFixedCosts();
+        this.prettyPrinting = prettyPrinting;
+        this.logSequence = logSequence;
+    }
+
+    /**
+     * Returns the specified elements as JSON trees
+     *
+     * @param elements the elements which should be converted
+     * @param type     the type of the elements
+     * @param <T>      the type of the elements
+     * @return the JSON trees of the elements
+     */
+    private static <T> @NotNull JsonElement[] toJsonTrees(@NotNull Collection<T> elements,
+                                                          @NotNull Class<T> type) {
+        JsonElement[] jsonTrees = new JsonElement[elements.size()];
+        int i = 0;
+        for (T element : elements) {
+            jsonTrees[i++] = SaleBookData.WRITING_GSON.toJsonTree(element, type);
+        }
+        return jsonTrees;
+    }
+
+    /**
+     * Writes the snapshot into the specified file. The file is replaced atomically, so it is
+     * never left half written.
+     *
+     * @param file             the file in which should be written
+     * @param progressListener the listener which will be updated by writing the file
+     * @param backups          the number of backups of the old content of the file which
+     *                         should be kept
+     * @throws IOException              if an I/0 error occurs at the writing
+     * @throws IllegalArgumentException if the file is not a json file or backups is negative
+     * @see AtomicFileOutputStream
+     */
+    public void toJson(@NotNull File file, @NotNull ProgressListener progressListener,
+                       int backups) throws IOException {
+        TO_JSON_LATENCY.timeChecked(() -> this.doToJson(file, progressListener, backups));
+    }
+
+    /** Performs {@link #toJson(File, ProgressListener, int)} without recording its latency */
+    private void doToJson(@NotNull File file, @NotNull ProgressListener progressListener,
+                          int backups) throws IOException {
+        if (!FileUtils.getExtension(file).equals("json")) {
+            throw new IllegalArgumentException("the file must be an json file");
+        }
+
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file, backups)) {
+            this.write(new ProgressOutputStream(outputStream, progressListener));
+            outputStream.commit();
+        }
+    }
+
+    /**
+     * Returns the snapshot written as UTF-8 encoded JSON
+     *
+     * @return the bytes of the written snapshot
+     */
+    public byte @NotNull [] toByteArray() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            this.write(outputStream);
+        } catch (IOException e) {
+            //a ByteArrayOutputStream never throws an IOException
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes the snapshot into the specified outputStream as UTF-8.
+     * The outputStream is flushed but not closed.
+     *
+     * @param outputStream the outputStream in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    public void write(@NotNull OutputStream outputStream) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.write(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the snapshot into the specified writer. The writer is flushed but not closed.
+     *
+     * @param out the writer in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    public void write(@NotNull Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        if (this.prettyPrinting) {
+            writer.setIndent(INDENT);
+        }
+        writer.beginObject();
+        writer.name("itemColors");
+        writer.beginArray();
+        for (ItemColor itemColor : this.itemColors) {
+            SaleBookData.WRITING_GSON.toJson(itemColor, ItemColor.class, writer);
+        }
+        writer.endArray();
+        writer.name("sparePartsManagerData");
+        this.writeSpareParts(writer);
+        writer.name("positionsManagerData");
+        this.writePositions(writer);
+        writer.name("suppliers");
+        writeJsonTrees(writer, this.suppliers);
+        writer.name("assetsManagerData");
+        writer.beginObject();
+        writer.name("assets");
+        writeJsonTrees(writer, this.assets);
+        writer.name("nextAssetId").value(this.nextAssetId);
+        writer.endObject();
+        writer.name("ordersManagerData");
+        writer.beginObject();
+        writer.name("orders");
+        writeJsonTrees(writer, this.orders);
+        writer.name("nextOrderId").value(this.nextOrderId);
+        writer.endObject();
+        writer.name("repairServiceSales").value(this.repairServiceSales);
+        writer.name("extraordinaryIncome").value(this.extraordinaryIncome);
+        writer.name("paid").value(this.paid);
+        writer.name("fixedCosts").value(this.fixedCosts);
+        if (this.logSequence > 0) {
+            writer.name("logSequence").value(this.logSequence);
+        }
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Writes the spare parts of the snapshot in the format of {@link SparePartsManagerData}
+     *
+     * @param writer the writer in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writeSpareParts(@NotNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("sparePartData");
+        writer.beginArray();
+        for (SparePartData sparePart : this.spareParts) {
+            writer.beginObject();
+            writer.name("quantity").value(sparePart.getQuantity());
+            writer.name("category").value(sparePart.getCategory());
+            writer.name("name").value(sparePart.getName());
+            writer.name("condition").value(sparePart.getCondition().name());
+            writer.name("unit").value(sparePart.getUnit());
+            writer.name("minimumStock").value(sparePart.getMinimumStock());
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    /**
+     * Writes the positions of the snapshot in the format of {@link PositionsManagerData}
+     *
+     * @param writer the writer in which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private void writePositions(@NotNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("positionsData");
+        writer.beginArray();
+        for (int i = 0; i < this.positions.size(); i++) {
+            writePosition(writer, this.positions.get(i));
+        }
+        writer.endArray();
+        writer.name("nextPosId").value(this.nextPosId);
+        writer.endObject();
+    }
+
+    /**
+     * Writes the specified positionData. The data of items which were not materialized is
+     * written as it was loaded, so the items are not materialized by saving.
+     *
+     * @param writer   the writer in which should be written
+     * @param position the data of the position which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private static void writePosition(@NotNull JsonWriter writer, @NotNull PositionData position)
+            throws IOException {
+        writer.beginObject();
+        writer.name("itemData");
+        writer.beginArray();
+        for (ItemData itemData : position.getItemData()) {
+            SaleBookData.WRITING_GSON.toJson(itemData, ItemData.class, writer);
+        }
+        writer.endArray();
+        writer.name("id").value(position.getId());
+        writer.name("category").value(position.getCategory());
+        writer.name("state").value(position.getState().name());
+        writer.name("purchasingPrice").value(position.getPurchasingPrice());
+        writeDate(writer, "orderDate", position.getOrderDate());
+        writer.name("cost").value(position.getCost());
+        writeDate(writer, "receivedDate", position.getReceivedDate());
+        writeDate(writer, "sellingDate", position.getSellingDate());
+        BigDecimal sellingPrice = position.getSellingPrice();
+        if (sellingPrice != null) {
+            writer.name("sellingPrice").value(sellingPrice);
+        }
+        if (position.getShippingCompany() != null) {
+            writer.name("shippingCompany").value(position.getShippingCompany().name());
+        }
+        if (position.getTrackingNumber() != null) {
+            writer.name("trackingNumber").value(position.getTrackingNumber());
+        }
+        writer.name("nextItemId").value(position.getNextItemId());
+        writer.endObject();
+    }
+
+    /**
+     * Writes the specified JSON trees as array
+     *
+     * @param writer    the writer in which should be written
+     * @param jsonTrees the JSON trees which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private static void writeJsonTrees(@NotNull JsonWriter writer,
+                                       @NotNull JsonElement[] jsonTrees) throws IOException {
+        writer.beginArray();
+        for (JsonElement jsonTree : jsonTrees) {
+            SaleBookData.WRITING_GSON.toJson(jsonTree, writer);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes the specified date as epoch day, if it is not null
+     *
+     * @param writer the writer in which should be written
+     * @param name   the name of the date
+     * @param date   the date which should be written
+     * @throws IOException if an I/0 error occurs at the writing
+     */
+    private static void writeDate(@NotNull JsonWriter writer, @NotNull String name,
+                                  @Nullable LocalDate date) throws IOException {
+        if (date != null) {
+            writer.name(name).value(date.toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package data.tools;
+
+import costumeClasses.FXClasses.FilteredTreeItem;
+import javafx.collections.ObservableList;
+import logic.Asset;
+import logic.GUIConnector;
+import logic.Supplier;
+import logic.order.Order;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A {@link GUIConnector} which displays nothing. It is only used by the command line tools,
+ * which process saleBooks without a gui, for example to convert the file of a saleBook. The
+ * tests use their own FakeGui.
+ *
+ * @author xthe_white_lionx
+ */
+public class HeadlessGui implements GUIConnector {
+
+    @Override
+    public void displayCategories(@NotNull Collection<String> categories) {
+    }
+
+    @Override
+    public void displaySpareParts(@NotNull ObservableList<SparePart> spareParts) {
+    }
+
+    @Override
+    public void displaySparePartNames(@NotNull Collection<String> nameOfSpareParts) {
+    }
+
+    @Override
+    public void displaySuppliers(@NotNull ObservableList<Supplier> suppliers) {
+    }
+
+    @Override
+    public void displaySupplierNames(@NotNull Set<String> supplierNames) {
+    }
+
+    @Override
+    public void displayOrders(@NotNull ObservableList<Order> orders) {
+    }
+
+    @Override
+    public void displayAssets(@NotNull ObservableList<Asset> assets) {
+    }
+
+    @Override
+    public void displayRepairServiceSale(@NotNull BigDecimal repairServiceSales) {
+    }
+
+    @Override
+    public void displayExtraordinaryIncome(@NotNull BigDecimal extraordinaryIncome) {
+    }
+
+    @Override
+    public void displaySales(@NotNull BigDecimal sales) {
+    }
+
+    @Override
+    public void displayPaid(@NotNull BigDecimal paid) {
+    }
+
+    @Override
+    public void displayTenthPartBalance(@NotNull BigDecimal balance) {
+    }
+
+    @Override
+    public void displayTenthPartTotalIncome(@NotNull BigDecimal tenthPartTotalSales) {
+    }
+
+    @Override
+    public void displayTotalPerformance(@NotNull BigDecimal totalPerformance) {
+    }
+
+    @Override
+    public void displayVariableCosts(@NotNull BigDecimal variableCosts) {
+    }
+
+    @Override
+    public void displayFixedCosts(@NotNull BigDecimal fixedCosts) {
+    }
+
+    @Override
+    public void displayProfitAndLossAccountBalance(@NotNull BigDecimal balance) {
+    }
+
+    @Override
+    public void displayOrderedSpareParts(@NotNull Set<SparePart> spareParts) {
+    }
+
+    @Override
+    public void refreshPosition() {
+    }
+
+    @Override
+    public void displayPositions(@NotNull FilteredTreeItem<Integer> root) {
+    }
+
+    @Override
+    public void refreshSpareParts() {
+    }
+
+    @Override
+    public void refreshOrders() {
+    }
+
+    @Override
+    public void displaySumAssetsValue(BigDecimal sumValue) {
+    }
+
+    @Override
+    public void updateStatus(@NotNull String message) {
+    }
+}
@@ -2,6 +2,7 @@ package gui;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Consumer;
 import java.util.prefs.Preferences;
 
 /**
@@ -21,6 +22,21 @@ public class Config {
      */
     private static final String AUTO_SAVE = "Autosave";
 
+    /**
+     * Key to get the operation log preference
+     */
+    private static final String OPERATION_LOG = "OperationLog";
+
+    /**
+     * Key to get the backups preference
+     */
+    private static final String BACKUPS = "Backups";
+
+    /**
+     * The number of backups which are kept if no preference is set
+     */
+    private static final int DEFAULT_BACKUPS = 3;
+
     /**
      * Key to get the theme preference
      */
@@ -50,6 +66,63 @@ public class Config {
         PREFERENCES.putBoolean(AUTO_SAVE, autoSave);
     }
 
+    /**
+     * Returns true if saves should only append the changes to the operation log of the file,
+     * otherwise false
+     *
+     * @return true if the operation log is on, otherwise false
+     */
+    public static boolean isOperationLog() {
+        return PREFERENCES.getBoolean(OPERATION_LOG, false);
+    }
+
+    /**
+     * Sets the operation log on or off
+     *
+     * @param operationLog sets the operation log on or off
+     */
+    public static void setOperationLog(boolean operationLog) {
+        PREFERENCES.putBoolean(OPERATION_LOG, operationLog);
+    }
+
+    /**
+     * Adds the specified listener, which is notified with the new value whenever the operation
+     * log is switched on or off. The listener is notified by the event dispatch thread of the
+     * preferences, not by the JavaFX application thread.
+     *
+     * @param listener the listener which should be notified
+     */
+    public static void addOperationLogListener(@NotNull Consumer<Boolean> listener) {
+        PREFERENCES.addPreferenceChangeListener(event -> {
+            if (OPERATION_LOG.equals(event.getKey())) {
+                listener.accept(Boolean.parseBoolean(event.getNewValue()));
+            }
+        });
+    }
+
+    /**
+     * Returns the number of backups which are kept of a saved file
+     *
+     * @return the number of backups which are kept of a saved file
+     */
+    public static int getBackups() {
+        return PREFERENCES.getInt(BACKUPS, DEFAULT_BACKUPS);
+    }
+
+    /**
+     * Sets the number of backups which are kept of a saved file
+     *
+     * @param backups the number of backups which are kept of a saved file
+     * @throws IllegalArgumentException if the number of backups is negative
+     */
+    public static void setBackups(int backups) {
+        if (backups < 0) {
+            throw new IllegalArgumentException("backups must be positive or zero but was %d"
+                    .formatted(backups));
+        }
+        PREFERENCES.putInt(BACKUPS, backups);
+    }
+
     /**
      * Returns the current Theme or light-mode if no preference is set.
      *
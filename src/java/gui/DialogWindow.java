@@ -1,5 +1,6 @@
 package gui;
 
+import data.SaleBookBinaryFormat;
 import gui.FXutils.StageUtils;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
@@ -35,10 +36,10 @@ public class DialogWindow {
     }
 
     /**
-     * Returns a json filtered FileChooser on initialized to this {@link #DIRECTORY}.
-     * Creates the DIRECTORY if it does not exist.
+     * Returns a FileChooser filtered to json and binary saleBook files initialized to this
+     * {@link #DIRECTORY}. Creates the DIRECTORY if it does not exist.
      *
-     * @return a json filtered FileChooser to this {@link #DIRECTORY}
+     * @return a json and binary filtered FileChooser to this {@link #DIRECTORY}
      */
     public static @NotNull FileChooser createFileChooser() {
         FileChooser fileChooser = new FileChooser();
@@ -48,8 +49,10 @@ public class DialogWindow {
             theDir.mkdir();
         }
         fileChooser.setInitialDirectory(theDir);
-        fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("JSON files", "*.json")
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON files", "*.json"),
+                new FileChooser.ExtensionFilter("binary saleBook files",
+                        "*." + SaleBookBinaryFormat.EXTENSION)
         );
         return fileChooser;
     }
@@ -17,10 +17,15 @@ import static javafx.scene.paint.Color.*;
  * @author xthewhitelionx
  */
 public class LabelUtils {
+    /**
+     * The local currency
+     */
+    public static final Currency CURRENCY = Currency.getInstance(Locale.getDefault());
+
     /**
      * Symbol of the local currency
      */
-    public static final String SYMBOL_OF_CURRENCY = Currency.getInstance(Locale.getDefault()).getSymbol();
+    public static final String SYMBOL_OF_CURRENCY = CURRENCY.getSymbol();
 
     /**
      * Suppresses default constructor, ensuring non-instantiability.
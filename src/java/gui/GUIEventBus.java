@@ -0,0 +1,91 @@
+package gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import logic.CoalescingGUIConnector;
+import logic.GUIConnector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An event bus between the logic and the gui. The calls of the logic are collected as events
+ * from any thread and delivered to the gui on the JavaFX application thread at the next pulse.
+ * Only the last event of each method is delivered, so a burst of changes which refreshes the
+ * same view or displays the same number many times updates the gui once per pulse.
+ * <p>
+ * Only the calls of the gui are marshalled onto the JavaFX application thread. The observable
+ * lists and the tree item which are displayed by the gui are the state of the managers and are
+ * observed by the views directly, so a displayed saleBook is confined to the JavaFX application
+ * thread by {@link logic.saleBook.SaleBook#confineTo}. Its operations reject other threads
+ * before they change anything, and other threads run them by
+ * {@link logic.saleBook.SaleBook#callOnOwner}. The events themselves are accepted from any
+ * thread.
+ *
+ * @author xthe_white_lionx
+ */
+public class GUIEventBus extends CoalescingGUIConnector {
+
+    /**
+     * The last pending event of each method mapped to the name of the method, in the order of
+     * the first event of each method. Guarded by itself.
+     */
+    private final Map<String, Runnable> pendingEvents;
+
+    /**
+     * The timer which delivers the pending events at the next pulse
+     */
+    private final AnimationTimer pulseTimer;
+
+    /**
+     * True if the delivery of the pending events is scheduled, otherwise false. Guarded by the
+     * pendingEvents.
+     */
+    private boolean scheduled;
+
+    /**
+     * Constructor
+     *
+     * @param gui the guiConnector to which the events are delivered
+     */
+    public GUIEventBus(@NotNull GUIConnector gui) {
+        super(gui);
+        this.pendingEvents = new LinkedHashMap<>();
+        this.pulseTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                this.stop();
+                GUIEventBus.this.deliver();
+            }
+        };
+    }
+
+    @Override
+    protected void call(@NotNull String method, @NotNull Runnable call) {
+        boolean schedule;
+        synchronized (this.pendingEvents) {
+            this.pendingEvents.put(method, call);
+            schedule = !this.scheduled;
+            this.scheduled = true;
+        }
+        if (schedule) {
+            Platform.runLater(this.pulseTimer::start);
+        }
+    }
+
+    /**
+     * Delivers the pending events in the order of the first event of each method
+     */
+    private void deliver() {
+        Runnable[] events;
+        synchronized (this.pendingEvents) {
+            events = this.pendingEvents.values().toArray(new Runnable[0]);
+            this.pendingEvents.clear();
+            this.scheduled = false;
+        }
+        for (Runnable event : events) {
+            event.run();
+        }
+    }
+}
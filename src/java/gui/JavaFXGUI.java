@@ -93,6 +93,12 @@ public class JavaFXGUI implements GUIConnector {
      */
     private final Label status;
 
+    /**
+     * The transition which hides the status after the {@link #SHOW_DURATION}. It is restarted
+     * by each update of the status.
+     */
+    private final PauseTransition statusTransition;
+
     /**
      * The constructor. Gets past all components of the gui that may change
      * due to actions in the logic.
@@ -121,6 +127,11 @@ public class JavaFXGUI implements GUIConnector {
         this.ordersPage = ordersPage;
         this.assetsPage = assetsPage;
         this.status = status;
+        this.statusTransition = new PauseTransition(SHOW_DURATION);
+        this.statusTransition.setOnFinished(actionEvent -> {
+            this.status.setVisible(false);
+            this.status.setText("");
+        });
     }
 
     /**
@@ -254,12 +265,7 @@ public class JavaFXGUI implements GUIConnector {
     public void updateStatus(@NotNull String message) {
         this.status.setVisible(true);
         this.status.setText(message);
-        PauseTransition pt = new PauseTransition(SHOW_DURATION);
-        pt.onFinishedProperty().set(actionEvent -> {
-            this.status.setVisible(false);
-            this.status.setText("");
-        });
-        pt.play();
+        this.statusTransition.playFromStart();
     }
 
 }
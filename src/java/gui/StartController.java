@@ -9,7 +9,6 @@ import javafx.stage.Stage;
 import javafx.stage.Window;
 
 import java.io.File;
-import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
 
@@ -57,12 +56,8 @@ public class StartController implements Initializable {
         Window window = this.loadBook.getScene().getWindow();
         File selectedFile = createFileChooser().showOpenDialog(window);
         if (selectedFile != null) {
-            try {
-                initializeSaleBookController(selectedFile);
-                this.closeWindow();
-            } catch (IOException e) {
-                displayError("fail to load the selected file", e);
-            }
+            initializeSaleBookController(selectedFile);
+            this.closeWindow();
         }
     }
 
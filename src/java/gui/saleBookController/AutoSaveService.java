@@ -0,0 +1,249 @@
+package gui.saleBookController;
+
+import gui.Config;
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.util.Duration;
+import logic.saleBook.ChangeJournal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class saves a saleBook automatically, if auto save is turned on in the {@link Config}.
+ * Each change of the watched {@link ChangeJournal} restarts a debounce timer, so a burst of
+ * changes is saved by one save after the last change. A save is never started while the
+ * previous auto save is still running, changes meanwhile are saved after it.
+ * <p>
+ * The save itself is done by the save action: it takes the snapshot on the JavaFX application
+ * thread and returns the task which writes it in the background. The time of both parts is
+ * measured. All methods have to be called on the JavaFX application thread.
+ *
+ * @author xthe_white_lionx
+ */
+public class AutoSaveService {
+
+    /**
+     * The time without changes after which the saleBook is saved
+     */
+    public static final Duration DEFAULT_DELAY = Duration.seconds(3);
+
+    /**
+     * Timer which is restarted by each change
+     */
+    private final PauseTransition debounceTimer;
+
+    /**
+     * Takes a snapshot and returns the task which writes it, or null if nothing can be saved
+     */
+    private final Supplier<Task<Void>> saveAction;
+
+    /**
+     * The listener which is added to the watched changeJournal
+     */
+    private final Consumer<ChangeJournal.Change> changeListener = change -> this.changed();
+
+    /**
+     * The watched changeJournal
+     */
+    private ChangeJournal changeJournal;
+
+    /**
+     * The running save or null if no save is running
+     */
+    private Task<Void> runningSave;
+
+    /**
+     * Whether there were changes while the save was running
+     */
+    private boolean changedWhileSaving;
+
+    /**
+     * The number of finished auto saves
+     */
+    private int saveCount;
+
+    /**
+     * The number of failed auto saves
+     */
+    private int failureCount;
+
+    /**
+     * The time of the last snapshot in nanoseconds
+     */
+    private long lastSnapshotNanos;
+
+    /**
+     * The longest time of a snapshot in nanoseconds
+     */
+    private long maxSnapshotNanos;
+
+    /**
+     * The time of the last write in nanoseconds
+     */
+    private long lastWriteNanos;
+
+    /**
+     * The longest time of a write in nanoseconds
+     */
+    private long maxWriteNanos;
+
+    /**
+     * Constructor
+     *
+     * @param delay      the time without changes after which the saleBook is saved
+     * @param saveAction takes a snapshot of the saleBook and returns the task which writes it,
+     *                   or null if the saleBook cannot be saved
+     */
+    public AutoSaveService(@NotNull Duration delay, @NotNull Supplier<Task<Void>> saveAction) {
+        this.saveAction = saveAction;
+        this.debounceTimer = new PauseTransition(delay);
+        this.debounceTimer.setOnFinished(actionEvent -> this.save());
+    }
+
+    /**
+     * Watches the specified changeJournal instead of the previous one
+     *
+     * @param changeJournal the changeJournal which should be watched
+     */
+    public void watch(@NotNull ChangeJournal changeJournal) {
+        if (this.changeJournal != null) {
+            this.changeJournal.removeListener(this.changeListener);
+        }
+        this.debounceTimer.stop();
+        this.changedWhileSaving = false;
+        this.changeJournal = changeJournal;
+        changeJournal.addListener(this.changeListener);
+    }
+
+    /**
+     * Returns the running auto save
+     *
+     * @return the running auto save or null if no auto save is running
+     */
+    public @Nullable Task<Void> getRunningSave() {
+        return this.runningSave;
+    }
+
+    /**
+     * Returns the number of finished auto saves
+     *
+     * @return the number of finished auto saves
+     */
+    public int getSaveCount() {
+        return this.saveCount;
+    }
+
+    /**
+     * Returns the number of failed auto saves
+     *
+     * @return the number of failed auto saves
+     */
+    public int getFailureCount() {
+        return this.failureCount;
+    }
+
+    /**
+     * Returns the time of the last snapshot in milliseconds
+     *
+     * @return the time of the last snapshot in milliseconds
+     */
+    public double getLastSnapshotMillis() {
+        return this.lastSnapshotNanos / 1_000_000D;
+    }
+
+    /**
+     * Returns the longest time of a snapshot in milliseconds
+     *
+     * @return the longest time of a snapshot in milliseconds
+     */
+    public double getMaxSnapshotMillis() {
+        return this.maxSnapshotNanos / 1_000_000D;
+    }
+
+    /**
+     * Returns the time of the last write in milliseconds
+     *
+     * @return the time of the last write in milliseconds
+     */
+    public double getLastWriteMillis() {
+        return this.lastWriteNanos / 1_000_000D;
+    }
+
+    /**
+     * Returns the longest time of a write in milliseconds
+     *
+     * @return the longest time of a write in milliseconds
+     */
+    public double getMaxWriteMillis() {
+        return this.maxWriteNanos / 1_000_000D;
+    }
+
+    /**
+     * Restarts the debounce timer, if auto save is on
+     */
+    private void changed() {
+        if (!Config.isAutoSave()) {
+            return;
+        }
+        if (this.runningSave != null) {
+            this.changedWhileSaving = true;
+        } else {
+            this.debounceTimer.playFromStart();
+        }
+    }
+
+    /**
+     * Saves the saleBook, if it has unsaved changes and auto save is still on
+     */
+    private void save() {
+        if (!Config.isAutoSave() || this.changeJournal == null || !this.changeJournal.isDirty()) {
+            return;
+        }
+
+        long snapshotStart = System.nanoTime();
+        Task<Void> saveTask = this.saveAction.get();
+        this.lastSnapshotNanos = System.nanoTime() - snapshotStart;
+        this.maxSnapshotNanos = Math.max(this.maxSnapshotNanos, this.lastSnapshotNanos);
+        if (saveTask == null) {
+            return;
+        }
+
+        this.runningSave = saveTask;
+        long[] writeStart = {System.nanoTime()};
+        saveTask.stateProperty().addListener((observable, oldState, newState) -> {
+            if (newState == Worker.State.RUNNING) {
+                writeStart[0] = System.nanoTime();
+            } else if (newState == Worker.State.SUCCEEDED || newState == Worker.State.FAILED
+                    || newState == Worker.State.CANCELLED) {
+                this.saveFinished(newState == Worker.State.SUCCEEDED,
+                        System.nanoTime() - writeStart[0]);
+            }
+        });
+    }
+
+    /**
+     * Updates the metrics of the finished save and starts the debounce timer again, if there
+     * were changes during the save
+     *
+     * @param succeeded  whether the save succeeded
+     * @param writeNanos the time of the write in nanoseconds
+     */
+    private void saveFinished(boolean succeeded, long writeNanos) {
+        this.runningSave = null;
+        if (succeeded) {
+            this.saveCount++;
+            this.lastWriteNanos = writeNanos;
+            this.maxWriteNanos = Math.max(this.maxWriteNanos, writeNanos);
+        } else {
+            this.failureCount++;
+        }
+        if (this.changedWhileSaving) {
+            this.changedWhileSaving = false;
+            this.debounceTimer.playFromStart();
+        }
+    }
+}
@@ -8,17 +8,24 @@ import gui.*;
 import gui.FXutils.StageUtils;
 import gui.saleBookController.pages.Page;
 import gui.saleBookController.pages.assetsPage.AssetsPage;
+import gui.saleBookController.pages.diagnosticsPage.DiagnosticsPage;
 import gui.saleBookController.pages.ordersPage.OrdersPage;
 import gui.saleBookController.pages.positionsPage.PositionsPage;
 import gui.saleBookController.pages.profitAndLossAccountPage.ProfitAndLossAccountPage;
 import gui.saleBookController.pages.sparePartsPage.SparePartsPage;
 import gui.saleBookController.pages.suppliersPage.SuppliersPage;
 import gui.saleBookController.pages.tenthPartPage.TenthPartPage;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.collections.ObservableMap;
 import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
+import javafx.geometry.Side;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.image.ImageView;
@@ -29,20 +36,30 @@ import javafx.scene.layout.BorderPane;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import gui.saleBookController.SaleBookIOService.LoadedSaleBook;
 import logic.GUIConnector;
+import logic.products.item.ItemColor;
+import logic.saleBook.Reconciler;
 import logic.saleBook.SaleBook;
-import data.SaleBookData;
+import logic.saleBook.SaleBookSaver;
+import logic.search.SearchHit;
+import data.OperationLog;
+import data.SaleBookBinaryFormat;
+import data.SaleBookBinaryWriter;
+import data.SaleBookWriter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import utils.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.concurrent.ExecutionException;
 
 import static costumeClasses.FXClasses.CustomSplitMenuButton.SplitMode.SPLIT_BOTTOM;
 import static gui.DialogWindow.*;
@@ -71,6 +88,21 @@ public class SaleBookController implements Initializable {
      */
     private static final String DEFAULT_FILE_NAME = "newBook.json";
 
+    /**
+     * The maximum number of hits which are shown by the global search
+     */
+    private static final int MAX_SEARCH_HITS = 10;
+
+    /**
+     * The period between two reconciliations of the running totals in milliseconds
+     */
+    private static final long RECONCILE_PERIOD_MILLIS = 60_000L;
+
+    /**
+     * The period between two compactions of the operation log of the current file
+     */
+    private static final Duration COMPACTION_PERIOD = Duration.minutes(5);
+
     /**
      * Label to display the current status
      */
@@ -107,6 +139,23 @@ public class SaleBookController implements Initializable {
     @FXML
     public ComboBox<String> themeCmbBox;
 
+    /**
+     * CheckBox to turn auto save on or off
+     */
+    @FXML
+    private CheckBox autoSaveChckBx;
+
+    /**
+     * TextField of the global search across all pages
+     */
+    @FXML
+    private TextField globalSearchTxtFld;
+
+    /**
+     * ContextMenu which shows the hits of the global search
+     */
+    private final ContextMenu searchHitsMenu = new ContextMenu();
+
     /**
      * PositionsPage of this SaleBookController
      */
@@ -142,6 +191,11 @@ public class SaleBookController implements Initializable {
      */
     private ProfitAndLossAccountPage profitAndLossAccountPage;
 
+    /**
+     * DiagnosticsPage of this SaleBookController
+     */
+    private DiagnosticsPage diagnosticsPage;
+
     /**
      * Map from the title of a RibbonBand to the matching Page
      */
@@ -157,6 +211,35 @@ public class SaleBookController implements Initializable {
      */
     private SaleBook saleBook;
 
+    /**
+     * Service to load and save the saleBook files in the background
+     */
+    private final SaleBookIOService ioService = new SaleBookIOService();
+
+    /**
+     * The log of the operations of the current saleBook, or null if the operation log is off or
+     * the current saleBook was not saved or loaded yet
+     */
+    private OperationLog operationLog;
+
+    /**
+     * Whether the discrepancies of the running totals of the current saleBook were already
+     * reported by an error dialog
+     */
+    private boolean reportedDiscrepancies;
+
+    /**
+     * Service which saves the current saleBook automatically
+     */
+    private final AutoSaveService autoSaveService = new AutoSaveService(
+            AutoSaveService.DEFAULT_DELAY, this::autoSave);
+
+    /**
+     * Timer which compacts the operation log of the current file periodically
+     */
+    private final Timeline compactionTimer = new Timeline(
+            new KeyFrame(COMPACTION_PERIOD, actionEvent -> this.compactOperationLog()));
+
     /**
      * Initializes a new SaleBookController and creates a new file to work on
      */
@@ -168,19 +251,15 @@ public class SaleBookController implements Initializable {
     }
 
     /**
-     * Initializes a new SaleBookController with the data from the specified file
+     * Initializes a new SaleBookController and loads the data from the specified file in the
+     * background
      *
      * @param file  the file from which the data will be read
-     * @throws IOException if the file cannot be found, an error occurs by reading the file
      */
-    public static void initializeSaleBookController(@NotNull File file) throws IOException {
+    public static void initializeSaleBookController(@NotNull File file) {
         SaleBookController controller = loadSaleBookController(file.getName());
         if (controller != null) {
-            SaleBookData sealBookData = SaleBookData.fromJson(file, controller.progressBar::setProgress);
-            if (sealBookData != null) {
-                controller.setSaleBook(new SaleBook(sealBookData, controller.createJavaFXGUI()));
-                controller.setCurrentFile(file);
-            }
+            controller.openBook(file);
         }
     }
 
@@ -220,9 +299,12 @@ public class SaleBookController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         this.initializeThemeComboBox();
+        this.initializeAutoSaveCheckBox();
+        this.initializeOperationLog();
         this.initializePages();
         this.initializeRibbonBandTitleToPageMap();
         this.initializeRibbonBand();
+        this.initializeGlobalSearch();
     }
 
     /**
@@ -264,27 +346,20 @@ public class SaleBookController implements Initializable {
     @FXML
     public void handleOpenBook() {
         FileChooser fileChooser = createFileChooser();
-        fileChooser.setTitle("Open JSON Graph-File");
+        fileChooser.setTitle("Open saleBook file");
         File selectedFile = fileChooser.showOpenDialog(this.progressBar.getScene().getWindow());
         if (selectedFile != null) {
-            Task<SaleBookData> loadTask = new Task<>() {
-                @Override
-                protected SaleBookData call() throws Exception {
-                    return SaleBookData.fromJson(selectedFile,
-                            totalBytes -> this.updateProgress(totalBytes, selectedFile.length()));
-                }
-            };
-            this.saleBook.updateStatus(String.format("%s successfully loaded", selectedFile.getName()));
-            this.progressBar.setVisible(true);
-            this.progressBar.progressProperty().bind(loadTask.progressProperty());
-            loadTask.setOnSucceeded(workerStateEvent -> this.hideInfobox());
-            loadTask.run();
-            try {
-                this.setSaleBook(new SaleBook(loadTask.get(), this.createJavaFXGUI()));
-                this.setCurrentFile(selectedFile);
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+            this.openBook(selectedFile);
+        }
+    }
+
+    /**
+     * Cancels the loading of a saleBook file, if a file is currently loaded
+     */
+    @FXML
+    public void handleCancelLoading() {
+        if (this.ioService.cancelLoad()) {
+            this.hideInfobox();
         }
     }
 
@@ -331,6 +406,59 @@ public class SaleBookController implements Initializable {
         stage.setTitle(file.getName());
     }
 
+    /**
+     * Initializes the listener of the operation log preference, which stops the logging of the
+     * current saleBook as soon as the operation log is switched off, and starts the periodic
+     * compaction of the operation log
+     */
+    private void initializeOperationLog() {
+        Config.addOperationLogListener(operationLog -> {
+            if (!operationLog) {
+                Platform.runLater(this::closeOperationLog);
+            }
+        });
+        this.compactionTimer.setCycleCount(Animation.INDEFINITE);
+        this.compactionTimer.play();
+    }
+
+    /**
+     * Compacts the operation log of the current file in the background, if all changes of the
+     * current saleBook are saved and the log contains operations. The snapshot is taken on the
+     * JavaFX application thread and written by the io thread, which deletes the log afterwards.
+     * If the snapshot cannot be written, the log is kept and the next save writes a snapshot.
+     */
+    private void compactOperationLog() {
+        OperationLog compactedOperationLog = this.operationLog;
+        if (compactedOperationLog == null || this.currentFile == null
+                || !compactedOperationLog.isCompactable()
+                || this.saleBook.getChangeJournal().isDirty()) {
+            return;
+        }
+        Task<Void> compactTask = this.saveSnapshot(this.currentFile, this.saleBook,
+                compactedOperationLog);
+        compactTask.setOnFailed(workerStateEvent -> compactedOperationLog.requireCompaction());
+    }
+
+    /**
+     * Stops the logging of the operations of the current saleBook, so the next save writes a
+     * snapshot again
+     */
+    private void closeOperationLog() {
+        if (this.operationLog != null) {
+            this.operationLog.close();
+            this.operationLog = null;
+        }
+    }
+
+    /**
+     * Initializes the autoSaveChckBx of this SaleBookController
+     */
+    private void initializeAutoSaveCheckBox() {
+        this.autoSaveChckBx.setSelected(Config.isAutoSave());
+        this.autoSaveChckBx.selectedProperty().addListener(
+                (ov, oldValue, newValue) -> Config.setAutoSave(newValue));
+    }
+
     /**
      * Initializes the themeComboBox of this SaleBookController
      */
@@ -389,21 +517,60 @@ public class SaleBookController implements Initializable {
         } catch (IOException e) {
             displayError("failed to load profitAndLossAccountPage", e);
         }
+        try {
+            this.diagnosticsPage = DiagnosticsPage.createDiagnosticsPage();
+        } catch (IOException e) {
+            displayError("failed to load diagnosticsPage", e);
+        }
     }
 
     /**
-     * Sets the saleBook to the specified saleBook
+     * Sets the saleBook to the specified saleBook and confines its changes to the JavaFX
+     * application thread
      *
      * @param saleBook the new saleBook
      */
     private void setSaleBook(@NotNull SaleBook saleBook) {
+        if (this.operationLog != null && this.operationLog.getSaleBook() != saleBook) {
+            this.closeOperationLog();
+        }
+        if (this.saleBook != null && this.saleBook != saleBook) {
+            this.saleBook.getReconciler().stop();
+        }
         this.saleBook = saleBook;
+        saleBook.confineTo(Platform::runLater, Platform::isFxApplicationThread);
+        this.reportedDiscrepancies = false;
+        saleBook.getReconciler().start(RECONCILE_PERIOD_MILLIS, false, Platform::runLater,
+                report -> this.handleReconcileReport(saleBook, report));
+        this.autoSaveService.watch(saleBook.getChangeJournal());
         Collection<Page> pages = this.ribbonBandTitleToPage.values();
         for (Page page : pages) {
             page.setSaleBook(saleBook);
         }
     }
 
+    /**
+     * Handles the report of a periodic reconciliation of the specified saleBook. Discrepancies
+     * of the current saleBook are shown in the status and the first of them in an error
+     * dialog. Reports of a replaced saleBook are ignored.
+     *
+     * @param reconciledSaleBook the saleBook which was reconciled
+     * @param report             the report of the reconciliation
+     */
+    private void handleReconcileReport(@NotNull SaleBook reconciledSaleBook,
+                                       @NotNull Reconciler.Report report) {
+        if (reconciledSaleBook != this.saleBook || report.isConsistent()) {
+            return;
+        }
+        String discrepancies = report.getDiscrepancies().toString();
+        reconciledSaleBook.updateStatus("the totals differ: " + discrepancies);
+        if (!this.reportedDiscrepancies) {
+            this.reportedDiscrepancies = true;
+            displayError("the running totals differ from the positions and assets",
+                    new IllegalStateException(discrepancies));
+        }
+    }
+
     /**
      * Initializes a closeRequestHandler which checks if there is unsaved
      * changes
@@ -412,23 +579,8 @@ public class SaleBookController implements Initializable {
      */
     private void initializeCloseRequestHandler(@NotNull Stage stage) {
         stage.setOnCloseRequest(windowEvent -> {
-            boolean unsavedData = false;
-            if (this.currentFile == null) {
-                unsavedData = true;
-            } else {
-                try {
-                    SaleBookData oldSaleBook =
-                            SaleBookData.fromJson(this.currentFile,
-                            progress -> {
-                            });
-                    if (oldSaleBook != null
-                            && !oldSaleBook.equals(this.saleBook.toData())) {
-                        unsavedData = true;
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+            boolean unsavedData = this.currentFile == null
+                    || this.saleBook.getChangeJournal().isDirty();
             if (unsavedData) {
                 DialogWindow.unsavedDataAlert().ifPresent(buttonType -> {
                     if (buttonType.equals(ButtonType.CANCEL)) {
@@ -440,6 +592,11 @@ public class SaleBookController implements Initializable {
                     }
                 });
             }
+            if (!windowEvent.isConsumed()) {
+                this.compactionTimer.stop();
+                this.saleBook.getReconciler().stop();
+                this.ioService.cancelLoad();
+            }
         });
     }
 
@@ -461,6 +618,7 @@ public class SaleBookController implements Initializable {
         accelerators.put(new KeyCodeCombination(KeyCode.S, KeyCombination.SHORTCUT_DOWN,
                 KeyCombination.SHIFT_DOWN), this::handleSaveBookAs);
         accelerators.put(new KeyCodeCombination(KeyCode.F1), this::handleHelp);
+        accelerators.put(new KeyCodeCombination(KeyCode.ESCAPE), this::handleCancelLoading);
         accelerators.put(new KeyCodeCombination(KeyCode.ENTER, KeyCombination.ALT_DOWN), () -> {
             Stage stage = (Stage) scene.getWindow();
             stage.setMaximized(true);
@@ -495,9 +653,90 @@ public class SaleBookController implements Initializable {
             if (page != null) {
                 this.basePane.setCenter(page.getBasePane());
             }
+            if (page == this.diagnosticsPage) {
+                this.diagnosticsPage.refresh();
+            }
+        });
+    }
+
+    /**
+     * Initializes the {@link #globalSearchTxtFld}, which shows the best hits across all pages
+     * while typing
+     */
+    private void initializeGlobalSearch() {
+        this.globalSearchTxtFld.textProperty().addListener((observable, oldText, newText) -> {
+            this.searchHitsMenu.getItems().clear();
+            if (this.saleBook == null || newText.isBlank()) {
+                this.searchHitsMenu.hide();
+                return;
+            }
+
+            List<SearchHit> hits = this.saleBook.search(newText, MAX_SEARCH_HITS);
+            for (SearchHit hit : hits) {
+                MenuItem hitItem = new MenuItem(createSearchHitText(hit));
+                hitItem.setOnAction(actionEvent -> this.showSearchHit(hit));
+                this.searchHitsMenu.getItems().add(hitItem);
+            }
+            if (hits.isEmpty()) {
+                this.searchHitsMenu.hide();
+            } else if (!this.searchHitsMenu.isShowing()) {
+                this.searchHitsMenu.show(this.globalSearchTxtFld, Side.BOTTOM, 0D, 0D);
+            }
         });
     }
 
+    /**
+     * Shows the page of the entity of the specified hit. A found position is also searched by
+     * its id on the positionsPage.
+     *
+     * @param hit the hit which should be shown
+     */
+    private void showSearchHit(@NotNull SearchHit hit) {
+        Page page;
+        switch (hit.getKind()) {
+            case POSITION:
+                page = this.positionsPage;
+                break;
+            case SPARE_PART:
+                page = this.sparePartsPage;
+                break;
+            case SUPPLIER:
+                page = this.suppliersPage;
+                break;
+            case ASSET:
+                page = this.assetsPage;
+                break;
+            default:
+                page = this.ordersPage;
+                break;
+        }
+        this.ribbonBand.setSelectedRibbonTab(page.getRibbonTab());
+        if (hit.getKind() == SearchHit.Kind.POSITION) {
+            this.positionsPage.idSearchbarTxtFld.setText(String.valueOf(hit.getKey()));
+        }
+    }
+
+    /**
+     * Returns the text which describes the specified hit in the global search
+     *
+     * @param hit the hit which should be described
+     * @return the text of the specified hit
+     */
+    private static @NotNull String createSearchHitText(@NotNull SearchHit hit) {
+        switch (hit.getKind()) {
+            case POSITION:
+                return "Position %s: %s".formatted(hit.getKey(), hit.getTitle());
+            case SPARE_PART:
+                return "Spare part: " + hit.getTitle();
+            case SUPPLIER:
+                return "Supplier: " + hit.getTitle();
+            case ASSET:
+                return "Asset %s: %s".formatted(hit.getKey(), hit.getTitle());
+            default:
+                return "Order %s: %s".formatted(hit.getKey(), hit.getTitle());
+        }
+    }
+
     /**
      * Initializes the RibbonBandTitleToPage map of this SaleBookController
      */
@@ -510,18 +749,20 @@ public class SaleBookController implements Initializable {
         this.addRibbonBandTitleToPage(this.sparePartsPage);
         this.addRibbonBandTitleToPage(this.suppliersPage);
         this.addRibbonBandTitleToPage(this.tenthPartPage);
+        this.addRibbonBandTitleToPage(this.diagnosticsPage);
     }
 
     /**
-     * Creates a new {@link JavaFXGUI} with the fields of this class
+     * Creates a new {@link JavaFXGUI} with the fields of this class, which receives the calls of
+     * the logic by a {@link GUIEventBus}
      *
      * @return new JavaFXGUI with the data fields of this class
      */
     private GUIConnector createJavaFXGUI() {
-        return new JavaFXGUI(this.positionsPage, this.sparePartsPage,
+        return new GUIEventBus(new JavaFXGUI(this.positionsPage, this.sparePartsPage,
                 this.tenthPartPage, this.profitAndLossAccountPage,
                 this.suppliersPage, this.ordersPage, this.assetsPage,
-                this.statusLbl);
+                this.statusLbl));
     }
 
     /**
@@ -536,6 +777,23 @@ public class SaleBookController implements Initializable {
         this.ribbonBand.getTabs().add(ribbonTab);
     }
 
+    /**
+     * Shows the progress of the specified task in the progress bar and the message of the task,
+     * for example its throughput, in the status label
+     *
+     * @param task the task which progress should be shown
+     */
+    private void showProgress(@NotNull Task<?> task) {
+        this.progressBar.setVisible(true);
+        this.progressBar.progressProperty().bind(task.progressProperty());
+        task.messageProperty().addListener((observable, oldMessage, newMessage) -> {
+            if (task.isRunning()) {
+                this.statusLbl.setVisible(true);
+                this.statusLbl.setText(newMessage);
+            }
+        });
+    }
+
     /**
      * Hides the status label and the progress bar
      */
@@ -546,29 +804,135 @@ public class SaleBookController implements Initializable {
     }
 
     /**
-     * Saves the current data in the specified file
+     * Saves the current data in the specified file. If the operation log is on and the file is
+     * the current file, only the changes since the last save are appended to the log of the file.
+     * Otherwise, a snapshot of the saleBook is taken on the JavaFX application thread and
+     * streamed compact into the file in the background. A file with the extension of the
+     * {@link SaleBookBinaryFormat} is written in the binary format, otherwise as JSON.
      *
      * @param file the file in which should be written
+     * @return the task which writes the file
+     */
+    private @NotNull Task<Void> save(@NotNull File file) {
+        SaleBook savedSaleBook = this.saleBook;
+        long savedModCount = savedSaleBook.getChangeJournal().getModCount();
+        if (!Config.isOperationLog()) {
+            this.closeOperationLog();
+        } else if (this.operationLog == null) {
+            this.operationLog = OperationLog.create(savedSaleBook, 0L);
+            this.operationLog.requireCompaction();
+        }
+        OperationLog savedOperationLog = this.operationLog;
+        Task<Void> saveTask;
+        if (savedOperationLog != null && file.equals(this.currentFile)
+                && !savedOperationLog.needsCompaction()) {
+            saveTask = this.ioService.append(savedOperationLog.drainPending(), file);
+        } else {
+            saveTask = this.saveSnapshot(file, savedSaleBook, savedOperationLog);
+        }
+        this.showProgress(saveTask);
+        saveTask.setOnSucceeded(workerStateEvent -> {
+            this.hideInfobox();
+            savedSaleBook.getChangeJournal().markSaved(savedModCount);
+            savedSaleBook.updateStatus(String.format("%s successfully saved", file.getName()));
+        });
+        saveTask.setOnFailed(workerStateEvent -> {
+            this.hideInfobox();
+            if (savedOperationLog != null) {
+                savedOperationLog.requireCompaction();
+            }
+            displayError("failed to save " + file.getName(),
+                    toException(saveTask.getException()));
+        });
+        return saveTask;
+    }
+
+    /**
+     * Takes a snapshot of the specified saleBook and writes it in the background into the
+     * specified file. The operations of the specified operationLog are contained by the
+     * snapshot, so the log of the file is deleted afterwards.
+     *
+     * @param file              the file in which should be written
+     * @param savedSaleBook     the saleBook which should be saved
+     * @param savedOperationLog the operationLog of the saleBook or null if the operation log
+     *                          is off
+     * @return the task which writes the snapshot
+     */
+    private @NotNull Task<Void> saveSnapshot(@NotNull File file, @NotNull SaleBook savedSaleBook,
+                                             @Nullable OperationLog savedOperationLog) {
+        long logSequence = savedOperationLog != null ? savedOperationLog.getSequence() : 0L;
+        SaleBookSaver saleBookSaver;
+        if (FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION)) {
+            saleBookSaver = new SaleBookBinaryWriter(savedSaleBook, logSequence)::write;
+        } else {
+            saleBookSaver = new SaleBookWriter(savedSaleBook, false, logSequence)::write;
+        }
+        if (savedOperationLog != null) {
+            savedOperationLog.compacted();
+        }
+        return this.ioService.save(saleBookSaver, file, Config.getBackups());
+    }
+
+    /**
+     * Saves the current saleBook automatically in the current file
+     *
+     * @return the task which writes the file or null if there is no current file
+     */
+    private @Nullable Task<Void> autoSave() {
+        if (this.currentFile == null) {
+            return null;
+        }
+        Task<Void> saveTask = this.save(this.currentFile);
+        saveTask.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, workerStateEvent ->
+                this.saleBook.updateStatus("autosaved in %.0f ms".formatted(
+                        this.autoSaveService.getLastSnapshotMillis()
+                                + this.autoSaveService.getLastWriteMillis())));
+        return saveTask;
+    }
+
+    /**
+     * Loads the saleBook of the specified file in the background and displays it as soon as the
+     * loading is finished
+     *
+     * @param file the file which should be loaded
      */
-    private void save(@NotNull File file) {
-        Task<Void> saveTask = new Task<>() {
-            @Override
-            protected Void call() {
-                try {
-                    SaleBookData saleBookData = SaleBookController.this.saleBook.toData();
-                    saleBookData.toJson(file, totalBytes -> this.updateProgress(totalBytes, file.length()));
-                } catch (IOException e) {
-                    displayError(e);
+    private void openBook(@NotNull File file) {
+        Task<LoadedSaleBook> loadTask = this.ioService.load(file, this.createJavaFXGUI());
+        this.showProgress(loadTask);
+        loadTask.setOnSucceeded(workerStateEvent -> {
+            this.hideInfobox();
+            LoadedSaleBook loaded = loadTask.getValue();
+            if (loaded != null) {
+                ItemColor.setItemColors(loaded.itemColors());
+                OperationLog loadedOperationLog = loaded.operationLog();
+                SaleBook loadedSaleBook = loaded.saleBook();
+                loadedSaleBook.displaySaleBook();
+                this.setSaleBook(loadedSaleBook);
+                loadedOperationLog.replayTail();
+                if (Config.isOperationLog()) {
+                    this.operationLog = loadedOperationLog;
+                } else {
+                    loadedOperationLog.close();
                 }
-                return null;
+                this.setCurrentFile(file);
+                this.saleBook.updateStatus(String.format("%s successfully loaded",
+                        file.getName()));
             }
-        };
-        this.progressBar.setVisible(true);
-        this.progressBar.progressProperty().bind(saveTask.progressProperty());
-        saveTask.setOnSucceeded(workerStateEvent -> {
+        });
+        loadTask.setOnCancelled(workerStateEvent -> this.hideInfobox());
+        loadTask.setOnFailed(workerStateEvent -> {
             this.hideInfobox();
-            this.saleBook.updateStatus(String.format("%s successfully saved", file.getName()));
+            displayError("fail to load " + file.getName(), toException(loadTask.getException()));
         });
-        saveTask.run();
+    }
+
+    /**
+     * Returns the specified throwable as exception, wraps the throwable if necessary
+     *
+     * @param throwable the throwable of a failed task
+     * @return the specified throwable as exception
+     */
+    private static @NotNull Exception toException(@NotNull Throwable throwable) {
+        return throwable instanceof Exception exception ? exception : new Exception(throwable);
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package gui.saleBookController;
+
+import data.OperationLog;
+import data.SaleBookBinaryFormat;
+import data.SaleBookBinaryReader;
+import data.SaleBookReader;
+import javafx.concurrent.Task;
+import logic.AtomicFileOutputStream;
+import logic.GUIConnector;
+import logic.ProgressListener;
+import logic.ProgressOutputStream;
+import logic.products.item.ItemColor;
+import logic.saleBook.SaleBook;
+import logic.saleBook.SaleBookSaver;
+import org.jetbrains.annotations.NotNull;
+import utils.FileUtils;
+
+import java.io.File;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class runs the loading and saving of saleBook files off the JavaFX application thread.
+ * All tasks are executed one after another on a single background thread, so two save requests
+ * never interleave their writes to the same file and a load never observes a file while it is
+ * written by this service. The results of the tasks are delivered by the {@link Task} handlers,
+ * which are called on the JavaFX application thread.
+ *
+ * @author xthe_white_lionx
+ */
+public class SaleBookIOService {
+
+    /**
+     * The time in seconds an idle io thread is kept alive
+     */
+    private static final long KEEP_ALIVE_SECONDS = 5L;
+
+    /**
+     * Executor which runs the io tasks sequentially. The thread is not a daemon thread, so
+     * pending saves are finished before the application exits, but it terminates if idle.
+     */
+    private static final ExecutorService IO_EXECUTOR = createExecutor();
+
+    /**
+     * The current load task or null if no file was loaded yet
+     */
+    private Task<LoadedSaleBook> loadTask;
+
+    /**
+     * A saleBook which was loaded in the background
+     *
+     * @param saleBook     the loaded saleBook, which is not displayed yet
+     * @param itemColors   the itemColors of the loaded file, which are not set as the known
+     *                     itemColors yet
+     * @param operationLog the operationLog of the loaded file, whose operations are not
+     *                     replayed yet
+     */
+    public record LoadedSaleBook(@NotNull SaleBook saleBook, @NotNull ItemColor[] itemColors,
+                                 @NotNull OperationLog operationLog) {
+    }
+
+    /**
+     * Loads the saleBook of the specified file and the operations of its log in the background.
+     * A running load of this service will be cancelled. The handlers of the returned task are
+     * called on the JavaFX application thread. The value of the task is the loaded saleBook or
+     * null if the file is empty. The itemColors of the file are not set as the known itemColors,
+     * the loaded saleBook is not displayed yet and the operations of the log are not replayed
+     * yet, this has to be done by the succeeded handler.
+     *
+     * @param file the file which should be loaded
+     * @param gui  connection to the gui of the loaded saleBook
+     * @return the task which loads the file
+     */
+    public @NotNull Task<LoadedSaleBook> load(@NotNull File file, @NotNull GUIConnector gui) {
+        this.cancelLoad();
+        long length = file.length();
+        Task<LoadedSaleBook> task = new StreamTask<>("reading " + file.getName(), length) {
+            @Override
+            protected LoadedSaleBook call() throws Exception {
+                if (FileUtils.getExtension(file).equals(SaleBookBinaryFormat.EXTENSION)) {
+                    SaleBookBinaryReader saleBookReader = new SaleBookBinaryReader(file, this);
+                    if (length == 0) {
+                        return null;
+                    }
+                    SaleBook saleBook = new SaleBook(gui, saleBookReader);
+                    return new LoadedSaleBook(saleBook, saleBookReader.getItemColors(),
+                            OperationLog.open(file, saleBook, saleBookReader.getLogSequence()));
+                }
+                SaleBookReader saleBookReader = new SaleBookReader(file, this);
+                if (length == 0) {
+                    return null;
+                }
+                SaleBook saleBook = new SaleBook(gui, saleBookReader);
+                return new LoadedSaleBook(saleBook, saleBookReader.getItemColors(),
+                        OperationLog.open(file, saleBook, saleBookReader.getLogSequence()));
+            }
+        };
+        this.loadTask = task;
+        IO_EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Writes the snapshot of the specified saver in the background into the specified file.
+     * The saver takes its snapshot of the saleBook when it is created, so the saleBook can be
+     * modified while the snapshot is streamed into the file. Saves are executed in the order of
+     * their requests. The file is replaced atomically, so a failed save or a crash never leaves
+     * a half written file. Afterwards the operation log of the file is deleted, so the snapshot
+     * has to contain all logged operations. The progress is estimated by the current length of
+     * the file and indeterminate for a new file.
+     *
+     * @param saleBookSaver the saver of the snapshot of the saleBook which should be saved
+     * @param file          the file in which should be written
+     * @param backups       the number of backups of the old content of the file which should
+     *                      be kept
+     * @return the task which saves the snapshot
+     * @see AtomicFileOutputStream
+     */
+    public @NotNull Task<Void> save(@NotNull SaleBookSaver saleBookSaver, @NotNull File file,
+                                    int backups) {
+        long estimatedLength = file.length() > 0 ? file.length() : -1L;
+        Task<Void> task = new StreamTask<>("writing " + file.getName(), estimatedLength) {
+            @Override
+            protected Void call() throws Exception {
+                try (AtomicFileOutputStream outputStream =
+                             new AtomicFileOutputStream(file, backups)) {
+                    saleBookSaver.save(new ProgressOutputStream(outputStream, this));
+                    outputStream.commit();
+                }
+                OperationLog.delete(file);
+                return null;
+            }
+        };
+        IO_EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Appends the specified operations in the background to the operation log of the specified
+     * file. Appends and saves are executed in the order of their requests.
+     *
+     * @param operations the operations which were drained from the operationLog
+     * @param file       the file whose log should be appended
+     * @return the task which appends the operations
+     * @see OperationLog#drainPending()
+     */
+    public @NotNull Task<Void> append(byte @NotNull [] operations, @NotNull File file) {
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                OperationLog.append(file, operations);
+                this.updateProgress(1, 1);
+                return null;
+            }
+        };
+        IO_EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels the current load task, if it is still running
+     *
+     * @return {@code true} if a running load was cancelled, otherwise {@code false}
+     */
+    public boolean cancelLoad() {
+        if (this.loadTask != null && !this.loadTask.isDone()) {
+            return this.loadTask.cancel();
+        }
+        return false;
+    }
+
+    /**
+     * Creates the executor for the io tasks
+     *
+     * @return the executor for the io tasks
+     */
+    private static @NotNull ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "saleBook-io");
+            thread.setDaemon(false);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * A task which is the progressListener of the stream it processes. The progress of the
+     * stream is the progress of the task and the throughput is displayed as message of the task.
+     *
+     * @param <V> the type of the result of the task
+     */
+    private abstract static class StreamTask<V> extends Task<V> implements ProgressListener {
+
+        /**
+         * The description of the processing of the stream
+         */
+        private final String description;
+
+        /**
+         * The total length of the stream in bytes
+         */
+        private final long length;
+
+        /**
+         * Constructor
+         *
+         * @param description the description of the processing of the stream
+         * @param length      the total length of the stream in bytes or -1 if it is unknown
+         */
+        private StreamTask(@NotNull String description, long length) {
+            this.description = description;
+            this.length = length;
+        }
+
+        @Override
+        public void updateProgress(int totalBytes) {
+            this.updateProgress(totalBytes, this.length);
+        }
+
+        /**
+         * Updates the progress and the message of this task. The processing of the stream
+         * is aborted, if this task is cancelled.
+         *
+         * @param totalBytes         the totalBytes that the progress has currently
+         * @param megabytesPerSecond the average throughput since the start in megabytes per
+         *                           second
+         * @throws CancellationException if this task is cancelled
+         */
+        @Override
+        public void updateProgress(long totalBytes, double megabytesPerSecond) {
+            if (this.isCancelled()) {
+                throw new CancellationException("%s cancelled".formatted(this.description));
+            }
+            this.updateProgress(totalBytes, this.length);
+            this.updateMessage("%s with %.1f MB/s".formatted(this.description,
+                    megabytesPerSecond));
+        }
+    }
+}
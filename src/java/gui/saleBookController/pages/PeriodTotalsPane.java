@@ -0,0 +1,200 @@
+package gui.saleBookController.pages;
+
+import gui.ApplicationMain;
+import gui.FXutils.TableViewUtils;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.Pane;
+import logic.Quarter;
+import logic.manager.PositionAggregates;
+import logic.manager.PositionAggregates.Totals;
+import logic.saleBook.ChangeJournal;
+import logic.saleBook.SaleBook;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URL;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static gui.JavaFXGUI.formatMoney;
+
+/**
+ * A pane which shows the sums of the positions of a saleBook per month, quarter, year or
+ * category. The sums are read from the {@link PositionAggregates} of the positionsManager, so
+ * the positions are not scanned. The pane is shown by the profit and loss account page and,
+ * with a column of the tenth part, by the tenth part page.
+ *
+ * @author xthe_white_lionx
+ */
+public class PeriodTotalsPane implements Initializable {
+
+    /**
+     * Enum of the groupings of the sums
+     */
+    private enum Grouping {
+        MONTH, QUARTER, YEAR, CATEGORY
+    }
+
+    /**
+     * A row of the table
+     *
+     * @param title  the title of the group
+     * @param totals the sums of the group
+     */
+    private record Row(@NotNull String title, @NotNull Totals totals) {
+    }
+
+    /**
+     * The base VBox of this pane
+     */
+    @FXML
+    private Pane baseVbx;
+
+    /**
+     * ChoiceBox of the grouping of the sums
+     */
+    @FXML
+    private ChoiceBox<Grouping> groupingChcBx;
+
+    /**
+     * TableView of the sums of the groups
+     */
+    @FXML
+    private TableView<Row> totalsTblVw;
+
+    /**
+     * Refreshes the table after each change of the current saleBook
+     */
+    private final Consumer<ChangeJournal.Change> changeListener = change -> this.refresh();
+
+    /**
+     * The current saleBook
+     */
+    private SaleBook saleBook;
+
+    /**
+     * Creates and loads a new PeriodTotalsPane
+     *
+     * @return the new created PeriodTotalsPane
+     * @throws IOException if the fxml cannot be loaded
+     */
+    public static @NotNull PeriodTotalsPane createPeriodTotalsPane() throws IOException {
+        FXMLLoader loader = new FXMLLoader(
+                ApplicationMain.class.getResource("saleBookController/pages" +
+                        "/PeriodTotalsPane.fxml"));
+
+        loader.load();
+        return loader.getController();
+    }
+
+    /**
+     * Initializes the groupings and the columns of this pane
+     *
+     * @param url            unused
+     * @param resourceBundle unused
+     */
+    @Override
+    public void initialize(URL url, ResourceBundle resourceBundle) {
+        this.groupingChcBx.getItems().setAll(Grouping.values());
+        this.groupingChcBx.setValue(Grouping.MONTH);
+        this.groupingChcBx.valueProperty().addListener(
+                (observable, oldGrouping, newGrouping) -> this.refresh());
+
+        TableViewUtils.addColumn(this.totalsTblVw, "period", Row::title);
+        TableViewUtils.addColumn(this.totalsTblVw, "sales",
+                row -> formatMoney(row.totals().getSales().toBigDecimal()));
+        TableViewUtils.addColumn(this.totalsTblVw, "variable costs",
+                row -> formatMoney(row.totals().getVariableCosts().toBigDecimal()));
+        TableViewUtils.addColumn(this.totalsTblVw, "performance",
+                row -> formatMoney(row.totals().getPerformance().toBigDecimal()));
+        TableViewUtils.addColumn(this.totalsTblVw, "sold", row -> row.totals().getSoldCount());
+    }
+
+    /**
+     * Returns the base pane of this PeriodTotalsPane
+     *
+     * @return the base pane of this PeriodTotalsPane
+     */
+    public @NotNull Pane getBasePane() {
+        return this.baseVbx;
+    }
+
+    /**
+     * Adds a column of the tenth part of the sales of each group, the tenth part is rounded
+     * like the tenth part of the saleBook
+     */
+    public void addTenthPartColumn() {
+        TableViewUtils.addColumn(this.totalsTblVw, "tenth part",
+                row -> formatMoney(row.totals().getSales().toBigDecimal()
+                        .divide(BigDecimal.TEN, RoundingMode.HALF_UP)));
+    }
+
+    /**
+     * Sets the saleBook whose sums are shown and refreshes the table after each change of it
+     *
+     * @param saleBook the saleBook whose sums are shown
+     */
+    public void setSaleBook(@NotNull SaleBook saleBook) {
+        if (this.saleBook != null) {
+            this.saleBook.getChangeJournal().removeListener(this.changeListener);
+        }
+        this.saleBook = saleBook;
+        saleBook.getChangeJournal().addListener(this.changeListener);
+        this.refresh();
+    }
+
+    /**
+     * Shows the current sums of the selected grouping
+     */
+    public void refresh() {
+        if (this.saleBook == null) {
+            return;
+        }
+
+        PositionAggregates aggregates = this.saleBook.getPositionsManager().getAggregates();
+        List<Row> rows = new ArrayList<>();
+        switch (this.groupingChcBx.getValue()) {
+            case MONTH:
+                for (Map.Entry<YearMonth, Totals> entry : aggregates.getMonthlyTotals().entrySet()) {
+                    rows.add(new Row(entry.getKey().toString(), entry.getValue()));
+                }
+                break;
+            case QUARTER:
+                Set<String> quarters = new TreeSet<>();
+                for (YearMonth month : aggregates.getMonthlyTotals().keySet()) {
+                    Quarter quarter = Quarter.getQuarterOfMonth(month.getMonth());
+                    if (quarter != null && quarters.add(month.getYear() + " " + quarter)) {
+                        rows.add(new Row(month.getYear() + " " + quarter,
+                                aggregates.getTotals(month.getYear(), quarter)));
+                    }
+                }
+                break;
+            case YEAR:
+                Set<Integer> years = new TreeSet<>();
+                for (YearMonth month : aggregates.getMonthlyTotals().keySet()) {
+                    if (years.add(month.getYear())) {
+                        rows.add(new Row(String.valueOf(month.getYear()),
+                                aggregates.getTotals(month.getYear())));
+                    }
+                }
+                break;
+            case CATEGORY:
+                aggregates.getCategoryTotals().forEach(
+                        (category, totals) -> rows.add(new Row(category, totals)));
+                break;
+        }
+        this.totalsTblVw.getItems().setAll(rows);
+    }
+}
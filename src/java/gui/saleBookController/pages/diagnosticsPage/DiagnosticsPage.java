@@ -0,0 +1,196 @@
+package gui.saleBookController.pages.diagnosticsPage;
+
+import com.pixelduke.control.ribbon.RibbonTab;
+import costumeClasses.FXClasses.ImageButton;
+import gui.ApplicationMain;
+import gui.FXutils.RibbonGroupUtils;
+import gui.FXutils.RibbonTabUtils;
+import gui.FXutils.TableViewUtils;
+import gui.Images;
+import gui.saleBookController.pages.Page;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.Pane;
+import javafx.stage.FileChooser;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
+import logic.saleBook.SaleBook;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ResourceBundle;
+
+import static gui.DialogWindow.displayError;
+
+/**
+ * This class represents a DiagnosticsPage, which shows the number and the latencies of the
+ * operations of the {@link Metrics} and the number of the listeners of the managers.
+ *
+ * @author xthe_white_lionx
+ * @see gui.saleBookController.pages.Page
+ */
+public class DiagnosticsPage implements Initializable, Page {
+
+    /**
+     * The number of nanoseconds of a microsecond
+     */
+    private static final double NANOS_PER_MICRO = 1_000D;
+
+    /**
+     * The base pane of this page
+     */
+    @FXML
+    private Pane basePane;
+
+    /**
+     * TableView of the histograms of the operations
+     */
+    @FXML
+    private TableView<LatencyHistogram> histogramsTblVw;
+
+    /**
+     * Label to display the number of the listeners of the managers
+     */
+    @FXML
+    private Label listenersLbl;
+
+    /**
+     * The ribbonTab of this DiagnosticsPage
+     */
+    private RibbonTab ribbonTab;
+
+    /**
+     * The saleBook to operate on
+     */
+    private SaleBook saleBook;
+
+    /**
+     * Creates and loads a new DiagnosticsPage
+     *
+     * @return the new created DiagnosticsPage
+     * @throws IOException if the fxml file cannot be loaded
+     */
+    public static DiagnosticsPage createDiagnosticsPage() throws IOException {
+        FXMLLoader loader = new FXMLLoader(ApplicationMain.class.getResource(
+                "saleBookController/pages/diagnosticsPage/DiagnosticsPage.fxml"));
+
+        loader.load();
+        return loader.getController();
+    }
+
+    /**
+     * Initializes this page
+     *
+     * @param url unused
+     * @param resourceBundle unused
+     */
+    @Override
+    public void initialize(URL url, ResourceBundle resourceBundle) {
+        TableViewUtils.addColumn(this.histogramsTblVw, "operation",
+                LatencyHistogram::getOperation);
+        TableViewUtils.addColumn(this.histogramsTblVw, "count", LatencyHistogram::getCount);
+        TableViewUtils.addColumn(this.histogramsTblVw, "mean (µs)",
+                histogram -> formatMicros(histogram.getMean()));
+        this.addPercentileColumn(50D);
+        this.addPercentileColumn(90D);
+        this.addPercentileColumn(99D);
+        this.addPercentileColumn(99.9D);
+        TableViewUtils.addColumn(this.histogramsTblVw, "max (µs)",
+                histogram -> formatMicros(histogram.getMax()));
+
+        Button refreshBtn = new ImageButton("refresh", Images.CALCULATOR_IMAGE,
+                actionEvent -> this.refresh());
+        Button resetBtn = new ImageButton("reset", Images.DELETE_IMAGE,
+                actionEvent -> this.reset());
+        Button dumpBtn = new ImageButton("dump", Images.SAVE_IMAGE,
+                actionEvent -> this.dump());
+        this.ribbonTab = RibbonTabUtils.createRibbonTab("Diagnostics",
+                RibbonGroupUtils.createRibbonGroup("latencies", refreshBtn, resetBtn, dumpBtn));
+        this.refresh();
+    }
+
+    /**
+     * Returns the specified nanoseconds as microseconds with one decimal place
+     *
+     * @param nanos the nanoseconds which should be formatted
+     * @return the formatted microseconds
+     */
+    private static @NotNull String formatMicros(double nanos) {
+        return "%.1f".formatted(nanos / NANOS_PER_MICRO);
+    }
+
+    @Override
+    public void setSaleBook(@NotNull SaleBook saleBook) {
+        this.saleBook = saleBook;
+        this.refresh();
+    }
+
+    @Override
+    public @NotNull Pane getBasePane() {
+        return this.basePane;
+    }
+
+    @Override
+    public @NotNull RibbonTab getRibbonTab() {
+        return this.ribbonTab;
+    }
+
+    /**
+     * Adds a column of the latencies at the specified percentile to the histogramsTblVw
+     *
+     * @param percentile the percentile of the column
+     */
+    private void addPercentileColumn(double percentile) {
+        TableViewUtils.addColumn(this.histogramsTblVw, "p%s (µs)".formatted(
+                        percentile % 1D == 0D ? String.valueOf((int) percentile) : percentile),
+                histogram -> formatMicros(histogram.getValueAtPercentile(percentile)));
+    }
+
+    /**
+     * Shows the current latencies of the operations and listeners of the managers
+     */
+    public void refresh() {
+        this.histogramsTblVw.getItems().setAll(Metrics.getHistograms());
+        this.histogramsTblVw.refresh();
+        if (this.saleBook != null) {
+            this.listenersLbl.setText(("listeners: spare parts %d, orders %d, assets %d, " +
+                    "suppliers %d").formatted(
+                    this.saleBook.getSparePartsManager().getListenerCount(),
+                    this.saleBook.getOrdersManager().getListenerCount(),
+                    this.saleBook.getAssetsManager().getListenerCount(),
+                    this.saleBook.getSuppliersManager().getListenerCount()));
+        }
+    }
+
+    /**
+     * Handles the reset button and removes the recorded latencies
+     */
+    private void reset() {
+        Metrics.reset();
+        this.refresh();
+    }
+
+    /**
+     * Handles the dump button and writes the latencies into the selected file
+     */
+    private void dump() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setInitialFileName("latencies.txt");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("text files", "*.txt"));
+        File selectedFile = fileChooser.showSaveDialog(this.basePane.getScene().getWindow());
+        if (selectedFile != null) {
+            try {
+                Metrics.dump(selectedFile);
+            } catch (IOException e) {
+                displayError("failed to dump the latencies", e);
+            }
+        }
+    }
+}
@@ -24,10 +24,11 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.DataFormat;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import logic.products.item.ItemColor;
 import utils.FileUtils;
-import utils.StringUtils;
 import gui.FXutils.TreeTableViewUtils;
+import javafx.animation.PauseTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -91,6 +92,16 @@ public class PositionsPage implements Initializable, Page {
      */
     public static String DIR_POSITIONS = "positions";
 
+    /**
+     * The time without typing after which the id search is applied
+     */
+    private static final Duration ID_SEARCH_DELAY = Duration.millis(250);
+
+    /**
+     * The pattern of an id prefix, the decimal representation of an id never starts with 0
+     */
+    private static final String ID_PREFIX_PATTERN = "[1-9]\\d{0,8}";
+
     /**
      * Button to clean the searchbar
      */
@@ -173,6 +184,11 @@ public class PositionsPage implements Initializable, Page {
      */
     private RibbonTab positionsTab;
 
+    /**
+     * Timer which delays the id search until the user stops typing
+     */
+    private final PauseTransition idSearchDebounceTimer = new PauseTransition(ID_SEARCH_DELAY);
+
     /**
      * Button to combine the current position with the specified ones
      */
@@ -303,6 +319,9 @@ public class PositionsPage implements Initializable, Page {
     @Override
     public void setSaleBook(@NotNull SaleBook saleBook) {
         this.saleBook = saleBook;
+        if (this.filterPositionsController != null) {
+            this.filterPositionsController.setPositionsManager(saleBook.getPositionsManager());
+        }
     }
 
     /**
@@ -317,6 +336,10 @@ public class PositionsPage implements Initializable, Page {
         try {
             this.filterPositionsController =
                     FilterPositionsController.CreateFilterPositionsController(this.root);
+            if (this.saleBook != null) {
+                this.filterPositionsController.setPositionsManager(
+                        this.saleBook.getPositionsManager());
+            }
         } catch (IOException e) {
             displayError("failed to load filterPositionsController", e);
         }
@@ -555,9 +578,13 @@ public class PositionsPage implements Initializable, Page {
      * Handles the edit button and edits the selected position or item
      */
     private void handleEdit() {
-        Product product = this.trTblVw.getSelectionModel().getSelectedItem().getValue();
+        TreeItem<Product> selectedItem = this.trTblVw.getSelectionModel().getSelectedItem();
+        Product product = selectedItem.getValue();
         if (product != null) {
             FunctionDialog<Boolean> functionDialog = null;
+            int positionId = product instanceof Position
+                    ? product.getId() : selectedItem.getParent().getValue().getId();
+            this.saleBook.getPositionsManager().prepareEdit(positionId);
             if (product instanceof Position position) {
                 try {
                     functionDialog = createEditPositionController(position, this.saleBook.getCategories());
@@ -574,6 +601,7 @@ public class PositionsPage implements Initializable, Page {
             if (functionDialog != null) {
                 functionDialog.getResult().ifPresent(dirty -> {
                     if (dirty) {
+                        this.saleBook.getPositionsManager().positionEdited(positionId);
                         this.updateTreeTableViewAndDetails();
                     }
                 });
@@ -647,21 +675,38 @@ public class PositionsPage implements Initializable, Page {
         });
 
         TextInputControlUtils.installTouch(this.idSearchbarTxtFld);
+        this.idSearchDebounceTimer.setOnFinished(actionEvent -> this.applyIdSearch());
         this.idSearchbarTxtFld.textProperty().addListener((observableValue, oldText, newText) -> {
             if (!newText.isEmpty()) {
-                if(!newText.matches("[,.]") && StringUtils.isValidNumber(newText)){
-                    this.root.setFilter(position -> String.valueOf(position.getId()).startsWith(newText));
-                } else {
-                    this.root.filterAll();
-                }
+                this.idSearchDebounceTimer.playFromStart();
                 this.cleanSearchBarBtn.setVisible(true);
             } else {
+                this.idSearchDebounceTimer.stop();
                 this.cleanSearchBarBtn.setVisible(false);
                 this.filterPositionsController.handleApply();
             }
         });
     }
 
+    /**
+     * Filters the positions by the id prefix in the searchbar. The matching ids are taken from
+     * the prefix index of the positionsManager, so the ids are not converted to strings. The
+     * filter follows the positions which are added while the search is applied.
+     */
+    private void applyIdSearch() {
+        String text = this.idSearchbarTxtFld.getText().trim();
+        if (text.isEmpty()) {
+            return;
+        }
+
+        if (text.matches(ID_PREFIX_PATTERN)) {
+            this.root.setFilter(this.saleBook.getPositionsManager()
+                    .createIdPrefixFilter(Integer.parseInt(text)));
+        } else {
+            this.root.filterAll();
+        }
+    }
+
     /**
      * Handles the "add" Button and creates a new Position.
      */
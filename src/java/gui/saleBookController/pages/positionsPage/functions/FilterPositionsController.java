@@ -11,16 +11,18 @@ import javafx.scene.control.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import logic.Quarter;
-import logic.products.position.Position;
+import logic.manager.PositionsManager;
 import logic.products.position.State;
 
 import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.ResourceBundle;
-import java.util.function.Predicate;
 
 import static gui.FXutils.StageUtils.createStyledStage;
 import static logic.Quarter.getQuarterOfMonth;
@@ -101,6 +103,11 @@ public class FilterPositionsController implements Initializable {
      */
     private FilteredTreeItem<Integer> root;
 
+    /**
+     * The manager of the positions whose indexes are used to find the matching positions
+     */
+    private PositionsManager positionsManager;
+
     /**
      * Creates and loads a new FilterPositionController
      *
@@ -214,32 +221,36 @@ public class FilterPositionsController implements Initializable {
         this.categoryChcBx.getItems().setAll(categories);
     }
 
+    /**
+     * Sets the manager of the positions whose indexes are used to find the matching positions
+     *
+     * @param positionsManager the manager of the filtered positions
+     */
+    public void setPositionsManager(PositionsManager positionsManager) {
+        this.positionsManager = positionsManager;
+    }
+
     /**
      * Handles the "apply" filter Button
      */
     @FXML
     public void handleApply() {
-        Predicate<Position> predicate = position -> true;
-        if (this.categoryChcBx.getValue() != null) {
-            predicate = predicate.and(x -> x.getCategory().equalsIgnoreCase(this.categoryChcBx.getValue()));
-        }
-        if (this.statusChoiceBox.getValue() != null) {
-            predicate = predicate.and(x -> x.getState() == this.statusChoiceBox.getValue());
-        }
-
-        if (this.yearSpinner.getValue() > 0) {
-            predicate = predicate.and(x -> x.getOrderDate().getYear() == this.yearSpinner.getValue());
-            if (this.monthChcBox.getValue() != null) {
-                predicate = predicate.and(
-                        x -> x.getOrderDate().getMonth().equals(this.monthChcBox.getValue())
-                );
-            } else if (this.quarterChcBox.getValue() != null) {
-                predicate = predicate.and(
-                        x -> this.quarterChcBox.getValue().contains(x.getOrderDate().getMonth())
-                );
+        List<YearMonth> orderMonths = null;
+        int year = this.yearSpinner.getValue();
+        if (year > 0) {
+            orderMonths = new ArrayList<>();
+            for (Month month : Month.values()) {
+                if ((this.monthChcBox.getValue() == null || this.monthChcBox.getValue() == month)
+                        && (this.quarterChcBox.getValue() == null
+                        || this.quarterChcBox.getValue().contains(month))) {
+                    orderMonths.add(YearMonth.of(year, month));
+                }
             }
         }
-        this.root.setFilter(predicate);
+
+        this.root.setFilter(this.positionsManager.createPositionFilter(
+                this.categoryChcBx.getValue(), this.statusChoiceBox.getValue(), orderMonths,
+                null));
         this.handleCancel();
     }
 
@@ -2,9 +2,11 @@ package gui.saleBookController.pages.profitAndLossAccountPage;
 
 import com.pixelduke.control.ribbon.RibbonTab;
 import gui.ApplicationMain;
+import gui.DialogWindow;
 import costumeClasses.FXClasses.ImageButton;
 import gui.Images;
 import gui.saleBookController.pages.Page;
+import gui.saleBookController.pages.PeriodTotalsPane;
 import gui.FXutils.RibbonGroupUtils;
 import gui.FXutils.RibbonTabUtils;
 import javafx.fxml.FXML;
@@ -57,6 +59,11 @@ public class ProfitAndLossAccountPage implements Initializable, Page {
     @FXML
     private Pane basePane;
 
+    /**
+     * Pane to display the sums per period
+     */
+    private PeriodTotalsPane periodTotalsPane;
+
     /**
      * The saleBook to operate on
      */
@@ -96,11 +103,20 @@ public class ProfitAndLossAccountPage implements Initializable, Page {
         this.ribbonTab = RibbonTabUtils.createRibbonTab("Profit and loss account",
                 RibbonGroupUtils.createRibbonGroup("functions", addFixCost),
                 RibbonGroupUtils.createRibbonGroup("organisation", editBtn));
+        try {
+            this.periodTotalsPane = PeriodTotalsPane.createPeriodTotalsPane();
+            this.basePane.getChildren().add(this.periodTotalsPane.getBasePane());
+        } catch (IOException e) {
+            DialogWindow.displayError("failed to load PeriodTotalsPane", e);
+        }
     }
 
     @Override
     public void setSaleBook(@NotNull SaleBook saleBook) {
         this.saleBook = saleBook;
+        if (this.periodTotalsPane != null) {
+            this.periodTotalsPane.setSaleBook(saleBook);
+        }
     }
 
     @Override
@@ -167,11 +167,13 @@ public class SuppliersPage implements Initializable, Page {
     public void handleEditSupplier() {
         if (this.selectedSupplier != null) {
             try {
+                String oldName = this.selectedSupplier.getName();
                 EditSupplierController editSupplierController =
                         EditSupplierController.createEditSupplierController(this.selectedSupplier,
                                 this.saleBook.getSuppliersManager().getSupplierNames());
                 editSupplierController.getResult().ifPresent(dirty -> {
                     if (dirty) {
+                        this.saleBook.getSuppliersManager().supplierEdited(oldName);
                         this.supplierTblVw.refresh();
                     }
                 });
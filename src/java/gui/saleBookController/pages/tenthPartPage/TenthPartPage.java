@@ -7,6 +7,7 @@ import gui.DialogWindow;
 import costumeClasses.FXClasses.ImageButton;
 import gui.Images;
 import gui.saleBookController.pages.Page;
+import gui.saleBookController.pages.PeriodTotalsPane;
 import gui.saleBookController.pages.tenthPartPage.functions.EditTenthPartController;
 import gui.TextFieldDialog;
 import gui.FXutils.RibbonGroupUtils;
@@ -74,6 +75,11 @@ public class TenthPartPage implements Initializable, Page {
     @FXML
     private Pane basePane;
 
+    /**
+     * Pane to display the sums and the tenth part per period
+     */
+    private PeriodTotalsPane periodTotalsPane;
+
     /**
      * The saleBook of this TenthPartPage
      */
@@ -101,6 +107,9 @@ public class TenthPartPage implements Initializable, Page {
     @Override
     public void setSaleBook(@NotNull SaleBook saleBook) {
         this.saleBook = saleBook;
+        if (this.periodTotalsPane != null) {
+            this.periodTotalsPane.setSaleBook(saleBook);
+        }
     }
 
     @Override
@@ -133,6 +142,13 @@ public class TenthPartPage implements Initializable, Page {
         RibbonGroup organisationRibbonGroup = RibbonGroupUtils.createRibbonGroup("organisation", editBtn);
         this.ribbonTab = RibbonTabUtils.createRibbonTab("Tenth part",
                 functionRibbonGroup, organisationRibbonGroup);
+        try {
+            this.periodTotalsPane = PeriodTotalsPane.createPeriodTotalsPane();
+            this.periodTotalsPane.addTenthPartColumn();
+            this.basePane.getChildren().add(this.periodTotalsPane.getBasePane());
+        } catch (IOException e) {
+            DialogWindow.displayError("failed to load PeriodTotalsPane", e);
+        }
     }
 
     /**
@@ -48,6 +48,17 @@ public class Asset implements Comparable<Asset> {
      */
     private double value;
 
+    /**
+     * The value from which the cached value in cents was computed, it is not written into the
+     * files of the saleBook
+     */
+    private transient double centsValue;
+
+    /**
+     * The cached value of the asset in cents, it is not written into the files of the saleBook
+     */
+    private transient long valueCents;
+
     /**
      * Constructs a new Asset with the specified parameters
      *
@@ -186,6 +197,29 @@ public class Asset implements Comparable<Asset> {
         return this.value;
     }
 
+    /**
+     * Returns the value of this asset as money
+     *
+     * @return the value of this asset as money
+     */
+    public @NotNull Money getValueAsMoney() {
+        return Money.ofCents(this.getValueCents());
+    }
+
+    /**
+     * Returns the value of this asset in cents. The value is converted by its decimal
+     * representation and rounded half up to cents.
+     *
+     * @return the value of this asset in cents
+     */
+    public long getValueCents() {
+        if (this.value != this.centsValue) {
+            this.valueCents = Money.of(this.value).getCents();
+            this.centsValue = this.value;
+        }
+        return this.valueCents;
+    }
+
     /**
      * Sets the value of this asset
      *
@@ -0,0 +1,212 @@
+package logic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An AtomicFileOutputStream writes into a temporary file next to the target file. Only by
+ * {@link #commit()} the temporary file is forced to the storage device and moved over the target
+ * file, so the target file contains either its old or its complete new content, even if the
+ * writing fails or the application crashes. If the stream is closed without a commit, the
+ * temporary file is deleted and the target file stays untouched.
+ * <p>
+ * Before the target file is replaced, its old content can be kept in rotated backups named
+ * {@code <file>.bak1} (newest) to {@code <file>.bak<n>} (oldest).
+ *
+ * @author xthe_white_lionx
+ */
+public class AtomicFileOutputStream extends OutputStream {
+
+    /**
+     * The suffix of the temporary file
+     */
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * The suffix of the backups, followed by the number of the backup
+     */
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    /**
+     * The file which should be replaced
+     */
+    private final Path target;
+
+    /**
+     * The temporary file which is written
+     */
+    private final Path tmp;
+
+    /**
+     * The number of backups which should be kept
+     */
+    private final int backups;
+
+    /**
+     * The channel of the temporary file
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffered stream into the channel
+     */
+    private final OutputStream out;
+
+    /**
+     * Whether this stream is committed
+     */
+    private boolean committed;
+
+    /**
+     * Whether this stream is closed
+     */
+    private boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param file    the file which should be replaced
+     * @param backups the number of backups of the old contents which should be kept
+     * @throws IOException              if the temporary file cannot be created
+     * @throws IllegalArgumentException if the number of backups is negative
+     */
+    public AtomicFileOutputStream(@NotNull File file, int backups) throws IOException {
+        if (backups < 0) {
+            throw new IllegalArgumentException("backups must be positive or zero but was %d"
+                    .formatted(backups));
+        }
+
+        this.target = file.getAbsoluteFile().toPath();
+        this.tmp = this.target.resolveSibling(this.target.getFileName() + TMP_SUFFIX);
+        this.backups = backups;
+        this.channel = FileChannel.open(this.tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new BufferedOutputStream(Channels.newOutputStream(this.channel));
+    }
+
+    /**
+     * Returns the backup with the specified number of the specified file
+     *
+     * @param file   the file of the backup
+     * @param number the number of the backup, 1 is the newest backup
+     * @return the backup with the specified number
+     */
+    public static @NotNull File getBackup(@NotNull File file, int number) {
+        return new File(file.getAbsolutePath() + BACKUP_SUFFIX + number);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.out.write(b);
+    }
+
+    @Override
+    public void write(byte @NotNull [] b, int off, int len) throws IOException {
+        this.out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * Forces the written content to the storage device, keeps the old content of the target
+     * file as backup and replaces the target file by the temporary file. Afterwards this stream
+     * is closed.
+     *
+     * @throws IOException           if an I/0 error occurs, in this case the target file stays
+     *                               untouched
+     * @throws IllegalStateException if this stream is already closed
+     */
+    public void commit() throws IOException {
+        if (this.closed) {
+            throw new IllegalStateException("the stream is already closed");
+        }
+
+        this.out.flush();
+        this.channel.force(true);
+        this.closed = true;
+        this.channel.close();
+        if (this.backups > 0 && Files.exists(this.target)) {
+            this.rotateBackups();
+        }
+        try {
+            Files.move(this.tmp, this.target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(this.tmp, this.target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.committed = true;
+        this.forceDirectory();
+    }
+
+    /**
+     * Closes this stream. If this stream is not committed, the temporary file is deleted.
+     *
+     * @throws IOException if an I/0 error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.channel.close();
+        }
+        if (!this.committed) {
+            Files.deleteIfExists(this.tmp);
+        }
+    }
+
+    /**
+     * Shifts each backup to the next number, the oldest backup is dropped, and keeps the current
+     * content of the target file as newest backup. The newest backup is created as hard link if
+     * possible, so the content of the target file is not copied.
+     *
+     * @throws IOException if an I/0 error occurs
+     */
+    private void rotateBackups() throws IOException {
+        File file = this.target.toFile();
+        Files.deleteIfExists(getBackup(file, this.backups).toPath());
+        for (int number = this.backups - 1; number > 0; number--) {
+            Path backup = getBackup(file, number).toPath();
+            if (Files.exists(backup)) {
+                Files.move(backup, getBackup(file, number + 1).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path newestBackup = getBackup(file, 1).toPath();
+        try {
+            Files.createLink(newestBackup, this.target);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(this.target, newestBackup, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the directory of the target file to the storage device, so the move of the
+     * temporary file is durable. Not every platform supports to open a directory, in this case
+     * the directory is not forced.
+     */
+    private void forceDirectory() {
+        Path directory = this.target.getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel directoryChannel = FileChannel.open(directory,
+                StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            //the move is done, only its durability cannot be ensured on this platform
+        }
+    }
+}
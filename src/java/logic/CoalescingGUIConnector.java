@@ -0,0 +1,193 @@
+package logic;
+
+import costumeClasses.FXClasses.FilteredTreeItem;
+import javafx.collections.ObservableList;
+import logic.order.Order;
+import logic.sparePart.SparePart;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A {@link GUIConnector} which forwards the calls to another guiConnector. Each call is passed
+ * to {@link #call(String, Runnable)} together with the name of the called method, so
+ * subclasses can postpone the calls and keep only the last call of each method. The last call
+ * of a method always displays the latest state, so the earlier calls can be dropped.
+ *
+ * @author xthe_white_lionx
+ */
+public abstract class CoalescingGUIConnector implements GUIConnector {
+
+    /**
+     * The guiConnector to which the calls are forwarded
+     */
+    protected final GUIConnector delegate;
+
+    /**
+     * Constructor
+     *
+     * @param delegate the guiConnector to which the calls are forwarded
+     */
+    protected CoalescingGUIConnector(@NotNull GUIConnector delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Runs or postpones the specified call of the delegate. A postponed call replaces the
+     * postponed call of the same method.
+     *
+     * @param method the name of the called method
+     * @param call   the call of the delegate
+     */
+    protected abstract void call(@NotNull String method, @NotNull Runnable call);
+
+    @Override
+    public void displayCategories(@NotNull Collection<String> categories) {
+        this.call("displayCategories", () -> this.delegate.displayCategories(categories));
+    }
+
+    @Override
+    public void displaySpareParts(@NotNull ObservableList<SparePart> spareParts) {
+        this.call("displaySpareParts", () -> this.delegate.displaySpareParts(spareParts));
+    }
+
+    @Override
+    public void displaySparePartNames(@NotNull Collection<String> nameOfSpareParts) {
+        this.call("displaySparePartNames",
+                () -> this.delegate.displaySparePartNames(nameOfSpareParts));
+    }
+
+    @Override
+    public void displaySuppliers(@NotNull ObservableList<Supplier> suppliers) {
+        this.call("displaySuppliers", () -> this.delegate.displaySuppliers(suppliers));
+    }
+
+    @Override
+    public void displaySupplierNames(@NotNull Set<String> supplierNames) {
+        this.call("displaySupplierNames", () -> this.delegate.displaySupplierNames(supplierNames));
+    }
+
+    @Override
+    public void displayOrders(@NotNull ObservableList<Order> orders) {
+        this.call("displayOrders", () -> this.delegate.displayOrders(orders));
+    }
+
+    @Override
+    public void displayAssets(@NotNull ObservableList<Asset> assets) {
+        this.call("displayAssets", () -> this.delegate.displayAssets(assets));
+    }
+
+    @Override
+    public void displayRepairServiceSale(@NotNull BigDecimal repairServiceSales) {
+        this.call("displayRepairServiceSale",
+                () -> this.delegate.displayRepairServiceSale(repairServiceSales));
+    }
+
+    @Override
+    public void displayExtraordinaryIncome(@NotNull BigDecimal extraordinaryIncome) {
+        this.call("displayExtraordinaryIncome",
+                () -> this.delegate.displayExtraordinaryIncome(extraordinaryIncome));
+    }
+
+    @Override
+    public void displaySales(@NotNull BigDecimal sales) {
+        this.call("displaySales", () -> this.delegate.displaySales(sales));
+    }
+
+    @Override
+    public void displayPaid(@NotNull BigDecimal paid) {
+        this.call("displayPaid", () -> this.delegate.displayPaid(paid));
+    }
+
+    @Override
+    public void displayTenthPartBalance(@NotNull BigDecimal balance) {
+        this.call("displayTenthPartBalance", () -> this.delegate.displayTenthPartBalance(balance));
+    }
+
+    @Override
+    public void displayTenthPartTotalIncome(@NotNull BigDecimal tenthPartTotalSales) {
+        this.call("displayTenthPartTotalIncome",
+                () -> this.delegate.displayTenthPartTotalIncome(tenthPartTotalSales));
+    }
+
+    @Override
+    public void displayTotalPerformance(@NotNull BigDecimal totalPerformance) {
+        this.call("displayTotalPerformance",
+                () -> this.delegate.displayTotalPerformance(totalPerformance));
+    }
+
+    @Override
+    public void displayVariableCosts(@NotNull BigDecimal variableCosts) {
+        this.call("displayVariableCosts", () -> this.delegate.displayVariableCosts(variableCosts));
+    }
+
+    @Override
+    public void displayFixedCosts(@NotNull BigDecimal fixedCosts) {
+        this.call("displayFixedCosts", () -> this.delegate.displayFixedCosts(fixedCosts));
+    }
+
+    @Override
+    public void displayProfitAndLossAccountBalance(@NotNull BigDecimal balance) {
+        this.call("displayProfitAndLossAccountBalance",
+                () -> this.delegate.displayProfitAndLossAccountBalance(balance));
+    }
+
+    @Override
+    public void displayOrderedSpareParts(@NotNull Set<SparePart> spareParts) {
+        this.call("displayOrderedSpareParts",
+                () -> this.delegate.displayOrderedSpareParts(spareParts));
+    }
+
+    @Override
+    public void refreshPosition() {
+        this.call("refreshPosition", this.delegate::refreshPosition);
+    }
+
+    @Override
+    public void displayPositions(@NotNull FilteredTreeItem<Integer> root) {
+        this.call("displayPositions", () -> this.delegate.displayPositions(root));
+    }
+
+    @Override
+    public void refreshSpareParts() {
+        this.call("refreshSpareParts", this.delegate::refreshSpareParts);
+    }
+
+    @Override
+    public void refreshOrders() {
+        this.call("refreshOrders", this.delegate::refreshOrders);
+    }
+
+    @Override
+    public void displaySumAssetsValue(BigDecimal sumValue) {
+        this.call("displaySumAssetsValue", () -> this.delegate.displaySumAssetsValue(sumValue));
+    }
+
+    @Override
+    public void updateStatus(@NotNull String message) {
+        this.call("updateStatus", () -> this.delegate.updateStatus(message));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof CoalescingGUIConnector that) {
+            return this.delegate.equals(that.delegate);
+        }
+        return this.delegate.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.delegate.toString();
+    }
+}
@@ -0,0 +1,276 @@
+package logic;
+
+import gui.FXutils.LabelUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * This class represents an immutable amount of money as a whole number of cents and its
+ * currency. In contrast to {@link BigDecimal} the arithmetic of money is done on a long, so the
+ * sum of many amounts allocates at most one object per operation and is exact. An amount of
+ * money has always two fractional digits, values with more digits are rounded half up when
+ * they are converted to money.
+ * <p>
+ * A double is converted by its decimal representation, so 0.1 is converted to 10 cents and not
+ * to the binary approximation of 0.1.
+ *
+ * @author xthe_white_lionx
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * The number of fractional digits of an amount of money
+     */
+    private static final int SCALE = 2;
+
+    /**
+     * The currency which is used if no currency is specified, this is the currency whose
+     * symbol is displayed by the gui
+     */
+    public static final Currency DEFAULT_CURRENCY = LabelUtils.CURRENCY;
+
+    /**
+     * No money in the default currency
+     */
+    public static final Money ZERO = new Money(0L, DEFAULT_CURRENCY);
+
+    /**
+     * The amount in cents
+     */
+    private final long cents;
+
+    /**
+     * The currency of the amount
+     */
+    private final Currency currency;
+
+    /**
+     * Constructor
+     *
+     * @param cents    the amount in cents
+     * @param currency the currency of the amount
+     */
+    private Money(long cents, @NotNull Currency currency) {
+        this.cents = cents;
+        this.currency = currency;
+    }
+
+    /**
+     * Returns money of the specified cents in the default currency
+     *
+     * @param cents the amount in cents
+     * @return money of the specified cents
+     */
+    public static @NotNull Money ofCents(long cents) {
+        return ofCents(cents, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Returns money of the specified cents in the specified currency
+     *
+     * @param cents    the amount in cents
+     * @param currency the currency of the amount
+     * @return money of the specified cents
+     */
+    public static @NotNull Money ofCents(long cents, @NotNull Currency currency) {
+        if (cents == 0L && currency.equals(DEFAULT_CURRENCY)) {
+            return ZERO;
+        }
+        return new Money(cents, currency);
+    }
+
+    /**
+     * Returns money of the specified value in the default currency. The value is rounded half up
+     * to cents.
+     *
+     * @param value the value of the money
+     * @return money of the specified value
+     * @throws ArithmeticException if the value does not fit into a long of cents
+     */
+    public static @NotNull Money of(@NotNull BigDecimal value) {
+        return ofCents(centsOf(value));
+    }
+
+    /**
+     * Returns money of the specified value in the default currency. The value is converted by
+     * its decimal representation and rounded half up to cents.
+     *
+     * @param value the value of the money
+     * @return money of the specified value
+     * @throws IllegalArgumentException if the value is not finite
+     * @throws ArithmeticException      if the value does not fit into a long of cents
+     */
+    public static @NotNull Money of(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("value must be finite but is " + value);
+        }
+        return of(BigDecimal.valueOf(value));
+    }
+
+    /**
+     * Returns the specified value in cents without creating money. The value is rounded half up
+     * to cents.
+     *
+     * @param value the value which should be converted
+     * @return the value in cents
+     * @throws ArithmeticException if the value does not fit into a long of cents
+     */
+    public static long centsOf(@NotNull BigDecimal value) {
+        if (value.scale() == 0) {
+            return Math.multiplyExact(value.longValueExact(), 100L);
+        }
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Returns the amount of this money in cents
+     *
+     * @return the amount in cents
+     */
+    public long getCents() {
+        return this.cents;
+    }
+
+    /**
+     * Returns the currency of this money
+     *
+     * @return the currency of this money
+     */
+    public @NotNull Currency getCurrency() {
+        return this.currency;
+    }
+
+    /**
+     * Returns the sum of this and the specified money
+     *
+     * @param that the money which should be added
+     * @return the sum of this and the specified money
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException      if the sum overflows
+     */
+    public @NotNull Money plus(@NotNull Money that) {
+        this.checkCurrency(that);
+        if (that.cents == 0L) {
+            return this;
+        }
+        if (this.cents == 0L) {
+            return that;
+        }
+        return new Money(Math.addExact(this.cents, that.cents), this.currency);
+    }
+
+    /**
+     * Returns the difference of this and the specified money
+     *
+     * @param that the money which should be subtracted
+     * @return the difference of this and the specified money
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException      if the difference overflows
+     */
+    public @NotNull Money minus(@NotNull Money that) {
+        this.checkCurrency(that);
+        if (that.cents == 0L) {
+            return this;
+        }
+        return ofCents(Math.subtractExact(this.cents, that.cents), this.currency);
+    }
+
+    /**
+     * Returns this money multiplied by the specified factor
+     *
+     * @param factor the factor
+     * @return the product of this money and the specified factor
+     * @throws ArithmeticException if the product overflows
+     */
+    public @NotNull Money times(long factor) {
+        return factor == 1L ? this : ofCents(Math.multiplyExact(this.cents, factor), this.currency);
+    }
+
+    /**
+     * Returns the negated amount of this money
+     *
+     * @return the negated amount of this money
+     * @throws ArithmeticException if the amount is {@link Long#MIN_VALUE} cents
+     */
+    public @NotNull Money negate() {
+        return this.cents == 0L ? this : new Money(Math.negateExact(this.cents), this.currency);
+    }
+
+    /**
+     * Returns the signum of the amount of this money
+     *
+     * @return -1, 0 or 1 as the amount is negative, zero or positive
+     */
+    public int signum() {
+        return Long.signum(this.cents);
+    }
+
+    /**
+     * Returns true if the amount of this money is negative
+     *
+     * @return true if the amount is negative, otherwise false
+     */
+    public boolean isNegative() {
+        return this.cents < 0L;
+    }
+
+    /**
+     * Returns the amount of this money as BigDecimal with two fractional digits
+     *
+     * @return the amount of this money as BigDecimal
+     */
+    public @NotNull BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(this.cents, SCALE);
+    }
+
+    /**
+     * Compares the amount of this money with the amount of the specified money
+     *
+     * @param that the money to be compared
+     * @return a negative number, zero or a positive number as this amount is less than, equal
+     * to or greater than the specified amount
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    @Override
+    public int compareTo(@NotNull Money that) {
+        this.checkCurrency(that);
+        return Long.compare(this.cents, that.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money that)) {
+            return false;
+        }
+        return this.cents == that.cents && this.currency.equals(that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(this.cents) + this.currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.toBigDecimal().toPlainString() + " " + this.currency.getCurrencyCode();
+    }
+
+    /**
+     * Checks that the specified money has the currency of this money
+     *
+     * @param that the money which should be checked
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    private void checkCurrency(@NotNull Money that) {
+        if (!this.currency.equals(that.currency)) {
+            throw new IllegalArgumentException("currencies differ: %s and %s".formatted(
+                    this.currency.getCurrencyCode(), that.currency.getCurrencyCode()));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package logic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A ProgressInputStream counts the bytes which are read from the underlying inputStream, so the
+ * progress matches the length of the read file. The progress is reported at most every
+ * {@link #DEFAULT_BYTE_INTERVAL} bytes or {@link #DEFAULT_MILLIS_INTERVAL} milliseconds and at
+ * the end of the stream. A reader on top of this stream, like an
+ * {@link java.io.InputStreamReader}, reads the bytes in blocks, so counting is cheap even if the
+ * reader is read by single characters.
+ *
+ * @author xthe_white_lionx
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+    /**
+     * The number of bytes after which the progress is reported by default
+     */
+    public static final int DEFAULT_BYTE_INTERVAL = 64 * 1024;
+
+    /**
+     * The time in milliseconds after which the progress is reported by default
+     */
+    public static final long DEFAULT_MILLIS_INTERVAL = 100L;
+
+    /**
+     * The meter which counts and reports the read bytes
+     */
+    private final ProgressMeter progressMeter;
+
+    /**
+     * Constructor for a ProgressInputStream with the default intervals
+     *
+     * @param inputStream      the underlying inputStream
+     * @param progressListener a progress advancing will be communicated this progressListener
+     */
+    public ProgressInputStream(@NotNull InputStream inputStream,
+                               @NotNull ProgressListener progressListener) {
+        this(inputStream, progressListener, DEFAULT_BYTE_INTERVAL, DEFAULT_MILLIS_INTERVAL);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param inputStream      the underlying inputStream
+     * @param progressListener a progress advancing will be communicated this progressListener
+     * @param byteInterval     the number of bytes after which the progress is reported
+     * @param millisInterval   the time in milliseconds after which the progress is reported
+     * @throws IllegalArgumentException if an interval is negative
+     */
+    public ProgressInputStream(@NotNull InputStream inputStream,
+                               @NotNull ProgressListener progressListener, int byteInterval,
+                               long millisInterval) {
+        super(inputStream);
+        this.progressMeter = new ProgressMeter(progressListener, byteInterval, millisInterval);
+    }
+
+    /**
+     * Returns the total bytes which are read until now
+     *
+     * @return the total bytes which are read until now
+     */
+    public long getTotalBytes() {
+        return this.progressMeter.getTotalBytes();
+    }
+
+    /**
+     * Returns the average throughput since the creation of this stream in megabytes per second
+     *
+     * @return the average throughput in megabytes per second
+     */
+    public double getMegabytesPerSecond() {
+        return this.progressMeter.getMegabytesPerSecond();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            this.progressMeter.finish();
+        } else {
+            this.progressMeter.add(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte @NotNull [] b, int off, int len) throws IOException {
+        int bytes = super.read(b, off, len);
+        if (bytes == -1) {
+            this.progressMeter.finish();
+        } else {
+            this.progressMeter.add(bytes);
+        }
+        return bytes;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        this.progressMeter.add(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.progressMeter.finish();
+        super.close();
+    }
+}
@@ -13,4 +13,15 @@ public interface ProgressListener {
      * @param totalBytes the totalBytes that the progress has currently
      */
     void updateProgress(int totalBytes);
+
+    /**
+     * Updates the progress to the specified totalBytes and the current throughput. By default,
+     * the throughput is ignored and {@link #updateProgress(int)} is called.
+     *
+     * @param totalBytes         the totalBytes that the progress has currently
+     * @param megabytesPerSecond the average throughput since the start in megabytes per second
+     */
+    default void updateProgress(long totalBytes, double megabytesPerSecond) {
+        this.updateProgress((int) Math.min(totalBytes, Integer.MAX_VALUE));
+    }
 }
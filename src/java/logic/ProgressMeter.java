@@ -0,0 +1,138 @@
+package logic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ProgressMeter counts the transferred bytes of a stream and reports them to a
+ * {@link ProgressListener}. The listener is not informed about each transfer, but only if at
+ * least the byte interval was transferred or the time interval elapsed since the last report.
+ *
+ * @author xthe_white_lionx
+ * @see ProgressInputStream
+ * @see ProgressOutputStream
+ */
+final class ProgressMeter {
+
+    /**
+     * The number of bytes of a megabyte
+     */
+    private static final double MEGABYTE = 1024 * 1024;
+
+    /**
+     * The number of nanoseconds of a second
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    /**
+     * The listener to which the progress is reported
+     */
+    private final ProgressListener progressListener;
+
+    /**
+     * The number of bytes after which the progress is reported
+     */
+    private final long byteInterval;
+
+    /**
+     * The time in nanoseconds after which the progress is reported
+     */
+    private final long nanosInterval;
+
+    /**
+     * The time of the start in nanoseconds
+     */
+    private final long startNanos;
+
+    /**
+     * The total transferred bytes
+     */
+    private long totalBytes;
+
+    /**
+     * The total bytes at the last report
+     */
+    private long reportedBytes;
+
+    /**
+     * The time of the last report in nanoseconds
+     */
+    private long reportedNanos;
+
+    /**
+     * Constructor
+     *
+     * @param progressListener the listener to which the progress is reported
+     * @param byteInterval     the number of bytes after which the progress is reported
+     * @param millisInterval   the time in milliseconds after which the progress is reported
+     * @throws IllegalArgumentException if an interval is negative
+     */
+    ProgressMeter(@NotNull ProgressListener progressListener, long byteInterval,
+                  long millisInterval) {
+        if (byteInterval < 0 || millisInterval < 0) {
+            throw new IllegalArgumentException("intervals must be positive but are %d and %d"
+                    .formatted(byteInterval, millisInterval));
+        }
+
+        this.progressListener = progressListener;
+        this.byteInterval = byteInterval;
+        this.nanosInterval = TimeUnit.MILLISECONDS.toNanos(millisInterval);
+        this.startNanos = System.nanoTime();
+        this.reportedNanos = this.startNanos;
+    }
+
+    /**
+     * Adds the specified number of transferred bytes and reports the progress, if an interval
+     * is reached
+     *
+     * @param bytes the number of transferred bytes
+     */
+    void add(long bytes) {
+        this.totalBytes += bytes;
+        if (this.totalBytes - this.reportedBytes >= this.byteInterval
+                || System.nanoTime() - this.reportedNanos >= this.nanosInterval) {
+            this.report();
+        }
+    }
+
+    /**
+     * Reports the progress, if there are unreported bytes
+     */
+    void finish() {
+        if (this.totalBytes != this.reportedBytes) {
+            this.report();
+        }
+    }
+
+    /**
+     * Returns the total transferred bytes
+     *
+     * @return the total transferred bytes
+     */
+    long getTotalBytes() {
+        return this.totalBytes;
+    }
+
+    /**
+     * Returns the average throughput since the start in megabytes per second
+     *
+     * @return the average throughput in megabytes per second
+     */
+    double getMegabytesPerSecond() {
+        long elapsedNanos = System.nanoTime() - this.startNanos;
+        if (elapsedNanos <= 0) {
+            return 0D;
+        }
+        return this.totalBytes / MEGABYTE / (elapsedNanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Reports the total bytes and the throughput to the listener
+     */
+    private void report() {
+        this.reportedBytes = this.totalBytes;
+        this.reportedNanos = System.nanoTime();
+        this.progressListener.updateProgress(this.totalBytes, this.getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,88 @@
+package logic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A ProgressOutputStream counts the bytes which are written into the underlying outputStream.
+ * The progress is reported at most every {@link ProgressInputStream#DEFAULT_BYTE_INTERVAL}
+ * bytes or {@link ProgressInputStream#DEFAULT_MILLIS_INTERVAL} milliseconds and by each flush.
+ * In contrast to {@link FilterOutputStream} arrays are passed to the underlying outputStream
+ * at once instead of byte by byte.
+ *
+ * @author xthe_white_lionx
+ */
+public class ProgressOutputStream extends FilterOutputStream {
+
+    /**
+     * The meter which counts and reports the written bytes
+     */
+    private final ProgressMeter progressMeter;
+
+    /**
+     * Constructor for a ProgressOutputStream with the default intervals
+     *
+     * @param outputStream     the underlying outputStream
+     * @param progressListener a progress advancing will be communicated this progressListener
+     */
+    public ProgressOutputStream(@NotNull OutputStream outputStream,
+                                @NotNull ProgressListener progressListener) {
+        this(outputStream, progressListener, ProgressInputStream.DEFAULT_BYTE_INTERVAL,
+                ProgressInputStream.DEFAULT_MILLIS_INTERVAL);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param outputStream     the underlying outputStream
+     * @param progressListener a progress advancing will be communicated this progressListener
+     * @param byteInterval     the number of bytes after which the progress is reported
+     * @param millisInterval   the time in milliseconds after which the progress is reported
+     * @throws IllegalArgumentException if an interval is negative
+     */
+    public ProgressOutputStream(@NotNull OutputStream outputStream,
+                                @NotNull ProgressListener progressListener, int byteInterval,
+                                long millisInterval) {
+        super(outputStream);
+        this.progressMeter = new ProgressMeter(progressListener, byteInterval, millisInterval);
+    }
+
+    /**
+     * Returns the total bytes which are written until now
+     *
+     * @return the total bytes which are written until now
+     */
+    public long getTotalBytes() {
+        return this.progressMeter.getTotalBytes();
+    }
+
+    /**
+     * Returns the average throughput since the creation of this stream in megabytes per second
+     *
+     * @return the average throughput in megabytes per second
+     */
+    public double getMegabytesPerSecond() {
+        return this.progressMeter.getMegabytesPerSecond();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.out.write(b);
+        this.progressMeter.add(1);
+    }
+
+    @Override
+    public void write(byte @NotNull [] b, int off, int len) throws IOException {
+        this.out.write(b, off, len);
+        this.progressMeter.add(len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        super.flush();
+        this.progressMeter.finish();
+    }
+}
@@ -1,12 +1,22 @@
 package logic.manager;
 
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
 import logic.GUIConnector;
 import logic.saleBook.SaleBook;
+import logic.saleBook.Transaction;
+import logic.search.SearchHit;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
 /**
  * This class represents an abstract Manager and administrates the comment connections to the gui
- * and the saleBook for each manager
+ * and the saleBook for each manager. Each operation of a manager checks by
+ * {@link #checkThread()} that the current thread may change the saleBook, before it changes
+ * anything.
  *
  * @author xThe_white_Lionx
  * @Date 30.05.2024
@@ -23,6 +33,11 @@ public abstract class AbstractManager {
      */
     protected final GUIConnector gui;
 
+    /**
+     * The number of batches of this manager which are begun but not ended yet
+     */
+    private int batchDepth;
+
     /**
      * Constructor
      *
@@ -33,4 +48,167 @@ public abstract class AbstractManager {
         this.saleBook = saleBook;
         this.gui = gui;
     }
+
+    /**
+     * Runs the specified operation in a transaction of the saleBook. The changes of the
+     * operation are notified once when the operation has finished and are undone if the
+     * operation fails.
+     *
+     * @param operation the operation which should be run in a transaction
+     * @see SaleBook#inTransaction(Supplier)
+     */
+    public void inTransaction(@NotNull Runnable operation) {
+        this.saleBook.inTransaction(operation);
+    }
+
+    /**
+     * Runs the specified operation in a transaction of the saleBook and returns its result. The
+     * changes of the operation are notified once when the operation has finished and are undone
+     * if the operation fails.
+     *
+     * @param operation the operation which should be run in a transaction
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     * @see SaleBook#inTransaction(Supplier)
+     */
+    public <T> T inTransaction(@NotNull Supplier<T> operation) {
+        return this.saleBook.inTransaction(operation);
+    }
+
+    /**
+     * Prepares this manager for the specified transaction, which was started by the saleBook.
+     * Subclasses register how their state which is not kept in an observed map is restored.
+     * This methode shall be only used by the saleBook.
+     *
+     * @param transaction the started transaction
+     */
+    public void transactionStarted(@NotNull Transaction transaction) {
+        this.batchDepth++;
+        this.beginBatch();
+    }
+
+    /**
+     * Finishes the current transaction of this manager after it was committed or rolled back.
+     * This methode shall be only used by the saleBook.
+     */
+    public void transactionEnded() {
+        this.batchDepth--;
+        this.endBatch();
+    }
+
+    /**
+     * Begins a batch of the views which are bound to this manager, so the following changes are
+     * notified as one change
+     */
+    protected void beginBatch() {
+    }
+
+    /**
+     * Ends the current batch of the views which are bound to this manager
+     */
+    protected void endBatch() {
+    }
+
+    /**
+     * Begins the batches, which this manager has begun but not ended yet, on a view which was
+     * created in the meantime, so the view is in as many batches as the views which existed
+     * before and is ended by {@link #endBatch()} like them
+     *
+     * @param beginBatch begins a batch of the created view
+     */
+    protected void joinBatches(@NotNull Runnable beginBatch) {
+        for (int i = 0; i < this.batchDepth; i++) {
+            beginBatch.run();
+        }
+    }
+
+    /**
+     * Checks that the current thread may change the saleBook, see {@link SaleBook#checkThread()}
+     *
+     * @throws IllegalStateException if the saleBook is confined to another thread
+     */
+    protected void checkThread() {
+        this.saleBook.checkThread();
+    }
+
+    /**
+     * Records the specified operation in the changeJournal of the saleBook
+     *
+     * @param operation the name of the operation which changed this manager
+     * @param arguments the arguments of the operation
+     */
+    protected void recordChange(@NotNull String operation, Object @NotNull ... arguments) {
+        this.saleBook.getChangeJournal().record(this.getClass().getSimpleName(), operation,
+                arguments);
+    }
+
+    /**
+     * Keeps the search index of the saleBook in sync with the specified map. The current
+     * entries of the map are indexed immediately, later added or replaced entries are indexed by
+     * the specified indexer and removed entries are removed from the search index.
+     *
+     * @param map     the map of the entities of this manager
+     * @param kind    the kind of the entities of the map
+     * @param indexer indexes an entry of the map in the search index
+     * @param <K>     the type of the keys of the map, which are the keys in the search index
+     * @param <V>     the type of the values of the map
+     */
+    protected <K, V> void followInSearchIndex(@NotNull ObservableMap<K, V> map,
+                                              @NotNull SearchHit.Kind kind,
+                                              @NotNull BiConsumer<K, V> indexer) {
+        map.forEach(indexer);
+        map.addListener((MapChangeListener<K, V>) change -> {
+            if (change.wasAdded()) {
+                indexer.accept(change.getKey(), change.getValueAdded());
+            } else if (change.wasRemoved()) {
+                this.saleBook.getSearchIndex().remove(kind, change.getKey());
+            }
+        });
+    }
+
+    /**
+     * Registers the changes of the specified map in the current transaction of the saleBook, so
+     * they are undone if the transaction is rolled back. A removed value which was changed in
+     * place afterward is restored by its saved copy.
+     *
+     * @param map the map of the entities of this manager
+     * @param <K> the type of the keys of the map
+     * @param <V> the type of the values of the map
+     */
+    protected <K, V> void followInTransactions(@NotNull ObservableMap<K, V> map) {
+        map.addListener((MapChangeListener<K, V>) change -> {
+            Transaction transaction = this.saleBook.getTransaction();
+            if (transaction != null) {
+                K key = change.getKey();
+                if (change.wasRemoved()) {
+                    V removedValue = change.getValueRemoved();
+                    transaction.onRollback(() -> map.put(key, transaction.getSaved(removedValue)));
+                } else {
+                    transaction.onRollback(() -> map.remove(key));
+                }
+            }
+        });
+    }
+
+    /**
+     * Saves a copy of the specified value, which is changed in place, in the current
+     * transaction of the saleBook. If the transaction is rolled back, the copy is mapped to the
+     * specified key again. The value is copied once per transaction.
+     *
+     * @param map    the map of the entities of this manager
+     * @param key    the key of the value
+     * @param value  the value which will be changed
+     * @param copier creates a copy of the value
+     * @param <K>    the type of the keys of the map
+     * @param <V>    the type of the values of the map
+     */
+    protected <K, V> void saveForRollback(@NotNull ObservableMap<K, V> map, @NotNull K key,
+                                          @NotNull V value, @NotNull UnaryOperator<V> copier) {
+        Transaction transaction = this.saleBook.getTransaction();
+        if (transaction != null && !transaction.isSaved(value)) {
+            V copy = copier.apply(value);
+            transaction.save(value, copy);
+            transaction.onRollback(() -> map.put(key, copy));
+        }
+    }
 }
@@ -1,19 +1,23 @@
 package logic.manager;
 
 import data.AssetsManagerData;
+import costumeClasses.FXClasses.ListenerCountingObservableMap;
 import costumeClasses.FXClasses.ObservableListMapBinder;
 import data.Dataable;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
 import logic.Asset;
 import logic.GUIConnector;
 import logic.saleBook.SaleBook;
+import logic.saleBook.Transaction;
+import logic.search.SearchHit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
 
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -30,7 +34,13 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
     /**
      * ObservableMap of assets mapped to their matching id
      */
-    private final ObservableMap<Integer, Asset> idToAssetObsMap;
+    private final ListenerCountingObservableMap<Integer, Asset> idToAssetObsMap;
+
+    /**
+     * The binder of the observableList of the assets, which is created by the first call of
+     * {@link #getObservableList()} and shared by all later calls
+     */
+    private ObservableListMapBinder<Integer, Asset> observableListBinder;
 
     /**
      * The id for the next asset
@@ -42,6 +52,11 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
      */
     private BigDecimal sumValue;
 
+    /**
+     * The sum of the value of all assets in cents, which is kept alongside the sumValue
+     */
+    private long sumValueCents;
+
     /**
      * Constructor
      *
@@ -50,9 +65,13 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
      */
     public AssetsManager(@NotNull SaleBook saleBook, @NotNull GUIConnector gui) {
         super(saleBook, gui);
-        this.idToAssetObsMap = FXCollections.observableMap(new TreeMap<>());
+        this.idToAssetObsMap = new ListenerCountingObservableMap<>(
+                FXCollections.observableMap(new TreeMap<>()));
         this.nextAssetId = 1;
-        this.setSumValue(BigDecimal.ZERO);
+        this.sumValue = BigDecimal.ZERO;
+        this.followInSearchIndex(this.idToAssetObsMap, SearchHit.Kind.ASSET,
+                this::indexForSearch);
+        this.followInTransactions(this.idToAssetObsMap);
     }
 
     /**
@@ -66,14 +85,62 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
     public AssetsManager(@NotNull SaleBook saleBook, @NotNull AssetsManagerData assetsManagerData,
                          @NotNull GUIConnector gui) {
         super(saleBook, gui);
-        this.idToAssetObsMap = FXCollections.observableMap(new TreeMap<>());
+        this.idToAssetObsMap = new ListenerCountingObservableMap<>(
+                FXCollections.observableMap(new TreeMap<>()));
         this.sumValue = BigDecimal.ZERO;
         for (Asset asset : assetsManagerData.getAssets()) {
             this.idToAssetObsMap.put(asset.getId(), asset);
             this.sumValue = BigDecimal.valueOf(asset.getValue()).add(this.sumValue);
+            this.sumValueCents += asset.getValueCents();
         }
         this.nextAssetId = assetsManagerData.getNextAssetId();
-        this.gui.displaySumAssetsValue(this.sumValue);
+        this.followInSearchIndex(this.idToAssetObsMap, SearchHit.Kind.ASSET,
+                this::indexForSearch);
+        this.followInTransactions(this.idToAssetObsMap);
+    }
+
+    /**
+     * Indexes the specified asset in the search index of the saleBook
+     *
+     * @param id    the id of the asset
+     * @param asset the asset which should be indexed
+     */
+    private void indexForSearch(@NotNull Integer id, @NotNull Asset asset) {
+        this.saleBook.getSearchIndex().put(SearchHit.Kind.ASSET, id, asset.getName(),
+                String.valueOf(id), asset.getSupplier().getName());
+    }
+
+    @Override
+    public void transactionStarted(@NotNull Transaction transaction) {
+        super.transactionStarted(transaction);
+        int nextAssetId = this.nextAssetId;
+        BigDecimal sumValue = this.sumValue;
+        long sumValueCents = this.sumValueCents;
+        transaction.onRollback(() -> {
+            this.nextAssetId = nextAssetId;
+            this.sumValue = sumValue;
+            this.sumValueCents = sumValueCents;
+        });
+    }
+
+    /**
+     * Begins a batch of the observableList of the assets, if it was already requested
+     */
+    @Override
+    protected void beginBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.beginBatch();
+        }
+    }
+
+    /**
+     * Ends the batch of the observableList of the assets, if it was already requested
+     */
+    @Override
+    protected void endBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.endBatch();
+        }
     }
 
     @Override
@@ -83,7 +150,16 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
 
     @Override
     public ObservableList<Asset> getObservableList() {
-        return new ObservableListMapBinder<>(this.idToAssetObsMap).getObservableValuesList();
+        if (this.observableListBinder == null) {
+            this.observableListBinder = new ObservableListMapBinder<>(this.idToAssetObsMap);
+            this.joinBatches(this.observableListBinder::beginBatch);
+        }
+        return this.observableListBinder.getObservableValuesList();
+    }
+
+    @Override
+    public int getListenerCount() {
+        return this.idToAssetObsMap.getListenerCount();
     }
 
     @Override
@@ -127,6 +203,38 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
         return this.sumValue;
     }
 
+    /**
+     * Returns the sum of the values of all assets in cents
+     *
+     * @return the sum of the values of all assets in cents
+     */
+    public long getSumValueCents() {
+        return this.sumValueCents;
+    }
+
+    /**
+     * Returns an unmodifiable view of the assets of this assetsManager.
+     * In contrast to {@link #getObservableList()} no list is bound to the assets.
+     *
+     * @return an unmodifiable view of the assets
+     */
+    @UnmodifiableView
+    public @NotNull Collection<Asset> getAssetsView() {
+        return Collections.unmodifiableCollection(this.idToAssetObsMap.values());
+    }
+
+    /**
+     * Sets the sum value to the specified recomputed sum of the values of the assets and
+     * displays it in the gui
+     *
+     * @param sumValueCents the recomputed sum value in cents
+     */
+    public void correctSumValue(long sumValueCents) {
+        this.checkThread();
+        this.sumValueCents = sumValueCents;
+        this.setSumValue(BigDecimal.valueOf(sumValueCents, 2));
+    }
+
     /**
      * Returns the id for the next asset
      *
@@ -143,16 +251,41 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
      * @return true if the asset were added otherwise false
      */
     public boolean addAsset(@NotNull Asset asset) {
+        this.checkThread();
         Asset oldAsset = this.idToAssetObsMap.putIfAbsent(asset.getId(), asset);
         if (oldAsset == null) {
+            this.sumValueCents += asset.getValueCents();
             this.setSumValue(BigDecimal.valueOf(asset.getValue()), BigDecimal::add);
             this.gui.updateStatus(String.format("asset %d added", asset.getId()));
             this.nextAssetId++;
+            this.recordChange("addAsset", asset);
             return true;
         }
         return false;
     }
 
+    /**
+     * Adds the specified loaded asset without notifying the gui.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param asset the loaded asset
+     */
+    public void loadAsset(@NotNull Asset asset) {
+        this.idToAssetObsMap.put(asset.getId(), asset);
+        this.sumValue = BigDecimal.valueOf(asset.getValue()).add(this.sumValue);
+        this.sumValueCents += asset.getValueCents();
+    }
+
+    /**
+     * Sets the id for the next asset to the loaded nextAssetId.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param nextAssetId the loaded id for the next asset
+     */
+    public void loadNextAssetId(int nextAssetId) {
+        this.nextAssetId = nextAssetId;
+    }
+
     /**
      * Removes the asset with the specified assetId
      *
@@ -160,9 +293,12 @@ public class AssetsManager extends AbstractManager implements Dataable<AssetsMan
      * @return the removed asset or null if no asset with the specified asset id exist.
      */
     public @Nullable Asset removeAsset(int assetId) {
+        this.checkThread();
         Asset removedAsset = this.idToAssetObsMap.remove(assetId);
         if (removedAsset != null) {
+            this.sumValueCents -= removedAsset.getValueCents();
             this.setSumValue(BigDecimal.valueOf(removedAsset.getValue()), BigDecimal::subtract);
+            this.recordChange("removeAsset", assetId);
             this.gui.updateStatus(String.format("asset %d deleted", assetId));
         }
         return removedAsset;
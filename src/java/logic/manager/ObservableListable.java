@@ -17,4 +17,13 @@ public interface ObservableListable<T> {
      * @return an observableList of the concrete class
      */
     ObservableList<T> getObservableList();
+
+    /**
+     * Returns the number of listeners which are attached to the observable map of the concrete
+     * class. Repeated calls of {@link #getObservableList()} share one list, so a number which
+     * grows with these calls indicates a leaked listener.
+     *
+     * @return the number of listeners which are attached to the observable map
+     */
+    int getListenerCount();
 }
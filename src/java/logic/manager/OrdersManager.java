@@ -3,18 +3,23 @@ package logic.manager;
 import data.Dataable;
 import data.OrdersManagerData;
 import gui.FXutils.FXCollectionsUtils;
+import costumeClasses.FXClasses.ListenerCountingObservableMap;
 import costumeClasses.FXClasses.ObservableListMapBinder;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
 import logic.GUIConnector;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
 import logic.order.Order;
 import logic.saleBook.SaleBook;
+import logic.saleBook.Transaction;
+import logic.search.SearchHit;
 import logic.sparePart.SparePart;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 
 /**
@@ -25,10 +30,28 @@ import java.util.TreeMap;
 public class OrdersManager extends AbstractManager implements Dataable<OrdersManagerData>,
         ObservableListable<Order> {
 
+    /**
+     * The latencies of the receipts of orders
+     */
+    private static final LatencyHistogram ORDER_RECEIVED_LATENCY =
+            Metrics.histogram("OrdersManager.orderReceived");
+
+    /**
+     * The latencies of the receipts of ordered spare parts
+     */
+    private static final LatencyHistogram SPARE_PART_RECEIVED_LATENCY =
+            Metrics.histogram("OrdersManager.sparePartReceived");
+
     /**
      * ObservableMap of orders mapped to their matching id
      */
-    private final ObservableMap<Integer, Order> idToOrderObsMap;
+    private final ListenerCountingObservableMap<Integer, Order> idToOrderObsMap;
+
+    /**
+     * The binder of the observableList of the orders, which is created by the first call of
+     * {@link #getObservableList()} and shared by all later calls
+     */
+    private ObservableListMapBinder<Integer, Order> observableListBinder;
 
     /**
      * The id for the next order
@@ -43,8 +66,12 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
      */
     public OrdersManager(@NotNull SaleBook saleBook, @NotNull GUIConnector gui) {
         super(saleBook, gui);
-        this.idToOrderObsMap = FXCollections.observableMap(new TreeMap<>());
+        this.idToOrderObsMap = new ListenerCountingObservableMap<>(
+                FXCollections.observableMap(new TreeMap<>()));
         this.nextOrderId = 1;
+        this.followInSearchIndex(this.idToOrderObsMap, SearchHit.Kind.ORDER,
+                this::indexForSearch);
+        this.followInTransactions(this.idToOrderObsMap);
     }
 
 //    /**
@@ -77,9 +104,12 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
     public OrdersManager(@NotNull SaleBook saleBook, @NotNull GUIConnector gui,
                          @NotNull OrdersManagerData ordersManagerData) {
         super(saleBook, gui);
-        this.idToOrderObsMap = FXCollectionsUtils.toObservableMap(ordersManagerData.getOrders(),
-                Order::getId);
+        this.idToOrderObsMap = new ListenerCountingObservableMap<>(
+                FXCollectionsUtils.toObservableMap(ordersManagerData.getOrders(), Order::getId));
         this.nextOrderId = ordersManagerData.getNextOrderId();
+        this.followInSearchIndex(this.idToOrderObsMap, SearchHit.Kind.ORDER,
+                this::indexForSearch);
+        this.followInTransactions(this.idToOrderObsMap);
     }
 
     /**
@@ -107,9 +137,11 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
      * @return {@code true} if the order was successfully added, otherwise {@code false}
      */
     public boolean addOrder(@NotNull Order order) {
+        this.checkThread();
         Order oldOrder = this.idToOrderObsMap.putIfAbsent(order.getId(), order);
         if (oldOrder == null) {
             this.nextOrderId++;
+            this.recordChange("addOrder", order);
             this.gui.updateStatus(String.format("order %d added", order.getId()));
             return true;
         } else {
@@ -117,6 +149,26 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
         }
     }
 
+    /**
+     * Adds the specified loaded order without notifying the gui.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param order the loaded order
+     */
+    public void loadOrder(@NotNull Order order) {
+        this.idToOrderObsMap.put(order.getId(), order);
+    }
+
+    /**
+     * Sets the id for the next order to the loaded nextOrderId.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param nextOrderId the loaded id for the next order
+     */
+    public void loadNextOrderId(int nextOrderId) {
+        this.nextOrderId = nextOrderId;
+    }
+
     /**
      * Consumes the order with the specified orderId and stores its spare parts
      *
@@ -125,14 +177,26 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
      * @throws IllegalStateException    if the order is not receivable
      */
     public void orderReceived(int orderId) {
+        this.checkThread();
+        ORDER_RECEIVED_LATENCY.time(() -> this.doOrderReceived(orderId));
+    }
+
+    /** Performs {@link #orderReceived(int)} without recording its latency */
+    private void doOrderReceived(int orderId) {
         Order order = this.idToOrderObsMap.get(orderId);
         if (order == null) {
             throw new IllegalArgumentException("no order for id " + orderId);
         }
-        this.saleBook.getSparePartsManager().addSpareParts(order.received());
-        this.saleBook.addFixedCost(order.getValue());
-        this.updateDisplayOrder(order);
-        this.gui.updateStatus(String.format("order %d received", orderId));
+        this.inTransaction(() -> {
+            this.saveForRollback(order);
+            this.saleBook.getChangeJournal().nested(() -> {
+                this.saleBook.getSparePartsManager().addSpareParts(order.received());
+                this.saleBook.addFixedCost(order.getValue());
+            });
+            this.recordChange("orderReceived", orderId);
+            this.updateDisplayOrder(order);
+            this.gui.updateStatus(String.format("order %d received", orderId));
+        });
     }
 
     /**
@@ -143,13 +207,22 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
      * @throws IllegalArgumentException if there is no order with the specified orderId
      */
     public void sparePartReceived(int orderId, @NotNull SparePart orderedSparePart) {
+        this.checkThread();
+        SPARE_PART_RECEIVED_LATENCY.time(() -> this.doSparePartReceived(orderId, orderedSparePart));
+    }
+
+    /** Performs {@link #sparePartReceived(int, SparePart)} without recording its latency */
+    private void doSparePartReceived(int orderId, @NotNull SparePart orderedSparePart) {
         Order order = this.idToOrderObsMap.get(orderId);
         if (order == null) {
             throw new IllegalArgumentException("no order for id " + orderId);
         }
+        this.saveForRollback(order);
         Integer orderQuantity = order.sparePartReceived(orderedSparePart);
         if (orderQuantity != null && orderQuantity > 0) {
-            this.saleBook.getSparePartsManager().addSparePart(orderedSparePart, orderQuantity);
+            this.saleBook.getChangeJournal().nested(() -> this.saleBook.getSparePartsManager()
+                    .addSparePart(orderedSparePart, orderQuantity));
+            this.recordChange("sparePartReceived", orderId, orderedSparePart);
 
             String updateMessage;
             if (order.getState() == Order.OrderState.RECEIVED) {
@@ -171,15 +244,73 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
      * @throws IllegalArgumentException if there is no order with the specified orderId
      */
     public void cancelOrder(int orderId) {
+        this.checkThread();
         Order order = this.idToOrderObsMap.get(orderId);
         if (order == null) {
             throw new IllegalArgumentException("no order for id " + orderId);
         }
+        this.saveForRollback(order);
         order.cancel();
+        this.recordChange("cancelOrder", orderId);
         this.updateDisplayOrder(order);
         this.gui.updateStatus(String.format("order %d cancelled", orderId));
     }
 
+    /**
+     * Indexes the specified order in the search index of the saleBook
+     *
+     * @param id    the id of the order
+     * @param order the order which should be indexed
+     */
+    private void indexForSearch(@NotNull Integer id, @NotNull Order order) {
+        Set<SparePart> spareParts = order.getSpareParts();
+        String[] texts = new String[spareParts.size() + 1];
+        texts[0] = String.valueOf(id);
+        int i = 1;
+        for (SparePart sparePart : spareParts) {
+            texts[i++] = sparePart.getName();
+        }
+        this.saleBook.getSearchIndex().put(SearchHit.Kind.ORDER, id,
+                order.getSupplier().getName(), texts);
+    }
+
+    /**
+     * Saves a copy of the specified order, which will be changed in place, in the current
+     * transaction of the saleBook
+     *
+     * @param order the order which will be changed
+     */
+    private void saveForRollback(@NotNull Order order) {
+        this.saveForRollback(this.idToOrderObsMap, order.getId(), order, Order::new);
+    }
+
+    @Override
+    public void transactionStarted(@NotNull Transaction transaction) {
+        super.transactionStarted(transaction);
+        int nextOrderId = this.nextOrderId;
+        transaction.onRollback(() -> this.nextOrderId = nextOrderId);
+    }
+
+    /**
+     * Begins a batch of the observableList of the orders, if it was already requested
+     */
+    @Override
+    protected void beginBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.beginBatch();
+        }
+    }
+
+    /**
+     * Ends the batch of the observableList of the orders, if it was already requested
+     */
+    @Override
+    protected void endBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.endBatch();
+        }
+    }
+
     @Override
     public OrdersManagerData toData() {
         return new OrdersManagerData(this);
@@ -187,7 +318,16 @@ public class OrdersManager extends AbstractManager implements Dataable<OrdersMan
 
     @Override
     public ObservableList<Order> getObservableList() {
-        return new ObservableListMapBinder<>(this.idToOrderObsMap).getObservableValuesList();
+        if (this.observableListBinder == null) {
+            this.observableListBinder = new ObservableListMapBinder<>(this.idToOrderObsMap);
+            this.joinBatches(this.observableListBinder::beginBatch);
+        }
+        return this.observableListBinder.getObservableValuesList();
+    }
+
+    @Override
+    public int getListenerCount() {
+        return this.idToOrderObsMap.getListenerCount();
     }
 
     @Override
@@ -0,0 +1,420 @@
+package logic.manager;
+
+import logic.Money;
+import logic.Quarter;
+import logic.products.position.Position;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * This class maintains the sums of the positions per month and per category. The sums are
+ * updated incrementally: the contribution of each position is remembered, so a changed position
+ * only subtracts its old contribution and adds its new one, instead of summing all positions
+ * again.
+ * <p>
+ * The variable costs of a position count to the month of its order date, the sale and the
+ * performance of a sold position count to the month of its selling date. The sums of a quarter
+ * or a year are the sums of its months. The sums are kept as {@link Money}, so the costs and
+ * the sale of a position are rounded to cents once and summed exactly.
+ * This class is not synchronized.
+ *
+ * @author xthe_white_lionx
+ * @see PositionsManager
+ */
+public class PositionAggregates {
+
+    /**
+     * This class represents the sums of a group of positions
+     */
+    public static final class Totals {
+
+        /**
+         * The totals of no positions
+         */
+        public static final Totals ZERO = new Totals(Money.ZERO, Money.ZERO, Money.ZERO, 0, 0);
+
+        /**
+         * The sum of the selling prices of the sold positions
+         */
+        private final Money sales;
+
+        /**
+         * The sum of the total costs of the positions
+         */
+        private final Money variableCosts;
+
+        /**
+         * The sum of the performances of the sold positions
+         */
+        private final Money performance;
+
+        /**
+         * The number of the sold positions
+         */
+        private final int soldCount;
+
+        /**
+         * The number of contributions to these totals, the totals are empty if it is 0
+         */
+        private final int contributions;
+
+        /**
+         * Constructor
+         *
+         * @param sales         the sum of the selling prices of the sold positions
+         * @param variableCosts the sum of the total costs of the positions
+         * @param performance   the sum of the performances of the sold positions
+         * @param soldCount     the number of the sold positions
+         * @param contributions the number of contributions to the totals
+         */
+        private Totals(@NotNull Money sales, @NotNull Money variableCosts,
+                       @NotNull Money performance, int soldCount, int contributions) {
+            this.sales = sales;
+            this.variableCosts = variableCosts;
+            this.performance = performance;
+            this.soldCount = soldCount;
+            this.contributions = contributions;
+        }
+
+        /**
+         * Returns the sum of the selling prices of the sold positions
+         *
+         * @return the sum of the selling prices of the sold positions
+         */
+        public @NotNull Money getSales() {
+            return this.sales;
+        }
+
+        /**
+         * Returns the sum of the total costs of the positions
+         *
+         * @return the sum of the total costs of the positions
+         */
+        public @NotNull Money getVariableCosts() {
+            return this.variableCosts;
+        }
+
+        /**
+         * Returns the sum of the performances of the sold positions
+         *
+         * @return the sum of the performances of the sold positions
+         */
+        public @NotNull Money getPerformance() {
+            return this.performance;
+        }
+
+        /**
+         * Returns the number of the sold positions
+         *
+         * @return the number of the sold positions
+         */
+        public int getSoldCount() {
+            return this.soldCount;
+        }
+
+        /**
+         * Returns the sum of these and the specified totals
+         *
+         * @param that the totals which should be added
+         * @return the sum of these and the specified totals
+         */
+        public @NotNull Totals plus(@NotNull Totals that) {
+            return new Totals(this.sales.plus(that.sales),
+                    this.variableCosts.plus(that.variableCosts),
+                    this.performance.plus(that.performance), this.soldCount + that.soldCount,
+                    this.contributions + that.contributions);
+        }
+
+        /**
+         * Returns the difference of these and the specified totals
+         *
+         * @param that the totals which should be subtracted
+         * @return the difference of these and the specified totals
+         */
+        @NotNull Totals minus(@NotNull Totals that) {
+            return new Totals(this.sales.minus(that.sales),
+                    this.variableCosts.minus(that.variableCosts),
+                    this.performance.minus(that.performance), this.soldCount - that.soldCount,
+                    this.contributions - that.contributions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Totals that)) {
+                return false;
+            }
+            return this.soldCount == that.soldCount
+                    && this.sales.equals(that.sales)
+                    && this.variableCosts.equals(that.variableCosts)
+                    && this.performance.equals(that.performance);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.sales, this.variableCosts, this.performance, this.soldCount);
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" + "sales=" + this.sales +
+                    ", variableCosts=" + this.variableCosts +
+                    ", performance=" + this.performance +
+                    ", soldCount=" + this.soldCount +
+                    '}';
+        }
+    }
+
+    /**
+     * The contribution of a position to the sums
+     *
+     * @param category     the category of the position in lower case
+     * @param orderMonth   the month of the order date of the position
+     * @param costs        the contribution of the costs of the position
+     * @param sellingMonth the month of the selling date or null, if the position is not sold
+     * @param sale         the contribution of the sale of the position
+     */
+    private record Contribution(@NotNull String category, @NotNull YearMonth orderMonth,
+                                @NotNull Totals costs, @Nullable YearMonth sellingMonth,
+                                @NotNull Totals sale) {
+    }
+
+    /**
+     * The contributions of the positions mapped to the id of their position
+     */
+    private final Map<Integer, Contribution> idToContribution;
+
+    /**
+     * The sums of the positions mapped to their month
+     */
+    private final NavigableMap<YearMonth, Totals> monthToTotals;
+
+    /**
+     * The sums of the positions mapped to their category in lower case
+     */
+    private final Map<String, Totals> categoryToTotals;
+
+    /**
+     * The sums of all positions
+     */
+    private Totals totals;
+
+    /**
+     * Creates new empty PositionAggregates
+     */
+    PositionAggregates() {
+        this.idToContribution = new HashMap<>();
+        this.monthToTotals = new TreeMap<>();
+        this.categoryToTotals = new TreeMap<>();
+        this.totals = Totals.ZERO;
+    }
+
+    /**
+     * Adds the contribution of the specified position to the sums or replaces its old
+     * contribution, if the position was already added
+     *
+     * @param position the position which should be added
+     */
+    void update(@NotNull Position position) {
+        Money totalCost = Money.ofCents(position.getTotalCostCents());
+        Totals costs = new Totals(Money.ZERO, totalCost, Money.ZERO, 0, 1);
+        LocalDate sellingDate = position.getSellingDate();
+        YearMonth sellingMonth = null;
+        Totals sale = Totals.ZERO;
+        if (position.isSold() && sellingDate != null) {
+            sellingMonth = YearMonth.from(sellingDate);
+            Money sellingPrice = Money.ofCents(position.getSellingPriceCents());
+            sale = new Totals(sellingPrice, Money.ZERO, sellingPrice.minus(totalCost), 1, 1);
+        }
+
+        Contribution contribution = new Contribution(
+                PositionIndex.normalizeCategory(position.getCategory()),
+                YearMonth.from(position.getOrderDate()), costs, sellingMonth, sale);
+        Contribution oldContribution = this.idToContribution.put(position.getId(), contribution);
+        if (oldContribution != null) {
+            this.subtract(oldContribution);
+        }
+        this.add(contribution);
+    }
+
+    /**
+     * Removes the contribution of the position with the specified id from the sums
+     *
+     * @param id the id of the position which should be removed
+     */
+    void remove(int id) {
+        Contribution contribution = this.idToContribution.remove(id);
+        if (contribution != null) {
+            this.subtract(contribution);
+        }
+    }
+
+    /**
+     * Returns the current contribution of the position with the specified id to the sums or
+     * {@link Totals#ZERO}, if the position was not added
+     *
+     * @param id the id of the position
+     * @return the contribution of the position to the sums
+     */
+    @NotNull Totals getTotalsOf(int id) {
+        Contribution contribution = this.idToContribution.get(id);
+        return contribution == null ? Totals.ZERO : contribution.costs().plus(contribution.sale());
+    }
+
+    /**
+     * Returns the sums of all positions
+     *
+     * @return the sums of all positions
+     */
+    public @NotNull Totals getTotals() {
+        return this.totals;
+    }
+
+    /**
+     * Returns the sums of the specified month
+     *
+     * @param month the month of the sums
+     * @return the sums of the specified month
+     */
+    public @NotNull Totals getTotals(@NotNull YearMonth month) {
+        return this.monthToTotals.getOrDefault(month, Totals.ZERO);
+    }
+
+    /**
+     * Returns the sums of the specified quarter of the specified year
+     *
+     * @param year    the year of the quarter
+     * @param quarter the quarter of the sums
+     * @return the sums of the specified quarter
+     */
+    public @NotNull Totals getTotals(int year, @NotNull Quarter quarter) {
+        Totals result = Totals.ZERO;
+        for (Month month : Month.values()) {
+            if (quarter.contains(month)) {
+                result = result.plus(this.getTotals(YearMonth.of(year, month)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sums of the specified year
+     *
+     * @param year the year of the sums
+     * @return the sums of the specified year
+     */
+    public @NotNull Totals getTotals(int year) {
+        Totals result = Totals.ZERO;
+        for (Totals monthTotals : this.monthToTotals.subMap(YearMonth.of(year, Month.JANUARY),
+                true, YearMonth.of(year, Month.DECEMBER), true).values()) {
+            result = result.plus(monthTotals);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sums of the specified category, ignoring the case like the
+     * {@link PositionsManager#findPositionIds secondary indexes}
+     *
+     * @param category the category of the sums
+     * @return the sums of the specified category
+     */
+    public @NotNull Totals getTotalsOfCategory(@NotNull String category) {
+        return this.categoryToTotals.getOrDefault(PositionIndex.normalizeCategory(category),
+                Totals.ZERO);
+    }
+
+    /**
+     * Returns an unmodifiable view of the sums mapped to their month in ascending order
+     *
+     * @return an unmodifiable view of the sums per month
+     */
+    @UnmodifiableView
+    public @NotNull NavigableMap<YearMonth, Totals> getMonthlyTotals() {
+        return Collections.unmodifiableNavigableMap(this.monthToTotals);
+    }
+
+    /**
+     * Returns an unmodifiable view of the sums mapped to their category in lower case in
+     * ascending order
+     *
+     * @return an unmodifiable view of the sums per category
+     */
+    @UnmodifiableView
+    public @NotNull Map<String, Totals> getCategoryTotals() {
+        return Collections.unmodifiableMap(this.categoryToTotals);
+    }
+
+    /**
+     * Adds the specified contribution to the sums
+     *
+     * @param contribution the contribution which should be added
+     */
+    private void add(@NotNull Contribution contribution) {
+        merge(this.monthToTotals, contribution.orderMonth(), contribution.costs());
+        if (contribution.sellingMonth() != null) {
+            merge(this.monthToTotals, contribution.sellingMonth(), contribution.sale());
+        }
+        merge(this.categoryToTotals, contribution.category(),
+                contribution.costs().plus(contribution.sale()));
+        this.totals = this.totals.plus(contribution.costs()).plus(contribution.sale());
+    }
+
+    /**
+     * Subtracts the specified contribution from the sums
+     *
+     * @param contribution the contribution which should be subtracted
+     */
+    private void subtract(@NotNull Contribution contribution) {
+        unmerge(this.monthToTotals, contribution.orderMonth(), contribution.costs());
+        if (contribution.sellingMonth() != null) {
+            unmerge(this.monthToTotals, contribution.sellingMonth(), contribution.sale());
+        }
+        unmerge(this.categoryToTotals, contribution.category(),
+                contribution.costs().plus(contribution.sale()));
+        this.totals = this.totals.minus(contribution.costs()).minus(contribution.sale());
+    }
+
+    /**
+     * Adds the specified totals to the totals of the specified key
+     *
+     * @param keyToTotals the totals mapped to their key
+     * @param key         the key of the totals
+     * @param totals      the totals which should be added
+     * @param <K>         the type of the keys
+     */
+    private static <K> void merge(@NotNull Map<K, Totals> keyToTotals, @NotNull K key,
+                                  @NotNull Totals totals) {
+        keyToTotals.merge(key, totals, Totals::plus);
+    }
+
+    /**
+     * Subtracts the specified totals from the totals of the specified key and removes the
+     * totals of the key, if no contribution is left
+     *
+     * @param keyToTotals the totals mapped to their key
+     * @param key         the key of the totals
+     * @param totals      the totals which should be subtracted
+     * @param <K>         the type of the keys
+     */
+    private static <K> void unmerge(@NotNull Map<K, Totals> keyToTotals, @NotNull K key,
+                                    @NotNull Totals totals) {
+        keyToTotals.computeIfPresent(key, (k, oldTotals) -> {
+            Totals newTotals = oldTotals.minus(totals);
+            return newTotals.contributions == 0 ? null : newTotals;
+        });
+    }
+}
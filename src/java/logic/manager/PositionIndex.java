@@ -0,0 +1,348 @@
+package logic.manager;
+
+import logic.products.position.Position;
+import logic.products.position.State;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A PositionIndex maps the state, the category, the month of the order date and the month of
+ * the selling date of positions to the ids of the positions. Queries over these attributes are
+ * answered by intersecting the id sets instead of testing each position.
+ * The indexed attributes of each position are remembered, so a changed position can be removed
+ * from its old id sets.
+ * This class is not synchronized.
+ *
+ * @author xthe_white_lionx
+ * @see PositionsManager
+ */
+final class PositionIndex {
+
+    /**
+     * The indexed attributes of a position
+     *
+     * @param state        the state of the position
+     * @param category     the category of the position in lower case
+     * @param orderMonth   the month of the order date of the position
+     * @param sellingMonth the month of the selling date of the position or null, if the
+     *                     position is not sold
+     */
+    private record Entry(@NotNull State state, @NotNull String category,
+                         @NotNull YearMonth orderMonth, @Nullable YearMonth sellingMonth) {
+    }
+
+    /**
+     * The indexed attributes mapped to the id of their position, sorted by the id
+     */
+    private final NavigableMap<Integer, Entry> idToEntry;
+
+    /**
+     * The ids of the positions mapped to their state
+     */
+    private final Map<State, Set<Integer>> stateToIds;
+
+    /**
+     * The ids of the positions mapped to their category in lower case
+     */
+    private final Map<String, Set<Integer>> categoryToIds;
+
+    /**
+     * The ids of the positions mapped to the month of their order date
+     */
+    private final Map<YearMonth, Set<Integer>> orderMonthToIds;
+
+    /**
+     * The ids of the sold positions mapped to the month of their selling date
+     */
+    private final Map<YearMonth, Set<Integer>> sellingMonthToIds;
+
+    /**
+     * The number of the changes of this index, so the filters know when to query again
+     */
+    private int modCount;
+
+    /**
+     * Creates a new empty PositionIndex
+     */
+    PositionIndex() {
+        this.idToEntry = new TreeMap<>();
+        this.stateToIds = new EnumMap<>(State.class);
+        this.categoryToIds = new HashMap<>();
+        this.orderMonthToIds = new TreeMap<>();
+        this.sellingMonthToIds = new TreeMap<>();
+    }
+
+    /**
+     * Adds the specified position to this index or updates its attributes, if the position is
+     * already indexed
+     *
+     * @param position the position which should be indexed
+     */
+    void update(@NotNull Position position) {
+        int id = position.getId();
+        LocalDate sellingDate = position.getSellingDate();
+        Entry entry = new Entry(position.getState(), normalizeCategory(position.getCategory()),
+                YearMonth.from(position.getOrderDate()),
+                sellingDate == null ? null : YearMonth.from(sellingDate));
+        Entry oldEntry = this.idToEntry.put(id, entry);
+        if (entry.equals(oldEntry)) {
+            return;
+        }
+
+        this.modCount++;
+        if (oldEntry != null) {
+            this.removeEntry(id, oldEntry);
+        }
+        this.stateToIds.computeIfAbsent(entry.state(), key -> new HashSet<>()).add(id);
+        this.categoryToIds.computeIfAbsent(entry.category(), key -> new HashSet<>()).add(id);
+        this.orderMonthToIds.computeIfAbsent(entry.orderMonth(), key -> new HashSet<>()).add(id);
+        if (entry.sellingMonth() != null) {
+            this.sellingMonthToIds.computeIfAbsent(entry.sellingMonth(), key -> new HashSet<>())
+                    .add(id);
+        }
+    }
+
+    /**
+     * Removes the position with the specified id from this index
+     *
+     * @param id the id of the position which should be removed
+     */
+    void remove(int id) {
+        Entry entry = this.idToEntry.remove(id);
+        if (entry != null) {
+            this.modCount++;
+            this.removeEntry(id, entry);
+        }
+    }
+
+    /**
+     * Returns the ids of the positions which match all the specified attributes. An attribute
+     * which is null does not restrict the result.
+     *
+     * @param category      the category of the positions, ignoring the case
+     * @param state         the state of the positions
+     * @param orderMonths   the months in which the positions may be ordered
+     * @param sellingMonths the months in which the positions may be sold
+     * @return the ids of the matching positions
+     */
+    @NotNull Set<Integer> find(@Nullable String category, @Nullable State state,
+                               @Nullable Collection<YearMonth> orderMonths,
+                               @Nullable Collection<YearMonth> sellingMonths) {
+        List<Set<Integer>> candidates = new ArrayList<>(4);
+        if (category != null) {
+            candidates.add(this.categoryToIds.getOrDefault(normalizeCategory(category), Set.of()));
+        }
+        if (state != null) {
+            candidates.add(this.stateToIds.getOrDefault(state, Set.of()));
+        }
+        if (orderMonths != null) {
+            candidates.add(union(this.orderMonthToIds, orderMonths));
+        }
+        if (sellingMonths != null) {
+            candidates.add(union(this.sellingMonthToIds, sellingMonths));
+        }
+        if (candidates.isEmpty()) {
+            return new HashSet<>(this.idToEntry.keySet());
+        }
+
+        candidates.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> result = new HashSet<>(candidates.get(0));
+        for (int i = 1; i < candidates.size() && !result.isEmpty(); i++) {
+            result.retainAll(candidates.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a filter, which accepts the positions matching all the specified attributes. An
+     * attribute which is null does not restrict the filter. The filter stays valid for positions
+     * which are added, changed or removed after its creation.
+     *
+     * @param category      the category of the positions, ignoring the case
+     * @param state         the state of the positions
+     * @param orderMonths   the months in which the positions may be ordered
+     * @param sellingMonths the months in which the positions may be sold
+     * @return the filter of the matching positions
+     * @see #find(String, State, Collection, Collection)
+     */
+    @NotNull Predicate<Position> filter(@Nullable String category, @Nullable State state,
+                                        @Nullable Collection<YearMonth> orderMonths,
+                                        @Nullable Collection<YearMonth> sellingMonths) {
+        if (category == null && state == null && orderMonths == null && sellingMonths == null) {
+            return position -> true;
+        }
+        return new QueryFilter(() -> this.find(category, state, orderMonths, sellingMonths));
+    }
+
+    /**
+     * Returns a filter, which accepts the positions whose id starts with the specified prefix.
+     * The filter stays valid for positions which are added or removed after its creation.
+     *
+     * @param prefix the prefix of the ids
+     * @return the filter of the positions with the prefix
+     * @see #findIdsWithPrefix(int)
+     */
+    @NotNull Predicate<Position> idPrefixFilter(int prefix) {
+        return new QueryFilter(() -> new HashSet<>(this.findIdsWithPrefix(prefix)));
+    }
+
+    /**
+     * Returns the ids whose decimal representation starts with the decimal representation of
+     * the specified prefix. The ids are found by range queries of the sorted ids without
+     * converting any id to a string: the ids with a prefix p are p itself and the ranges
+     * [p * 10, p * 10 + 9], [p * 100, p * 100 + 99] and so on up to the greatest id.
+     *
+     * @param prefix the prefix of the ids
+     * @return the ids with the specified prefix in ascending order
+     */
+    @NotNull List<Integer> findIdsWithPrefix(int prefix) {
+        List<Integer> result = new ArrayList<>();
+        if (prefix <= 0 || this.idToEntry.isEmpty()) {
+            return result;
+        }
+
+        long greatestId = this.idToEntry.lastKey();
+        long from = prefix;
+        long to = prefix;
+        while (from <= greatestId) {
+            result.addAll(this.idToEntry.subMap((int) from, true,
+                    (int) Math.min(to, greatestId), true).keySet());
+            from *= 10;
+            to = to * 10 + 9;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed positions
+     *
+     * @return the number of indexed positions
+     */
+    int size() {
+        return this.idToEntry.size();
+    }
+
+    /**
+     * Removes the specified id from the id sets of the specified entry
+     *
+     * @param id    the id which should be removed
+     * @param entry the indexed attributes of the position with the specified id
+     */
+    private void removeEntry(int id, @NotNull Entry entry) {
+        removeId(this.stateToIds, entry.state(), id);
+        removeId(this.categoryToIds, entry.category(), id);
+        removeId(this.orderMonthToIds, entry.orderMonth(), id);
+        if (entry.sellingMonth() != null) {
+            removeId(this.sellingMonthToIds, entry.sellingMonth(), id);
+        }
+    }
+
+    /**
+     * Removes the specified id from the id set of the specified key and removes the id set, if
+     * it becomes empty
+     *
+     * @param keyToIds the ids mapped to their key
+     * @param key      the key of the id set
+     * @param id       the id which should be removed
+     * @param <K>      the type of the keys
+     */
+    private static <K> void removeId(@NotNull Map<K, Set<Integer>> keyToIds, @NotNull K key,
+                                     int id) {
+        Set<Integer> ids = keyToIds.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            keyToIds.remove(key);
+        }
+    }
+
+    /**
+     * Returns the union of the id sets of the specified months
+     *
+     * @param monthToIds the ids mapped to their month
+     * @param months     the months whose id sets should be united
+     * @return the union of the id sets of the specified months
+     */
+    private static @NotNull Set<Integer> union(@NotNull Map<YearMonth, Set<Integer>> monthToIds,
+                                               @NotNull Collection<YearMonth> months) {
+        if (months.size() == 1) {
+            return monthToIds.getOrDefault(months.iterator().next(), Set.of());
+        }
+
+        Set<Integer> result = new HashSet<>();
+        for (YearMonth month : months) {
+            result.addAll(monthToIds.getOrDefault(month, Collections.emptySet()));
+        }
+        return result;
+    }
+
+    /**
+     * A filter which accepts the positions whose ids are returned by a query of this index. The
+     * query is run by the first test and again by the first test after this index was changed,
+     * so the filter follows added, changed and removed positions without testing their
+     * attributes one by one.
+     */
+    private final class QueryFilter implements Predicate<Position> {
+
+        /**
+         * The query of the ids of the accepted positions
+         */
+        private final Supplier<Set<Integer>> query;
+
+        /**
+         * The modCount of the index at the last run of the query
+         */
+        private int queriedModCount;
+
+        /**
+         * The ids of the accepted positions or null if the query was not run yet
+         */
+        private Set<Integer> ids;
+
+        /**
+         * Constructor
+         *
+         * @param query the query of the ids of the accepted positions
+         */
+        private QueryFilter(@NotNull Supplier<Set<Integer>> query) {
+            this.query = query;
+        }
+
+        @Override
+        public boolean test(@NotNull Position position) {
+            if (this.ids == null || this.queriedModCount != PositionIndex.this.modCount) {
+                this.ids = this.query.get();
+                this.queriedModCount = PositionIndex.this.modCount;
+            }
+            return this.ids.contains(position.getId());
+        }
+    }
+
+    /**
+     * Returns the specified category in lower case, so categories are indexed and aggregated
+     * ignoring the case
+     *
+     * @param category the category which should be normalized
+     * @return the specified category in lower case
+     * @see PositionAggregates
+     */
+    static @NotNull String normalizeCategory(@NotNull String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,26 +4,39 @@ import data.PositionsManagerData;
 import gui.FXutils.LabelUtils;
 import costumeClasses.FXClasses.FilteredTreeItem;
 import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
 import data.Dataable;
 import javafx.concurrent.Task;
 import logic.GUIConnector;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
 import logic.article.Article;
 import logic.article.SingleArticle;
 import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import logic.products.item.ItemData;
 import logic.products.position.Position;
+import logic.products.position.PositionData;
 import logic.products.position.AbstractPosition;
 import logic.products.position.ShippingCompany;
 import logic.products.position.State;
 import gui.FXutils.FXCollectionsUtils;
+import logic.saleBook.ChangeJournal;
+import logic.saleBook.CopyOnWriteSnapshot;
 import logic.saleBook.SaleBook;
+import logic.saleBook.Transaction;
+import logic.search.SearchHit;
 import logic.sparePart.SparePart;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * This class manages {@link Position Positions}.
@@ -34,6 +47,48 @@ import java.util.*;
  * @author xthe_white_lionx
  */
 public class PositionsManager extends AbstractManager implements Dataable<PositionsManagerData> {
+    /**
+     * The latencies of the additions of positions
+     */
+    private static final LatencyHistogram ADD_POSITION_LATENCY =
+            Metrics.histogram("PositionsManager.addPosition");
+
+    /**
+     * The latencies of the removals of positions
+     */
+    private static final LatencyHistogram REMOVE_POSITION_LATENCY =
+            Metrics.histogram("PositionsManager.removePosition");
+
+    /**
+     * The latencies of the repairs of positions
+     */
+    private static final LatencyHistogram REPAIR_POSITION_LATENCY =
+            Metrics.histogram("PositionsManager.repairPosition");
+
+    /**
+     * The latencies of the sales of positions
+     */
+    private static final LatencyHistogram SALE_LATENCY =
+            Metrics.histogram("PositionsManager.sale");
+
+    /**
+     * The latencies of the shipments of positions
+     */
+    private static final LatencyHistogram SHIPPED_LATENCY =
+            Metrics.histogram("PositionsManager.shipped");
+
+    /**
+     * The latencies of the divisions of positions
+     */
+    private static final LatencyHistogram DIVIDE_POSITION_LATENCY =
+            Metrics.histogram("PositionsManager.dividePosition");
+
+    /**
+     * The latencies of the combinations of positions
+     */
+    private static final LatencyHistogram COMBINE_POSITIONS_LATENCY =
+            Metrics.histogram("PositionsManager.combinePositions");
+
     /**
      * ObservableMap of positions mapped to their matching id
      */
@@ -44,6 +99,31 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      */
     private int nextPosId;
 
+    /**
+     * The FilteredTreeItem which is bound to the positions of this manager or null, if it was
+     * not requested yet
+     */
+    private FilteredTreeItem<Integer> filteredTreeItem;
+
+    /**
+     * The secondary index over the state, category, order month and selling month of the
+     * positions, which is kept in sync with the idToPositionObsMap
+     */
+    private final PositionIndex positionIndex;
+
+    /**
+     * The sums of the positions per month and per category, which are kept in sync with the
+     * idToPositionObsMap
+     */
+    private final PositionAggregates positionAggregates;
+
+    /**
+     * The snapshots of the positions, which are weakly referenced, so a snapshot is dropped
+     * together with its reader. Guarded by itself.
+     */
+    private final Set<CopyOnWriteSnapshot<Position, PositionData>> snapshots =
+            Collections.newSetFromMap(new WeakHashMap<>());
+
     /**
      * Constructor
      *
@@ -54,6 +134,12 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
         super(saleBook, gui);
         this.idToPositionObsMap = FXCollections.observableMap(new TreeMap<>());
         this.nextPosId = 1;
+        this.positionIndex = new PositionIndex();
+        this.positionAggregates = new PositionAggregates();
+        this.followPositions();
+        this.followInSearchIndex(this.idToPositionObsMap, SearchHit.Kind.POSITION,
+                this::indexForSearch);
+        this.followInTransactions(this.idToPositionObsMap);
     }
 
     /**
@@ -69,10 +155,27 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
         super(saleBook, gui);
         this.idToPositionObsMap = FXCollectionsUtils.toObservableMap(positions, AbstractPosition::getId);
         this.nextPosId = nextPosId;
+        this.positionIndex = new PositionIndex();
+        this.positionAggregates = new PositionAggregates();
+        this.followPositions();
+        this.followInSearchIndex(this.idToPositionObsMap, SearchHit.Kind.POSITION,
+                this::indexForSearch);
+        this.followInTransactions(this.idToPositionObsMap);
     }
 
+    /**
+     * Returns the FilteredTreeItem which is bound to the positions of this manager. The
+     * FilteredTreeItem is created by the first call and reused afterward, so that changes of
+     * several positions can be applied to it as one batch.
+     *
+     * @return the FilteredTreeItem which is bound to the positions of this manager
+     */
     public @NotNull FilteredTreeItem<Integer> toFilteredTreeItem() {
-        return new FilteredTreeItem<>(this.idToPositionObsMap);
+        if (this.filteredTreeItem == null) {
+            this.filteredTreeItem = new FilteredTreeItem<>(this.idToPositionObsMap);
+            this.joinBatches(this.filteredTreeItem::beginBatch);
+        }
+        return this.filteredTreeItem;
     }
 
     /**
@@ -84,6 +187,134 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
         return new TreeSet<>(this.idToPositionObsMap.values());
     }
 
+    /**
+     * Returns an unmodifiable view of the positions of this positionsManager sorted by their id.
+     * In contrast to {@link #getPositions()} the positions are not copied.
+     *
+     * @return an unmodifiable view of the positions of this positionsManager
+     */
+    @UnmodifiableView
+    public @NotNull Collection<Position> getPositionsView() {
+        return Collections.unmodifiableCollection(this.idToPositionObsMap.values());
+    }
+
+    /**
+     * Takes a snapshot of the positions, which can be read on another thread while the positions
+     * are changed. The snapshot only references the positions, the data of a position is only
+     * copied if the position is changed while the snapshot is still referenced. The snapshot has
+     * to be taken on the thread which changes the positions.
+     *
+     * @return the snapshot of the positions
+     */
+    public @NotNull CopyOnWriteSnapshot<Position, PositionData> snapshotPositions() {
+        CopyOnWriteSnapshot<Position, PositionData> snapshot = new CopyOnWriteSnapshot<>(
+                this.idToPositionObsMap.values().toArray(new Position[0]), Position::toData);
+        synchronized (this.snapshots) {
+            this.snapshots.add(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Prepares the position with the specified positionId to be edited in place, for example by
+     * a dialog: the snapshots keep the current data of the position. This has to be called
+     * before the position or one of its items is changed directly, the edit is recorded by
+     * {@link #positionEdited(int)} afterwards.
+     *
+     * @param positionId the id of the position which will be edited
+     * @throws IllegalArgumentException if there is no position with the specified positionId
+     */
+    public void prepareEdit(int positionId) {
+        this.checkThread();
+        Position position = this.idToPositionObsMap.get(positionId);
+        if (position == null) {
+            throw new IllegalArgumentException("no position for id " + positionId);
+        }
+        this.preserveInSnapshots(position);
+    }
+
+    /**
+     * Returns the position with the specified id
+     *
+     * @param id the id of the searched position
+     * @return the position with the specified id or null if there is no such position
+     */
+    public @Nullable Position getPosition(int id) {
+        return this.idToPositionObsMap.get(id);
+    }
+
+    /**
+     * Returns the ids of the positions which match all the specified attributes. An attribute
+     * which is null does not restrict the result. The result is computed by intersecting the
+     * secondary indexes of this manager, so the positions are not tested one by one.
+     *
+     * @param category      the category of the positions, ignoring the case
+     * @param state         the state of the positions
+     * @param orderMonths   the months in which the positions may be ordered
+     * @param sellingMonths the months in which the positions may be sold
+     * @return the ids of the matching positions
+     */
+    public @NotNull Set<Integer> findPositionIds(@Nullable String category, @Nullable State state,
+                                                 @Nullable Collection<YearMonth> orderMonths,
+                                                 @Nullable Collection<YearMonth> sellingMonths) {
+        return this.positionIndex.find(category, state, orderMonths, sellingMonths);
+    }
+
+    /**
+     * Returns a filter, which accepts the positions matching all the specified attributes. An
+     * attribute which is null does not restrict the filter. The matching ids are queried from
+     * the secondary indexes of this manager and queried again after the indexes were changed,
+     * so the filter stays valid for positions which are added, divided, combined or changed
+     * after its creation.
+     *
+     * @param category      the category of the positions, ignoring the case
+     * @param state         the state of the positions
+     * @param orderMonths   the months in which the positions may be ordered
+     * @param sellingMonths the months in which the positions may be sold
+     * @return the filter of the matching positions
+     */
+    public @NotNull Predicate<Position> createPositionFilter(
+            @Nullable String category, @Nullable State state,
+            @Nullable Collection<YearMonth> orderMonths,
+            @Nullable Collection<YearMonth> sellingMonths) {
+        return this.positionIndex.filter(category, state, orderMonths, sellingMonths);
+    }
+
+    /**
+     * Returns a filter, which accepts the positions whose decimal representation of the id
+     * starts with the decimal representation of the specified prefix. The filter stays valid
+     * for positions which are added or removed after its creation.
+     *
+     * @param prefix the prefix of the ids
+     * @return the filter of the positions with the prefix
+     * @see #findPositionIdsWithPrefix(int)
+     */
+    public @NotNull Predicate<Position> createIdPrefixFilter(int prefix) {
+        return this.positionIndex.idPrefixFilter(prefix);
+    }
+
+    /**
+     * Returns the ids of the positions whose decimal representation starts with the decimal
+     * representation of the specified prefix, e.g. the prefix 12 matches the ids 12, 120 and
+     * 1234
+     *
+     * @param prefix the prefix of the ids
+     * @return the matching ids in ascending order, empty if the prefix is not positive
+     */
+    public @NotNull List<Integer> findPositionIdsWithPrefix(int prefix) {
+        return this.positionIndex.findIdsWithPrefix(prefix);
+    }
+
+    /**
+     * Returns the sums of the positions of this manager per month, quarter, year and category.
+     * The sums are updated incrementally on each change of a position.
+     *
+     * @return the sums of the positions of this manager
+     */
+    public @NotNull PositionAggregates getAggregates() {
+        return this.positionAggregates;
+    }
+
     /**
      * Returns the next id for a position
      *
@@ -101,6 +332,12 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if the id of the specified position is already used
      */
     public boolean addPosition(@NotNull Position position) {
+        this.checkThread();
+        return ADD_POSITION_LATENCY.time(() -> this.doAddPosition(position));
+    }
+
+    /** Performs {@link #addPosition(Position)} without recording its latency */
+    private boolean doAddPosition(@NotNull Position position) {
         int id = position.getId();
         if (this.nextPosId != id) {
             throw new IllegalArgumentException("expected id is %d but is %d".formatted(this.nextPosId, id));
@@ -113,12 +350,33 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
             if (position.isSold()) {
                 this.saleBook.addSale(position.getSellingPrice());
             }
+            this.recordChange("addPosition", position);
             this.gui.updateStatus(String.format("position %d successfully added", position.getId()));
             return true;
         }
         return false;
     }
 
+    /**
+     * Adds the specified loaded position to this positionsManager without notifying the gui.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param position the loaded position
+     */
+    public void loadPosition(@NotNull Position position) {
+        this.idToPositionObsMap.put(position.getId(), position);
+    }
+
+    /**
+     * Sets the id for the next position to the loaded nextPosId.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param nextPosId the loaded id for the next position
+     */
+    public void loadNextPosId(int nextPosId) {
+        this.nextPosId = nextPosId;
+    }
+
     /**
      * Adds the specified item to the position with the specified posId
      *
@@ -128,12 +386,16 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if no position with the specified posId exist
      */
     public boolean addItemToPosition(int posId, @NotNull Item item) {
+        this.checkThread();
         Position position = this.idToPositionObsMap.get(posId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + posId);
         }
+        this.beforeChange(position);
         boolean added = position.addItem(item);
         if (added) {
+            this.positionChanged(position);
+            this.recordChange("addItemToPosition", posId, item);
             this.gui.updateStatus(String.format("item %d of position %d successfully added", item.getId(), posId));
         }
 
@@ -147,12 +409,19 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @return the removed position
      */
     public @Nullable Position removePosition(int id) {
+        this.checkThread();
+        return REMOVE_POSITION_LATENCY.time(() -> this.doRemovePosition(id));
+    }
+
+    /** Performs {@link #removePosition(int)} without recording its latency */
+    private @Nullable Position doRemovePosition(int id) {
         Position position = this.idToPositionObsMap.remove(id);
         if (position != null) {
             this.saleBook.subtractVariableCosts(position.getTotalCost());
             if (position.isSold()) {
                 this.saleBook.subtractSale(position.getSellingPrice());
             }
+            this.recordChange("removePosition", id);
             this.gui.updateStatus(String.format("position %d successfully deleted", id));
         }
         return position;
@@ -168,6 +437,7 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      *                                  if the target position doesn't contain the item with the specified itemId
      */
     public @Nullable Item removeItem(int positionId, int itemId) {
+        this.checkThread();
         Position position = this.idToPositionObsMap.get(positionId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
@@ -176,8 +446,11 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
             throw new IllegalArgumentException("a position must have at least 1 item");
         }
 
+        this.beforeChange(position);
         Item removedItem = position.removeItemById(itemId);
         if (removedItem != null) {
+            this.positionChanged(position);
+            this.recordChange("removeItem", positionId, itemId);
             this.gui.updateStatus(String.format("item %d of position %d successfully deleted", itemId, positionId));
         }
 
@@ -193,11 +466,15 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if there is no position with the specified positionId
      */
     public void setReceived(int positionId, @NotNull LocalDate receivedDate) {
+        this.checkThread();
         Position position = this.idToPositionObsMap.get(positionId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
         }
+        this.beforeChange(position);
         position.setReceived(receivedDate);
+        this.positionChanged(position);
+        this.recordChange("setReceived", positionId, receivedDate);
         this.gui.refreshPosition();
         this.gui.updateStatus(String.format("position %d set on received", positionId));
     }
@@ -210,12 +487,16 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if there is no position with the specified positionId
      */
     public void addCostToPosition(int positionId, @NotNull BigDecimal newCost) {
+        this.checkThread();
         Position position = this.idToPositionObsMap.get(positionId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
         }
+        this.beforeChange(position);
         position.addCost(newCost);
+        this.positionChanged(position);
         this.saleBook.addVariableCosts(newCost);
+        this.recordChange("addCostToPosition", positionId, newCost);
         this.gui.refreshPosition();
         this.gui.updateStatus(String.format("cost %.2f %s add to position %d", newCost, LabelUtils.SYMBOL_OF_CURRENCY, positionId));
     }
@@ -231,15 +512,28 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      *                                  sparePartsToCount is null
      */
     public void repairPosition(int positionId, @NotNull Map<SparePart, Integer> sparePartsToCount) {
+        this.checkThread();
+        REPAIR_POSITION_LATENCY.time(() -> this.doRepairPosition(positionId, sparePartsToCount));
+    }
+
+    /** Performs {@link #repairPosition(int, Map)} without recording its latency */
+    private void doRepairPosition(int positionId,
+                                  @NotNull Map<SparePart, Integer> sparePartsToCount) {
         Position position = this.idToPositionObsMap.get(positionId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
         }
 
-        this.saleBook.getSparePartsManager().useSparParts(sparePartsToCount);
-        position.setState(State.REPAIRED);
-        this.gui.refreshPosition();
-        this.gui.updateStatus(String.format("position %d repaired", positionId));
+        this.inTransaction(() -> {
+            this.beforeChange(position);
+            this.saleBook.getChangeJournal().nested(() ->
+                    this.saleBook.getSparePartsManager().useSparParts(sparePartsToCount));
+            position.setState(State.REPAIRED);
+            this.positionChanged(position);
+            this.recordChange("repairPosition", positionId, sparePartsToCount);
+            this.gui.refreshPosition();
+            this.gui.updateStatus(String.format("position %d repaired", positionId));
+        });
     }
 
     /**
@@ -251,11 +545,24 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if there is no position with the specified positionId
      */
     public void sale(int positionId, @NotNull LocalDate sellingDate, @NotNull BigDecimal sellingPrice) {
+        this.checkThread();
+        SALE_LATENCY.time(() -> this.doSale(positionId, sellingDate, sellingPrice));
+    }
+
+    /** Performs {@link #sale(int, LocalDate, BigDecimal)} without recording its latency */
+    private void doSale(int positionId, @NotNull LocalDate sellingDate,
+                        @NotNull BigDecimal sellingPrice) {
         Position position = this.idToPositionObsMap.get(positionId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
         }
+        BigDecimal oldSale = position.isSold() ? position.getSellingPrice() : BigDecimal.ZERO;
+        this.beforeChange(position);
         position.sale(sellingDate, sellingPrice);
+        this.positionChanged(position);
+        this.saleBook.subtractSale(oldSale);
+        this.saleBook.addSale(sellingPrice);
+        this.recordChange("sale", positionId, sellingDate, sellingPrice);
         this.gui.refreshPosition();
         this.gui.updateStatus(String.format("position %d sold", positionId));
     }
@@ -272,12 +579,23 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if there is no position with the specified positionId
      */
     public void shipped(int positionId, @NotNull ShippingCompany shippingCompany, @NotNull String trackingNumber, @NotNull BigDecimal shippingCost) {
+        this.checkThread();
+        SHIPPED_LATENCY.time(() -> this.doShipped(positionId, shippingCompany, trackingNumber,
+                shippingCost));
+    }
+
+    /** Performs {@link #shipped} without recording its latency */
+    private void doShipped(int positionId, @NotNull ShippingCompany shippingCompany,
+                           @NotNull String trackingNumber, @NotNull BigDecimal shippingCost) {
         Position position = this.idToPositionObsMap.get(positionId);
         if (position == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
         }
+        this.beforeChange(position);
         position.send(shippingCompany, trackingNumber, shippingCost);
+        this.positionChanged(position);
         this.saleBook.addVariableCosts(shippingCost);
+        this.recordChange("shipped", positionId, shippingCompany, trackingNumber, shippingCost);
         this.gui.refreshPosition();
         this.gui.updateStatus(String.format("position %d shipped", positionId));
     }
@@ -291,38 +609,58 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      * @throws IllegalArgumentException if there is no position with the specified positionId
      */
     public @Nullable Position[] dividePosition(int positionId) {
+        this.checkThread();
+        return DIVIDE_POSITION_LATENCY.time(() -> this.doDividePosition(positionId));
+    }
+
+    /** Performs {@link #dividePosition(int)} without recording its latency */
+    private @Nullable Position[] doDividePosition(int positionId) {
         Position oldPosition = this.idToPositionObsMap.get(positionId);
         if (oldPosition == null) {
             throw new IllegalArgumentException("no position for id " + positionId);
         }
 
-        int[] positionIds = new int[oldPosition.itemCount() - 1];
-        for (int i = 0, positionIdsLength = positionIds.length; i < positionIdsLength; i++) {
-            positionIds[i] = this.nextPosId++;
-        }
-
-        Position[] positions = oldPosition.divide(positionIds);
-        if (positions.length > 0) {
-            StringBuilder builder = new StringBuilder("position ");
-            builder.append(positionId);
-            builder.append(" divided in ");
-            Position first = positions[0];
-            int firstId = first.getId();
-            this.idToPositionObsMap.put(firstId, first);
-            builder.append(first.getId());
+        return this.inTransaction(() -> {
+            int[] positionIds = new int[oldPosition.itemCount() - 1];
+            for (int i = 0, positionIdsLength = positionIds.length; i < positionIdsLength; i++) {
+                positionIds[i] = this.nextPosId++;
+            }
 
-            for (int i = 1, positionsLength = positions.length; i < positionsLength; i++) {
-                builder.append(", ");
-                Position position = positions[i];
-                int id = position.getId();
-                this.idToPositionObsMap.put(id, position);
-                builder.append(id);
+            BigDecimal oldCosts = oldPosition.getTotalCost();
+            BigDecimal oldSale = oldPosition.isSold() ? oldPosition.getSellingPrice()
+                    : BigDecimal.ZERO;
+            this.beforeChange(oldPosition);
+            Position[] positions = oldPosition.divide(positionIds);
+            if (positions.length > 0) {
+                StringBuilder builder = new StringBuilder("position ");
+                builder.append(positionId);
+                builder.append(" divided in ");
+                Position first = positions[0];
+                int firstId = first.getId();
+                this.idToPositionObsMap.put(firstId, first);
+                builder.append(first.getId());
+
+                for (int i = 1, positionsLength = positions.length; i < positionsLength; i++) {
+                    builder.append(", ");
+                    Position position = positions[i];
+                    int id = position.getId();
+                    this.idToPositionObsMap.put(id, position);
+                    builder.append(id);
+                }
+                this.positionChanged(oldPosition);
+                this.saleBook.subtractVariableCosts(oldCosts);
+                this.saleBook.subtractSale(oldSale);
+                this.addTotalsOf(oldPosition);
+                for (Position position : positions) {
+                    this.addTotalsOf(position);
+                }
+                this.recordChange("dividePosition", positionId);
+                this.gui.refreshPosition();
+                this.gui.updateStatus(builder.toString());
             }
-            this.gui.refreshPosition();
-            this.gui.updateStatus(builder.toString());
-        }
 
-        return positions;
+            return positions;
+        });
     }
 
     /**
@@ -336,26 +674,108 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
      *                                  some positionId does not match to any position
      */
     public @NotNull Position combinePositions(int positionId, int @NotNull ... positionIds) {
+        this.checkThread();
+        return COMBINE_POSITIONS_LATENCY.time(
+                () -> this.doCombinePositions(positionId, positionIds));
+    }
+
+    /** Performs {@link #combinePositions(int, int...)} without recording its latency */
+    private @NotNull Position doCombinePositions(int positionId, int @NotNull ... positionIds) {
         if (positionIds.length < 1) {
             throw new IllegalArgumentException("");
         }
 
+        if (!this.idToPositionObsMap.containsKey(positionId)) {
+            throw new IllegalArgumentException("no position found for id " + positionId);
+        }
         for (int currId : positionIds) {
             if (!this.idToPositionObsMap.containsKey(currId)) {
                 throw new IllegalArgumentException("no position found for id " + currId);
             }
         }
 
-        Position combindPosition = this.removePosition(positionId);
+        return this.inTransaction(() -> {
+            ChangeJournal changeJournal = this.saleBook.getChangeJournal();
+            this.beforeChange(this.idToPositionObsMap.get(positionId));
+            Position combindPosition = changeJournal.nested(() -> this.removePosition(positionId));
+
+            for (int id : positionIds) {
+                this.beforeChange(this.idToPositionObsMap.get(id));
+                Position currPosition = changeJournal.nested(() -> this.removePosition(id));
+                combindPosition = combindPosition.combine(this.nextPosId, currPosition);
+            }
+            this.idToPositionObsMap.put(this.nextPosId, combindPosition);
+            this.addTotalsOf(combindPosition);
+            this.recordChange("combinePositions", positionId, positionIds);
+            this.gui.updateStatus("combined to the new position " + this.nextPosId);
+            this.nextPosId++;
+            return combindPosition;
+        });
+    }
+
+    /**
+     * Records that the position with the specified positionId or one of its items was edited
+     * directly, adjusts the costs, sales and categories of the saleBook and refreshes the gui
+     *
+     * @param positionId the id of the edited position
+     * @throws IllegalArgumentException if there is no position with the specified positionId
+     */
+    public void positionEdited(int positionId) {
+        this.checkThread();
+        Position position = this.idToPositionObsMap.get(positionId);
+        if (position == null) {
+            throw new IllegalArgumentException("no position for id " + positionId);
+        }
+        this.positionEdited(position, this.positionAggregates.getTotalsOf(positionId));
+    }
+
+    /**
+     * Replaces the position with the id of the specified position by the specified position
+     * and adjusts the costs, sales and categories of the saleBook
+     *
+     * @param position the position which replaces the position with the same id
+     * @throws IllegalArgumentException if there is no position with the id of the specified
+     *                                  position
+     */
+    public void replacePosition(@NotNull Position position) {
+        this.checkThread();
+        int id = position.getId();
+        if (!this.idToPositionObsMap.containsKey(id)) {
+            throw new IllegalArgumentException("no position for id " + id);
+        }
+        PositionAggregates.Totals oldTotals = this.positionAggregates.getTotalsOf(id);
+        this.idToPositionObsMap.put(id, position);
+        this.positionEdited(position, oldTotals);
+    }
+
+    /**
+     * Updates the indexes and the aggregates of the specified edited position, adds the
+     * difference of its totals to the running totals of the saleBook, adds its category and
+     * records the edit. This is shared by the edit in place and the replay of the edit, so both
+     * lead to the same totals.
+     *
+     * @param position  the edited position
+     * @param oldTotals the totals of the position before it was edited
+     */
+    private void positionEdited(@NotNull Position position,
+                                @NotNull PositionAggregates.Totals oldTotals) {
+        this.positionChanged(position);
+        this.adjustTotals(oldTotals, this.positionAggregates.getTotalsOf(position.getId()));
+        this.saleBook.addCategory(position.getCategory());
+        this.recordChange("positionEdited", position.getId(), position);
+        this.gui.refreshPosition();
+    }
 
-        for (int id : positionIds) {
-            Position currPosition = this.removePosition(id);
-            combindPosition = combindPosition.combine(this.nextPosId, currPosition);
+    /**
+     * Updates the secondary index, the aggregates and the search index of all positions.
+     * This is only needed if positions were changed in place without notifying this
+     * positionsManager.
+     */
+    public void reindexPositions() {
+        this.checkThread();
+        for (Position position : this.idToPositionObsMap.values()) {
+            this.positionChanged(position);
         }
-        this.idToPositionObsMap.put(this.nextPosId, combindPosition);
-        this.gui.updateStatus("combined to the new position " + this.nextPosId);
-        this.nextPosId++;
-        return combindPosition;
     }
 
     @Override
@@ -363,6 +783,150 @@ public class PositionsManager extends AbstractManager implements Dataable<Positi
         return new PositionsManagerData(this);
     }
 
+    /**
+     * Adds the costs and the sale of the specified position to the running totals of the
+     * saleBook
+     *
+     * @param position the position whose totals should be added
+     */
+    private void addTotalsOf(@NotNull Position position) {
+        this.saleBook.addVariableCosts(position.getTotalCost());
+        if (position.isSold()) {
+            this.saleBook.addSale(position.getSellingPrice());
+        }
+    }
+
+    /**
+     * Adds the difference between the specified new and old totals of a position to the running
+     * totals of the saleBook
+     *
+     * @param oldTotals the totals of the position before it was changed
+     * @param newTotals the totals of the position after it was changed
+     */
+    private void adjustTotals(@NotNull PositionAggregates.Totals oldTotals,
+                              @NotNull PositionAggregates.Totals newTotals) {
+        long costs = newTotals.getVariableCosts().getCents()
+                - oldTotals.getVariableCosts().getCents();
+        if (costs > 0L) {
+            this.saleBook.addVariableCosts(BigDecimal.valueOf(costs, 2));
+        } else if (costs < 0L) {
+            this.saleBook.subtractVariableCosts(BigDecimal.valueOf(-costs, 2));
+        }
+        long sales = newTotals.getSales().getCents() - oldTotals.getSales().getCents();
+        if (sales > 0L) {
+            this.saleBook.addSale(BigDecimal.valueOf(sales, 2));
+        } else if (sales < 0L) {
+            this.saleBook.subtractSale(BigDecimal.valueOf(-sales, 2));
+        }
+    }
+
+    /**
+     * Updates the secondary index, the aggregates and the search index after the specified
+     * position was changed in place
+     *
+     * @param position the changed position
+     */
+    private void positionChanged(@NotNull Position position) {
+        this.positionIndex.update(position);
+        this.positionAggregates.update(position);
+        this.indexForSearch(position.getId(), position);
+    }
+
+    /**
+     * Indexes the category, the tracking number and the colors and variants of the items of the
+     * specified position in the search index of the saleBook. The items are read from their
+     * data, so they are not materialized.
+     *
+     * @param id       the id of the position
+     * @param position the position which should be indexed
+     */
+    private void indexForSearch(@NotNull Integer id, @NotNull Position position) {
+        ItemData[] itemData = position.getItemData();
+        String[] texts = new String[itemData.length * 2 + 2];
+        texts[0] = String.valueOf(id);
+        texts[1] = position.getTrackingNumber();
+        for (int i = 0; i < itemData.length; i++) {
+            texts[2 + i * 2] = itemData[i].getItemColorName();
+            texts[3 + i * 2] = itemData[i].getVariant().name();
+        }
+        this.saleBook.getSearchIndex().put(SearchHit.Kind.POSITION, id, position.getCategory(),
+                texts);
+    }
+
+    /**
+     * Adds the current positions to the secondary index and the aggregates and keeps both in
+     * sync with the changes of the idToPositionObsMap
+     */
+    private void followPositions() {
+        for (Position position : this.idToPositionObsMap.values()) {
+            this.positionIndex.update(position);
+            this.positionAggregates.update(position);
+        }
+        this.idToPositionObsMap.addListener(
+                (MapChangeListener<Integer, Position>) change -> {
+                    if (change.wasAdded()) {
+                        this.positionIndex.update(change.getValueAdded());
+                        this.positionAggregates.update(change.getValueAdded());
+                    } else if (change.wasRemoved()) {
+                        this.positionIndex.remove(change.getKey());
+                        this.positionAggregates.remove(change.getKey());
+                    }
+                });
+    }
+
+    @Override
+    public void transactionStarted(@NotNull Transaction transaction) {
+        super.transactionStarted(transaction);
+        int nextPosId = this.nextPosId;
+        transaction.onRollback(() -> this.nextPosId = nextPosId);
+    }
+
+    /**
+     * Prepares the specified position to be changed in place: a copy of the position is saved
+     * in the current transaction of the saleBook and the snapshots keep its current data
+     *
+     * @param position the position which will be changed
+     */
+    private void beforeChange(@NotNull Position position) {
+        this.saveForRollback(this.idToPositionObsMap, position.getId(), position,
+                original -> new Position(original.toData(), ItemColor.getItemColorMap()));
+        this.preserveInSnapshots(position);
+    }
+
+    /**
+     * Keeps the current data of the specified position, which will be changed in place, in the
+     * snapshots of the positions
+     *
+     * @param position the position which will be changed
+     */
+    private void preserveInSnapshots(@NotNull Position position) {
+        synchronized (this.snapshots) {
+            for (CopyOnWriteSnapshot<Position, PositionData> snapshot : this.snapshots) {
+                snapshot.preserve(position);
+            }
+        }
+    }
+
+    /**
+     * Begins a batch of the FilteredTreeItem of this manager, if it was already requested
+     */
+    @Override
+    protected void beginBatch() {
+        if (this.filteredTreeItem != null) {
+            this.filteredTreeItem.beginBatch();
+        }
+    }
+
+    /**
+     * Ends the batch of the FilteredTreeItem of this manager, if it was already requested
+     */
+    @Override
+    protected void endBatch() {
+        if (this.filteredTreeItem != null) {
+            this.filteredTreeItem.endBatch();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -1,13 +1,17 @@
 package logic.manager;
 
 import data.SparePartsManagerData;
+import costumeClasses.FXClasses.ListenerCountingObservableMap;
 import costumeClasses.FXClasses.ObservableListMapBinder;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
 import data.Dataable;
 import logic.GUIConnector;
+import logic.metrics.LatencyHistogram;
+import logic.metrics.Metrics;
 import logic.saleBook.SaleBook;
+import logic.saleBook.Transaction;
+import logic.search.SearchHit;
 import logic.sparePart.SparePart;
 import data.SparePartData;
 import org.jetbrains.annotations.NotNull;
@@ -23,10 +27,28 @@ import java.util.*;
  */
 public class SparePartsManager extends AbstractManager implements Dataable<SparePartsManagerData>,
         ObservableListable<SparePart> {
+    /**
+     * The latencies of the additions of spare parts
+     */
+    private static final LatencyHistogram ADD_SPARE_PARTS_LATENCY =
+            Metrics.histogram("SparePartsManager.addSpareParts");
+
+    /**
+     * The latencies of the usages of spare parts
+     */
+    private static final LatencyHistogram USE_SPARE_PARTS_LATENCY =
+            Metrics.histogram("SparePartsManager.useSparParts");
+
     /**
      * ObservableMap of the spareParts of this saleBook
      */
-    private final ObservableMap<SparePart, Integer> sparePartsToQuantityObsMap;
+    private final ListenerCountingObservableMap<SparePart, Integer> sparePartsToQuantityObsMap;
+
+    /**
+     * The binder of the observableList of the spare parts, which is created by the first call of
+     * {@link #getObservableList()} and shared by all later calls
+     */
+    private ObservableListMapBinder<SparePart, Integer> observableListBinder;
 
     /**
      * ObservableMap of the spareParts of this saleBook
@@ -54,7 +76,11 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
         this.sparePartNames = new HashSet<>();
         this.sparePartUnits = new HashSet<>();
         this.categoryToSpareParts = new TreeMap<>();
-        this.sparePartsToQuantityObsMap = FXCollections.observableMap(new TreeMap<>());
+        this.sparePartsToQuantityObsMap = new ListenerCountingObservableMap<>(
+                FXCollections.observableMap(new TreeMap<>()));
+        this.followInSearchIndex(this.sparePartsToQuantityObsMap, SearchHit.Kind.SPARE_PART,
+                this::indexForSearch);
+        this.followInTransactions(this.sparePartsToQuantityObsMap);
     }
 
     /**
@@ -100,6 +126,17 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
         return new TreeSet<>(this.sparePartsToQuantityObsMap.keySet());
     }
 
+    /**
+     * Returns an unmodifiable view of the spare parts of this sparePartsManager mapped to their
+     * quantity. In contrast to {@link #getSpareParts()} the spare parts are not copied.
+     *
+     * @return an unmodifiable view of the spare parts mapped to their quantity
+     */
+    @UnmodifiableView
+    public @NotNull Map<SparePart, Integer> getSparePartsToQuantityView() {
+        return Collections.unmodifiableMap(this.sparePartsToQuantityObsMap);
+    }
+
     /**
      * Returns the names of the spare parts
      *
@@ -151,6 +188,7 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
      * @return true if the spare part was successfully added
      */
     public boolean addSparePart(@NotNull SparePart sparePart) {
+        this.checkThread();
         return this.addSparePart(sparePart, 1);
     }
 
@@ -167,8 +205,12 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
      * @throws IllegalArgumentException if the quantity is less than 0
      */
     public boolean addSparePart(@NotNull SparePart newSparePart, int quantity) {
+        this.checkThread();
         Integer oldQuantity = this.sparePartsToQuantityObsMap.get(newSparePart);
         boolean added = this.add(newSparePart, quantity);
+        if (added) {
+            this.recordChange("addSparePart", newSparePart, quantity);
+        }
         //checks if the sparePart was already stored if not there is no matching quantity and it
         // is a new spare part to this sparePartManager
         if (oldQuantity == null) {
@@ -182,6 +224,19 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
         return added;
     }
 
+    /**
+     * Adds the specified loaded spare part with the specified quantity to this
+     * sparePartManager without notifying the gui.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param sparePart the loaded spare part
+     * @param quantity  the loaded quantity of the spare part
+     * @throws IllegalArgumentException if the quantity is less than 0
+     */
+    public void loadSparePart(@NotNull SparePart sparePart, int quantity) {
+        this.add(sparePart, quantity);
+    }
+
     /**
      * Adds the specified map of spare part to their quantity to this sparePartManager.
      * If the sparePart is already known the specified quantity will be added to the stock
@@ -193,14 +248,23 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
      */
     //TODO 30.05.2024 what if an Integer is less than or equals 0?
     public boolean addSpareParts(Map<SparePart, Integer> sparePartsToQuantity) {
-        boolean addedAll = true;
-        for (Map.Entry<SparePart, Integer> entry : sparePartsToQuantity.entrySet()) {
-            if (!this.add(entry.getKey(), entry.getValue())) {
-                addedAll = false;
+        this.checkThread();
+        return ADD_SPARE_PARTS_LATENCY.time(() -> this.doAddSpareParts(sparePartsToQuantity));
+    }
+
+    /** Performs {@link #addSpareParts(Map)} without recording its latency */
+    private boolean doAddSpareParts(Map<SparePart, Integer> sparePartsToQuantity) {
+        return this.inTransaction(() -> {
+            boolean addedAll = true;
+            for (Map.Entry<SparePart, Integer> entry : sparePartsToQuantity.entrySet()) {
+                if (!this.add(entry.getKey(), entry.getValue())) {
+                    addedAll = false;
+                }
             }
-        }
-        this.gui.refreshSpareParts();
-        return addedAll;
+            this.recordChange("addSpareParts", sparePartsToQuantity);
+            this.gui.refreshSpareParts();
+            return addedAll;
+        });
     }
 
     /**
@@ -212,9 +276,16 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
      * @return {@code true} if the spareParts were used; otherwise {@code false}
      */
     public boolean useSparParts(@NotNull SparePart sparePart, int amount) {
+        this.checkThread();
+        return USE_SPARE_PARTS_LATENCY.time(() -> this.doUseSparParts(sparePart, amount));
+    }
+
+    /** Performs {@link #useSparParts(SparePart, int)} without recording its latency */
+    private boolean doUseSparParts(@NotNull SparePart sparePart, int amount) {
         Integer stock = this.sparePartsToQuantityObsMap.get(sparePart);
         if (stock != null && stock >= amount) {
             this.sparePartsToQuantityObsMap.put(sparePart, stock - amount);
+            this.recordChange("useSparParts", sparePart, amount);
             this.gui.refreshSpareParts();
             return true;
         }
@@ -228,22 +299,30 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
      */
     //TODO 20.04.2024
     public boolean useSparParts(@NotNull Map<SparePart, Integer> sparePartsToUseCount) {
-        boolean allUsed = true;
-
-        for (Map.Entry<SparePart, Integer> entry : sparePartsToUseCount.entrySet()) {
-            SparePart sparePart = entry.getKey();
-            Integer value = entry.getValue();
-            if (value != null) {
-                Integer stock = this.sparePartsToQuantityObsMap.get(sparePart);
-                if (stock != null && stock >= value) {
-                    this.sparePartsToQuantityObsMap.put(sparePart, stock - value);
-                } else {
-                    allUsed = false;
+        this.checkThread();
+        return USE_SPARE_PARTS_LATENCY.time(() -> this.doUseSparParts(sparePartsToUseCount));
+    }
+
+    /** Performs {@link #useSparParts(Map)} without recording its latency */
+    private boolean doUseSparParts(@NotNull Map<SparePart, Integer> sparePartsToUseCount) {
+        return this.inTransaction(() -> {
+            boolean allUsed = true;
+            for (Map.Entry<SparePart, Integer> entry : sparePartsToUseCount.entrySet()) {
+                SparePart sparePart = entry.getKey();
+                Integer value = entry.getValue();
+                if (value != null) {
+                    Integer stock = this.sparePartsToQuantityObsMap.get(sparePart);
+                    if (stock != null && stock >= value) {
+                        this.sparePartsToQuantityObsMap.put(sparePart, stock - value);
+                    } else {
+                        allUsed = false;
+                    }
                 }
             }
-        }
-        this.gui.refreshSpareParts();
-        return allUsed;
+            this.recordChange("useSparParts", sparePartsToUseCount);
+            this.gui.refreshSpareParts();
+            return allUsed;
+        });
     }
 
     /**
@@ -254,6 +333,7 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
      * otherwise {@code false} if this sparePartManager does not contain the specified sparePart
      */
     public boolean removeSparePart(@NotNull SparePart sparePart) {
+        this.checkThread();
         boolean removed = this.sparePartsToQuantityObsMap.remove(sparePart) != null;
         if (removed) {
             String deletedName = sparePart.getName();
@@ -278,6 +358,7 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
                 this.sparePartUnits.remove(deletedUnit);
             }
             this.categoryToSpareParts.get(sparePart.getCategory()).remove(sparePart);
+            this.recordChange("removeSparePart", sparePart);
 
             this.gui.updateStatus(String.format("spare part %s successfully deleted",
                     sparePart.getName()));
@@ -306,9 +387,73 @@ public class SparePartsManager extends AbstractManager implements Dataable<Spare
         return new SparePartsManagerData(this);
     }
 
+    /**
+     * Indexes the specified spare part in the search index of the saleBook
+     *
+     * @param sparePart the spare part which should be indexed
+     * @param quantity  the quantity of the spare part
+     */
+    private void indexForSearch(@NotNull SparePart sparePart, @NotNull Integer quantity) {
+        this.saleBook.getSearchIndex().put(SearchHit.Kind.SPARE_PART, sparePart,
+                sparePart.getName(), sparePart.getCategory(), sparePart.getUnit());
+    }
+
+    @Override
+    public void transactionStarted(@NotNull Transaction transaction) {
+        super.transactionStarted(transaction);
+        transaction.onRollback(this::rebuildLookups);
+    }
+
+    /**
+     * Rebuilds the names, the units and the categories of the spare parts from the spare parts
+     * of this manager. The categories are kept, even if they have no spare parts anymore.
+     */
+    private void rebuildLookups() {
+        this.sparePartNames.clear();
+        this.sparePartUnits.clear();
+        for (Set<SparePart> spareParts : this.categoryToSpareParts.values()) {
+            spareParts.clear();
+        }
+        for (SparePart sparePart : this.sparePartsToQuantityObsMap.keySet()) {
+            this.sparePartNames.add(sparePart.getName());
+            this.sparePartUnits.add(sparePart.getUnit());
+            this.categoryToSpareParts.computeIfAbsent(sparePart.getCategory(),
+                    category -> new HashSet<>()).add(sparePart);
+        }
+    }
+
+    /**
+     * Begins a batch of the observableList of the spare parts, if it was already requested
+     */
+    @Override
+    protected void beginBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.beginBatch();
+        }
+    }
+
+    /**
+     * Ends the batch of the observableList of the spare parts, if it was already requested
+     */
+    @Override
+    protected void endBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.endBatch();
+        }
+    }
+
     @Override
     public ObservableList<SparePart> getObservableList() {
-        return new ObservableListMapBinder<>(this.sparePartsToQuantityObsMap).getObservableKeyList();
+        if (this.observableListBinder == null) {
+            this.observableListBinder = new ObservableListMapBinder<>(this.sparePartsToQuantityObsMap);
+            this.joinBatches(this.observableListBinder::beginBatch);
+        }
+        return this.observableListBinder.getObservableKeyList();
+    }
+
+    @Override
+    public int getListenerCount() {
+        return this.sparePartsToQuantityObsMap.getListenerCount();
     }
 
     @Override
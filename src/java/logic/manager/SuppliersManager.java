@@ -1,13 +1,14 @@
 package logic.manager;
 
+import costumeClasses.FXClasses.ListenerCountingObservableMap;
 import costumeClasses.FXClasses.ObservableListMapBinder;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
 import logic.GUIConnector;
 import logic.Supplier;
 import gui.FXutils.FXCollectionsUtils;
 import logic.saleBook.SaleBook;
+import logic.search.SearchHit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
@@ -22,7 +23,13 @@ public class SuppliersManager extends AbstractManager implements ObservableLista
     /**
      * ObservableMap of suppliers mapped their matching name
      */
-    private final ObservableMap<String, Supplier> nameToSupplierObsMap;
+    private final ListenerCountingObservableMap<String, Supplier> nameToSupplierObsMap;
+
+    /**
+     * The binder of the observableList of the suppliers, which is created by the first call of
+     * {@link #getObservableList()} and shared by all later calls
+     */
+    private ObservableListMapBinder<String, Supplier> observableListBinder;
 
     /**
      * @param saleBook
@@ -30,7 +37,11 @@ public class SuppliersManager extends AbstractManager implements ObservableLista
      */
     public SuppliersManager(SaleBook saleBook, @NotNull GUIConnector gui) {
         super(saleBook, gui);
-        this.nameToSupplierObsMap = FXCollections.observableMap(new TreeMap<>());
+        this.nameToSupplierObsMap = new ListenerCountingObservableMap<>(
+                FXCollections.observableMap(new TreeMap<>()));
+        this.followInSearchIndex(this.nameToSupplierObsMap, SearchHit.Kind.SUPPLIER,
+                this::indexForSearch);
+        this.followInTransactions(this.nameToSupplierObsMap);
     }
 
     /**
@@ -41,7 +52,11 @@ public class SuppliersManager extends AbstractManager implements ObservableLista
     public SuppliersManager(SaleBook saleBook, @NotNull Supplier[] suppliers,
                             @NotNull GUIConnector gui) {
         super(saleBook, gui);
-        this.nameToSupplierObsMap = FXCollectionsUtils.toObservableMap(suppliers, Supplier::getName);
+        this.nameToSupplierObsMap = new ListenerCountingObservableMap<>(
+                FXCollectionsUtils.toObservableMap(suppliers, Supplier::getName));
+        this.followInSearchIndex(this.nameToSupplierObsMap, SearchHit.Kind.SUPPLIER,
+                this::indexForSearch);
+        this.followInTransactions(this.nameToSupplierObsMap);
     }
 
     /**
@@ -79,31 +94,105 @@ public class SuppliersManager extends AbstractManager implements ObservableLista
      * @return
      */
     public boolean addSupplier(@NotNull Supplier supplier) {
+        this.checkThread();
         boolean added = this.nameToSupplierObsMap.putIfAbsent(supplier.getName(), supplier) == null;
         if (added) {
+            this.recordChange("addSupplier", supplier);
             this.gui.displaySupplierNames(this.getSupplierNames());
             this.gui.updateStatus(String.format("supplier %s added", supplier.getName()));
         }
         return added;
     }
 
+    /**
+     * Adds the specified loaded supplier without notifying the gui.
+     * This methode shall be only used while a saleBook is loaded.
+     *
+     * @param supplier the loaded supplier
+     */
+    public void loadSupplier(@NotNull Supplier supplier) {
+        this.nameToSupplierObsMap.put(supplier.getName(), supplier);
+    }
+
     /**
      * Deletes the supplier with the specified supplierName, if the supplier name is not empty.
      *
      * @param supplierName the name of the supplier which should be deleted
      */
     public @Nullable Supplier removeSupplier(@NotNull String supplierName) {
+        this.checkThread();
         Supplier removedSupplier = this.nameToSupplierObsMap.remove(supplierName);
         if (removedSupplier != null) {
+            this.recordChange("removeSupplier", supplierName);
             this.gui.displaySupplierNames(this.getSupplierNames());
             this.gui.updateStatus(String.format("supplier %s deleted", supplierName));
         }
         return removedSupplier;
     }
 
+    /**
+     * Records that the supplier with the specified oldName was edited directly. If the name of
+     * the supplier was changed, the supplier is mapped to its new name.
+     *
+     * @param oldName the name of the supplier before it was edited
+     * @throws IllegalArgumentException if there is no supplier with the specified oldName
+     */
+    public void supplierEdited(@NotNull String oldName) {
+        this.checkThread();
+        Supplier supplier = this.nameToSupplierObsMap.get(oldName);
+        if (supplier == null) {
+            throw new IllegalArgumentException("no supplier for name " + oldName);
+        }
+        if (!supplier.getName().equals(oldName)) {
+            this.nameToSupplierObsMap.remove(oldName);
+            this.nameToSupplierObsMap.put(supplier.getName(), supplier);
+            this.gui.displaySupplierNames(this.getSupplierNames());
+        }
+        this.recordChange("supplierEdited", oldName, supplier);
+    }
+
+    /**
+     * Indexes the specified supplier in the search index of the saleBook
+     *
+     * @param name     the name of the supplier
+     * @param supplier the supplier which should be indexed
+     */
+    private void indexForSearch(@NotNull String name, @NotNull Supplier supplier) {
+        this.saleBook.getSearchIndex().put(SearchHit.Kind.SUPPLIER, name, name);
+    }
+
+    /**
+     * Begins a batch of the observableList of the suppliers, if it was already requested
+     */
+    @Override
+    protected void beginBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.beginBatch();
+        }
+    }
+
+    /**
+     * Ends the batch of the observableList of the suppliers, if it was already requested
+     */
+    @Override
+    protected void endBatch() {
+        if (this.observableListBinder != null) {
+            this.observableListBinder.endBatch();
+        }
+    }
+
     @Override
     public ObservableList<Supplier> getObservableList() {
-        return new ObservableListMapBinder<>(this.nameToSupplierObsMap).getObservableValuesList();
+        if (this.observableListBinder == null) {
+            this.observableListBinder = new ObservableListMapBinder<>(this.nameToSupplierObsMap);
+            this.joinBatches(this.observableListBinder::beginBatch);
+        }
+        return this.observableListBinder.getObservableValuesList();
+    }
+
+    @Override
+    public int getListenerCount() {
+        return this.nameToSupplierObsMap.getListenerCount();
     }
 
     @Override
@@ -0,0 +1,327 @@
+package logic.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A histogram of latencies in nanoseconds in the manner of a HDR histogram. The values are
+ * counted in logarithmic buckets, each of them divided into {@value #SUB_BUCKET_COUNT} linear
+ * sub buckets, so each value is counted with a relative error of less than 1/32 over the whole
+ * range of long. Values less than {@value #SUB_BUCKET_COUNT} * 2 are counted exactly.
+ * <p>
+ * Recording a value does not allocate and does not lock, so the histogram can be recorded on
+ * the hot paths by any number of threads. The statistics are computed from a snapshot of the
+ * counts and can be read at any time.
+ *
+ * @author xthe_white_lionx
+ * @see Metrics
+ */
+public class LatencyHistogram {
+
+    /**
+     * An operation which can throw a checked exception
+     *
+     * @param <E> the type of the checked exception
+     */
+    @FunctionalInterface
+    public interface CheckedRunnable<E extends Exception> {
+
+        /**
+         * Runs the operation
+         *
+         * @throws E if the operation fails
+         */
+        void run() throws E;
+    }
+
+    /**
+     * An operation with a result which can throw a checked exception
+     *
+     * @param <T> the type of the result
+     * @param <E> the type of the checked exception
+     */
+    @FunctionalInterface
+    public interface CheckedSupplier<T, E extends Exception> {
+
+        /**
+         * Runs the operation and returns its result
+         *
+         * @return the result of the operation
+         * @throws E if the operation fails
+         */
+        T get() throws E;
+    }
+
+    /**
+     * The number of bits of the sub buckets
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The number of sub buckets of each logarithmic bucket
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets which covers every positive long
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * The name of the operation whose latencies are recorded
+     */
+    private final String operation;
+
+    /**
+     * The counts of the values of each bucket
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * The number of the recorded values
+     */
+    private final AtomicLong totalCount;
+
+    /**
+     * The sum of the recorded values
+     */
+    private final AtomicLong totalSum;
+
+    /**
+     * The greatest recorded value
+     */
+    private final AtomicLong maxValue;
+
+    /**
+     * Constructor
+     *
+     * @param operation the name of the operation whose latencies are recorded
+     */
+    public LatencyHistogram(String operation) {
+        this.operation = operation;
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalSum = new AtomicLong();
+        this.maxValue = new AtomicLong();
+    }
+
+    /**
+     * Returns the name of the operation of this histogram
+     *
+     * @return the name of the operation of this histogram
+     */
+    public String getOperation() {
+        return this.operation;
+    }
+
+    /**
+     * Records the specified latency. A negative latency is recorded as 0.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        this.counts.incrementAndGet(bucketIndex(value));
+        this.totalCount.incrementAndGet();
+        this.totalSum.addAndGet(value);
+        if (value > this.maxValue.get()) {
+            this.maxValue.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Records the latency since the specified start, which has to be taken from
+     * {@link System#nanoTime()}
+     *
+     * @param startNanos the start of the operation in nanoseconds
+     */
+    public void recordSince(long startNanos) {
+        this.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Runs the specified operation and records its latency, even if it fails
+     *
+     * @param operation the operation which should be timed
+     */
+    public void time(@NotNull Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            this.recordSince(start);
+        }
+    }
+
+    /**
+     * Runs the specified operation, records its latency, even if it fails, and returns its
+     * result
+     *
+     * @param operation the operation which should be timed
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     */
+    public <T> T time(@NotNull Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            this.recordSince(start);
+        }
+    }
+
+    /**
+     * Runs the specified operation, which can throw a checked exception, and records its
+     * latency, even if it fails
+     *
+     * @param operation the operation which should be timed
+     * @param <E>       the type of the checked exception
+     * @throws E if the operation fails
+     */
+    public <E extends Exception> void timeChecked(@NotNull CheckedRunnable<E> operation)
+            throws E {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            this.recordSince(start);
+        }
+    }
+
+    /**
+     * Runs the specified operation, which can throw a checked exception, records its latency,
+     * even if it fails, and returns its result
+     *
+     * @param operation the operation which should be timed
+     * @param <T>       the type of the result
+     * @param <E>       the type of the checked exception
+     * @return the result of the operation
+     * @throws E if the operation fails
+     */
+    public <T, E extends Exception> T timeChecked(@NotNull CheckedSupplier<T, E> operation)
+            throws E {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            this.recordSince(start);
+        }
+    }
+
+    /**
+     * Returns the number of the recorded latencies
+     *
+     * @return the number of the recorded latencies
+     */
+    public long getCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * Returns the greatest recorded latency in nanoseconds or 0 if nothing was recorded
+     *
+     * @return the greatest recorded latency in nanoseconds
+     */
+    public long getMax() {
+        return this.maxValue.get();
+    }
+
+    /**
+     * Returns the mean of the recorded latencies in nanoseconds or 0 if nothing was recorded
+     *
+     * @return the mean of the recorded latencies in nanoseconds
+     */
+    public double getMean() {
+        long count = this.totalCount.get();
+        return count == 0 ? 0D : (double) this.totalSum.get() / count;
+    }
+
+    /**
+     * Returns the latency in nanoseconds at the specified percentile, this is the greatest value
+     * of the bucket which contains the value at the percentile, but at most the greatest recorded
+     * latency. Returns 0 if nothing was recorded.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the latency in nanoseconds at the specified percentile
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0D && percentile <= 100D)) {
+            throw new IllegalArgumentException(
+                    "the percentile %s is not between 0 and 100".formatted(percentile));
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = this.counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0L) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100D * count));
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), this.maxValue.get());
+            }
+        }
+        return this.maxValue.get();
+    }
+
+    /**
+     * Removes all recorded latencies of this histogram
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts.set(i, 0L);
+        }
+        this.totalCount.set(0L);
+        this.totalSum.set(0L);
+        this.maxValue.set(0L);
+    }
+
+    /**
+     * Returns the index of the bucket which counts the specified value
+     *
+     * @param value the not negative value
+     * @return the index of the bucket of the value
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT * 2) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * Returns the greatest value which is counted by the bucket with the specified index
+     *
+     * @param index the index of the bucket
+     * @return the greatest value of the bucket
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT * 2) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "operation='" + this.operation + '\'' +
+                ", count=" + this.getCount() +
+                ", mean=" + this.getMean() +
+                ", max=" + this.getMax() +
+                '}';
+    }
+}
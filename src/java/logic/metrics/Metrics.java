@@ -0,0 +1,114 @@
+package logic.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class holds the {@link LatencyHistogram LatencyHistograms} of the operations of the
+ * application. The operations get their histogram once, for example in a static field, and
+ * time the operation with it:
+ * <pre>{@code
+ * public boolean operation(int argument) {
+ *     return LATENCY.time(() -> this.doOperation(argument));
+ * }
+ * }</pre>
+ *
+ * @author xthe_white_lionx
+ */
+public class Metrics {
+
+    /**
+     * The number of nanoseconds of a microsecond
+     */
+    private static final double NANOS_PER_MICRO = 1_000D;
+
+    /**
+     * The histograms mapped to the names of their operations
+     */
+    private static final ConcurrentMap<String, LatencyHistogram> OPERATION_TO_HISTOGRAM =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Suppresses default constructor, ensuring non-instantiability.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Returns the histogram of the operation with the specified name, the histogram is created
+     * by the first call for the operation
+     *
+     * @param operation the name of the operation
+     * @return the histogram of the operation
+     */
+    public static @NotNull LatencyHistogram histogram(@NotNull String operation) {
+        return OPERATION_TO_HISTOGRAM.computeIfAbsent(operation, LatencyHistogram::new);
+    }
+
+    /**
+     * Returns the histograms of all operations sorted by the names of their operations
+     *
+     * @return the histograms of all operations
+     */
+    public static @NotNull List<LatencyHistogram> getHistograms() {
+        List<LatencyHistogram> histograms = new ArrayList<>(OPERATION_TO_HISTOGRAM.values());
+        histograms.sort(Comparator.comparing(LatencyHistogram::getOperation));
+        return histograms;
+    }
+
+    /**
+     * Removes the recorded latencies of all histograms
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : OPERATION_TO_HISTOGRAM.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Returns a table of the count, the mean, the percentiles and the maximum of the latencies
+     * of each operation. The latencies are given in microseconds.
+     *
+     * @return a table of the statistics of each operation
+     */
+    public static @NotNull String report() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("latencies in microseconds, ").append(LocalDateTime.now())
+                .append(System.lineSeparator());
+        builder.append("%-40s %10s %12s %12s %12s %12s %12s %12s".formatted("operation", "count",
+                "mean", "p50", "p90", "p99", "p99.9", "max")).append(System.lineSeparator());
+        for (LatencyHistogram histogram : getHistograms()) {
+            builder.append("%-40s %10d %12.1f %12.1f %12.1f %12.1f %12.1f %12.1f".formatted(
+                    histogram.getOperation(),
+                    histogram.getCount(),
+                    histogram.getMean() / NANOS_PER_MICRO,
+                    histogram.getValueAtPercentile(50D) / NANOS_PER_MICRO,
+                    histogram.getValueAtPercentile(90D) / NANOS_PER_MICRO,
+                    histogram.getValueAtPercentile(99D) / NANOS_PER_MICRO,
+                    histogram.getValueAtPercentile(99.9D) / NANOS_PER_MICRO,
+                    histogram.getMax() / NANOS_PER_MICRO)).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the {@link #report()} of the histograms into the specified file. An existing file
+     * is replaced.
+     *
+     * @param file the file which should be written with the report
+     * @throws IOException if the file cannot be written
+     */
+    public static void dump(@NotNull File file) throws IOException {
+        Files.writeString(file.toPath(), report(), StandardCharsets.UTF_8);
+    }
+}
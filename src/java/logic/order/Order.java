@@ -1,6 +1,7 @@
 package logic.order;
 
 import logic.sparePart.SparePart;
+import logic.Money;
 import logic.Supplier;
 import org.jetbrains.annotations.UnmodifiableView;
 import utils.BigDecimalUtils;
@@ -109,6 +110,21 @@ public class Order implements Comparable<Order> {
         });
     }
 
+    /**
+     * Copy constructor, the spare parts and the supplier are shared with the specified order
+     *
+     * @param order the order which should be copied
+     */
+    public Order(@NotNull Order order) {
+        this.id = order.id;
+        this.orderState = order.orderState;
+        this.orderDate = order.orderDate;
+        this.supplier = order.supplier;
+        this.value = order.value;
+        this.sparePartToOrderQuantity = new TreeMap<>(order.sparePartToOrderQuantity);
+        this.pendingSpareParts = new HashSet<>(order.pendingSpareParts);
+    }
+
     /**
      * Returns the id of this order
      *
@@ -154,6 +170,15 @@ public class Order implements Comparable<Order> {
         return this.supplier;
     }
 
+    /**
+     * Returns the date of this order
+     *
+     * @return date of this order
+     */
+    public @NotNull LocalDate getOrderDate() {
+        return this.orderDate;
+    }
+
     /**
      * Returns a copy of the ordered spare parts
      *
@@ -184,6 +209,15 @@ public class Order implements Comparable<Order> {
         return this.value;
     }
 
+    /**
+     * Returns the value of this order as money
+     *
+     * @return the value of this order as money
+     */
+    public @NotNull Money getValueAsMoney() {
+        return Money.of(this.value);
+    }
+
     /**
      * Sets the cost of this order to the specified cost
      *
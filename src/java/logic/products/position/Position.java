@@ -3,11 +3,13 @@ package logic.products.position;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import data.Dataable;
+import logic.Money;
 import logic.products.item.Item;
 import logic.products.Product;
 import logic.products.item.ItemColor;
 import logic.products.item.ItemData;
 import utils.BigDecimalUtils;
+import utils.CollectionsUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,9 +35,52 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
         , Comparable<Position>, Dataable<PositionData> {
 
     /**
-     * Items of this position
+     * Items of this position or null if the items are not materialized yet. The items are
+     * materialized under the lock of this position, so they can be read by another thread.
      */
-    private final ObservableList<Item> items;
+    private volatile ObservableList<Item> items;
+
+    /**
+     * The data of the items which are not materialized yet or null if the items are
+     * materialized
+     */
+    private ItemData[] itemData;
+
+    /**
+     * Mapping from the name of an itemColor to the itemColor, which is used to materialize
+     * the items
+     */
+    private Map<String, ItemColor> nameToItemColorMap;
+
+    /**
+     * The purchasingPrice from which the cached total cost was computed
+     */
+    private BigDecimal cachedPurchasingPrice;
+
+    /**
+     * The cost from which the cached total cost was computed
+     */
+    private BigDecimal cachedCost;
+
+    /**
+     * The cached total cost of this position
+     */
+    private BigDecimal totalCost;
+
+    /**
+     * The cached total cost of this position in cents
+     */
+    private long totalCostCents;
+
+    /**
+     * The sellingPrice from which the cached selling price in cents was computed
+     */
+    private BigDecimal cachedSellingPrice;
+
+    /**
+     * The cached sellingPrice of this position in cents
+     */
+    private long sellingPriceCents;
 
     /**
      * Constructor for an ordered position
@@ -80,23 +125,50 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
     }
 
     /**
-     * Constructor for a position
+     * Constructor for a stored position, which restores the id of its next item
+     *
+     * @param id              the id of the position
+     * @param category        the category of this position and his items
+     * @param orderDate       the date on which the position were ordered
+     * @param purchasingPrice the purchasing price of this position assumed by his items
+     * @param state           the current state of the position
+     * @param cost            the common cost of the position
+     * @param receivedDate    the date where the position where received
+     * @param sellingDate     the selling date of the position
+     * @param sellingPrice    the price on which the position were sold
+     * @param shippingCompany the company which shipped the position
+     * @param trackingNumber  the tracking number of the position in the shipping company
+     * @param items           the items of the position
+     * @param nextItemId      the id of the next added item
+     */
+    public Position(int id, @NotNull String category, @NotNull LocalDate orderDate,
+                    @NotNull BigDecimal purchasingPrice,
+                    @NotNull State state, @NotNull BigDecimal cost, LocalDate receivedDate,
+                    LocalDate sellingDate, BigDecimal sellingPrice,
+                    ShippingCompany shippingCompany, String trackingNumber,
+                    @NotNull List<Item> items, int nextItemId) {
+        super(id, category, orderDate, purchasingPrice, state, cost, receivedDate, sellingDate,
+                sellingPrice, shippingCompany, trackingNumber);
+        this.items = FXCollections.observableList(new ArrayList<>(items));
+        this.nextItemId = nextItemId;
+    }
+
+    /**
+     * Constructor for a position. The items of the position are materialized by the first
+     * access to them, so positions which are never displayed or edited keep only the data of
+     * their items.
      *
-     * @param positionData the data of one position
-     * @param nameToItemColorMap
+     * @param positionData       the data of one position
+     * @param nameToItemColorMap mapping from the name of an itemColor to the itemColor, which
+     *                           is used to materialize the items
      */
     public Position(PositionData positionData, Map<String, ItemColor> nameToItemColorMap) {
         super(positionData.id, positionData.category, positionData.orderDate, positionData.purchasingPrice,
                 positionData.state, positionData.cost, positionData.receivedDate, positionData.sellingDate,
                 positionData.sellingPrice, positionData.shippingCompany, positionData.trackingNumber);
 
-        ItemData[] itemData = positionData.getItemData();
-        List<Item> itemList = new ArrayList<>();
-        for (ItemData itemDatum : itemData) {
-            itemList.add(new Item(itemDatum, nameToItemColorMap.get(itemDatum.getItemColorName())));
-        }
-
-        this.items = FXCollections.observableList(itemList);
+        this.itemData = positionData.getItemData();
+        this.nameToItemColorMap = nameToItemColorMap;
         this.nextItemId = positionData.nextItemId;
     }
 
@@ -106,7 +178,7 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
      * @return the items of this position as observableList
      */
     public @NotNull ObservableList<Item> getItemObservableList() {
-        return this.items;
+        return this.items();
     }
 
     /**
@@ -115,7 +187,35 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
      * @return the items of this position
      */
     public @NotNull List<Item> getItems() {
-        return new ArrayList<>(this.items);
+        return new ArrayList<>(this.items());
+    }
+
+    /**
+     * Returns the data of the items of this position. If the items are not materialized yet,
+     * they are not materialized by this methode.
+     *
+     * @return the data of the items of this position
+     */
+    public @NotNull ItemData[] getItemData() {
+        ObservableList<Item> items = this.items;
+        if (items == null) {
+            synchronized (this) {
+                if (this.items == null) {
+                    return this.itemData.clone();
+                }
+                items = this.items;
+            }
+        }
+        return CollectionsUtils.toArray(items, Item::toData, new ItemData[0]);
+    }
+
+    /**
+     * Returns true if the items of this position are materialized, otherwise false
+     *
+     * @return true if the items of this position are materialized, otherwise false
+     */
+    public boolean areItemsMaterialized() {
+        return this.items != null;
     }
 
     /**
@@ -282,11 +382,54 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
     }
 
     /**
+     * Returns the total cost of this position, this is the purchasingPrice plus the cost
+     *
+     * @return the total cost of this position
+     */
+    public @NotNull BigDecimal getTotalCost() {
+        this.updateTotalCost();
+        return this.totalCost;
+    }
+
+    /**
+     * Returns the total cost of this position in cents, this is the purchasingPrice plus the
+     * cost rounded half up to cents
+     *
+     * @return the total cost of this position in cents
+     */
+    public long getTotalCostCents() {
+        this.updateTotalCost();
+        return this.totalCostCents;
+    }
+
+    /**
+     * Returns the sellingPrice of this position in cents rounded half up or 0 if this position
+     * is not sold yet
      *
-     * @return
+     * @return the sellingPrice of this position in cents
+     */
+    public long getSellingPriceCents() {
+        if (this.sellingPrice == null) {
+            return 0L;
+        }
+        if (this.sellingPrice != this.cachedSellingPrice) {
+            this.sellingPriceCents = Money.centsOf(this.sellingPrice);
+            this.cachedSellingPrice = this.sellingPrice;
+        }
+        return this.sellingPriceCents;
+    }
+
+    /**
+     * Recomputes the cached total cost, if the purchasingPrice or the cost were replaced since
+     * the last computation
      */
-    public BigDecimal getTotalCost() {
-        return this.purchasingPrice.add(this.cost);
+    private void updateTotalCost() {
+        if (this.purchasingPrice != this.cachedPurchasingPrice || this.cost != this.cachedCost) {
+            this.totalCost = this.purchasingPrice.add(this.cost);
+            this.totalCostCents = Money.centsOf(this.totalCost);
+            this.cachedPurchasingPrice = this.purchasingPrice;
+            this.cachedCost = this.cost;
+        }
     }
 
     /**
@@ -391,7 +534,7 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
             throw new IllegalArgumentException(String.format("sellingPrice must be greater equals" +
                     " 0 but is %s", sellingPrice));
         }
-        return sellingPrice.subtract(this.purchasingPrice.add(this.cost)).setScale(2, RoundingMode.HALF_UP);
+        return BigDecimal.valueOf(Money.centsOf(sellingPrice) - this.getTotalCostCents(), 2);
     }
 
     /**
@@ -403,9 +546,9 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
      */
     public @NotNull BigDecimal calcPerformance() {
         if (!this.isSold()) {
-            return this.purchasingPrice.add(this.cost).negate();
+            return this.getTotalCost().negate();
         }
-        return this.calcPerformance(this.sellingPrice);
+        return BigDecimal.valueOf(this.getSellingPriceCents() - this.getTotalCostCents(), 2);
     }
 
     /**
@@ -436,7 +579,7 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
         if (this.nextItemId != itemId){
             throw new IllegalArgumentException("expected id is %d but is %d".formatted(this.nextItemId, itemId));
         }
-        boolean added = this.items.add(item);
+        boolean added = this.items().add(item);
         if (added){
             this.nextItemId++;
         }
@@ -450,10 +593,11 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
      * @return the removed item or null
      */
     public @Nullable Item removeItemById(int itemId) {
-        for (int i = 0; i < this.items.size(); i++) {
-            Item item = this.items.get(i);
+        ObservableList<Item> items = this.items();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
             if (item.getId() == itemId) {
-                return this.items.remove(i);
+                return items.remove(i);
             }
         }
         return null;
@@ -496,7 +640,7 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
         if (that.receivedDate.isBefore(this.receivedDate)) {
             this.receivedDate = that.receivedDate;
         }
-        for (Item item : that.items) {
+        for (Item item : that.items()) {
             item.setId(this.nextItemId);
             this.addItem(item);
         }
@@ -515,7 +659,7 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
      * @throws IllegalStateException if this position has to few items for division
      */
     public @NotNull Position[] divide(int @NotNull [] positionIds) {
-        int itemNumber = this.items.size();
+        int itemNumber = this.items().size();
         if (positionIds.length < itemNumber - 1) {
             throw new IllegalArgumentException(String.format("to few ids. %d ids given but %d " +
                             "needed",
@@ -555,7 +699,7 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
                 newPosition.state = this.state;
             }
 
-            Item item = this.items.remove(1);
+            Item item = this.items().remove(1);
             this.nextItemId--;
             item.setId(newPosition.nextItemId);
             newPosition.addItem(item);
@@ -565,7 +709,16 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
     }
 
     public int itemCount() {
-        return this.items.size();
+        ObservableList<Item> items = this.items;
+        if (items == null) {
+            synchronized (this) {
+                if (this.items == null) {
+                    return this.itemData.length;
+                }
+                items = this.items;
+            }
+        }
+        return items.size();
     }
 
     @Override
@@ -597,19 +750,30 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
         if (!super.equals(o)) {
             return false;
         }
-        return Objects.equals(this.items, position.items);
+        if (this.items != null && position.items != null) {
+            return this.items.equals(position.items);
+        }
+        // compares the data of the items, so the items are not materialized by comparing
+        return Arrays.equals(this.getItemData(), position.getItemData());
     }
 
+    /**
+     * Returns the hash code of this position. The items are not included, so the hash code does
+     * not materialize them.
+     *
+     * @return the hash code of this position
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), this.items);
+        return super.hashCode();
     }
 
     @Override
     public String toString() {
         return "Position{" +
                 "id=" + this.id +
-                ", items=" + this.items +
+                ", items=" + (this.items != null ? this.items
+                : Arrays.toString(this.getItemData())) +
                 ", nextItemId=" + this.nextItemId +
                 ", category='" + this.category + '\'' +
                 ", state=" + this.state +
@@ -631,6 +795,33 @@ public class Position extends AbstractPosition implements Product, Iterable<Item
      */
     @Override
     public @NotNull Iterator<Item> iterator() {
-        return this.items.iterator();
+        return this.items().iterator();
+    }
+
+    /**
+     * Returns the items of this position and materializes them, if they are not
+     * materialized yet
+     *
+     * @return the items of this position
+     */
+    private @NotNull ObservableList<Item> items() {
+        ObservableList<Item> items = this.items;
+        if (items == null) {
+            synchronized (this) {
+                items = this.items;
+                if (items == null) {
+                    List<Item> itemList = new ArrayList<>(this.itemData.length);
+                    for (ItemData itemDatum : this.itemData) {
+                        itemList.add(new Item(itemDatum,
+                                this.nameToItemColorMap.get(itemDatum.getItemColorName())));
+                    }
+                    items = FXCollections.observableList(itemList);
+                    this.items = items;
+                    this.itemData = null;
+                    this.nameToItemColorMap = null;
+                }
+            }
+        }
+        return items;
     }
 }
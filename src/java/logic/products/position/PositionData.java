@@ -1,8 +1,6 @@
 package logic.products.position;
 
-import logic.products.item.Item;
 import logic.products.item.ItemData;
-import utils.CollectionsUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -29,8 +27,7 @@ public class PositionData extends AbstractPosition {
         super(position.id, position.category, position.orderDate, position.purchasingPrice,
                 position.state, position.cost, position.receivedDate, position.sellingDate,
                 position.sellingPrice, position.shippingCompany, position.trackingNumber);
-        this.itemData = CollectionsUtils.toArray(position.getItems(), Item::toData,
-                new ItemData[0]);
+        this.itemData = position.getItemData();
         this.nextItemId = position.nextItemId;
     }
 
@@ -0,0 +1,384 @@
+package logic.saleBook;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class records the changes of a saleBook. Each change increments the modification count of
+ * this journal, so it is known in constant time whether the saleBook was changed since it was
+ * saved. The latest changes are kept in the order of their occurrence.
+ * <p>
+ * An operation which calls other recorded operations, for example the repair of a position
+ * uses spare parts, is recorded as one change. Therefore, the inner operations have to be called
+ * by {@link #nested(Runnable)}.
+ * <p>
+ * The changes of a transaction are kept pending and recorded when the transaction is
+ * committed, so the listeners are not notified about the changes of a transaction which is
+ * rolled back.
+ *
+ * @author xthe_white_lionx
+ */
+public class ChangeJournal {
+
+    /**
+     * The number of changes which are kept if no capacity is specified
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * The maximum number of changes which are kept
+     */
+    private final int capacity;
+
+    /**
+     * The latest changes, the oldest change first
+     */
+    private final Deque<Change> changes;
+
+    /**
+     * The listeners which are notified about each recorded change
+     */
+    private final List<Consumer<Change>> listeners = new ArrayList<>();
+
+    /**
+     * The number of recorded changes
+     */
+    private long modCount;
+
+    /**
+     * The modification count at the last save
+     */
+    private long savedModCount;
+
+    /**
+     * The depth of the currently running nested operations
+     */
+    private int nestingDepth;
+
+    /**
+     * The pending changes of the current transaction or null, if there is no current transaction
+     */
+    private List<Change> pendingChanges;
+
+    /**
+     * Constructor for a changeJournal with the {@link #DEFAULT_CAPACITY}
+     */
+    public ChangeJournal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity the maximum number of changes which are kept
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ChangeJournal(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be positive or zero but was %d"
+                    .formatted(capacity));
+        }
+
+        this.capacity = capacity;
+        this.changes = new ArrayDeque<>(Math.min(capacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Records a change of the specified operation. If the change is recorded inside a nested
+     * operation, it is ignored, because the calling operation is recorded itself. If the change
+     * is recorded inside a transaction, it is kept pending until the transaction is committed.
+     *
+     * @param source    the name of the component which was changed
+     * @param operation the name of the operation which changed the component
+     * @param arguments the arguments of the operation
+     */
+    public void record(@NotNull String source, @NotNull String operation,
+                       Object @NotNull ... arguments) {
+        if (this.nestingDepth > 0) {
+            return;
+        }
+        if (this.pendingChanges != null) {
+            this.pendingChanges.add(new Change(0, source, operation, arguments));
+            return;
+        }
+
+        Change change = new Change(++this.modCount, source, operation, arguments);
+        if (this.capacity > 0) {
+            if (this.changes.size() == this.capacity) {
+                this.changes.removeFirst();
+            }
+            this.changes.addLast(change);
+        }
+        for (Consumer<Change> listener : this.listeners) {
+            listener.accept(change);
+        }
+    }
+
+    /**
+     * Runs the specified operation as part of the currently recorded operation, so its changes
+     * are not recorded separately.
+     *
+     * @param operation the nested operation
+     */
+    public void nested(@NotNull Runnable operation) {
+        this.nestingDepth++;
+        try {
+            operation.run();
+        } finally {
+            this.nestingDepth--;
+        }
+    }
+
+    /**
+     * Runs the specified operation as part of the currently recorded operation, so its changes
+     * are not recorded separately, and returns its result.
+     *
+     * @param operation the nested operation
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     */
+    public <T> T nested(@NotNull Supplier<T> operation) {
+        this.nestingDepth++;
+        try {
+            return operation.get();
+        } finally {
+            this.nestingDepth--;
+        }
+    }
+
+    /**
+     * Begins a transaction. The following changes are kept pending until
+     * {@link #commitTransaction()} or {@link #rollbackTransaction()} is called.
+     *
+     * @throws IllegalStateException if there is already a current transaction
+     */
+    public void beginTransaction() {
+        if (this.pendingChanges != null) {
+            throw new IllegalStateException("there is already a current transaction");
+        }
+        this.pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Ends the current transaction and records its pending changes in the order of their
+     * occurrence
+     *
+     * @throws IllegalStateException if there is no current transaction
+     */
+    public void commitTransaction() {
+        List<Change> changes = this.endTransaction();
+        for (Change change : changes) {
+            this.record(change.source, change.operation, change.arguments);
+        }
+    }
+
+    /**
+     * Ends the current transaction and drops its pending changes
+     *
+     * @throws IllegalStateException if there is no current transaction
+     */
+    public void rollbackTransaction() {
+        this.endTransaction();
+    }
+
+    /**
+     * Returns the number of recorded changes
+     *
+     * @return the number of recorded changes
+     */
+    public long getModCount() {
+        return this.modCount;
+    }
+
+    /**
+     * Returns true if there are changes since the last save, otherwise false
+     *
+     * @return true if there are changes since the last save, otherwise false
+     */
+    public boolean isDirty() {
+        return this.modCount != this.savedModCount;
+    }
+
+    /**
+     * Marks the current state as saved
+     */
+    public void markSaved() {
+        this.markSaved(this.modCount);
+    }
+
+    /**
+     * Marks the state with the specified modification count as saved. A save which runs in the
+     * background has to mark the modification count of its snapshot, because there could be
+     * changes during the save.
+     *
+     * @param modCount the modification count of the saved state
+     * @throws IllegalArgumentException if the modCount is greater than the current modCount
+     */
+    public void markSaved(long modCount) {
+        if (modCount > this.modCount) {
+            throw new IllegalArgumentException("modCount %d is not recorded yet"
+                    .formatted(modCount));
+        }
+        this.savedModCount = modCount;
+    }
+
+    /**
+     * Returns an unmodifiable view of the latest changes, the oldest change first
+     *
+     * @return an unmodifiable view of the latest changes
+     */
+    @UnmodifiableView
+    public @NotNull Collection<Change> getChanges() {
+        return Collections.unmodifiableCollection(this.changes);
+    }
+
+    /**
+     * Adds the specified listener, which is notified about each recorded change
+     *
+     * @param listener the listener which should be added
+     */
+    public void addListener(@NotNull Consumer<Change> listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Removes the specified listener
+     *
+     * @param listener the listener which should be removed
+     * @return true if the listener was removed, otherwise false
+     */
+    public boolean removeListener(@NotNull Consumer<Change> listener) {
+        return this.listeners.remove(listener);
+    }
+
+    /**
+     * Ends the current transaction and returns its pending changes
+     *
+     * @return the pending changes of the ended transaction
+     * @throws IllegalStateException if there is no current transaction
+     */
+    private @NotNull List<Change> endTransaction() {
+        List<Change> changes = this.pendingChanges;
+        if (changes == null) {
+            throw new IllegalStateException("there is no current transaction");
+        }
+        this.pendingChanges = null;
+        return changes;
+    }
+
+    /**
+     * This class represents a recorded change of a saleBook
+     */
+    public static class Change {
+
+        /**
+         * The modification count of this change
+         */
+        private final long sequence;
+
+        /**
+         * The name of the component which was changed
+         */
+        private final String source;
+
+        /**
+         * The name of the operation which changed the component
+         */
+        private final String operation;
+
+        /**
+         * The arguments of the operation
+         */
+        private final Object[] arguments;
+
+        /**
+         * Constructor
+         *
+         * @param sequence  the modification count of this change
+         * @param source    the name of the component which was changed
+         * @param operation the name of the operation which changed the component
+         * @param arguments the arguments of the operation
+         */
+        private Change(long sequence, @NotNull String source, @NotNull String operation,
+                       Object @NotNull [] arguments) {
+            this.sequence = sequence;
+            this.source = source;
+            this.operation = operation;
+            this.arguments = arguments;
+        }
+
+        /**
+         * Returns the modification count of this change
+         *
+         * @return the modification count of this change
+         */
+        public long getSequence() {
+            return this.sequence;
+        }
+
+        /**
+         * Returns the name of the component which was changed
+         *
+         * @return the name of the component which was changed
+         */
+        public @NotNull String getSource() {
+            return this.source;
+        }
+
+        /**
+         * Returns the name of the operation which changed the component
+         *
+         * @return the name of the operation which changed the component
+         */
+        public @NotNull String getOperation() {
+            return this.operation;
+        }
+
+        /**
+         * Returns the arguments of the operation
+         *
+         * @return the arguments of the operation
+         */
+        public @NotNull List<Object> getArguments() {
+            return Collections.unmodifiableList(Arrays.asList(this.arguments));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            Change change = (Change) o;
+            return this.sequence == change.sequence && this.source.equals(change.source)
+                    && this.operation.equals(change.operation)
+                    && Arrays.equals(this.arguments, change.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(this.sequence, this.source, this.operation);
+            result = 31 * result + Arrays.hashCode(this.arguments);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "%d %s.%s%s".formatted(this.sequence, this.source, this.operation,
+                    Arrays.toString(this.arguments));
+        }
+    }
+}
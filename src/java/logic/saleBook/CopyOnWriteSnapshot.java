@@ -0,0 +1,86 @@
+package logic.saleBook;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class represents a snapshot of objects which are changed in place, which can be read on
+ * another thread while the objects are changed. The snapshot only keeps the references to the
+ * objects. Before an object is changed, its data is copied by {@link #preserve(Object)}, so the
+ * snapshot still returns the data of the time when it was taken. Only the objects which are
+ * changed while the snapshot is open are copied.
+ * <p>
+ * The data of an object is converted under the lock of this snapshot, both when it is preserved
+ * and when it is read, so an object has to be preserved before it is changed.
+ *
+ * @param <T> the type of the objects
+ * @param <D> the type of the data of the objects
+ * @author xthe_white_lionx
+ */
+public class CopyOnWriteSnapshot<T, D> {
+
+    /**
+     * The objects of this snapshot
+     */
+    private final T[] objects;
+
+    /**
+     * Converts an object to its data
+     */
+    private final Function<T, D> converter;
+
+    /**
+     * The data of the objects which were changed mapped to the changed objects. Guarded by this.
+     */
+    private final Map<T, D> preservedData;
+
+    /**
+     * Constructor
+     *
+     * @param objects   the objects of the snapshot, which are not copied
+     * @param converter converts an object to its data
+     */
+    public CopyOnWriteSnapshot(@NotNull T[] objects, @NotNull Function<T, D> converter) {
+        this.objects = objects;
+        this.converter = converter;
+        this.preservedData = new IdentityHashMap<>();
+    }
+
+    /**
+     * Returns the number of the objects of this snapshot
+     *
+     * @return the number of the objects of this snapshot
+     */
+    public int size() {
+        return this.objects.length;
+    }
+
+    /**
+     * Returns the data of the object at the specified index at the time when this snapshot was
+     * taken
+     *
+     * @param index the index of the object
+     * @return the data of the object at the specified index
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized D get(int index) {
+        T object = this.objects[index];
+        D data = this.preservedData.get(object);
+        return data != null ? data : this.converter.apply(object);
+    }
+
+    /**
+     * Copies the data of the specified object, which will be changed in place, if it was not
+     * copied yet. This has to be done before the object is changed.
+     *
+     * @param object the object which will be changed
+     */
+    public synchronized void preserve(@NotNull T object) {
+        if (!this.preservedData.containsKey(object)) {
+            this.preservedData.put(object, this.converter.apply(object));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package logic.saleBook;
+
+import logic.CoalescingGUIConnector;
+import logic.GUIConnector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link GUIConnector} which forwards the calls to another guiConnector. While the calls are
+ * deferred, only the last call of each method is kept, so a transaction which displays the same
+ * number or refreshes the same view many times updates the gui once, when the deferred calls
+ * are flushed.
+ *
+ * @author xthe_white_lionx
+ */
+class DeferringGUIConnector extends CoalescingGUIConnector {
+
+    /**
+     * The last deferred call of each method mapped to the name of the method, in the order of
+     * the first call of each method
+     */
+    private final Map<String, Runnable> deferredCalls;
+
+    /**
+     * True if the calls are deferred, otherwise false
+     */
+    private boolean deferring;
+
+    /**
+     * Constructor
+     *
+     * @param delegate the guiConnector to which the calls are forwarded
+     */
+    DeferringGUIConnector(@NotNull GUIConnector delegate) {
+        super(delegate);
+        this.deferredCalls = new LinkedHashMap<>();
+    }
+
+    /**
+     * Defers the following calls until {@link #flush()} or {@link #discard()} is called
+     */
+    void defer() {
+        this.deferring = true;
+    }
+
+    /**
+     * Forwards the last deferred call of each method and stops deferring
+     */
+    void flush() {
+        this.deferring = false;
+        Runnable[] calls = this.deferredCalls.values().toArray(new Runnable[0]);
+        this.deferredCalls.clear();
+        for (Runnable call : calls) {
+            call.run();
+        }
+    }
+
+    /**
+     * Drops the deferred calls and stops deferring
+     */
+    void discard() {
+        this.deferring = false;
+        this.deferredCalls.clear();
+    }
+
+    @Override
+    protected void call(@NotNull String method, @NotNull Runnable call) {
+        if (this.deferring) {
+            this.deferredCalls.put(method, call);
+        } else {
+            call.run();
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package logic.saleBook;
+
+import logic.Asset;
+import logic.manager.PositionAggregates;
+import logic.products.position.Position;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class reconciles the running totals of a saleBook with its managers. The running totals
+ * are adjusted by deltas on each change, so a missed delta lets them drift from the truth. A
+ * reconciliation recomputes the totals from the positions and assets of the managers and
+ * reports each total which differs from its running value. The sums of the positions are
+ * computed in parallel by a fork-join task over the cached cents of the positions, so the
+ * totals are compared in cents and the summing does not allocate per position.
+ * <p>
+ * A reconciliation reads the managers, so it has to run on the thread which changes the
+ * saleBook. While the positions are summed in parallel, this thread waits for the result, so
+ * no change can interleave. A periodic reconciliation only uses its background thread as timer
+ * and executes the reconciliations by the specified owner executor.
+ *
+ * @author xthe_white_lionx
+ * @see SaleBook#getReconciler()
+ */
+public class Reconciler {
+
+    /**
+     * The number of positions up to which a task sums the positions itself instead of forking
+     */
+    private static final int THRESHOLD = 1024;
+
+    /**
+     * A recomputed total which differs from its running value
+     */
+    public static final class Discrepancy {
+
+        /**
+         * The name of the total
+         */
+        private final String name;
+
+        /**
+         * The recomputed value of the total
+         */
+        private final BigDecimal expected;
+
+        /**
+         * The running value of the total
+         */
+        private final BigDecimal actual;
+
+        /**
+         * Constructor
+         *
+         * @param name     the name of the total
+         * @param expected the recomputed value of the total
+         * @param actual   the running value of the total
+         */
+        private Discrepancy(@NotNull String name, @NotNull BigDecimal expected,
+                            @NotNull BigDecimal actual) {
+            this.name = name;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        /**
+         * Returns the name of the total
+         *
+         * @return the name of the total
+         */
+        public @NotNull String getName() {
+            return this.name;
+        }
+
+        /**
+         * Returns the recomputed value of the total
+         *
+         * @return the recomputed value of the total
+         */
+        public @NotNull BigDecimal getExpected() {
+            return this.expected;
+        }
+
+        /**
+         * Returns the running value of the total
+         *
+         * @return the running value of the total
+         */
+        public @NotNull BigDecimal getActual() {
+            return this.actual;
+        }
+
+        /**
+         * Returns the running value minus the recomputed value of the total
+         *
+         * @return the difference of the running and the recomputed value
+         */
+        public @NotNull BigDecimal getDifference() {
+            return this.actual.subtract(this.expected);
+        }
+
+        @Override
+        public String toString() {
+            return "%s is %s but should be %s".formatted(this.name, this.actual, this.expected);
+        }
+    }
+
+    /**
+     * The result of a reconciliation
+     */
+    public static final class Report {
+
+        /**
+         * The totals which differ from their running value
+         */
+        private final List<Discrepancy> discrepancies;
+
+        /**
+         * The number of reconciled positions
+         */
+        private final int positionCount;
+
+        /**
+         * The duration of the reconciliation in nanoseconds
+         */
+        private final long nanos;
+
+        /**
+         * Whether the running totals were corrected
+         */
+        private final boolean corrected;
+
+        /**
+         * Constructor
+         *
+         * @param discrepancies the totals which differ from their running value
+         * @param positionCount the number of reconciled positions
+         * @param nanos         the duration of the reconciliation in nanoseconds
+         * @param corrected     whether the running totals were corrected
+         */
+        private Report(@NotNull List<Discrepancy> discrepancies, int positionCount, long nanos,
+                       boolean corrected) {
+            this.discrepancies = Collections.unmodifiableList(discrepancies);
+            this.positionCount = positionCount;
+            this.nanos = nanos;
+            this.corrected = corrected;
+        }
+
+        /**
+         * Returns an unmodifiable view of the totals which differ from their running value
+         *
+         * @return the totals which differ from their running value
+         */
+        @UnmodifiableView
+        public @NotNull List<Discrepancy> getDiscrepancies() {
+            return this.discrepancies;
+        }
+
+        /**
+         * Returns true if all running totals match their recomputed value
+         *
+         * @return true if there are no discrepancies, otherwise false
+         */
+        public boolean isConsistent() {
+            return this.discrepancies.isEmpty();
+        }
+
+        /**
+         * Returns the number of reconciled positions
+         *
+         * @return the number of reconciled positions
+         */
+        public int getPositionCount() {
+            return this.positionCount;
+        }
+
+        /**
+         * Returns the duration of the reconciliation in nanoseconds
+         *
+         * @return the duration of the reconciliation in nanoseconds
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        /**
+         * Returns true if the discrepancies of the running totals of the saleBook were corrected
+         *
+         * @return true if the running totals were corrected, otherwise false
+         */
+        public boolean isCorrected() {
+            return this.corrected;
+        }
+
+        @Override
+        public String toString() {
+            return "Report{" + "discrepancies=" + this.discrepancies +
+                    ", positionCount=" + this.positionCount +
+                    ", nanos=" + this.nanos +
+                    ", corrected=" + this.corrected +
+                    '}';
+        }
+    }
+
+    /**
+     * The sums of a range of positions in cents
+     *
+     * @param sales         the sum of the selling prices of the sold positions in cents
+     * @param variableCosts the sum of the total costs of the positions in cents
+     * @param performance   the sum of the performances of the sold positions in cents
+     * @param soldCount     the number of the sold positions
+     */
+    private record Sums(long sales, long variableCosts, long performance, int soldCount) {
+
+        /**
+         * The sums of no positions
+         */
+        private static final Sums ZERO = new Sums(0L, 0L, 0L, 0);
+
+        /**
+         * Returns the sum of these and the specified sums
+         *
+         * @param that the sums which should be added
+         * @return the sum of these and the specified sums
+         * @throws ArithmeticException if a sum overflows
+         */
+        private @NotNull Sums plus(@NotNull Sums that) {
+            return new Sums(Math.addExact(this.sales, that.sales),
+                    Math.addExact(this.variableCosts, that.variableCosts),
+                    Math.addExact(this.performance, that.performance),
+                    this.soldCount + that.soldCount);
+        }
+    }
+
+    /**
+     * A task which sums a range of positions and forks itself, if the range is too large
+     */
+    private static final class SumTask extends RecursiveTask<Sums> {
+
+        /**
+         * The serial version of this task
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The positions
+         */
+        private final Position[] positions;
+
+        /**
+         * The index of the first position of the range
+         */
+        private final int from;
+
+        /**
+         * The index after the last position of the range
+         */
+        private final int to;
+
+        /**
+         * Constructor
+         *
+         * @param positions the positions
+         * @param from      the index of the first position of the range
+         * @param to        the index after the last position of the range
+         */
+        private SumTask(@NotNull Position[] positions, int from, int to) {
+            this.positions = positions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Sums compute() {
+            if (this.to - this.from <= THRESHOLD) {
+                long sales = 0L;
+                long variableCosts = 0L;
+                long performance = 0L;
+                int soldCount = 0;
+                for (int i = this.from; i < this.to; i++) {
+                    Position position = this.positions[i];
+                    long totalCost = position.getTotalCostCents();
+                    variableCosts = Math.addExact(variableCosts, totalCost);
+                    if (position.isSold()) {
+                        long sellingPrice = position.getSellingPriceCents();
+                        sales = Math.addExact(sales, sellingPrice);
+                        performance = Math.addExact(performance, sellingPrice - totalCost);
+                        soldCount++;
+                    }
+                }
+                return new Sums(sales, variableCosts, performance, soldCount);
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            SumTask left = new SumTask(this.positions, this.from, middle);
+            left.fork();
+            Sums right = new SumTask(this.positions, middle, this.to).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    /**
+     * The saleBook which is reconciled
+     */
+    private final SaleBook saleBook;
+
+    /**
+     * The timer of the periodic reconciliations or null if they are not started
+     */
+    private ScheduledExecutorService timer;
+
+    /**
+     * The number of reconciliations
+     */
+    private long runCount;
+
+    /**
+     * The sum of the durations of the reconciliations in nanoseconds
+     */
+    private long totalNanos;
+
+    /**
+     * The longest duration of a reconciliation in nanoseconds
+     */
+    private long maxNanos;
+
+    /**
+     * The report of the last reconciliation or null if there was no reconciliation yet
+     */
+    private Report lastReport;
+
+    /**
+     * Creates a new Reconciler for the specified saleBook
+     *
+     * @param saleBook the saleBook which should be reconciled
+     */
+    Reconciler(@NotNull SaleBook saleBook) {
+        this.saleBook = saleBook;
+    }
+
+    /**
+     * Recomputes the totals of the saleBook and reports the totals which differ from their
+     * running value. This methode has to be called by the thread which changes the saleBook.
+     *
+     * @param correct true if the running totals of the saleBook should be set to their
+     *                recomputed value
+     * @return the report of the reconciliation
+     */
+    public synchronized @NotNull Report reconcile(boolean correct) {
+        long start = System.nanoTime();
+        Position[] positions = this.saleBook.getPositionsManager().getPositionsView()
+                .toArray(new Position[0]);
+        Sums sums = positions.length == 0
+                ? Sums.ZERO
+                : ForkJoinPool.commonPool().invoke(new SumTask(positions, 0, positions.length));
+        long sumAssetsValue = 0L;
+        for (Asset asset : this.saleBook.getAssetsManager().getAssetsView()) {
+            sumAssetsValue = Math.addExact(sumAssetsValue, asset.getValueCents());
+        }
+
+        List<Discrepancy> discrepancies = new ArrayList<>();
+        compare(discrepancies, "sales volume", sums.sales(),
+                this.saleBook.getSalesVolumeCents());
+        compare(discrepancies, "variable costs", sums.variableCosts(),
+                this.saleBook.getVariableCostsCents());
+        compare(discrepancies, "sum of assets value", sumAssetsValue,
+                this.saleBook.getAssetsManager().getSumValueCents());
+        PositionAggregates.Totals totals = this.saleBook.getPositionsManager().getAggregates()
+                .getTotals();
+        compare(discrepancies, "aggregated sales", sums.sales(), totals.getSales().getCents());
+        compare(discrepancies, "aggregated variable costs", sums.variableCosts(),
+                totals.getVariableCosts().getCents());
+        compare(discrepancies, "aggregated performance", sums.performance(),
+                totals.getPerformance().getCents());
+        if (sums.soldCount() != totals.getSoldCount()) {
+            discrepancies.add(new Discrepancy("aggregated sold count",
+                    BigDecimal.valueOf(sums.soldCount()), BigDecimal.valueOf(totals.getSoldCount())));
+        }
+
+        boolean corrected = correct && !discrepancies.isEmpty();
+        if (corrected) {
+            this.saleBook.correctTotals(sums.sales(), sums.variableCosts());
+            this.saleBook.getAssetsManager().correctSumValue(sumAssetsValue);
+            this.saleBook.getPositionsManager().reindexPositions();
+        }
+
+        long nanos = System.nanoTime() - start;
+        this.runCount++;
+        this.totalNanos += nanos;
+        this.maxNanos = Math.max(this.maxNanos, nanos);
+        this.lastReport = new Report(discrepancies, positions.length, nanos, corrected);
+        return this.lastReport;
+    }
+
+    /**
+     * Starts periodic reconciliations. A background thread triggers a reconciliation after
+     * each period, which is executed by the specified ownerExecutor. Running periodic
+     * reconciliations are stopped.
+     *
+     * @param periodMillis  the period between two reconciliations in milliseconds
+     * @param correct       true if the running totals should be corrected
+     * @param ownerExecutor executes the reconciliations on the thread which changes the
+     *                      saleBook, for example {@code Platform::runLater}
+     * @param listener      the listener which is notified about each report
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public synchronized void start(long periodMillis, boolean correct,
+                                   @NotNull Executor ownerExecutor,
+                                   @NotNull Consumer<Report> listener) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period must be positive but is " + periodMillis);
+        }
+
+        this.stop();
+        ScheduledThreadPoolExecutor newTimer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "saleBook-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        newTimer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        newTimer.scheduleWithFixedDelay(() -> ownerExecutor.execute(
+                        () -> listener.accept(this.reconcile(correct))),
+                periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        this.timer = newTimer;
+    }
+
+    /**
+     * Stops the periodic reconciliations. A triggered reconciliation which is not executed yet
+     * by the owner executor is still executed.
+     */
+    public synchronized void stop() {
+        if (this.timer != null) {
+            this.timer.shutdownNow();
+            this.timer = null;
+        }
+    }
+
+    /**
+     * Returns true if the periodic reconciliations are started
+     *
+     * @return true if the periodic reconciliations are started, otherwise false
+     */
+    public synchronized boolean isRunning() {
+        return this.timer != null;
+    }
+
+    /**
+     * Returns the report of the last reconciliation
+     *
+     * @return the report of the last reconciliation or null if there was no reconciliation yet
+     */
+    public synchronized @Nullable Report getLastReport() {
+        return this.lastReport;
+    }
+
+    /**
+     * Returns the number of reconciliations
+     *
+     * @return the number of reconciliations
+     */
+    public synchronized long getRunCount() {
+        return this.runCount;
+    }
+
+    /**
+     * Returns the average duration of the reconciliations in nanoseconds
+     *
+     * @return the average duration in nanoseconds or 0 if there was no reconciliation yet
+     */
+    public synchronized long getAverageNanos() {
+        return this.runCount == 0 ? 0 : this.totalNanos / this.runCount;
+    }
+
+    /**
+     * Returns the longest duration of a reconciliation in nanoseconds
+     *
+     * @return the longest duration in nanoseconds or 0 if there was no reconciliation yet
+     */
+    public synchronized long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * Adds a discrepancy to the specified discrepancies, if the specified values differ
+     *
+     * @param discrepancies the discrepancies
+     * @param name          the name of the total
+     * @param expected      the recomputed value of the total in cents
+     * @param actual        the running value of the total in cents
+     */
+    private static void compare(@NotNull List<Discrepancy> discrepancies, @NotNull String name,
+                                long expected, long actual) {
+        if (expected != actual) {
+            discrepancies.add(new Discrepancy(name, BigDecimal.valueOf(expected, 2),
+                    BigDecimal.valueOf(actual, 2)));
+        }
+    }
+}
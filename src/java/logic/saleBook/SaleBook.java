@@ -3,11 +3,13 @@ package logic.saleBook;
 import data.SaleBookData;
 import gui.FXutils.LabelUtils;
 import logic.Asset;
+import logic.Money;
 import data.Dataable;
 import logic.GUIConnector;
 import logic.Supplier;
 import logic.order.Order;
 import logic.products.item.ItemColor;
+import logic.manager.AbstractManager;
 import logic.manager.AssetsManager;
 import logic.manager.OrdersManager;
 import logic.manager.PositionsManager;
@@ -15,13 +17,21 @@ import logic.manager.SparePartsManager;
 import logic.manager.SuppliersManager;
 import logic.products.position.Position;
 import logic.products.position.PositionData;
+import logic.search.SearchHit;
+import logic.search.SearchIndex;
 import org.jetbrains.annotations.UnmodifiableView;
 import utils.BigDecimalUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
 
 /**
  * This class contains the program's logic.
@@ -70,9 +80,51 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
     private BigDecimal variableCosts = BigDecimal.ZERO;
 
     /**
-     * Connection to the gui.
+     * Volume of the sales in cents, which is kept alongside the salesVolume
      */
-    private final GUIConnector gui;
+    private long salesVolumeCents;
+
+    /**
+     * The sum of all the variable costs in cents, which is kept alongside the variableCosts
+     */
+    private long variableCostsCents;
+
+    /**
+     * Connection to the gui, which defers the calls during a transaction
+     */
+    private final DeferringGUIConnector gui;
+
+    /**
+     * The current transaction or null, if there is no current transaction
+     */
+    private Transaction transaction;
+
+    /**
+     * The journal which records the changes of this saleBook
+     */
+    private final ChangeJournal changeJournal = new ChangeJournal();
+
+    /**
+     * The full-text index over the entities of this saleBook, which is maintained by the managers
+     */
+    private final SearchIndex searchIndex = new SearchIndex();
+
+    /**
+     * The reconciler which verifies the running totals of this saleBook
+     */
+    private final Reconciler reconciler = new Reconciler(this);
+
+    /**
+     * Runs operations on the thread which may change this saleBook, or null if this saleBook
+     * is not confined to a thread
+     */
+    private volatile Executor ownerExecutor;
+
+    /**
+     * Returns true if the current thread may change this saleBook, or null if this saleBook is
+     * not confined to a thread
+     */
+    private volatile BooleanSupplier ownerThread;
 
     /**
      * Constructor for a sale book.
@@ -81,13 +133,13 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      */
     public SaleBook(@NotNull GUIConnector gui) {
         super();
-        this.sparePartsManager = new SparePartsManager(this, gui);
-        this.positionsManager = new PositionsManager(this, gui);
-        this.suppliersManager = new SuppliersManager(this, gui);
-        this.ordersManager = new OrdersManager(this, gui);
-        this.assetsManager = new AssetsManager(this, gui);
+        this.gui = new DeferringGUIConnector(gui);
+        this.sparePartsManager = new SparePartsManager(this, this.gui);
+        this.positionsManager = new PositionsManager(this, this.gui);
+        this.suppliersManager = new SuppliersManager(this, this.gui);
+        this.ordersManager = new OrdersManager(this, this.gui);
+        this.assetsManager = new AssetsManager(this, this.gui);
         this.categories = new TreeSet<>();
-        this.gui = gui;
 
         this.displaySaleBook();
     }
@@ -102,21 +154,45 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         super(saleBookData.repairServiceSales, saleBookData.extraordinaryIncome,
                 saleBookData.paid, saleBookData.fixedCosts);
 
+        this.gui = new DeferringGUIConnector(gui);
         this.categories = new TreeSet<>();
-        this.sparePartsManager = new SparePartsManager(this, gui,
+        this.sparePartsManager = new SparePartsManager(this, this.gui,
                 saleBookData.getSparePartsManagerData());
         ItemColor.setItemColors(saleBookData.getItemColors());
         Position[] positions = this.createPositions(saleBookData.getPositionsManagerData().getPositionsData());
         this.positionsManager = new PositionsManager(this, positions,
-                saleBookData.getPositionsManagerData().getNextPosId(), gui);
-        this.suppliersManager = new SuppliersManager(this, saleBookData.getSuppliers(), gui);
-        this.ordersManager = new OrdersManager(this, gui,
+                saleBookData.getPositionsManagerData().getNextPosId(), this.gui);
+        this.suppliersManager = new SuppliersManager(this, saleBookData.getSuppliers(), this.gui);
+        this.ordersManager = new OrdersManager(this, this.gui,
                 saleBookData.getOrdersManagerData());
-        this.assetsManager = new AssetsManager(this, saleBookData.getAssetsManagerData(), gui);
-        this.gui = gui;
+        this.assetsManager = new AssetsManager(this, saleBookData.getAssetsManagerData(),
+                this.gui);
         this.displaySaleBook();
     }
 
+    /**
+     * Constructor for a sale book, which is filled by the specified loader.
+     * In contrast to the other constructors the sale book is not displayed, so the loading can
+     * take place outside the JavaFX application thread. The sale book can be displayed by
+     * {@link #displaySaleBook()} afterward.
+     *
+     * @param gui    Connection to the gui
+     * @param loader the loader which fills the sale book
+     * @throws IOException if the loader fails to read the data of the sale book
+     */
+    public SaleBook(@NotNull GUIConnector gui, @NotNull SaleBookLoader loader) throws IOException {
+        super();
+        this.gui = new DeferringGUIConnector(gui);
+        this.sparePartsManager = new SparePartsManager(this, this.gui);
+        this.positionsManager = new PositionsManager(this, this.gui);
+        this.suppliersManager = new SuppliersManager(this, this.gui);
+        this.ordersManager = new OrdersManager(this, this.gui);
+        this.assetsManager = new AssetsManager(this, this.gui);
+        this.categories = new TreeSet<>();
+
+        loader.load(this);
+    }
+
     /**
      * Returns the sparePartsManager of this saleBook
      *
@@ -162,6 +238,37 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         return this.assetsManager;
     }
 
+    /**
+     * Returns the full-text index over the entities of this saleBook
+     *
+     * @return the full-text index of this saleBook
+     */
+    public @NotNull SearchIndex getSearchIndex() {
+        return this.searchIndex;
+    }
+
+    /**
+     * Returns the best hits for the specified query across the positions, spare parts,
+     * suppliers, assets and orders of this saleBook
+     *
+     * @param query the query
+     * @param limit the maximum number of returned hits
+     * @return the best hits for the specified query sorted by their score
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public @NotNull List<SearchHit> search(@NotNull String query, int limit) {
+        return this.searchIndex.search(query, limit);
+    }
+
+    /**
+     * Returns the reconciler which verifies the running totals of this saleBook
+     *
+     * @return the reconciler of this saleBook
+     */
+    public @NotNull Reconciler getReconciler() {
+        return this.reconciler;
+    }
+
     /**
      * Returns the categories of the positions
      *
@@ -177,6 +284,7 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @param category
      */
     public boolean addCategory(String category) {
+        this.checkThread();
         if (this.categories.add(category)) {
             this.gui.displayCategories(this.categories);
             return true;
@@ -184,6 +292,129 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         return false;
     }
 
+    /**
+     * Returns the changeJournal of this saleBook
+     *
+     * @return the changeJournal of this saleBook
+     */
+    public @NotNull ChangeJournal getChangeJournal() {
+        return this.changeJournal;
+    }
+
+    /**
+     * Returns the current transaction of this saleBook
+     *
+     * @return the current transaction or null, if there is no current transaction
+     */
+    public @Nullable Transaction getTransaction() {
+        return this.transaction;
+    }
+
+    /**
+     * Confines the changes of this saleBook to one thread, for example to the JavaFX
+     * application thread as soon as the saleBook is displayed. Afterwards each operation of this
+     * saleBook and its managers which is called on another thread is rejected before it changes
+     * anything. Other threads can run their operations by {@link #callOnOwner}.
+     *
+     * @param executor    runs operations on the thread which may change this saleBook
+     * @param ownerThread returns true if the current thread may change this saleBook
+     */
+    public void confineTo(@NotNull Executor executor, @NotNull BooleanSupplier ownerThread) {
+        this.ownerExecutor = executor;
+        this.ownerThread = ownerThread;
+    }
+
+    /**
+     * Checks that the current thread may change this saleBook. This methode shall be only used
+     * by the operations of this saleBook and its managers, before they change anything.
+     *
+     * @throws IllegalStateException if this saleBook is confined to another thread
+     */
+    public void checkThread() {
+        BooleanSupplier ownerThread = this.ownerThread;
+        if (ownerThread != null && !ownerThread.getAsBoolean()) {
+            throw new IllegalStateException("the saleBook cannot be changed by the thread %s"
+                    .formatted(Thread.currentThread().getName()));
+        }
+    }
+
+    /**
+     * Runs the specified operation on the thread which may change this saleBook and waits for
+     * its result. The operation is run directly, if the current thread may change this saleBook
+     * or this saleBook is not confined to a thread. An exception of the operation is rethrown.
+     *
+     * @param operation the operation which changes this saleBook
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     */
+    public <T> T callOnOwner(@NotNull java.util.function.Supplier<T> operation) {
+        BooleanSupplier ownerThread = this.ownerThread;
+        if (ownerThread == null || ownerThread.getAsBoolean()) {
+            return operation.get();
+        }
+        try {
+            return CompletableFuture.supplyAsync(operation, this.ownerExecutor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the specified operation in a transaction, see
+     * {@link #inTransaction(java.util.function.Supplier)}
+     *
+     * @param operation the operation which should be run in a transaction
+     */
+    public void inTransaction(@NotNull Runnable operation) {
+        this.inTransaction(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the specified operation in a transaction and returns its result. During the
+     * transaction the calls of the gui are deferred, the views which are bound to the managers
+     * collect their changes and the changes of the changeJournal are kept pending. If the
+     * operation finishes, the transaction is committed: each view notifies one change, the gui
+     * is updated once per displayed number or view and the changes are recorded. If the
+     * operation throws an exception, the transaction is rolled back: the managers, the running
+     * totals and the categories are restored to their state at the beginning of the transaction,
+     * the deferred calls of the gui and the pending changes are dropped and the exception is
+     * rethrown. A transaction which is started inside a transaction joins the outer transaction.
+     * <p>
+     * Only the views and the gui are batched. The position index, the aggregates and the search
+     * index still follow each change of the managers, so the operation can query them for its
+     * own changes.
+     *
+     * @param operation the operation which should be run in a transaction
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     */
+    public <T> T inTransaction(@NotNull java.util.function.Supplier<T> operation) {
+        this.checkThread();
+        if (this.transaction != null) {
+            return operation.get();
+        }
+
+        Transaction transaction = this.beginTransaction();
+        T result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException | Error e) {
+            this.endTransaction(transaction, false);
+            throw e;
+        }
+        this.endTransaction(transaction, true);
+        return result;
+    }
+
     /**
      * Returns the salesVolume of this saleBook
      *
@@ -201,12 +432,32 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         return this.variableCosts;
     }
 
+    /**
+     * Returns the salesVolume of this saleBook in cents
+     *
+     * @return the salesVolume of this saleBook in cents
+     */
+    long getSalesVolumeCents() {
+        return this.salesVolumeCents;
+    }
+
+    /**
+     * Returns the sum of all the variable costs of this saleBook in cents
+     *
+     * @return the sum of all the variable costs in cents
+     */
+    long getVariableCostsCents() {
+        return this.variableCostsCents;
+    }
+
     /**
      * @param cost
      */
     public void subtractVariableCosts(@NotNull BigDecimal cost) {
+        this.checkThread();
         if (cost.compareTo(BigDecimal.ZERO) > 0) {
             this.variableCosts = this.variableCosts.subtract(cost);
+            this.variableCostsCents -= Money.centsOf(cost);
             this.updateTotalPerformance();
         }
     }
@@ -215,8 +466,10 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @param cost
      */
     public void addVariableCosts(@NotNull BigDecimal cost) {
+        this.checkThread();
         if (cost.compareTo(BigDecimal.ZERO) > 0) {
             this.variableCosts = this.variableCosts.add(cost);
+            this.variableCostsCents += Money.centsOf(cost);
             this.updateTotalPerformance();
         }
     }
@@ -227,7 +480,9 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @param sale the sale which should be added
      */
     public void addRepairServiceSale(@NotNull BigDecimal sale) {
+        this.checkThread();
         this.repairServiceSales = this.repairServiceSales.add(sale);
+        this.changeJournal.record("SaleBook", "addRepairServiceSale", sale);
         this.gui.displayRepairServiceSale(this.repairServiceSales);
         this.updateTenthPart();
         this.gui.updateStatus(String.format("repair service sale added %.2f %s add to position ",
@@ -240,7 +495,9 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @param income the income which should be added
      */
     public void addExtraordinaryIncome(@NotNull BigDecimal income) {
+        this.checkThread();
         this.extraordinaryIncome = this.extraordinaryIncome.add(income);
+        this.changeJournal.record("SaleBook", "addExtraordinaryIncome", income);
         this.gui.displayExtraordinaryIncome(this.extraordinaryIncome);
         this.updateTenthPart();
         this.gui.updateStatus(String.format("extraordinary income added %.2f %s",
@@ -254,11 +511,13 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @throws IllegalArgumentException if the payment is negative
      */
     public void addPayment(@NotNull BigDecimal payment) {
+        this.checkThread();
         if (!BigDecimalUtils.isPositive(payment)) {
             throw new IllegalArgumentException("payment is negative");
         }
 
         this.paid = this.paid.add(payment);
+        this.changeJournal.record("SaleBook", "addPayment", payment);
         this.gui.displayPaid(this.paid);
         BigDecimal tenthPartTotalSales = this.repairServiceSales.add(this.salesVolume.add(this.extraordinaryIncome)).divide(BigDecimal.TEN, RoundingMode.HALF_UP);
         this.gui.displayTenthPartBalance(this.paid.subtract(tenthPartTotalSales));
@@ -266,14 +525,35 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
                 payment, LabelUtils.SYMBOL_OF_CURRENCY));
     }
 
+    /**
+     * Sets the sales volume and the variable costs to the specified recomputed values and
+     * displays the updated numbers
+     *
+     * @param salesVolumeCents   the recomputed sales volume in cents
+     * @param variableCostsCents the recomputed variable costs in cents
+     */
+    void correctTotals(long salesVolumeCents, long variableCostsCents) {
+        this.checkThread();
+        this.salesVolumeCents = salesVolumeCents;
+        this.variableCostsCents = variableCostsCents;
+        this.salesVolume = BigDecimal.valueOf(salesVolumeCents, 2);
+        this.variableCosts = BigDecimal.valueOf(variableCostsCents, 2);
+        this.gui.displayVariableCosts(this.variableCosts);
+        this.updateTenthPart();
+        this.updateProfitAndLossAccountBalance();
+        this.updateTotalPerformance();
+    }
+
     /**
      * Adds the specified sale to the sale volume and displays the updated numbers
      *
      * @param sale the sale which should be added
      */
     public void addSale(@NotNull BigDecimal sale) {
+        this.checkThread();
         if (sale.compareTo(BigDecimal.ZERO) > 0) {
             this.salesVolume = this.salesVolume.add(sale);
+            this.salesVolumeCents += Money.centsOf(sale);
             this.updateTenthPart();
         }
     }
@@ -284,21 +564,26 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @param sale the sale which should be subtracted
      */
     public void subtractSale(@NotNull BigDecimal sale) {
+        this.checkThread();
         if (sale.compareTo(BigDecimal.ZERO) > 0) {
             this.salesVolume = this.salesVolume.subtract(sale);
+            this.salesVolumeCents -= Money.centsOf(sale);
             this.updateTenthPart();
         }
     }
 
     /**
      * Adds the specified cost to the fixedCost, recalculates the balance and
-     * displays the updated numbers.
+     * displays the updated numbers. The cost is converted by its decimal representation to
+     * cents, so 0.1 adds exactly 0.10.
      *
      * @param cost the cost which should be added
      */
     public void addFixedCost(double cost) {
+        this.checkThread();
         if (cost > 0) {
-            this.fixedCosts = this.fixedCosts.add(new BigDecimal(cost));
+            this.fixedCosts = this.fixedCosts.add(Money.of(cost).toBigDecimal());
+            this.changeJournal.record("SaleBook", "addFixedCost", cost);
             this.updateProfitAndLossAccountBalance();
         }
     }
@@ -309,6 +594,7 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
      * @return
      */
     public boolean removeCategory(String category) {
+        this.checkThread();
         //TODO 27.05.2024 check for category use in positionManager
         if (this.categories.contains(category)
                 && this.sparePartsManager.getSparePartsOfCategory(category).isEmpty()) {
@@ -320,6 +606,36 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         return false;
     }
 
+    /**
+     * Adds the specified loaded position to the positionsManager of this saleBook and adds its
+     * costs, sale and category without notifying the gui.
+     * This methode shall be only used while this saleBook is loaded.
+     *
+     * @param position the loaded position
+     */
+    public void loadPosition(@NotNull Position position) {
+        this.positionsManager.loadPosition(position);
+        this.registerPosition(position);
+    }
+
+    /**
+     * Sets the loaded balances of this saleBook without notifying the gui.
+     * This methode shall be only used while this saleBook is loaded.
+     *
+     * @param repairServiceSales  the loaded sales of the repair services
+     * @param extraordinaryIncome the loaded extraordinary income
+     * @param paid                the loaded number of paid taxes
+     * @param fixedCosts          the loaded total number of fixed costs
+     */
+    public void loadBalances(@NotNull BigDecimal repairServiceSales,
+                             @NotNull BigDecimal extraordinaryIncome, @NotNull BigDecimal paid,
+                             @NotNull BigDecimal fixedCosts) {
+        this.repairServiceSales = repairServiceSales;
+        this.extraordinaryIncome = extraordinaryIncome;
+        this.paid = paid;
+        this.fixedCosts = fixedCosts;
+    }
+
     /**
      * @param repairServiceSales
      * @param extraordinaryIncome
@@ -328,12 +644,15 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
     //TODO 08.01.2024 JavaDoc
     public void recalculateTenthPartPage(BigDecimal repairServiceSales, BigDecimal extraordinaryIncome,
                                          BigDecimal paid) {
+        this.checkThread();
         this.repairServiceSales = repairServiceSales;
         this.gui.displayRepairServiceSale(repairServiceSales);
         this.extraordinaryIncome = extraordinaryIncome;
         this.gui.displayExtraordinaryIncome(extraordinaryIncome);
         this.paid = paid;
         this.gui.displayPaid(paid);
+        this.changeJournal.record("SaleBook", "recalculateTenthPartPage", repairServiceSales,
+                extraordinaryIncome, paid);
         this.updateTenthPart();
     }
 
@@ -397,6 +716,82 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
                 '}';
     }
 
+    /**
+     * Begins a new transaction and registers how the running totals and the categories are
+     * restored
+     *
+     * @return the new transaction
+     */
+    private @NotNull Transaction beginTransaction() {
+        Transaction transaction = new Transaction();
+        BigDecimal repairServiceSales = this.repairServiceSales;
+        BigDecimal extraordinaryIncome = this.extraordinaryIncome;
+        BigDecimal paid = this.paid;
+        BigDecimal fixedCosts = this.fixedCosts;
+        BigDecimal salesVolume = this.salesVolume;
+        BigDecimal variableCosts = this.variableCosts;
+        long salesVolumeCents = this.salesVolumeCents;
+        long variableCostsCents = this.variableCostsCents;
+        Set<String> categories = new TreeSet<>(this.categories);
+        transaction.onRollback(() -> {
+            this.repairServiceSales = repairServiceSales;
+            this.extraordinaryIncome = extraordinaryIncome;
+            this.paid = paid;
+            this.fixedCosts = fixedCosts;
+            this.salesVolume = salesVolume;
+            this.variableCosts = variableCosts;
+            this.salesVolumeCents = salesVolumeCents;
+            this.variableCostsCents = variableCostsCents;
+            this.categories.clear();
+            this.categories.addAll(categories);
+        });
+        for (AbstractManager manager : this.getManagers()) {
+            manager.transactionStarted(transaction);
+        }
+        this.changeJournal.beginTransaction();
+        this.gui.defer();
+        this.transaction = transaction;
+        return transaction;
+    }
+
+    /**
+     * Ends the specified transaction. If it is not committed, its changes are undone.
+     *
+     * @param transaction the current transaction
+     * @param committed   true if the transaction should be committed, false if it should be
+     *                    rolled back
+     */
+    private void endTransaction(@NotNull Transaction transaction, boolean committed) {
+        this.transaction = null;
+        try {
+            if (!committed) {
+                transaction.rollback();
+            }
+        } finally {
+            AbstractManager[] managers = this.getManagers();
+            for (int i = managers.length - 1; i >= 0; i--) {
+                managers[i].transactionEnded();
+            }
+            if (committed) {
+                this.changeJournal.commitTransaction();
+                this.gui.flush();
+            } else {
+                this.changeJournal.rollbackTransaction();
+                this.gui.discard();
+            }
+        }
+    }
+
+    /**
+     * Returns the managers of this saleBook
+     *
+     * @return the managers of this saleBook
+     */
+    private @NotNull AbstractManager[] getManagers() {
+        return new AbstractManager[]{this.sparePartsManager, this.positionsManager,
+                this.suppliersManager, this.ordersManager, this.assetsManager};
+    }
+
     /**
      * Initializes the positionsManager.
      *
@@ -409,15 +804,27 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         for (int i = 0; i < length; i++) {
             Position position = new Position(positionData[i], ItemColor.getItemColorMap());
             result[i] = position;
-            this.variableCosts = this.variableCosts.add(position.getTotalCost());
-            this.categories.add(position.getCategory());
-            if (position.isSold()) {
-                this.salesVolume = this.salesVolume.add(position.getSellingPrice());
-            }
+            this.registerPosition(position);
         }
         return result;
     }
 
+    /**
+     * Adds the costs, the sale and the category of the specified position to this saleBook
+     * without notifying the gui
+     *
+     * @param position the position which should be registered
+     */
+    private void registerPosition(@NotNull Position position) {
+        this.variableCosts = this.variableCosts.add(position.getTotalCost());
+        this.variableCostsCents += position.getTotalCostCents();
+        this.categories.add(position.getCategory());
+        if (position.isSold()) {
+            this.salesVolume = this.salesVolume.add(position.getSellingPrice());
+            this.salesVolumeCents += position.getSellingPriceCents();
+        }
+    }
+
     /**
      *
      */
@@ -451,7 +858,7 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
     /**
      * Displays the components of this saleBook
      */
-    private void displaySaleBook() {
+    public void displaySaleBook() {
         this.gui.displaySpareParts(this.sparePartsManager.getObservableList());
         this.gui.displaySparePartNames(this.sparePartsManager.getSparePartNames());
         this.gui.displayPositions(this.positionsManager.toFilteredTreeItem());
@@ -459,6 +866,7 @@ public class SaleBook extends AbstractSaleBook implements Dataable<data.SaleBook
         this.gui.displaySupplierNames(this.suppliersManager.getSupplierNames());
         this.gui.displayOrders(this.ordersManager.getObservableList());
         this.gui.displayAssets(this.assetsManager.getObservableList());
+        this.gui.displaySumAssetsValue(this.assetsManager.getSumValue());
         this.gui.displayCategories(this.categories);
         this.gui.displayRepairServiceSale(this.repairServiceSales);
         this.gui.displayExtraordinaryIncome(this.extraordinaryIncome);
@@ -0,0 +1,24 @@
+package logic.saleBook;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * This is an interface for loaders, which fill an empty {@link SaleBook} with its data.
+ * A loader uses the load methods of the saleBook and its managers, so the gui will not be
+ * notified while the saleBook is loaded.
+ *
+ * @author xthe_white_lionx
+ */
+@FunctionalInterface
+public interface SaleBookLoader {
+
+    /**
+     * Loads the data into the specified empty saleBook
+     *
+     * @param saleBook the saleBook which should be filled
+     * @throws IOException if an I/O error occurs by reading the data
+     */
+    void load(@NotNull SaleBook saleBook) throws IOException;
+}
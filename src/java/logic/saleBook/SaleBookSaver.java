@@ -0,0 +1,26 @@
+package logic.saleBook;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * This is an interface for savers, which write a snapshot of a {@link SaleBook} in the format
+ * of a saleBook file. The snapshot is taken when the saver is created, so a saver can be called
+ * outside the JavaFX application thread.
+ *
+ * @author xthe_white_lionx
+ */
+@FunctionalInterface
+public interface SaleBookSaver {
+
+    /**
+     * Writes the snapshot of the saleBook into the specified outputStream. The outputStream is
+     * flushed but not closed.
+     *
+     * @param outputStream the outputStream in which should be written
+     * @throws IOException if an I/O error occurs by writing the data
+     */
+    void save(@NotNull OutputStream outputStream) throws IOException;
+}
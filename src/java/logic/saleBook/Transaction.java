@@ -0,0 +1,95 @@
+package logic.saleBook;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * This class represents a running transaction of a saleBook, which is started by
+ * {@link SaleBook#inTransaction(java.util.function.Supplier)}. The components of the saleBook
+ * register how their changes are undone, so the saleBook can be restored to its state at the
+ * beginning of the transaction if the transaction fails.
+ *
+ * @author xthe_white_lionx
+ */
+public class Transaction {
+
+    /**
+     * The actions which undo the changes of this transaction, the latest action first
+     */
+    private final Deque<Runnable> undoActions;
+
+    /**
+     * The copies of the objects which are changed in place mapped to the changed objects
+     */
+    private final Map<Object, Object> savedCopies;
+
+    /**
+     * Constructor
+     */
+    Transaction() {
+        this.undoActions = new ArrayDeque<>();
+        this.savedCopies = new IdentityHashMap<>();
+    }
+
+    /**
+     * Registers the specified action, which undoes a change of this transaction. The actions
+     * are run in the reverse order of their registration if this transaction is rolled back.
+     *
+     * @param undoAction the action which undoes a change
+     */
+    public void onRollback(@NotNull Runnable undoAction) {
+        this.undoActions.push(undoAction);
+    }
+
+    /**
+     * Returns true if a copy of the specified object was saved in this transaction, otherwise
+     * false
+     *
+     * @param object the object which is changed in place
+     * @return true if a copy of the specified object was saved, otherwise false
+     */
+    public boolean isSaved(@NotNull Object object) {
+        return this.savedCopies.containsKey(object);
+    }
+
+    /**
+     * Saves the specified copy of the specified object, which is changed in place. An object has
+     * to be saved once before its first change, later changes are undone by restoring the copy.
+     *
+     * @param object the object which is changed in place
+     * @param copy   the copy of the object before its first change
+     * @throws IllegalStateException if a copy of the object was already saved
+     */
+    public void save(@NotNull Object object, @NotNull Object copy) {
+        if (this.savedCopies.putIfAbsent(object, copy) != null) {
+            throw new IllegalStateException("a copy of %s is already saved".formatted(object));
+        }
+    }
+
+    /**
+     * Returns the saved copy of the specified object or the object itself, if no copy was saved
+     *
+     * @param object the object whose saved state is requested
+     * @param <T>    the type of the object
+     * @return the saved copy of the object or the object itself
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull T getSaved(@NotNull T object) {
+        return (T) this.savedCopies.getOrDefault(object, object);
+    }
+
+    /**
+     * Undoes the changes of this transaction by running the registered undo actions, the latest
+     * action first
+     */
+    void rollback() {
+        while (!this.undoActions.isEmpty()) {
+            this.undoActions.pop().run();
+        }
+        this.savedCopies.clear();
+    }
+}
@@ -0,0 +1,156 @@
+package logic.search;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * This class represents a hit of a search in the {@link SearchIndex}.
+ * A hit refers to an entity of the saleBook by its kind and its key, e.g. the id of a position
+ * or the name of a supplier.
+ *
+ * @author xthe_white_lionx
+ */
+public final class SearchHit implements Comparable<SearchHit> {
+
+    /**
+     * Enum of the kinds of entities which can be found by a search
+     */
+    public enum Kind {
+        /**
+         * A position, the key is the id of the position
+         */
+        POSITION,
+        /**
+         * A spare part, the key is the spare part
+         */
+        SPARE_PART,
+        /**
+         * A supplier, the key is the name of the supplier
+         */
+        SUPPLIER,
+        /**
+         * An asset, the key is the id of the asset
+         */
+        ASSET,
+        /**
+         * An order, the key is the id of the order
+         */
+        ORDER
+    }
+
+    /**
+     * The kind of the found entity
+     */
+    private final Kind kind;
+
+    /**
+     * The key of the found entity
+     */
+    private final Object key;
+
+    /**
+     * The title of the found entity
+     */
+    private final String title;
+
+    /**
+     * The score of this hit, a higher score means a better match
+     */
+    private final int score;
+
+    /**
+     * Constructor
+     *
+     * @param kind  the kind of the found entity
+     * @param key   the key of the found entity
+     * @param title the title of the found entity
+     * @param score the score of the hit
+     */
+    SearchHit(@NotNull Kind kind, @NotNull Object key, @NotNull String title, int score) {
+        this.kind = kind;
+        this.key = key;
+        this.title = title;
+        this.score = score;
+    }
+
+    /**
+     * Returns the kind of the found entity
+     *
+     * @return the kind of the found entity
+     */
+    public @NotNull Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Returns the key of the found entity
+     *
+     * @return the key of the found entity
+     */
+    public @NotNull Object getKey() {
+        return this.key;
+    }
+
+    /**
+     * Returns the title of the found entity
+     *
+     * @return the title of the found entity
+     */
+    public @NotNull String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Returns the score of this hit, a higher score means a better match
+     *
+     * @return the score of this hit
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    @Override
+    public int compareTo(@NotNull SearchHit o) {
+        int result = Integer.compare(o.score, this.score);
+        if (result == 0) {
+            result = this.kind.compareTo(o.kind);
+        }
+        if (result == 0) {
+            result = this.title.compareToIgnoreCase(o.title);
+        }
+        if (result == 0) {
+            result = String.valueOf(this.key).compareTo(String.valueOf(o.key));
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchHit other)) {
+            return false;
+        }
+        return this.kind == other.kind
+                && this.score == other.score
+                && Objects.equals(this.key, other.key)
+                && Objects.equals(this.title, other.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.kind, this.key, this.title, this.score);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" + "kind=" + this.kind +
+                ", key=" + this.key +
+                ", title='" + this.title + '\'' +
+                ", score=" + this.score +
+                '}';
+    }
+}
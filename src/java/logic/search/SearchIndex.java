@@ -0,0 +1,250 @@
+package logic.search;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * This class represents an in-memory inverted index over the texts of the entities of a
+ * saleBook. The texts are split into tokens, which are folded to lower case without diacritics,
+ * so "Écran" is found by "ecran". Each token maps to the entities which contain it, and the
+ * tokens are sorted, so a query token also finds all tokens which start with it.
+ * <p>
+ * The title of an entity weighs more than its other texts, and a token which matches exactly
+ * weighs more than a token which only starts with the query token. An entity is only a hit if
+ * it matches all tokens of the query.
+ * This class is not synchronized.
+ *
+ * @author xthe_white_lionx
+ */
+public class SearchIndex {
+
+    /**
+     * The weight of a token of the title of an entity
+     */
+    private static final int TITLE_WEIGHT = 3;
+
+    /**
+     * The weight of a token of the other texts of an entity
+     */
+    private static final int TEXT_WEIGHT = 1;
+
+    /**
+     * The factor of the weight of a token which matches a query token exactly
+     */
+    private static final int EXACT_MATCH_FACTOR = 2;
+
+    /**
+     * The pattern of the characters which separate tokens
+     */
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * The pattern of the combining marks which are left by the decomposition of diacritics
+     */
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * An indexed entity
+     *
+     * @param kind the kind of the entity
+     * @param key  the key of the entity
+     */
+    private record Document(@NotNull SearchHit.Kind kind, @NotNull Object key) {
+    }
+
+    /**
+     * The indexed data of an entity
+     *
+     * @param title        the title of the entity
+     * @param tokenWeights the tokens of the entity mapped to their weight
+     */
+    private record Entry(@NotNull String title, @NotNull Map<String, Integer> tokenWeights) {
+    }
+
+    /**
+     * The tokens mapped to the entities which contain them and the weight of the token in
+     * the entity
+     */
+    private final NavigableMap<String, Map<Document, Integer>> tokenToPostings;
+
+    /**
+     * The indexed data mapped to their entity
+     */
+    private final Map<Document, Entry> documentToEntry;
+
+    /**
+     * Creates a new empty SearchIndex
+     */
+    public SearchIndex() {
+        this.tokenToPostings = new TreeMap<>();
+        this.documentToEntry = new HashMap<>();
+    }
+
+    /**
+     * Indexes the entity of the specified kind with the specified key. If the entity is
+     * already indexed, its old texts are replaced.
+     *
+     * @param kind  the kind of the entity
+     * @param key   the key of the entity
+     * @param title the title of the entity
+     * @param texts the other searchable texts of the entity, null texts are ignored
+     */
+    public void put(@NotNull SearchHit.Kind kind, @NotNull Object key, @NotNull String title,
+                    @Nullable String... texts) {
+        Map<String, Integer> tokenWeights = new HashMap<>();
+        for (String token : tokenize(title)) {
+            tokenWeights.put(token, TITLE_WEIGHT);
+        }
+        for (String text : texts) {
+            if (text != null) {
+                for (String token : tokenize(text)) {
+                    tokenWeights.putIfAbsent(token, TEXT_WEIGHT);
+                }
+            }
+        }
+
+        Document document = new Document(kind, key);
+        Entry oldEntry = this.documentToEntry.put(document, new Entry(title, tokenWeights));
+        if (oldEntry != null) {
+            this.removePostings(document, oldEntry);
+        }
+        tokenWeights.forEach((token, weight) -> this.tokenToPostings
+                .computeIfAbsent(token, k -> new HashMap<>()).put(document, weight));
+    }
+
+    /**
+     * Removes the entity of the specified kind with the specified key from this index
+     *
+     * @param kind the kind of the entity
+     * @param key  the key of the entity
+     */
+    public void remove(@NotNull SearchHit.Kind kind, @NotNull Object key) {
+        Document document = new Document(kind, key);
+        Entry entry = this.documentToEntry.remove(document);
+        if (entry != null) {
+            this.removePostings(document, entry);
+        }
+    }
+
+    /**
+     * Returns the best hits for the specified query sorted by their score. An entity is a hit,
+     * if each token of the query is a token of the entity or the beginning of one.
+     *
+     * @param query the query
+     * @param limit the maximum number of returned hits
+     * @return the best hits for the specified query, empty if the query contains no token
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public @NotNull List<SearchHit> search(@NotNull String query, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be positive but is " + limit);
+        }
+
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit == 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Document, Integer> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<Document, Integer> tokenScores = this.score(queryToken);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Document, Integer> intersection = new HashMap<>();
+                for (Map.Entry<Document, Integer> entry : scores.entrySet()) {
+                    Integer tokenScore = tokenScores.get(entry.getKey());
+                    if (tokenScore != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + tokenScore);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(scores.size());
+        scores.forEach((document, score) -> hits.add(new SearchHit(document.kind(),
+                document.key(), this.documentToEntry.get(document).title(), score)));
+        Collections.sort(hits);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Returns the number of indexed entities
+     *
+     * @return the number of indexed entities
+     */
+    public int size() {
+        return this.documentToEntry.size();
+    }
+
+    /**
+     * Returns the tokens of the specified text. The tokens are the sequences of letters and
+     * digits of the text in lower case and without diacritics.
+     *
+     * @param text the text which should be tokenized
+     * @return the tokens of the specified text in their order
+     */
+    public static @NotNull List<String> tokenize(@NotNull String text) {
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATOR.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the entities which contain a token starting with the specified query token,
+     * mapped to the score of their best matching token
+     *
+     * @param queryToken the token of the query
+     * @return the matching entities mapped to their score
+     */
+    private @NotNull Map<Document, Integer> score(@NotNull String queryToken) {
+        Map<Document, Integer> scores = new HashMap<>();
+        NavigableMap<String, Map<Document, Integer>> matches = this.tokenToPostings
+                .subMap(queryToken, true, queryToken + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Document, Integer>> match : matches.entrySet()) {
+            int factor = match.getKey().equals(queryToken) ? EXACT_MATCH_FACTOR : 1;
+            for (Map.Entry<Document, Integer> posting : match.getValue().entrySet()) {
+                scores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Removes the specified entity from the postings of the tokens of the specified entry
+     *
+     * @param document the entity which should be removed
+     * @param entry    the indexed data of the entity
+     */
+    private void removePostings(@NotNull Document document, @NotNull Entry entry) {
+        for (String token : entry.tokenWeights().keySet()) {
+            Map<Document, Integer> postings = this.tokenToPostings.get(token);
+            if (postings != null && postings.remove(document) != null && postings.isEmpty()) {
+                this.tokenToPostings.remove(token);
+            }
+        }
+    }
+}
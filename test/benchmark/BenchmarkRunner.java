@@ -0,0 +1,147 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A minimal benchmark harness. Each benchmark is warmed up, so the JIT compiler has compiled
+ * its hot paths, and then measured for a number of iterations. The setup of an iteration is not
+ * measured. The results of the measured operations are consumed, so the JIT compiler cannot
+ * eliminate the operations.
+ *
+ * @author xthe_white_lionx
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The number of nanoseconds of a millisecond
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    /**
+     * A registered benchmark
+     *
+     * @param name      the name of the benchmark
+     * @param operation creates the state of an iteration, which is not measured, and returns
+     *                  the measured operation
+     */
+    private record Benchmark(@NotNull String name,
+                             @NotNull Callable<Callable<?>> operation) {
+    }
+
+    /**
+     * Consumes the results of the measured operations
+     */
+    private static volatile int sink;
+
+    /**
+     * The registered benchmarks
+     */
+    private final List<Benchmark> benchmarks;
+
+    /**
+     * The number of the not measured iterations of each benchmark
+     */
+    private final int warmupIterations;
+
+    /**
+     * The number of the measured iterations of each benchmark
+     */
+    private final int iterations;
+
+    /**
+     * Creates a new BenchmarkRunner
+     *
+     * @param warmupIterations the number of the not measured iterations of each benchmark
+     * @param iterations       the number of the measured iterations of each benchmark
+     * @throws IllegalArgumentException if the warmupIterations are negative or the iterations
+     *                                  are not positive
+     */
+    public BenchmarkRunner(int warmupIterations, int iterations) {
+        if (warmupIterations < 0 || iterations < 1) {
+            throw new IllegalArgumentException("invalid iterations %d and %d"
+                    .formatted(warmupIterations, iterations));
+        }
+        this.benchmarks = new ArrayList<>();
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Registers a benchmark which measures the specified operation on a state. The state is
+     * created by the specified setup before each iteration.
+     *
+     * @param name      the name of the benchmark
+     * @param setup     creates the state of an iteration
+     * @param operation the measured operation
+     * @param <S>       the type of the state
+     */
+    public <S> void add(@NotNull String name, @NotNull Callable<S> setup,
+                        @NotNull Function<S, ?> operation) {
+        this.benchmarks.add(new Benchmark(name, () -> {
+            S state = setup.call();
+            return () -> operation.apply(state);
+        }));
+    }
+
+    /**
+     * Registers a benchmark which measures the specified operation without setup
+     *
+     * @param name      the name of the benchmark
+     * @param operation the measured operation
+     */
+    public void add(@NotNull String name, @NotNull Callable<?> operation) {
+        this.benchmarks.add(new Benchmark(name, () -> operation));
+    }
+
+    /**
+     * Runs the benchmarks whose name contains a match of the specified filter and prints their
+     * results
+     *
+     * @param filter the filter of the names of the benchmarks
+     * @throws Exception if a benchmark fails
+     */
+    public void run(@NotNull Pattern filter) throws Exception {
+        System.out.printf(Locale.ROOT, "%-28s %10s %10s %10s %10s%n", "benchmark", "min ms",
+                "median ms", "mean ms", "max ms");
+        for (Benchmark benchmark : this.benchmarks) {
+            if (!filter.matcher(benchmark.name()).find()) {
+                continue;
+            }
+
+            for (int i = 0; i < this.warmupIterations; i++) {
+                consume(benchmark.operation().call().call());
+            }
+            long[] nanos = new long[this.iterations];
+            for (int i = 0; i < this.iterations; i++) {
+                Callable<?> operation = benchmark.operation().call();
+                long start = System.nanoTime();
+                Object result = operation.call();
+                nanos[i] = System.nanoTime() - start;
+                consume(result);
+            }
+            Arrays.sort(nanos);
+            System.out.printf(Locale.ROOT, "%-28s %10.3f %10.3f %10.3f %10.3f%n",
+                    benchmark.name(), nanos[0] / NANOS_PER_MILLI,
+                    nanos[nanos.length / 2] / NANOS_PER_MILLI,
+                    Arrays.stream(nanos).average().orElse(0D) / NANOS_PER_MILLI,
+                    nanos[nanos.length - 1] / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Consumes the specified result of an operation
+     *
+     * @param result the result of an operation
+     */
+    private static void consume(Object result) {
+        sink ^= System.identityHashCode(result);
+    }
+}
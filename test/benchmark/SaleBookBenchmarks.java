@@ -0,0 +1,207 @@
+package benchmark;
+
+import data.SaleBookBinaryReader;
+import data.SaleBookBinaryWriter;
+import data.SaleBookData;
+import data.SaleBookGenerator;
+import data.SaleBookReader;
+import data.SaleBookWriter;
+import logic.FakeGui;
+import logic.ProgressListener;
+import logic.manager.PositionsManager;
+import logic.products.position.Position;
+import logic.products.position.State;
+import logic.saleBook.SaleBook;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks of the logic and data layers on a synthetic saleBook, which run without the gui.
+ * The size of the saleBook and the iterations can be passed as options, for example
+ * {@code --positions 100000 --items 2 --spare-parts 500 --orders 1000 --warmup 3
+ * --iterations 10 --filter json}.
+ *
+ * @author xthe_white_lionx
+ */
+public class SaleBookBenchmarks {
+
+    /**
+     * The listener of the progress of the reading and writing, which ignores the progress
+     */
+    private static final ProgressListener NO_PROGRESS = totalBytes -> {
+    };
+
+    /**
+     * Suppresses default constructor, ensuring non-instantiability.
+     */
+    private SaleBookBenchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks
+     *
+     * @param args the options of the benchmarks
+     * @throws Exception if a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int positions = Integer.parseInt(options.getOrDefault("positions", "10000"));
+        int items = Integer.parseInt(options.getOrDefault("items", "2"));
+        int spareParts = Integer.parseInt(options.getOrDefault("spare-parts", "200"));
+        int orders = Integer.parseInt(options.getOrDefault("orders", "500"));
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.parseInt(options.getOrDefault("warmup", "3")),
+                Integer.parseInt(options.getOrDefault("iterations", "10")));
+
+        System.out.printf("saleBook of %d positions with %d items, %d spare parts, %d orders%n",
+                positions, items, spareParts, orders);
+        SaleBook saleBook = generate(positions, items, spareParts, orders);
+        File jsonFile = File.createTempFile("benchmark", ".json");
+        File binaryFile = File.createTempFile("benchmark", ".sbk");
+        jsonFile.deleteOnExit();
+        binaryFile.deleteOnExit();
+        Files.write(jsonFile.toPath(), new SaleBookWriter(saleBook, false).toByteArray());
+        Files.write(binaryFile.toPath(), new SaleBookBinaryWriter(saleBook).toByteArray());
+
+        runner.add("generate", () -> generate(positions, items, spareParts, orders));
+        runner.add("save json", () -> new SaleBookWriter(saleBook, false).toByteArray());
+        runner.add("save binary", () -> new SaleBookBinaryWriter(saleBook).toByteArray());
+        runner.add("load json", () -> new SaleBook(new FakeGui(),
+                new SaleBookReader(jsonFile, NO_PROGRESS)));
+        runner.add("load binary", () -> new SaleBook(new FakeGui(),
+                new SaleBookBinaryReader(binaryFile, NO_PROGRESS)));
+        runner.add("SaleBookData.fromJson", () -> SaleBookData.fromJson(jsonFile, NO_PROGRESS));
+        runner.add("filter by index", () -> saleBook.getPositionsManager()
+                .findPositionIds("phone", State.SOLD, null, null));
+        runner.add("filter by scan", () -> saleBook.getPositionsManager().getPositionsView()
+                .stream()
+                .filter(position -> position.getCategory().equalsIgnoreCase("phone")
+                        && position.getState() == State.SOLD)
+                .count());
+        runner.add("search", () -> saleBook.search("pho bla", 10));
+        runner.add("spare parts list", () -> saleBook.getSparePartsManager().getObservableList());
+        runner.add("aggregates of year", () -> saleBook.getPositionsManager().getAggregates()
+                .getTotals(2024));
+        runner.add("sum by scan", () -> sumByScan(saleBook));
+        runner.add("reconcile", () -> saleBook.getReconciler().reconcile(false));
+        runner.add("sale 100 positions", () -> unsoldPositionIds(saleBook, 100), ids -> {
+            PositionsManager positionsManager = saleBook.getPositionsManager();
+            for (Integer id : ids) {
+                positionsManager.sale(id, LocalDate.of(2025, 6, 1), BigDecimal.valueOf(100));
+            }
+            return ids;
+        });
+        if (items >= 2) {
+            runner.add("divide and combine", () -> dividablePositionId(saleBook), id -> {
+                PositionsManager positionsManager = saleBook.getPositionsManager();
+                Position[] divided = positionsManager.dividePosition(id);
+                int[] ids = new int[divided.length];
+                for (int i = 0; i < divided.length; i++) {
+                    ids[i] = divided[i].getId();
+                }
+                return positionsManager.combinePositions(id, ids);
+            });
+        }
+
+        runner.run(Pattern.compile(options.getOrDefault("filter", "")));
+    }
+
+    /**
+     * Generates a saleBook with a fixed seed
+     *
+     * @param positions  the number of positions
+     * @param items      the number of items of each position
+     * @param spareParts the number of spare parts
+     * @param orders     the number of orders
+     * @return the generated saleBook
+     */
+    private static @NotNull SaleBook generate(int positions, int items, int spareParts,
+                                              int orders) {
+        return new SaleBookGenerator(42L).generate(new FakeGui(), positions, items, spareParts,
+                orders);
+    }
+
+    /**
+     * Sums the costs and the sales of the positions of the specified saleBook without the
+     * aggregates
+     *
+     * @param saleBook the saleBook
+     * @return the sum of the costs and the sales
+     */
+    private static @NotNull BigDecimal sumByScan(@NotNull SaleBook saleBook) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Position position : saleBook.getPositionsManager().getPositionsView()) {
+            sum = sum.add(position.getTotalCost());
+            if (position.isSold()) {
+                sum = sum.add(position.getSellingPrice());
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the ids of the specified number of received positions which are not sold
+     *
+     * @param saleBook the saleBook
+     * @param count    the maximal number of ids
+     * @return the ids of received positions which are not sold
+     */
+    private static @NotNull Deque<Integer> unsoldPositionIds(@NotNull SaleBook saleBook,
+                                                             int count) {
+        Deque<Integer> ids = new ArrayDeque<>(count);
+        for (Position position : saleBook.getPositionsManager().getPositionsView()) {
+            if (ids.size() == count) {
+                break;
+            }
+            if (!position.isSold() && position.getReceivedDate() != null) {
+                ids.add(position.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the id of a received or repaired position with at least two items
+     *
+     * @param saleBook the saleBook
+     * @return the id of a position which can be divided and combined again
+     * @throws IllegalStateException if there is no such position
+     */
+    private static int dividablePositionId(@NotNull SaleBook saleBook) {
+        for (Position position : saleBook.getPositionsManager().getPositionsView()) {
+            State state = position.getState();
+            if ((state == State.RECEIVED || state == State.REPAIRED)
+                    && position.itemCount() >= 2) {
+                return position.getId();
+            }
+        }
+        throw new IllegalStateException("no position to divide");
+    }
+
+    /**
+     * Parses the options of the form {@code --name value}
+     *
+     * @param args the arguments
+     * @return the values of the options mapped to their name
+     * @throws IllegalArgumentException if an argument is not an option or has no value
+     */
+    private static @NotNull Map<String, String> parseOptions(String @NotNull [] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("invalid option " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,93 @@
+package costumeClasses.FXClasses;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableMap;
+import javafx.scene.control.TreeItem;
+import logic.products.Product;
+import logic.products.position.Position;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+@SuppressWarnings("MissingJavadoc")
+public class FilteredTreeItemTest {
+
+    @Test
+    public void onChanged_keepsChildrenOrderedByKey() {
+        ObservableMap<Integer, Position> map = FXCollections.observableMap(new TreeMap<>());
+        map.put(1, createPosition(1));
+        map.put(3, createPosition(3));
+        FilteredTreeItem<Integer> root = new FilteredTreeItem<>(map);
+
+        map.put(2, createPosition(2));
+        map.remove(3);
+        map.put(1, createPosition(1));
+
+        Assert.assertEquals(List.of(1, 2), ids(root));
+    }
+
+    @Test
+    public void endBatch_appliesChangesAsOneChange() {
+        ObservableMap<Integer, Position> map = FXCollections.observableMap(new TreeMap<>());
+        for (int id = 1; id <= 4; id++) {
+            map.put(id, createPosition(id));
+        }
+        FilteredTreeItem<Integer> root = new FilteredTreeItem<>(map);
+        int[] changes = new int[1];
+        root.getChildren().addListener((ListChangeListener<TreeItem<Product>>) change -> changes[0]++);
+
+        root.beginBatch();
+        map.remove(1);
+        map.remove(3);
+        map.put(5, createPosition(5));
+        Assert.assertEquals(0, changes[0]);
+        root.endBatch();
+
+        Assert.assertEquals(1, changes[0]);
+        Assert.assertEquals(List.of(2, 4, 5), ids(root));
+    }
+
+    @Test
+    public void onChanged_changesOnlyTheRangeOfTheKey() {
+        ObservableMap<Integer, Position> map = FXCollections.observableMap(new TreeMap<>());
+        for (int id = 1; id <= 4; id++) {
+            map.put(id, createPosition(id));
+        }
+        FilteredTreeItem<Integer> root = new FilteredTreeItem<>(map);
+        List<String> changes = new ArrayList<>();
+        root.getChildren().addListener((ListChangeListener<TreeItem<Product>>) change -> {
+            while (change.next()) {
+                changes.add(change.getFrom() + ":-" + change.getRemovedSize() + "+"
+                        + change.getAddedSize());
+            }
+        });
+
+        map.remove(3);
+        map.put(0, createPosition(0));
+        map.put(2, new Position(2, "otherCategory", LocalDate.of(2024, 1, 1), BigDecimal.TEN,
+                BigDecimal.ONE));
+
+        Assert.assertEquals(List.of("2:-1+0", "0:-0+1", "2:-1+1"), changes);
+        Assert.assertEquals(List.of(0, 1, 2, 4), ids(root));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void endBatch_withoutBatch() {
+        new FilteredTreeItem<>(FXCollections.<Integer, Position>observableHashMap()).endBatch();
+    }
+
+    private static Position createPosition(int id) {
+        return new Position(id, "testCategory", LocalDate.of(2024, 1, 1), BigDecimal.TEN,
+                BigDecimal.ONE);
+    }
+
+    private static List<Integer> ids(TreeItem<Product> root) {
+        return root.getChildren().stream().map(child -> child.getValue().getId()).toList();
+    }
+}
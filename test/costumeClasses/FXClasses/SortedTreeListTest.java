@@ -0,0 +1,114 @@
+package costumeClasses.FXClasses;
+
+import javafx.collections.ListChangeListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@SuppressWarnings("MissingJavadoc")
+public class SortedTreeListTest {
+
+    @Test
+    public void randomOperations_matchASortedArrayList() {
+        Random random = new Random(11L);
+        SortedTreeList<Integer> list = new SortedTreeList<>(List.of(5, 3, 9));
+        List<Integer> expected = new ArrayList<>(List.of(3, 5, 9));
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(200);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    list.add(value);
+                    expected.add(value);
+                    Collections.sort(expected);
+                    break;
+                case 2:
+                    Assert.assertEquals(expected.remove(Integer.valueOf(value)),
+                            list.remove(Integer.valueOf(value)));
+                    break;
+                case 3:
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        Assert.assertEquals(expected.remove(index), list.remove(index));
+                    }
+                    break;
+            }
+        }
+        Assert.assertEquals(expected, list);
+        Assert.assertEquals(expected.indexOf(42), list.indexOf(42));
+    }
+
+    @Test
+    public void addAll_insertsAllElementsAsOneChange() {
+        for (int count : new int[]{2, 500}) {
+            SortedTreeList<Integer> list = new SortedTreeList<>();
+            for (int i = 0; i < 1000; i += 10) {
+                list.add(i);
+            }
+            List<Integer> added = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                added.add(i * 7 % 1000);
+            }
+            List<Integer> expected = new ArrayList<>(list);
+            expected.addAll(added);
+            Collections.sort(expected);
+            List<ListChangeListener.Change<? extends Integer>> changes = new ArrayList<>();
+            list.addListener((ListChangeListener<Integer>) changes::add);
+
+            Assert.assertTrue(list.addAll(added));
+
+            Assert.assertEquals(expected, list);
+            Assert.assertEquals(1, changes.size());
+            ListChangeListener.Change<? extends Integer> change = changes.get(0);
+            int addedSize = 0;
+            while (change.next()) {
+                Assert.assertTrue(change.wasAdded());
+                addedSize += change.getAddedSize();
+            }
+            Assert.assertEquals(count, addedSize);
+        }
+    }
+
+    @Test
+    public void endBatch_notifiesTheChangesOfTheBatchAsOneChange() {
+        SortedTreeList<String> list = new SortedTreeList<>(List.of("b", "d"));
+        int[] changes = new int[1];
+        list.addListener((ListChangeListener<String>) change -> changes[0]++);
+
+        list.beginBatch();
+        list.add("c");
+        list.remove("b");
+        list.add("a");
+        Assert.assertEquals(0, changes[0]);
+        list.endBatch();
+
+        Assert.assertEquals(1, changes[0]);
+        Assert.assertEquals(List.of("a", "c", "d"), list);
+    }
+
+    @Test
+    public void indexOf_searchesOnlyTheElementsOfTheSameOrder() {
+        record Entry(int order, String name) implements Comparable<Entry> {
+            @Override
+            public int compareTo(Entry that) {
+                return Integer.compare(this.order, that.order);
+            }
+        }
+        SortedTreeList<Entry> list = new SortedTreeList<>(List.of(new Entry(2, "c"),
+                new Entry(1, "a"), new Entry(1, "b"), new Entry(3, "d")));
+
+        Assert.assertEquals(1, list.indexOf(new Entry(1, "b")));
+        Assert.assertEquals(-1, list.indexOf(new Entry(1, "c")));
+        Assert.assertEquals(-1, list.indexOf(new Entry(4, "c")));
+        Assert.assertEquals(-1, list.indexOf("a"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void set_isNotSupported() {
+        new SortedTreeList<>(List.of(1)).set(0, 2);
+    }
+}
@@ -0,0 +1,143 @@
+package data;
+
+import logic.Asset;
+import logic.Condition;
+import logic.FakeGui;
+import logic.Supplier;
+import logic.products.position.Position;
+import logic.saleBook.SaleBook;
+import logic.sparePart.SparePart;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+
+@SuppressWarnings("MissingJavadoc")
+public class OperationLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replayTail_restoresAppendedOperations() throws IOException {
+        File file = this.folder.newFile("book.json");
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        OperationLog operationLog = OperationLog.create(saleBook, 0L);
+        Files.write(file.toPath(), new SaleBookWriter(saleBook, false, 0L).toByteArray());
+
+        Supplier supplier = new Supplier("supplier", URI.create("D"));
+        SparePart sparePart = new SparePart("Scrow", Condition.NEW, "piece", "testCategory", 0);
+        saleBook.getSuppliersManager().addSupplier(supplier);
+        saleBook.getSparePartsManager().addSparePart(sparePart, 5);
+        saleBook.getPositionsManager().addPosition(new Position(1, "testCategory",
+                LocalDate.of(2024, 1, 1), BigDecimal.TEN, BigDecimal.ONE));
+        saleBook.getPositionsManager().setReceived(1, LocalDate.of(2024, 1, 5));
+        OperationLog.append(file, operationLog.drainPending());
+        saleBook.getPositionsManager().repairPosition(1, Map.of(sparePart, 2));
+        saleBook.getPositionsManager().sale(1, LocalDate.of(2024, 2, 1), BigDecimal.valueOf(40));
+        saleBook.getAssetsManager().addAsset(new Asset(1, "PC", supplier,
+                LocalDate.of(2024, 1, 1), 100D));
+        saleBook.addPayment(BigDecimal.valueOf(3));
+        OperationLog.append(file, operationLog.drainPending());
+
+        SaleBook loadedSaleBook = this.load(file);
+
+        Assert.assertEquals(saleBook.toData(), loadedSaleBook.toData());
+        Assert.assertEquals(saleBook.getVariableCosts(), loadedSaleBook.getVariableCosts());
+        Assert.assertFalse(loadedSaleBook.getChangeJournal().isDirty());
+    }
+
+    @Test
+    public void replayTail_editedPositionHasTheTotalsOfTheEdit() throws IOException {
+        File file = this.folder.newFile("book.json");
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        saleBook.getPositionsManager().addPosition(new Position(1, "testCategory",
+                LocalDate.of(2024, 1, 1), BigDecimal.TEN, BigDecimal.ONE));
+        saleBook.getPositionsManager().setReceived(1, LocalDate.of(2024, 1, 5));
+        saleBook.getPositionsManager().sale(1, LocalDate.of(2024, 2, 1), BigDecimal.valueOf(40));
+        OperationLog operationLog = OperationLog.create(saleBook, 0L);
+        Files.write(file.toPath(), new SaleBookWriter(saleBook, false, 0L).toByteArray());
+
+        Position position = saleBook.getPositionsManager().getPosition(1);
+        position.setPurchasingPrice(BigDecimal.valueOf(12));
+        position.setSellingPrice(BigDecimal.valueOf(30));
+        saleBook.getPositionsManager().positionEdited(1);
+        OperationLog.append(file, operationLog.drainPending());
+
+        SaleBook loadedSaleBook = this.load(file);
+
+        Assert.assertEquals(saleBook.getSalesVolume(), loadedSaleBook.getSalesVolume());
+        Assert.assertEquals(saleBook.getVariableCosts(), loadedSaleBook.getVariableCosts());
+    }
+
+    @Test
+    public void isCompactable() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        OperationLog operationLog = OperationLog.create(saleBook, 0L);
+        Assert.assertFalse(operationLog.isCompactable());
+
+        saleBook.addPayment(BigDecimal.ONE);
+        Assert.assertFalse(operationLog.isCompactable());
+        operationLog.drainPending();
+        Assert.assertTrue(operationLog.isCompactable());
+
+        operationLog.compacted();
+        Assert.assertFalse(operationLog.isCompactable());
+    }
+
+    @Test
+    public void open_skipsOperationsOfSnapshot() throws IOException {
+        File file = this.folder.newFile("book.json");
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        OperationLog operationLog = OperationLog.create(saleBook, 0L);
+        saleBook.addPayment(BigDecimal.ONE);
+        OperationLog.append(file, operationLog.drainPending());
+        //a snapshot which contains the logged payment, the log was not deleted yet
+        Files.write(file.toPath(), new SaleBookWriter(saleBook, false,
+                operationLog.getSequence()).toByteArray());
+
+        Assert.assertEquals(BigDecimal.ONE, this.load(file).getPaid());
+    }
+
+    @Test
+    public void open_incompleteLastOperation_isIgnored() throws IOException {
+        File file = this.folder.newFile("book.json");
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        OperationLog operationLog = OperationLog.create(saleBook, 0L);
+        Files.write(file.toPath(), new SaleBookWriter(saleBook, false, 0L).toByteArray());
+        saleBook.addPayment(BigDecimal.ONE);
+        OperationLog.append(file, operationLog.drainPending());
+        Files.write(OperationLog.getLogFile(file).toPath(),
+                "{\"sequence\":2,\"sou".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        SaleBookReader saleBookReader = new SaleBookReader(file, totalBytes -> {
+        });
+        OperationLog loadedOperationLog = OperationLog.open(file,
+                new SaleBook(new FakeGui(), saleBookReader), saleBookReader.getLogSequence());
+        loadedOperationLog.replayTail();
+
+        Assert.assertEquals(BigDecimal.ONE, loadedOperationLog.getSaleBook().getPaid());
+        Assert.assertTrue(loadedOperationLog.needsCompaction());
+    }
+
+    private SaleBook load(File file) throws IOException {
+        SaleBookReader saleBookReader = new SaleBookReader(file, totalBytes -> {
+        });
+        SaleBook saleBook = new SaleBook(new FakeGui(), saleBookReader);
+        OperationLog operationLog = OperationLog.open(file, saleBook,
+                saleBookReader.getLogSequence());
+        operationLog.replayTail();
+        return saleBook;
+    }
+}
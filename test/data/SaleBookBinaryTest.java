@@ -0,0 +1,156 @@
+package data;
+
+import javafx.scene.paint.Color;
+import logic.Asset;
+import logic.Condition;
+import logic.FakeGui;
+import logic.Supplier;
+import logic.Variant;
+import logic.order.Order;
+import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import logic.products.position.Position;
+import logic.products.position.ShippingCompany;
+import logic.products.position.State;
+import logic.saleBook.SaleBook;
+import logic.sparePart.SparePart;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("MissingJavadoc")
+public class SaleBookBinaryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip_restoresSaleBook() throws IOException {
+        SaleBook saleBook = createSaleBook();
+        File file = this.folder.newFile("book.sbk");
+        new SaleBookBinaryWriter(saleBook, 7L).toFile(file, 0);
+
+        SaleBookBinaryReader reader = new SaleBookBinaryReader(file, totalBytes -> {
+        });
+        SaleBook loadedSaleBook = new SaleBook(new FakeGui(), reader);
+        ItemColor.setItemColors(reader.getItemColors());
+
+        Assert.assertEquals(7L, reader.getLogSequence());
+        Assert.assertEquals(1, reader.getItemColors().length);
+        Assert.assertEquals("black", reader.getItemColors()[0].getName());
+        Assert.assertArrayEquals(new SaleBookWriter(saleBook, false).toByteArray(),
+                new SaleBookWriter(loadedSaleBook, false).toByteArray());
+        Assert.assertEquals(saleBook.getFixedCosts(), loadedSaleBook.getFixedCosts());
+    }
+
+    @Test
+    public void convert_jsonToBinaryAndBack() throws IOException {
+        SaleBook saleBook = createSaleBook();
+        File json = this.folder.newFile("book.json");
+        File binary = new File(this.folder.getRoot(), "book.sbk");
+        File convertedJson = new File(this.folder.getRoot(), "converted.json");
+        new SaleBookWriter(saleBook, false).toJson(json, totalBytes -> {
+        }, 0);
+
+        SaleBookBinaryFormat.jsonToBinary(json, binary, 0);
+        SaleBookBinaryFormat.binaryToJson(binary, convertedJson, 0);
+
+        SaleBook convertedSaleBook = SaleBookReader.read(convertedJson, totalBytes -> {
+        }, new FakeGui());
+        Assert.assertNotNull(convertedSaleBook);
+        Assert.assertArrayEquals(new SaleBookWriter(saleBook, false).toByteArray(),
+                new SaleBookWriter(convertedSaleBook, false).toByteArray());
+        Assert.assertTrue(binary.length() < json.length());
+    }
+
+    @Test
+    public void write_keepsSnapshotOfCreation() {
+        SaleBook saleBook = createSaleBook();
+        SaleBookBinaryWriter writer = new SaleBookBinaryWriter(saleBook);
+        byte[] expected = writer.toByteArray();
+
+        saleBook.getPositionsManager().addPosition(new Position(3, "testCategory",
+                LocalDate.of(2024, 3, 1), BigDecimal.ONE, BigDecimal.ONE));
+        saleBook.getSparePartsManager().addSparePart(new SparePart("Battery", Condition.NEW,
+                "piece", "testCategory", 1), 2);
+        saleBook.addFixedCost(1D);
+
+        Assert.assertArrayEquals(expected, writer.toByteArray());
+    }
+
+    @Test
+    public void write_keepsSnapshotOfPositionsChangedInPlace() {
+        SaleBook saleBook = createSaleBook();
+        SaleBookWriter jsonWriter = new SaleBookWriter(saleBook, false);
+        SaleBookBinaryWriter binaryWriter = new SaleBookBinaryWriter(saleBook);
+        byte[] expectedJson = new SaleBookWriter(saleBook, false).toByteArray();
+        byte[] expectedBinary = new SaleBookBinaryWriter(saleBook).toByteArray();
+
+        saleBook.getPositionsManager().setReceived(1, LocalDate.of(2024, 1, 4));
+        saleBook.getPositionsManager().addCostToPosition(1, BigDecimal.TEN);
+        saleBook.getPositionsManager().prepareEdit(2);
+        saleBook.getPositionsManager().getPosition(2).setCategory("otherCategory");
+        saleBook.getPositionsManager().positionEdited(2);
+
+        Assert.assertArrayEquals(expectedJson, jsonWriter.toByteArray());
+        Assert.assertArrayEquals(expectedBinary, binaryWriter.toByteArray());
+        Assert.assertFalse(Arrays.equals(expectedJson,
+                new SaleBookWriter(saleBook, false).toByteArray()));
+    }
+
+    @Test(expected = IOException.class)
+    public void load_noBinarySaleBook() throws IOException {
+        File file = this.folder.newFile("book.sbk");
+        Files.writeString(file.toPath(), "{\"paid\":1}");
+
+        new SaleBook(new FakeGui(), new SaleBookBinaryReader(file, totalBytes -> {
+        }));
+    }
+
+    private static SaleBook createSaleBook() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        ItemColor.setItemColors(new ItemColor[0]);
+        ItemColor black = ItemColor.getItemColor("black", Color.valueOf("0x000000ff"));
+        Supplier supplier = new Supplier("supplier", URI.create("https://supplier.com"));
+        SparePart screw = new SparePart("Screw", Condition.NEW, "piece", "testCategory", 2);
+        SparePart display = new SparePart("Display", Condition.GOOD, "piece",
+                "testCategory", 0);
+        saleBook.getSuppliersManager().addSupplier(supplier);
+        saleBook.getSparePartsManager().addSparePart(screw, 5);
+
+        saleBook.getPositionsManager().addPosition(new Position(1, "testCategory",
+                LocalDate.of(2024, 1, 1), BigDecimal.valueOf(1999, 2), BigDecimal.ONE));
+        saleBook.getPositionsManager().addPosition(new Position(2, "testCategory",
+                LocalDate.of(2024, 1, 2), BigDecimal.TEN, State.SOLD, BigDecimal.ONE,
+                LocalDate.of(2024, 1, 5), LocalDate.of(2024, 2, 1), BigDecimal.valueOf(40),
+                ShippingCompany.values()[0], "tracking", List.of(
+                new Item(1, Condition.FAULTY, Variant.values()[0], black, "scratched"),
+                new Item(2, Condition.NEW, Variant.values()[0], black, null)), 3));
+
+        saleBook.getAssetsManager().addAsset(new Asset(1, "PC", supplier,
+                LocalDate.of(2024, 1, 1), 100D));
+        saleBook.getAssetsManager().getAssets().iterator().next()
+                .setArrivalDate(LocalDate.of(2024, 1, 3));
+        saleBook.getOrdersManager().addOrder(new Order(1, LocalDate.of(2024, 1, 1), supplier,
+                Map.of(screw, 10, display, 1), 25D));
+        saleBook.getOrdersManager().addOrder(new Order(2, LocalDate.of(2024, 1, 2), supplier,
+                Map.of(screw, 3), 5D));
+        saleBook.getOrdersManager().sparePartReceived(1, display);
+        saleBook.getOrdersManager().orderReceived(2);
+
+        saleBook.addPayment(new BigDecimal("12345678901234567890.5"));
+        saleBook.addFixedCost(0.1);
+        return saleBook;
+    }
+}
@@ -0,0 +1,61 @@
+package data;
+
+import logic.FakeGui;
+import logic.products.position.Position;
+import logic.products.position.State;
+import logic.saleBook.SaleBook;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("MissingJavadoc")
+public class SaleBookGeneratorTest {
+
+    @Test
+    public void generate_sameSeedGeneratesSameSaleBook() {
+        SaleBook saleBook = new SaleBookGenerator(7L).generate(new FakeGui(), 200, 2, 20, 30);
+        SaleBook other = new SaleBookGenerator(7L).generate(new FakeGui(), 200, 2, 20, 30);
+
+        Assert.assertEquals(200, saleBook.getPositionsManager().getPositionsView().size());
+        Assert.assertEquals(20, saleBook.getSparePartsManager().getSpareParts().size());
+        Assert.assertEquals(30, saleBook.getOrdersManager().getOrders().size());
+        Assert.assertArrayEquals(new SaleBookWriter(saleBook, false).toByteArray(),
+                new SaleBookWriter(other, false).toByteArray());
+        Assert.assertTrue(saleBook.getReconciler().reconcile(false).isConsistent());
+    }
+
+    @Test
+    public void generate_followsTheDistributionsOfTheSettings() {
+        SaleBookGenerator.Settings settings = new SaleBookGenerator.Settings();
+        settings.setPositionCount(2000);
+        settings.setItemsPerPosition(0, 2);
+        settings.setStateWeight(State.ORDERED, 0);
+        settings.setStateWeight(State.RECEIVED, 0);
+        settings.setStateWeight(State.REPAIRED, 0);
+        settings.setStateWeight(State.SOLD, 3);
+        settings.setStateWeight(State.SHIPPED, 1);
+        settings.setCategories(4, 2D);
+        settings.setSuppliers(3, 5);
+        settings.setAssetCount(7);
+        SaleBook saleBook = new SaleBookGenerator(3L).generate(new FakeGui(), settings);
+
+        int sold = 0;
+        int firstCategory = 0;
+        for (Position position : saleBook.getPositionsManager().getPositionsView()) {
+            Assert.assertTrue(position.getState() == State.SOLD
+                    || position.getState() == State.SHIPPED);
+            Assert.assertTrue(position.itemCount() <= 2);
+            if (position.getState() == State.SOLD) {
+                sold++;
+            }
+            if (position.getCategory().equals("Phone")) {
+                firstCategory++;
+            }
+        }
+        Assert.assertEquals(1500D, sold, 100D);
+        Assert.assertEquals(2000D / (1D + 1D / 4 + 1D / 9 + 1D / 16), firstCategory, 100D);
+        Assert.assertEquals(15, saleBook.getOrdersManager().getOrders().size());
+        Assert.assertEquals(3, saleBook.getSuppliersManager().getSuppliers().size());
+        Assert.assertEquals(7, saleBook.getAssetsManager().getAssetsView().size());
+        Assert.assertTrue(saleBook.getReconciler().reconcile(false).isConsistent());
+    }
+}
@@ -0,0 +1,113 @@
+package data;
+
+import logic.FakeGui;
+import logic.products.position.Position;
+import logic.saleBook.SaleBook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+@SuppressWarnings("MissingJavadoc")
+public class SaleBookServiceTest {
+
+    private File file;
+
+    private SaleBookService service;
+
+    private HttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        this.file = File.createTempFile("service", ".json");
+        SaleBook saleBook = new SaleBookGenerator(5L).generate(new FakeGui(), 20, 1, 5, 5);
+        Files.write(this.file.toPath(), new SaleBookWriter(saleBook, false).toByteArray());
+        this.service = new SaleBookService(this.file, 0);
+        this.service.start();
+        this.client = HttpClient.newHttpClient();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.service.stop();
+        OperationLog.delete(this.file);
+        Files.deleteIfExists(this.file.toPath());
+        Files.deleteIfExists(new File(this.file.getPath() + ".bak1").toPath());
+    }
+
+    @Test
+    public void operations_areAppliedAndLogged() throws Exception {
+        long sellingDate = LocalDate.of(2026, 1, 1).toEpochDay();
+        HttpResponse<String> response = this.post("/operations", """
+                [{"source":"PositionsManager","operation":"addCostToPosition",
+                  "arguments":[3,"5.00"]},
+                 {"source":"PositionsManager","operation":"sale",
+                  "arguments":[4,%d,"123.45"]}]""".formatted(sellingDate));
+
+        Assert.assertEquals(response.body(), 200, response.statusCode());
+        Assert.assertTrue(response.body().contains("\"applied\":2"));
+        Assert.assertTrue(OperationLog.getLogFile(this.file).exists());
+        Assert.assertTrue(this.get("/positions/4").body().contains("123.45"));
+
+        SaleBookReader reader = new SaleBookReader(this.file, totalBytes -> {
+        });
+        SaleBook saleBook = new SaleBook(new FakeGui(), reader);
+        OperationLog.open(this.file, saleBook, reader.getLogSequence()).replayTail();
+        Position position = saleBook.getPositionsManager().getPosition(4);
+        Assert.assertEquals(new BigDecimal("123.45"), position.getSellingPrice());
+    }
+
+    @Test
+    public void operations_rollBackTheBatchOfAFailedOperation() throws Exception {
+        String position = this.get("/positions/3").body();
+        HttpResponse<String> response = this.post("/operations", """
+                [{"source":"PositionsManager","operation":"addCostToPosition",
+                  "arguments":[3,"5.00"]},
+                 {"source":"PositionsManager","operation":"removePosition"}]""");
+
+        Assert.assertEquals(400, response.statusCode());
+        Assert.assertTrue(response.body().contains("\"applied\":0"));
+        Assert.assertTrue(response.body().contains("operation 1 failed"));
+        Assert.assertEquals(position, this.get("/positions/3").body());
+        Assert.assertEquals(404, this.get("/positions/99").statusCode());
+        Assert.assertEquals(405, this.post("/totals", "{}").statusCode());
+    }
+
+    @Test
+    public void operations_failedWrite_respondsTheAppliedOperations() throws Exception {
+        //a directory in place of the log cannot be appended
+        Assert.assertTrue(OperationLog.getLogFile(this.file).mkdir());
+        HttpResponse<String> response = this.post("/operations", """
+                {"source":"PositionsManager","operation":"addCostToPosition",
+                 "arguments":[3,"5.00"]}""");
+
+        Assert.assertEquals(500, response.statusCode());
+        Assert.assertTrue(response.body().contains("\"applied\":1"));
+        Assert.assertTrue(response.body().contains("\"sequence\":1"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return this.client.send(HttpRequest.newBuilder(this.uri(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return this.client.send(HttpRequest.newBuilder(this.uri(path))
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:%d%s".formatted(this.service.getPort(), path));
+    }
+}
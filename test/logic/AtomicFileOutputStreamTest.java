@@ -0,0 +1,58 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+@SuppressWarnings("MissingJavadoc")
+public class AtomicFileOutputStreamTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void commit_replacesFileAndKeepsBackups() throws IOException {
+        File file = this.folder.newFile("book.json");
+        for (String content : new String[]{"first", "second", "third"}) {
+            try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file, 2)) {
+                outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+                outputStream.commit();
+            }
+        }
+
+        Assert.assertEquals("third", read(file));
+        Assert.assertEquals("second", read(AtomicFileOutputStream.getBackup(file, 1)));
+        Assert.assertEquals("first", read(AtomicFileOutputStream.getBackup(file, 2)));
+        Assert.assertFalse(AtomicFileOutputStream.getBackup(file, 3).exists());
+        Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void close_withoutCommit_keepsFile() throws IOException {
+        File file = this.folder.newFile("book.json");
+        Files.writeString(file.toPath(), "old");
+
+        try (AtomicFileOutputStream outputStream = new AtomicFileOutputStream(file, 1)) {
+            outputStream.write("half written".getBytes(StandardCharsets.UTF_8));
+        }
+
+        Assert.assertEquals("old", read(file));
+        Assert.assertFalse(AtomicFileOutputStream.getBackup(file, 1).exists());
+        Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negativeBackups() throws IOException {
+        new AtomicFileOutputStream(this.folder.newFile("book.json"), -1);
+    }
+
+    private static String read(File file) throws IOException {
+        return Files.readString(file.toPath());
+    }
+}
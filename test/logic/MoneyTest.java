@@ -0,0 +1,57 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+@SuppressWarnings("MissingJavadoc")
+public class MoneyTest {
+
+    @Test
+    public void of_convertsDoublesByTheirDecimalRepresentation() {
+        Assert.assertEquals(10L, Money.of(0.1).getCents());
+        Assert.assertEquals(29L, Money.of(0.285).getCents());
+        Assert.assertEquals(new BigDecimal("0.30"),
+                Money.of(0.1).plus(Money.of(0.2)).toBigDecimal());
+    }
+
+    @Test
+    public void of_roundsBigDecimalsHalfUpToCents() {
+        Assert.assertEquals(Money.ofCents(1235), Money.of(new BigDecimal("12.345")));
+        Assert.assertEquals(Money.ofCents(-1235), Money.of(new BigDecimal("-12.345")));
+        Assert.assertSame(Money.ZERO, Money.of(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void centsOf() {
+        Assert.assertEquals(1200L, Money.centsOf(BigDecimal.valueOf(12)));
+        Assert.assertEquals(1235L, Money.centsOf(new BigDecimal("12.345")));
+        Assert.assertEquals(1200L, Money.centsOf(new BigDecimal("1.2E+1")));
+    }
+
+    @Test
+    public void arithmetic() {
+        Money money = Money.ofCents(250);
+        Assert.assertEquals(Money.ofCents(100), money.minus(Money.ofCents(150)));
+        Assert.assertEquals(Money.ofCents(750), money.times(3));
+        Assert.assertEquals(Money.ofCents(-250), money.negate());
+        Assert.assertSame(money, money.plus(Money.ZERO));
+        Assert.assertTrue(money.compareTo(Money.ofCents(251)) < 0);
+        Assert.assertEquals("2.50 " + Money.DEFAULT_CURRENCY.getCurrencyCode(), money.toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void plus_overflow() {
+        Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void plus_differentCurrencies() {
+        Currency other = Money.DEFAULT_CURRENCY.getCurrencyCode().equals("USD")
+                ? Currency.getInstance("EUR")
+                : Currency.getInstance("USD");
+        Money.ofCents(1).plus(Money.ofCents(1, other));
+    }
+}
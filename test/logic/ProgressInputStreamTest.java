@@ -0,0 +1,54 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("MissingJavadoc")
+public class ProgressInputStreamTest {
+
+    @Test
+    public void read_reportsThrottledByteProgress() throws IOException {
+        byte[] content = new byte[1024 * 1024];
+        List<Long> reports = new ArrayList<>();
+        ProgressListener progressListener = new ProgressListener() {
+            @Override
+            public void updateProgress(int totalBytes) {
+                Assert.fail("the throughput should be reported");
+            }
+
+            @Override
+            public void updateProgress(long totalBytes, double megabytesPerSecond) {
+                reports.add(totalBytes);
+            }
+        };
+
+        try (Reader reader = new InputStreamReader(new ProgressInputStream(
+                new ByteArrayInputStream(content), progressListener, 64 * 1024, Long.MAX_VALUE))) {
+            while (reader.read() != -1) {
+                //read char by char like a JsonReader in the worst case
+            }
+        }
+
+        Assert.assertEquals(16, reports.size());
+        Assert.assertEquals(content.length, (long) reports.get(reports.size() - 1));
+    }
+
+    @Test
+    public void read_reportsRemainingBytesAtEnd() throws IOException {
+        List<Integer> reports = new ArrayList<>();
+        try (InputStream inputStream = new ProgressInputStream(
+                new ByteArrayInputStream(new byte[100]), reports::add)) {
+            Assert.assertEquals(100, inputStream.readAllBytes().length);
+        }
+
+        Assert.assertEquals(List.of(100), reports);
+    }
+}
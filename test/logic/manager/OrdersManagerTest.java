@@ -54,7 +54,7 @@ public class OrdersManagerTest {
         Assert.assertEquals(Set.of(sparePart, sparePart2), sparePartsManager.getSpareParts());
         Assert.assertEquals(Integer.valueOf(10), sparePartsManager.getQuantity(sparePart));
         Assert.assertEquals(Integer.valueOf(15), sparePartsManager.getQuantity(sparePart2));
-        Assert.assertEquals(BigDecimal.valueOf(25), saleBook.getFixedCosts());
+        Assert.assertEquals(new BigDecimal("25.00"), saleBook.getFixedCosts());
     }
 
     @Test
@@ -78,7 +78,7 @@ public class OrdersManagerTest {
         Assert.assertEquals(Set.of(sparePart, sparePart2), sparePartsManager.getSpareParts());
         Assert.assertEquals(Integer.valueOf(10), sparePartsManager.getQuantity(sparePart));
         Assert.assertEquals(Integer.valueOf(15), sparePartsManager.getQuantity(sparePart2));
-        Assert.assertEquals(BigDecimal.valueOf(25), saleBook.getFixedCosts());
+        Assert.assertEquals(new BigDecimal("25.00"), saleBook.getFixedCosts());
     }
 
     @Test
@@ -0,0 +1,174 @@
+package logic.manager;
+
+import logic.FakeGui;
+import logic.Money;
+import logic.Quarter;
+import logic.products.position.Position;
+import logic.products.position.State;
+import logic.saleBook.SaleBook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+@SuppressWarnings("MissingJavadoc")
+public class PositionsManagerTest {
+
+    @Test
+    public void findPositionIds_followsChangesOfPositions() {
+        PositionsManager positionsManager = new SaleBook(new FakeGui()).getPositionsManager();
+        positionsManager.addPosition(createPosition(1, "Phone", LocalDate.of(2024, 1, 10)));
+        positionsManager.addPosition(createPosition(2, "phone", LocalDate.of(2024, 2, 10)));
+        positionsManager.addPosition(createPosition(3, "Tablet", LocalDate.of(2024, 2, 11)));
+
+        Assert.assertEquals(Set.of(1, 2), positionsManager.findPositionIds("PHONE", null, null,
+                null));
+        Assert.assertEquals(Set.of(2), positionsManager.findPositionIds("phone", State.ORDERED,
+                List.of(YearMonth.of(2024, 2), YearMonth.of(2024, 3)), null));
+
+        positionsManager.setReceived(2, LocalDate.of(2024, 2, 20));
+        positionsManager.sale(2, LocalDate.of(2024, 3, 1), BigDecimal.TEN);
+        positionsManager.removePosition(3);
+
+        Assert.assertEquals(Set.of(1), positionsManager.findPositionIds(null, State.ORDERED,
+                null, null));
+        Assert.assertEquals(Set.of(2), positionsManager.findPositionIds(null, State.SOLD,
+                null, List.of(YearMonth.of(2024, 3))));
+        Assert.assertEquals(Set.of(), positionsManager.findPositionIds("tablet", null, null,
+                null));
+        Assert.assertEquals(Set.of(1, 2), positionsManager.findPositionIds(null, null, null,
+                null));
+    }
+
+    @Test
+    public void createPositionFilter_followsLaterChanges() {
+        PositionsManager positionsManager = new SaleBook(new FakeGui()).getPositionsManager();
+        positionsManager.addPosition(createPosition(1, "Phone", LocalDate.of(2024, 1, 10)));
+        positionsManager.addPosition(createPosition(2, "Tablet", LocalDate.of(2024, 1, 11)));
+        Predicate<Position> filter = positionsManager.createPositionFilter("phone",
+                State.ORDERED, null, null);
+        Assert.assertTrue(filter.test(positionsManager.getPosition(1)));
+        Assert.assertFalse(filter.test(positionsManager.getPosition(2)));
+
+        positionsManager.addPosition(createPosition(3, "PHONE", LocalDate.of(2024, 2, 1)));
+        positionsManager.setReceived(1, LocalDate.of(2024, 1, 20));
+        positionsManager.sale(1, LocalDate.of(2024, 2, 1), BigDecimal.TEN);
+
+        Assert.assertTrue(filter.test(positionsManager.getPosition(3)));
+        Assert.assertFalse(filter.test(positionsManager.getPosition(1)));
+        Assert.assertTrue(positionsManager.createPositionFilter(null, null, null, null)
+                .test(positionsManager.getPosition(2)));
+    }
+
+    @Test
+    public void findPositionIdsWithPrefix() {
+        PositionsManager positionsManager = new SaleBook(new FakeGui()).getPositionsManager();
+        for (int id = 1; id <= 125; id++) {
+            positionsManager.addPosition(createPosition(id, "Phone", LocalDate.of(2024, 1, 1)));
+        }
+        positionsManager.removePosition(12);
+
+        Assert.assertEquals(List.of(1, 10, 11, 13, 14, 15, 16, 17, 18, 19, 100, 101, 102, 103, 104,
+                        105, 106, 107, 108, 109, 110, 111, 112, 113, 114, 115, 116, 117, 118, 119,
+                        120, 121, 122, 123, 124, 125),
+                positionsManager.findPositionIdsWithPrefix(1));
+        Assert.assertEquals(List.of(120, 121, 122, 123, 124, 125),
+                positionsManager.findPositionIdsWithPrefix(12));
+        Assert.assertEquals(List.of(), positionsManager.findPositionIdsWithPrefix(126));
+    }
+
+    @Test
+    public void createIdPrefixFilter_followsLaterPositions() {
+        PositionsManager positionsManager = new SaleBook(new FakeGui()).getPositionsManager();
+        positionsManager.addPosition(createPosition(1, "Phone", LocalDate.of(2024, 1, 1)));
+        positionsManager.addPosition(createPosition(2, "Phone", LocalDate.of(2024, 1, 1)));
+        Predicate<Position> filter = positionsManager.createIdPrefixFilter(1);
+        Assert.assertTrue(filter.test(positionsManager.getPosition(1)));
+        Assert.assertFalse(filter.test(positionsManager.getPosition(2)));
+
+        for (int id = 3; id <= 12; id++) {
+            positionsManager.addPosition(createPosition(id, "Phone", LocalDate.of(2024, 1, 1)));
+        }
+
+        Assert.assertTrue(filter.test(positionsManager.getPosition(12)));
+        Assert.assertFalse(filter.test(positionsManager.getPosition(3)));
+    }
+
+    @Test
+    public void getAggregates_groupsCategoriesIgnoringCase() {
+        PositionsManager positionsManager = new SaleBook(new FakeGui()).getPositionsManager();
+        positionsManager.addPosition(createPosition(1, "Phone", LocalDate.of(2024, 1, 10)));
+        positionsManager.addPosition(createPosition(2, "PHONE", LocalDate.of(2024, 2, 10)));
+
+        PositionAggregates aggregates = positionsManager.getAggregates();
+        Assert.assertEquals(Set.of("phone"), aggregates.getCategoryTotals().keySet());
+        Assert.assertEquals(aggregates.getTotals(), aggregates.getTotalsOfCategory("pHoNe"));
+    }
+
+    @Test
+    public void getAggregates_followsChangesOfPositions() {
+        PositionsManager positionsManager = new SaleBook(new FakeGui()).getPositionsManager();
+        positionsManager.addPosition(createPosition(1, "Phone", LocalDate.of(2024, 1, 10)));
+        positionsManager.addPosition(createPosition(2, "Tablet", LocalDate.of(2024, 2, 10)));
+        positionsManager.setReceived(2, LocalDate.of(2024, 2, 20));
+        positionsManager.sale(2, LocalDate.of(2024, 4, 1), new BigDecimal(20));
+        positionsManager.addCostToPosition(1, BigDecimal.ONE);
+
+        PositionAggregates aggregates = positionsManager.getAggregates();
+        PositionAggregates.Totals january = aggregates.getTotals(YearMonth.of(2024, 1));
+        Assert.assertEquals(Money.ofCents(1200), january.getVariableCosts());
+        PositionAggregates.Totals april = aggregates.getTotals(YearMonth.of(2024, 4));
+        Assert.assertEquals(Money.ofCents(2000), april.getSales());
+        Assert.assertEquals(1, april.getSoldCount());
+        Assert.assertEquals(aggregates.getTotals(2024, Quarter.Q1).plus(april),
+                aggregates.getTotals(2024));
+        Assert.assertEquals(aggregates.getTotals(2024), aggregates.getTotals());
+        Assert.assertEquals(1, aggregates.getTotalsOfCategory("Tablet").getSoldCount());
+
+        positionsManager.removePosition(2);
+
+        Assert.assertEquals(List.of(YearMonth.of(2024, 1)),
+                List.copyOf(aggregates.getMonthlyTotals().keySet()));
+        Assert.assertEquals(Set.of("phone"), aggregates.getCategoryTotals().keySet());
+        Assert.assertEquals(january, aggregates.getTotals());
+    }
+
+    @Test
+    public void combinePositions_rollsBackIfAPositionIsNotReceived() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        PositionsManager positionsManager = saleBook.getPositionsManager();
+        for (int id = 1; id <= 3; id++) {
+            positionsManager.addPosition(createPosition(id, "Phone", LocalDate.of(2024, 1, id)));
+        }
+        positionsManager.setReceived(1, LocalDate.of(2024, 2, 1));
+        positionsManager.setReceived(2, LocalDate.of(2024, 2, 1));
+        long modCount = saleBook.getChangeJournal().getModCount();
+
+        try {
+            positionsManager.combinePositions(1, 2, 3);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().startsWith("that position"));
+        }
+
+        Assert.assertEquals(Set.of(1, 2, 3), positionsManager.findPositionIds(null, null, null,
+                null));
+        for (int id = 1; id <= 3; id++) {
+            Position position = positionsManager.getPosition(id);
+            Assert.assertEquals(id, position.getId());
+            Assert.assertEquals(new BigDecimal(11), position.getTotalCost());
+        }
+        Assert.assertEquals(4, positionsManager.getNextPosId());
+        Assert.assertEquals(new BigDecimal(33), saleBook.getVariableCosts());
+        Assert.assertEquals(modCount, saleBook.getChangeJournal().getModCount());
+    }
+
+    private static Position createPosition(int id, String category, LocalDate orderDate) {
+        return new Position(id, category, orderDate, BigDecimal.TEN, BigDecimal.ONE);
+    }
+}
@@ -1,5 +1,7 @@
 package logic.manager;
 
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import junit.framework.TestCase;
 import logic.Condition;
 import logic.FakeGui;
@@ -8,7 +10,9 @@ import logic.sparePart.SparePart;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -204,4 +208,61 @@ public class SparePartsManagerTest {
         Assert.assertEquals(Set.of(sparePart), sparePartsManager.getSparePartsOfCategory(category));
         Assert.assertEquals(Set.of(name), sparePartsManager.getSparePartNames());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getObservableList_isSharedWithoutLeakingListeners() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        List<ObservableListable<?>> managers = List.of(saleBook.getSparePartsManager(),
+                saleBook.getOrdersManager(), saleBook.getAssetsManager(),
+                saleBook.getSuppliersManager());
+        for (ObservableListable<?> manager : managers) {
+            ObservableList<?> observableList = manager.getObservableList();
+            int listenerCount = manager.getListenerCount();
+            for (int i = 0; i < 100; i++) {
+                Assert.assertSame(observableList, manager.getObservableList());
+            }
+            Assert.assertEquals(listenerCount, manager.getListenerCount());
+        }
+    }
+
+    @Test
+    public void addSpareParts_updatesTheObservableListOnce() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        SparePartsManager sparePartsManager = saleBook.getSparePartsManager();
+        SparePart screw = new SparePart("screw", Condition.NEW, "piece", "testCategory", 0);
+        SparePart display = new SparePart("display", Condition.NEW, "piece", "testCategory", 0);
+        SparePart battery = new SparePart("battery", Condition.NEW, "piece", "testCategory", 0);
+        ObservableList<SparePart> spareParts = sparePartsManager.getObservableList();
+        int[] changes = new int[1];
+        spareParts.addListener((ListChangeListener<SparePart>) change -> changes[0]++);
+
+        sparePartsManager.addSpareParts(Map.of(screw, 1, display, 2, battery, 3));
+
+        Assert.assertEquals(1, changes[0]);
+        Assert.assertEquals(List.of(battery, display, screw), spareParts);
+    }
+
+    @Test
+    public void getObservableList_firstRequestedInATransaction() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        SparePartsManager sparePartsManager = saleBook.getSparePartsManager();
+        SparePart screw = new SparePart("screw", Condition.NEW, "piece", "testCategory", 0);
+        List<ObservableList<?>> observableLists = new ArrayList<>();
+        int[] changes = new int[1];
+
+        saleBook.inTransaction(() -> {
+            observableLists.add(sparePartsManager.getObservableList());
+            observableLists.add(saleBook.getOrdersManager().getObservableList());
+            observableLists.add(saleBook.getAssetsManager().getObservableList());
+            observableLists.add(saleBook.getSuppliersManager().getObservableList());
+            observableLists.get(0).addListener((ListChangeListener<Object>) change ->
+                    changes[0]++);
+            sparePartsManager.addSparePart(screw, 1);
+            saleBook.getPositionsManager().toFilteredTreeItem();
+            Assert.assertEquals(0, changes[0]);
+        });
+
+        Assert.assertEquals(1, changes[0]);
+        Assert.assertEquals(List.of(screw), observableLists.get(0));
+    }
+}
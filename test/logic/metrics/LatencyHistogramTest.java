@@ -0,0 +1,90 @@
+package logic.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+@SuppressWarnings("MissingJavadoc")
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketIndex_countsEachValueWithinTheRelativeError() {
+        Random random = new Random(7L);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.bucketIndex(value);
+            long highestValue = LatencyHistogram.highestValueOf(index);
+            Assert.assertTrue(value <= highestValue);
+            Assert.assertTrue(highestValue - value <= value / 32);
+            Assert.assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value);
+        }
+        Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(
+                LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void getValueAtPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        Assert.assertEquals(10_000, histogram.getCount());
+        Assert.assertEquals(10_000_000, histogram.getMax());
+        Assert.assertEquals(5_000_500D, histogram.getMean(), 0.1D);
+        Assert.assertEquals(5_000_000D, histogram.getValueAtPercentile(50D), 5_000_000D / 32);
+        Assert.assertEquals(9_900_000D, histogram.getValueAtPercentile(99D), 9_900_000D / 32);
+        Assert.assertEquals(10_000_000, histogram.getValueAtPercentile(100D));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50D));
+    }
+
+    @Test
+    public void time() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.time(() -> {
+        });
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals("result", histogram.time(() -> "result"));
+        Assert.assertEquals(2, histogram.getCount());
+    }
+
+    @Test
+    public void time_failingOperation() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        try {
+            histogram.time(() -> {
+                throw new IllegalStateException();
+            });
+            Assert.fail();
+        } catch (IllegalStateException ignored) {
+        }
+        Assert.assertEquals(1, histogram.getCount());
+    }
+
+    @Test
+    public void timeChecked_failingOperation() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        try {
+            histogram.<Object, IOException>timeChecked(() -> {
+                throw new IOException();
+            });
+            Assert.fail();
+        } catch (IOException ignored) {
+        }
+        Assert.assertEquals(1, histogram.getCount());
+    }
+
+    @Test
+    public void getValueAtPercentile_invalidPercentile() {
+        try {
+            new LatencyHistogram("test").getValueAtPercentile(101D);
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package logic.products.position;
+
+import javafx.scene.paint.Color;
+import logic.Condition;
+import logic.Variant;
+import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@SuppressWarnings("MissingJavadoc")
+public class PositionTest {
+
+    @Test
+    public void positionOfData_materializesItemsOnFirstAccess() {
+        ItemColor black = ItemColor.getItemColor("black", Color.valueOf("0x000000ff"));
+        Position position = new Position(1, "testCategory", LocalDate.of(2024, 1, 1),
+                BigDecimal.TEN, State.RECEIVED, BigDecimal.ONE, LocalDate.of(2024, 1, 5), null,
+                null, null, null, List.of(
+                new Item(1, Condition.NEW, Variant.values()[0], black, null),
+                new Item(2, Condition.FAULTY, Variant.values()[0], black, "broken")), 3);
+        PositionData positionData = position.toData();
+
+        Position loadedPosition = new Position(positionData, ItemColor.getItemColorMap());
+        Assert.assertFalse(loadedPosition.areItemsMaterialized());
+        Assert.assertEquals(2, loadedPosition.itemCount());
+        Assert.assertEquals(positionData, loadedPosition.toData());
+        Assert.assertFalse(loadedPosition.areItemsMaterialized());
+
+        Assert.assertEquals(position.getItems(), loadedPosition.getItems());
+        Assert.assertTrue(loadedPosition.areItemsMaterialized());
+        Assert.assertEquals(3, loadedPosition.getNextItemId());
+    }
+
+    @Test
+    public void equals_doesNotMaterializeItems() {
+        ItemColor black = ItemColor.getItemColor("black", Color.valueOf("0x000000ff"));
+        Position position = new Position(1, "testCategory", LocalDate.of(2024, 1, 1),
+                BigDecimal.TEN, State.RECEIVED, BigDecimal.ONE, LocalDate.of(2024, 1, 5), null,
+                null, null, null, List.of(
+                new Item(1, Condition.NEW, Variant.values()[0], black, null)), 2);
+        Position loadedPosition = new Position(position.toData(), ItemColor.getItemColorMap());
+        Position otherPosition = new Position(position.toData(), ItemColor.getItemColorMap());
+
+        Assert.assertEquals(position, loadedPosition);
+        Assert.assertEquals(otherPosition, loadedPosition);
+        Assert.assertEquals(position.hashCode(), loadedPosition.hashCode());
+        Assert.assertTrue(loadedPosition.toString().contains("items="));
+        Assert.assertFalse(loadedPosition.areItemsMaterialized());
+        Assert.assertFalse(otherPosition.areItemsMaterialized());
+
+        position.addItem(new Item(2, Condition.FAULTY, Variant.values()[0], black, "broken"));
+        Assert.assertNotEquals(position, loadedPosition);
+        Assert.assertFalse(loadedPosition.areItemsMaterialized());
+    }
+}
@@ -0,0 +1,71 @@
+package logic.saleBook;
+
+import junit.framework.TestCase;
+import logic.*;
+import logic.order.Order;
+import logic.sparePart.SparePart;
+import org.junit.Assert;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ChangeJournalTest extends TestCase {
+
+    public void testIsDirty() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        ChangeJournal changeJournal = saleBook.getChangeJournal();
+        Assert.assertFalse(changeJournal.isDirty());
+
+        saleBook.addPayment(BigDecimal.TEN);
+        Assert.assertTrue(changeJournal.isDirty());
+        Assert.assertEquals(1, changeJournal.getModCount());
+
+        changeJournal.markSaved();
+        Assert.assertFalse(changeJournal.isDirty());
+    }
+
+    public void testMarkSaved_changesDuringSave() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        ChangeJournal changeJournal = saleBook.getChangeJournal();
+        saleBook.addPayment(BigDecimal.TEN);
+        long savedModCount = changeJournal.getModCount();
+        saleBook.addPayment(BigDecimal.ONE);
+
+        changeJournal.markSaved(savedModCount);
+        Assert.assertTrue(changeJournal.isDirty());
+    }
+
+    public void testNestedOperation_recordedOnce() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        Supplier supplier = new Supplier("supplier", URI.create("D"));
+        SparePart sparePart = new SparePart("Scrow", Condition.NEW, "piece",
+                "testCategory", 0);
+        saleBook.getOrdersManager().addOrder(new Order(1, LocalDate.now(), supplier,
+                Map.of(sparePart, 10), 25D));
+        List<ChangeJournal.Change> changes = new ArrayList<>();
+        saleBook.getChangeJournal().addListener(changes::add);
+
+        saleBook.getOrdersManager().orderReceived(1);
+
+        Assert.assertEquals(1, changes.size());
+        Assert.assertEquals("OrdersManager", changes.get(0).getSource());
+        Assert.assertEquals("orderReceived", changes.get(0).getOperation());
+        Assert.assertEquals(List.of(1), changes.get(0).getArguments());
+        Assert.assertEquals(10, (int) saleBook.getSparePartsManager().getQuantity(sparePart));
+    }
+
+    public void testCapacity() {
+        ChangeJournal changeJournal = new ChangeJournal(2);
+        changeJournal.record("test", "first");
+        changeJournal.record("test", "second");
+        changeJournal.record("test", "third");
+
+        Assert.assertEquals(3, changeJournal.getModCount());
+        Assert.assertEquals(List.of("second", "third"), changeJournal.getChanges().stream()
+                .map(ChangeJournal.Change::getOperation).toList());
+    }
+}
@@ -0,0 +1,92 @@
+package logic.saleBook;
+
+import javafx.scene.paint.Color;
+import logic.Condition;
+import logic.FakeGui;
+import logic.Variant;
+import logic.manager.PositionsManager;
+import logic.products.item.Item;
+import logic.products.item.ItemColor;
+import logic.products.position.Position;
+import logic.products.position.State;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@SuppressWarnings("MissingJavadoc")
+public class ReconcilerTest {
+
+    @Test
+    public void reconcile_runningTotalsFollowSaleDivideAndCombine() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        PositionsManager positionsManager = saleBook.getPositionsManager();
+        ItemColor black = ItemColor.getItemColor("black", Color.valueOf("0x000000ff"));
+        positionsManager.addPosition(new Position(1, "Phone", LocalDate.of(2024, 1, 1),
+                new BigDecimal(30), State.RECEIVED, new BigDecimal(3), LocalDate.of(2024, 1, 5),
+                null, null, null, null, List.of(
+                new Item(1, Condition.NEW, Variant.values()[0], black, null),
+                new Item(2, Condition.NEW, Variant.values()[0], black, null),
+                new Item(3, Condition.NEW, Variant.values()[0], black, null)), 4));
+        positionsManager.addPosition(new Position(2, "Phone", LocalDate.of(2024, 1, 2),
+                BigDecimal.TEN, BigDecimal.ONE));
+        positionsManager.addPosition(new Position(3, "Tablet", LocalDate.of(2024, 1, 3),
+                BigDecimal.TEN, BigDecimal.ONE));
+        positionsManager.setReceived(2, LocalDate.of(2024, 1, 10));
+        positionsManager.setReceived(3, LocalDate.of(2024, 1, 10));
+
+        positionsManager.dividePosition(1);
+        positionsManager.combinePositions(2, 3);
+        positionsManager.sale(1, LocalDate.of(2024, 2, 1), new BigDecimal(25));
+
+        Reconciler.Report report = saleBook.getReconciler().reconcile(false);
+        Assert.assertTrue(report.getDiscrepancies().toString(), report.isConsistent());
+        Assert.assertEquals(4, report.getPositionCount());
+        Assert.assertEquals(0, new BigDecimal(25).compareTo(saleBook.getSalesVolume()));
+    }
+
+    @Test
+    public void reconcile_runningTotalsFollowEditedPositions() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        PositionsManager positionsManager = saleBook.getPositionsManager();
+        positionsManager.addPosition(new Position(1, "Phone", LocalDate.of(2024, 1, 1),
+                BigDecimal.TEN, BigDecimal.ONE));
+        positionsManager.setReceived(1, LocalDate.of(2024, 1, 10));
+        positionsManager.sale(1, LocalDate.of(2024, 2, 1), new BigDecimal(25));
+
+        Position position = positionsManager.getPosition(1);
+        position.setCategory("Tablet");
+        position.setPurchasingPrice(new BigDecimal(12));
+        position.setSellingPrice(new BigDecimal(20));
+        positionsManager.positionEdited(1);
+
+        Reconciler.Report report = saleBook.getReconciler().reconcile(false);
+        Assert.assertTrue(report.getDiscrepancies().toString(), report.isConsistent());
+        Assert.assertEquals(0, new BigDecimal(20).compareTo(saleBook.getSalesVolume()));
+        Assert.assertEquals(0, new BigDecimal(13).compareTo(saleBook.getVariableCosts()));
+        Assert.assertTrue(saleBook.getCategories().contains("Tablet"));
+    }
+
+    @Test
+    public void reconcile_reportsAndCorrectsDrift() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        saleBook.getPositionsManager().addPosition(new Position(1, "Phone",
+                LocalDate.of(2024, 1, 1), BigDecimal.TEN, BigDecimal.ONE));
+        saleBook.addSale(BigDecimal.ONE);
+        Reconciler reconciler = saleBook.getReconciler();
+
+        Reconciler.Report report = reconciler.reconcile(false);
+        Assert.assertEquals(1, report.getDiscrepancies().size());
+        Reconciler.Discrepancy discrepancy = report.getDiscrepancies().get(0);
+        Assert.assertEquals("sales volume", discrepancy.getName());
+        Assert.assertEquals(0, BigDecimal.ONE.compareTo(discrepancy.getDifference()));
+        Assert.assertFalse(report.isCorrected());
+
+        Assert.assertTrue(reconciler.reconcile(true).isCorrected());
+        Assert.assertTrue(reconciler.reconcile(false).isConsistent());
+        Assert.assertEquals(0, BigDecimal.ZERO.compareTo(saleBook.getSalesVolume()));
+        Assert.assertEquals(3, reconciler.getRunCount());
+    }
+}
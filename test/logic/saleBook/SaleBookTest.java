@@ -3,6 +3,7 @@ package logic.saleBook;
 import javafx.scene.paint.Color;
 import junit.framework.TestCase;
 import logic.*;
+import logic.manager.PositionsManager;
 import logic.order.Order;
 import logic.products.item.Item;
 import logic.products.item.ItemColor;
@@ -17,6 +18,8 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SaleBookTest extends TestCase {
 
@@ -168,4 +171,119 @@ public class SaleBookTest extends TestCase {
 
         Assert.assertEquals(asset, saleBook.getAssetsManager().removeAsset(1));
     }
-}
\ No newline at end of file
+
+    public void testInTransaction_updatesTheGuiOnceOnCommit() {
+        int[] refreshes = new int[1];
+        String[] status = new String[1];
+        SaleBook saleBook = new SaleBook(new FakeGui() {
+            @Override
+            public void refreshPosition() {
+                refreshes[0]++;
+            }
+
+            @Override
+            public void updateStatus(String message) {
+                status[0] = message;
+            }
+        });
+        saleBook.getPositionsManager().addPosition(new Position(1, "testCategory",
+                LocalDate.now(), BigDecimal.TEN, BigDecimal.ZERO));
+        long modCount = saleBook.getChangeJournal().getModCount();
+
+        saleBook.inTransaction(() -> {
+            for (int i = 0; i < 3; i++) {
+                saleBook.getPositionsManager().addCostToPosition(1, BigDecimal.ONE);
+            }
+            Assert.assertEquals(0, refreshes[0]);
+            Assert.assertEquals(modCount, saleBook.getChangeJournal().getModCount());
+        });
+
+        Assert.assertEquals(1, refreshes[0]);
+        Assert.assertTrue(status[0].endsWith("add to position 1"));
+        Assert.assertEquals(modCount + 3, saleBook.getChangeJournal().getModCount());
+        Assert.assertEquals(new BigDecimal(13), saleBook.getVariableCosts());
+    }
+
+    public void testInTransaction_copiesAPositionOnlyBeforeItsFirstChange() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        PositionsManager positionsManager = saleBook.getPositionsManager();
+        positionsManager.addPosition(new Position(1, "testCategory", LocalDate.now(),
+                BigDecimal.TEN, BigDecimal.ZERO));
+        Position position = positionsManager.getPosition(1);
+
+        try {
+            saleBook.inTransaction(() -> {
+                positionsManager.addCostToPosition(1, BigDecimal.ONE);
+                Position saved = saleBook.getTransaction().getSaved(position);
+                positionsManager.addCostToPosition(1, BigDecimal.ONE);
+                Assert.assertSame(saved, saleBook.getTransaction().getSaved(position));
+                Assert.assertEquals(BigDecimal.TEN, saved.getTotalCost());
+                throw new IllegalStateException("failed");
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+
+        Assert.assertEquals(BigDecimal.TEN, positionsManager.getPosition(1).getTotalCost());
+    }
+
+    public void testInTransaction_rollsBackIfTheOperationFails() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        saleBook.getPositionsManager().addPosition(new Position(1, "testCategory",
+                LocalDate.now(), BigDecimal.TEN, BigDecimal.ZERO));
+        SparePart screw = new SparePart("Screw", Condition.NEW, "piece", "testCategory", 0);
+        saleBook.getSparePartsManager().addSparePart(screw, 2);
+        long modCount = saleBook.getChangeJournal().getModCount();
+
+        try {
+            saleBook.inTransaction(() -> {
+                saleBook.getPositionsManager().addCostToPosition(1, BigDecimal.ONE);
+                saleBook.getSparePartsManager().removeSparePart(screw);
+                saleBook.getSparePartsManager().addSparePart(new SparePart("Display",
+                        Condition.NEW, "piece", "otherCategory", 0), 1);
+                saleBook.getPositionsManager().removePosition(1);
+                throw new IllegalStateException("failed");
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+
+        Position position = saleBook.getPositionsManager().getPosition(1);
+        Assert.assertNotNull(position);
+        Assert.assertEquals(BigDecimal.TEN, position.getTotalCost());
+        Assert.assertEquals(BigDecimal.TEN, saleBook.getVariableCosts());
+        Assert.assertEquals(Map.of(screw, 2),
+                saleBook.getSparePartsManager().getSparePartsToQuantityView());
+        Assert.assertEquals(Set.of("Screw"), saleBook.getSparePartsManager().getSparePartNames());
+        Assert.assertEquals(modCount, saleBook.getChangeJournal().getModCount());
+        Assert.assertNull(saleBook.getTransaction());
+    }
+
+    public void testConfineTo_rejectsOtherThreadsBeforeAnyChange() throws Exception {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        ExecutorService owner = Executors.newSingleThreadExecutor();
+        try {
+            Thread ownerThread = owner.submit(Thread::currentThread).get();
+            saleBook.confineTo(owner, () -> Thread.currentThread() == ownerThread);
+
+            try {
+                saleBook.getPositionsManager().addPosition(new Position(1, "testCategory",
+                        LocalDate.now(), BigDecimal.TEN, BigDecimal.ZERO));
+                fail();
+            } catch (IllegalStateException ignored) {
+            }
+            Assert.assertNull(saleBook.getPositionsManager().getPosition(1));
+            Assert.assertEquals(BigDecimal.ZERO, saleBook.getVariableCosts());
+            Assert.assertFalse(saleBook.getChangeJournal().isDirty());
+
+            Assert.assertTrue(saleBook.callOnOwner(() -> saleBook.getPositionsManager()
+                    .addPosition(new Position(1, "testCategory", LocalDate.now(),
+                            BigDecimal.TEN, BigDecimal.ZERO))));
+            Assert.assertNotNull(saleBook.getPositionsManager().getPosition(1));
+        } finally {
+            owner.shutdown();
+        }
+    }
+}
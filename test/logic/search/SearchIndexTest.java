@@ -0,0 +1,54 @@
+package logic.search;
+
+import logic.FakeGui;
+import logic.Supplier;
+import logic.products.position.Position;
+import logic.saleBook.SaleBook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+@SuppressWarnings("MissingJavadoc")
+public class SearchIndexTest {
+
+    @Test
+    public void tokenize_foldsCaseAndDiacritics() {
+        Assert.assertEquals(List.of("ecran", "lcd", "12"), SearchIndex.tokenize(" Écran-LCD, 12"));
+    }
+
+    @Test
+    public void search_ranksExactTitleMatchesFirst() {
+        SearchIndex searchIndex = new SearchIndex();
+        searchIndex.put(SearchHit.Kind.SUPPLIER, "Display shop", "Display shop");
+        searchIndex.put(SearchHit.Kind.SPARE_PART, "Displays", "Displays", "screens");
+        searchIndex.put(SearchHit.Kind.POSITION, 1, "Phone", "display");
+
+        List<SearchHit> hits = searchIndex.search("displ", 10);
+        Assert.assertEquals(3, hits.size());
+        Assert.assertEquals(List.of("Displays", "Display shop", "Phone"),
+                hits.stream().map(SearchHit::getTitle).toList());
+        Assert.assertEquals("Display shop", searchIndex.search("display", 10).get(0).getTitle());
+        Assert.assertEquals(List.of(), searchIndex.search("display phones", 10));
+        Assert.assertEquals(1, searchIndex.search("display", 1).size());
+    }
+
+    @Test
+    public void search_followsTheManagers() {
+        SaleBook saleBook = new SaleBook(new FakeGui());
+        saleBook.getSuppliersManager().addSupplier(new Supplier("Müller", URI.create("D")));
+        saleBook.getPositionsManager().addPosition(new Position(1, "Konsole",
+                LocalDate.of(2024, 1, 1), BigDecimal.TEN, BigDecimal.ONE));
+
+        Assert.assertEquals(List.of(new SearchHit(SearchHit.Kind.SUPPLIER, "Müller", "Müller", 6)),
+                saleBook.search("muller", 10));
+        Assert.assertEquals(1, saleBook.search("kons", 10).size());
+
+        saleBook.getPositionsManager().removePosition(1);
+        Assert.assertEquals(List.of(), saleBook.search("kons", 10));
+        Assert.assertEquals(1, saleBook.getSearchIndex().size());
+    }
+}